@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.Jsons;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the JSON results of two JMH runs, e.g. of the benchmarks of two CDK versions, and fails
+ * if a benchmark regressed by more than the allowed percentage.
+ * <p>
+ * Usage: {@code BenchmarkComparison <baseline results> <current results> [max regression percent]}
+ */
+public class BenchmarkComparison {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkComparison.class);
+
+  private static final double DEFAULT_MAX_REGRESSION_PERCENT = 10.0;
+  // the only mode where a higher score is better, the others measure time
+  private static final String THROUGHPUT_MODE = "thrpt";
+
+  /**
+   * The primary score of a benchmark, for one combination of its parameters.
+   */
+  public record Result(String name, String mode, double score, double scoreError, String unit) {
+
+    /**
+     * @return by how many percents this result is worse than the baseline, negative if it is better
+     */
+    public double regressionPercentFrom(final Result baseline) {
+      final double change = (score - baseline.score()) / baseline.score() * 100;
+      return THROUGHPUT_MODE.equals(mode) ? -change : change;
+    }
+
+  }
+
+  public record Comparison(Result baseline, Result current, double regressionPercent) {}
+
+  public static void main(final String[] args) {
+    Preconditions.checkArgument(args.length == 2 || args.length == 3,
+        "Usage: BenchmarkComparison <baseline results> <current results> [max regression percent]");
+    Preconditions.checkArgument(!args[0].isEmpty(), "The results of the baseline run are required");
+    final double maxRegressionPercent = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION_PERCENT;
+
+    final List<Comparison> regressions = regressions(
+        readResults(Jsons.deserialize(IOs.readFile(Path.of(args[0])))),
+        readResults(Jsons.deserialize(IOs.readFile(Path.of(args[1])))),
+        maxRegressionPercent);
+    if (!regressions.isEmpty()) {
+      throw new IllegalStateException(String.format("%d benchmark(s) regressed by more than %.1f%%: %s",
+          regressions.size(), maxRegressionPercent, regressions.stream().map(comparison -> comparison.current().name()).toList()));
+    }
+    LOGGER.info("No benchmark regressed by more than {}%", maxRegressionPercent);
+  }
+
+  /**
+   * Reads the primary score of every benchmark, and the secondary scores measured in the same unit,
+   * e.g. the score of each method of a group of benchmarks.
+   *
+   * @param results the results of a JMH run in its JSON format
+   * @return the results by benchmark and parameters, e.g. {@code BufferBenchmark.contended:streams=4}
+   *         or {@code BufferBenchmark.contended:enqueue:streams=4}
+   */
+  public static Map<String, Result> readResults(final JsonNode results) {
+    final Map<String, Result> resultsByName = new LinkedHashMap<>();
+    for (final JsonNode result : results) {
+      final String benchmark = result.get("benchmark").asText();
+      final String mode = result.get("mode").asText();
+      final StringBuilder params = new StringBuilder();
+      if (result.hasNonNull("params")) {
+        final Map<String, String> sortedParams = new TreeMap<>();
+        result.get("params").fields().forEachRemaining(param -> sortedParams.put(param.getKey(), param.getValue().asText()));
+        sortedParams.forEach((key, value) -> params.append(':').append(key).append('=').append(value));
+      }
+      final JsonNode primaryMetric = result.get("primaryMetric");
+      putResult(resultsByName, benchmark + params, mode, primaryMetric);
+      result.path("secondaryMetrics").fields().forEachRemaining(secondaryMetric -> {
+        // e.g. the allocation rates of the gc profiler are not comparable to the primary score
+        if (secondaryMetric.getValue().get("scoreUnit").equals(primaryMetric.get("scoreUnit"))) {
+          putResult(resultsByName, benchmark + ":" + secondaryMetric.getKey() + params, mode, secondaryMetric.getValue());
+        }
+      });
+    }
+    return resultsByName;
+  }
+
+  private static void putResult(final Map<String, Result> resultsByName, final String name, final String mode, final JsonNode metric) {
+    resultsByName.put(name, new Result(
+        name,
+        mode,
+        metric.get("score").asDouble(),
+        metric.path("scoreError").asDouble(Double.NaN),
+        metric.get("scoreUnit").asText()));
+  }
+
+  /**
+   * Logs the comparison of every benchmark that both runs measured.
+   *
+   * @return the benchmarks that regressed by more than the given percentage
+   */
+  public static List<Comparison> regressions(final Map<String, Result> baseline,
+                                             final Map<String, Result> current,
+                                             final double maxRegressionPercent) {
+    final List<Comparison> regressions = new ArrayList<>();
+    current.forEach((name, result) -> {
+      final Result baselineResult = baseline.get(name);
+      if (baselineResult == null) {
+        LOGGER.info("{}: {} ± {} {}, not in the baseline", name, result.score(), result.scoreError(), result.unit());
+        return;
+      }
+      if (!baselineResult.mode().equals(result.mode()) || !baselineResult.unit().equals(result.unit())) {
+        LOGGER.warn("{}: measured as {} in {} by the baseline and as {} in {} now, not compared", name,
+            baselineResult.mode(), baselineResult.unit(), result.mode(), result.unit());
+        return;
+      }
+      final double regressionPercent = result.regressionPercentFrom(baselineResult);
+      LOGGER.info("{}: {} ± {} {}, was {} ± {}, {}{}%", name, result.score(), result.scoreError(), result.unit(),
+          baselineResult.score(), baselineResult.scoreError(), regressionPercent > 0 ? "worse by " : "better by ",
+          String.format("%.1f", Math.abs(regressionPercent)));
+      if (regressionPercent > maxRegressionPercent) {
+        regressions.add(new Comparison(baselineResult, result, regressionPercent));
+      }
+    });
+    baseline.keySet().stream()
+        .filter(name -> !current.containsKey(name))
+        .forEach(name -> LOGGER.info("{}: in the baseline only", name));
+    return regressions;
+  }
+
+}
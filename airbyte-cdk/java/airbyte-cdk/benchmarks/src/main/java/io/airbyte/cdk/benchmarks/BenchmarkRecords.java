@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaPrimitiveUtil.JsonSchemaPrimitive;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.protocol.models.v0.AirbyteMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteStateMessage;
+import io.airbyte.protocol.models.v0.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.v0.AirbyteStreamState;
+import io.airbyte.protocol.models.v0.CatalogHelpers;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records shared by the benchmarks. They are generated from their index only, so that every run
+ * of a benchmark, on any CDK version, processes exactly the same data.
+ */
+public class BenchmarkRecords {
+
+  public static final String STREAM_NAME = "benchmark_users";
+  public static final String NAMESPACE = "benchmark";
+  public static final long EMITTED_AT = 1_700_000_000_000L;
+
+  public static final List<Field> FIELDS = List.of(
+      Field.of("id", JsonSchemaType.INTEGER),
+      Field.of("name", JsonSchemaType.STRING),
+      Field.of("email", JsonSchemaType.STRING),
+      Field.of("amount", JsonSchemaType.NUMBER),
+      Field.of("active", JsonSchemaType.BOOLEAN),
+      Field.of("updated_at", JsonSchemaType.STRING_TIMESTAMP_WITH_TIMEZONE),
+      Field.of("tags", JsonSchemaType.builder(JsonSchemaPrimitive.ARRAY).withItems(JsonSchemaType.STRING).build()),
+      Field.of("address", JsonSchemaType.OBJECT));
+
+  /**
+   * @return the json schema of the records
+   */
+  public static JsonNode jsonSchema() {
+    return CatalogHelpers.fieldsToJsonSchema(FIELDS);
+  }
+
+  public static JsonNode data(final int index) {
+    final Map<String, Object> data = new LinkedHashMap<>();
+    data.put("id", index);
+    data.put("name", "user " + index);
+    data.put("email", "user" + index + "@example.com");
+    data.put("amount", index * 100.25);
+    data.put("active", index % 2 == 0);
+    data.put("updated_at", String.format("2023-11-%02dT10:15:30.123456Z", index % 28 + 1));
+    data.put("tags", List.of("tag" + index % 5, "tag" + index % 7));
+    data.put("address", Map.of("street", index + " Main Street", "city", "Springfield", "zip", String.format("%05d", index % 100_000)));
+    return Jsons.jsonNode(data);
+  }
+
+  public static AirbyteRecordMessage recordMessage(final int index) {
+    return new AirbyteRecordMessage()
+        .withStream(STREAM_NAME)
+        .withNamespace(NAMESPACE)
+        .withEmittedAt(EMITTED_AT)
+        .withData(data(index));
+  }
+
+  /**
+   * @return the line of a record message, as read by a destination
+   */
+  public static String serializedRecord(final int index) {
+    return Jsons.serialize(new AirbyteMessage().withType(Type.RECORD).withRecord(recordMessage(index)));
+  }
+
+  /**
+   * @return the line of a stream state message, as read by a destination
+   */
+  public static String serializedState(final int index) {
+    return Jsons.serialize(new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(new AirbyteStateMessage()
+            .withType(AirbyteStateType.STREAM)
+            .withStream(new AirbyteStreamState()
+                .withStreamDescriptor(new StreamDescriptor().withName(STREAM_NAME).withNamespace(NAMESPACE))
+                .withStreamState(Jsons.jsonNode(Map.of("cursor", index))))));
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+
+/**
+ * An in-memory {@link ResultSet} over fixed rows, so that reading rows can be measured without a
+ * database or a driver. Only the methods used to read rows are implemented, with the conversions
+ * of a typical driver: {@link ResultSet#getString(int)} of any value, and the default value of a
+ * primitive getter with {@link ResultSet#wasNull()} for nulls.
+ * <p>
+ * The result set is a dynamic proxy, whose dispatch costs the same for every version of the code
+ * reading it.
+ */
+class FakeResultSet {
+
+  record Column(String name, JDBCType type) {}
+
+  private final List<Column> columns;
+  private final Object[][] rows;
+  private final ResultSet resultSet;
+  private final ResultSetMetaData metaData;
+  private int row = -1;
+  private boolean wasNull = false;
+
+  FakeResultSet(final List<Column> columns, final Object[][] rows) {
+    this.columns = columns;
+    this.rows = rows;
+    this.resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+        (proxy, method, args) -> invokeResultSet(method, args));
+    this.metaData = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+        (proxy, method, args) -> invokeMetaData(method, args));
+  }
+
+  ResultSet resultSet() {
+    return resultSet;
+  }
+
+  /**
+   * Moves to the next row, going back to the first one after the last one.
+   */
+  void nextRow() {
+    row = (row + 1) % rows.length;
+  }
+
+  private Object invokeResultSet(final Method method, final Object[] args) {
+    return switch (method.getName()) {
+      case "getMetaData" -> metaData;
+      case "next" -> {
+        nextRow();
+        yield true;
+      }
+      case "wasNull" -> wasNull;
+      case "isClosed" -> false;
+      case "close" -> null;
+      case "getObject" -> args.length == 2 ? ((Class<?>) args[1]).cast(value(args)) : value(args);
+      case "getString" -> {
+        final Object value = value(args);
+        yield value == null ? null : value.toString();
+      }
+      case "getBoolean" -> orDefault(value(args), false);
+      case "getShort" -> orDefault(value(args), (short) 0);
+      case "getInt" -> orDefault(value(args), 0);
+      case "getLong" -> orDefault(value(args), 0L);
+      case "getFloat" -> orDefault(value(args), 0.0f);
+      case "getDouble" -> orDefault(value(args), 0.0);
+      case "getBigDecimal", "getBytes" -> value(args);
+      case "hashCode" -> System.identityHashCode(resultSet);
+      case "equals" -> resultSet == args[0];
+      default -> throw new UnsupportedOperationException("ResultSet." + method.getName() + " is not implemented by the fake result set");
+    };
+  }
+
+  private Object invokeMetaData(final Method method, final Object[] args) {
+    return switch (method.getName()) {
+      case "getColumnCount" -> columns.size();
+      case "getColumnName", "getColumnLabel" -> columns.get((int) args[0] - 1).name();
+      case "getColumnType" -> columns.get((int) args[0] - 1).type().getVendorTypeNumber();
+      case "getColumnTypeName" -> columns.get((int) args[0] - 1).type().getName();
+      case "hashCode" -> System.identityHashCode(metaData);
+      case "equals" -> metaData == args[0];
+      default -> throw new UnsupportedOperationException("ResultSetMetaData." + method.getName() + " is not implemented by the fake result set");
+    };
+  }
+
+  private Object value(final Object[] args) {
+    if (!(args[0] instanceof final Integer colIndex)) {
+      throw new UnsupportedOperationException("Columns are only read by index by the fake result set");
+    }
+    final Object value = rows[row][colIndex - 1];
+    wasNull = value == null;
+    return value;
+  }
+
+  private static Object orDefault(final Object value, final Object defaultValue) {
+    return value == null ? defaultValue : value;
+  }
+
+}
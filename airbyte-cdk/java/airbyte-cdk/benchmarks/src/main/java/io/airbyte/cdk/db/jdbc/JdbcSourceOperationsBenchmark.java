@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.cdk.db.jdbc.FakeResultSet.Column;
+import io.airbyte.commons.functional.CheckedFunction;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading the rows of a result set with {@link JdbcSourceOperations}, the source operations of the
+ * standard JDBC types, see {@link AbstractJdbcCompatibleSourceOperations#rowToJsonMapper()}. Scores
+ * are in rows per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JdbcSourceOperationsBenchmark {
+
+  private static final int ROWS = 1_000;
+  private static final List<Column> COLUMNS = List.of(
+      new Column("id", JDBCType.BIGINT),
+      new Column("name", JDBCType.VARCHAR),
+      new Column("email", JDBCType.VARCHAR),
+      new Column("nickname", JDBCType.VARCHAR),
+      new Column("age", JDBCType.INTEGER),
+      new Column("amount", JDBCType.NUMERIC),
+      new Column("score", JDBCType.DOUBLE),
+      new Column("active", JDBCType.BOOLEAN),
+      new Column("birthday", JDBCType.DATE),
+      new Column("updated_at", JDBCType.TIMESTAMP),
+      new Column("payload", JDBCType.VARBINARY));
+  // e.g. the cursor and the primary key of an incremental sync
+  private static final Set<String> RETAINED_COLUMNS = Set.of("id", "updated_at");
+
+  private final JdbcSourceOperations sourceOperations = new JdbcSourceOperations();
+  private FakeResultSet fakeResultSet;
+  private CheckedFunction<ResultSet, JsonNode, SQLException> rowToJsonMapper;
+  private CheckedFunction<ResultSet, SerializedRow, SQLException> rowToSerializedJsonMapper;
+
+  @Setup
+  public void setup() {
+    final Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = new Object[] {
+        (long) i,
+        "user " + i,
+        "user" + i + "@example.com",
+        // a third of the nicknames are null
+        i % 3 == 0 ? null : "nick" + i,
+        20 + i % 60,
+        new BigDecimal(i).movePointLeft(2),
+        i * 1.5,
+        i % 2 == 0,
+        LocalDate.of(1970, 1, 1).plusDays(i * 11L),
+        LocalDateTime.of(2023, 11, 14, 10, 15, 30).plusSeconds(i),
+        ("payload " + i).getBytes(StandardCharsets.UTF_8)
+      };
+    }
+    fakeResultSet = new FakeResultSet(COLUMNS, rows);
+    rowToJsonMapper = sourceOperations.rowToJsonMapper();
+    rowToSerializedJsonMapper = sourceOperations.rowToSerializedJsonMapper(RETAINED_COLUMNS);
+  }
+
+  @Benchmark
+  public JsonNode rowToJson() throws SQLException {
+    fakeResultSet.nextRow();
+    return rowToJsonMapper.apply(fakeResultSet.resultSet());
+  }
+
+  @Benchmark
+  public SerializedRow rowToSerializedJson() throws SQLException {
+    fakeResultSet.nextRow();
+    return rowToSerializedJsonMapper.apply(fakeResultSet.resultSet());
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.base;
+
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import io.airbyte.cdk.integrations.destination_async.AsyncStreamConsumer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading the messages of a destination from its standard input, see
+ * {@link IntegrationRunner#consumeWriteStream(SerializedAirbyteMessageConsumer, java.io.InputStream)}.
+ * Scores are in messages per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class IntegrationRunnerBenchmark {
+
+  private static final int MESSAGES = 10_000;
+  private static final int RECORDS_PER_STATE = 1_000;
+
+  private byte[] input;
+
+  @Setup
+  public void setup() {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    for (int i = 1; i <= MESSAGES; i++) {
+      final String line = i % RECORDS_PER_STATE == 0 ? BenchmarkRecords.serializedState(i) : BenchmarkRecords.serializedRecord(i);
+      output.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+      output.write('\n');
+    }
+    input = output.toByteArray();
+  }
+
+  /**
+   * Only splits the input in lines, handed over as slices of the read buffer.
+   */
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void frameLines(final Blackhole blackhole) throws Exception {
+    IntegrationRunner.consumeWriteStream(new BlackholeConsumer(blackhole, false), new ByteArrayInputStream(input));
+  }
+
+  /**
+   * Splits the input in lines and deserializes them like the {@link AsyncStreamConsumer} does.
+   */
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void frameAndDeserialize(final Blackhole blackhole) throws Exception {
+    IntegrationRunner.consumeWriteStream(new BlackholeConsumer(blackhole, true), new ByteArrayInputStream(input));
+  }
+
+  private record BlackholeConsumer(Blackhole blackhole, boolean deserialize) implements SerializedAirbyteMessageConsumer {
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void accept(final String message, final Integer sizeInBytes) {
+      blackhole.consume(deserialize ? AsyncStreamConsumer.deserializeAirbyteMessage(message) : message);
+    }
+
+    @Override
+    public void accept(final byte[] buffer, final int offset, final int length) {
+      if (deserialize) {
+        blackhole.consume(AsyncStreamConsumer.deserializeAirbyteMessage(buffer, offset, length));
+      } else {
+        blackhole.consume(buffer[offset]);
+      }
+    }
+
+    @Override
+    public void close() {}
+
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3;
+
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import io.airbyte.cdk.integrations.base.DestinationConfig;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCreateFunction;
+import io.airbyte.cdk.integrations.destination.record_buffer.InMemoryBuffer;
+import io.airbyte.cdk.integrations.destination.record_buffer.SerializableBuffer;
+import io.airbyte.cdk.integrations.destination.s3.csv.CsvSerializedBuffer;
+import io.airbyte.cdk.integrations.destination.s3.parquet.ParquetSerializedBuffer;
+import io.airbyte.cdk.integrations.destination.s3.parquet.S3ParquetFormatConfig;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.v0.CatalogHelpers;
+import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing records to the in-memory files of the staging destinations, see
+ * {@link CsvSerializedBuffer} and {@link ParquetSerializedBuffer}. Every invocation writes a file of
+ * records, including the creation of its writer and its final flush, and scores are in records per
+ * second. Records are written to the CSV files as their serialized data, like the asynchronous
+ * staging destinations do, and to the Parquet files as record messages, the only way it supports.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SerializedBufferBenchmark {
+
+  private static final int RECORDS = 10_000;
+
+  private AirbyteStreamNameNamespacePair stream;
+  private ConfiguredAirbyteCatalog catalog;
+  private AirbyteRecordMessage[] records;
+  private String[] serializedData;
+  private BufferCreateFunction csvBuffers;
+  private BufferCreateFunction parquetBuffers;
+
+  @Setup
+  public void setup() {
+    DestinationConfig.initialize(Jsons.deserialize("{}"));
+    stream = new AirbyteStreamNameNamespacePair(BenchmarkRecords.STREAM_NAME, BenchmarkRecords.NAMESPACE);
+    catalog = CatalogHelpers.createConfiguredAirbyteCatalog(BenchmarkRecords.STREAM_NAME, BenchmarkRecords.NAMESPACE, BenchmarkRecords.FIELDS);
+    records = new AirbyteRecordMessage[RECORDS];
+    serializedData = new String[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      records[i] = BenchmarkRecords.recordMessage(i);
+      serializedData[i] = Jsons.serialize(records[i].getData());
+    }
+    csvBuffers = CsvSerializedBuffer.createFunction(null, () -> new InMemoryBuffer(CsvSerializedBuffer.CSV_GZ_SUFFIX));
+    final S3DestinationConfig parquetConfig = S3DestinationConfig.getS3DestinationConfig(Jsons.jsonNode(Map.of(
+        "format", Map.of("format_type", "parquet"),
+        "s3_bucket_name", "benchmark",
+        "s3_bucket_region", "us-east-2")));
+    parquetBuffers = ParquetSerializedBuffer.createFunction(parquetConfig, () -> new InMemoryBuffer(S3ParquetFormatConfig.PARQUET_SUFFIX));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long writeCsv() throws Exception {
+    try (final SerializableBuffer buffer = csvBuffers.apply(stream, catalog)) {
+      for (final String data : serializedData) {
+        buffer.accept(data, BenchmarkRecords.EMITTED_AT);
+      }
+      buffer.flush();
+      return buffer.getByteCount();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  @SuppressWarnings("deprecation")
+  public long writeParquet() throws Exception {
+    try (final SerializableBuffer buffer = parquetBuffers.apply(stream, catalog)) {
+      for (final AirbyteRecordMessage record : records) {
+        buffer.accept(record);
+      }
+      buffer.flush();
+      return buffer.getByteCount();
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3.avro;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converting records to the Avro records written by the Avro and Parquet formats, see
+ * {@link AvroRecordFactory}. Records of plain values are encoded straight from their Json tree,
+ * while the full records, holding a timestamp to parse and an object without properties, go through
+ * the {@link AvroConstants#JSON_CONVERTER}. Scores are in records per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AvroRecordFactoryBenchmark {
+
+  // a power of two, so that the next record is picked with a mask
+  private static final int RECORDS = 1_024;
+
+  private AirbyteRecordMessage[] records;
+  private AirbyteRecordMessage[] plainRecords;
+  private UUID[] ids;
+  private AvroRecordFactory recordFactory;
+  private int next;
+
+  @Setup
+  public void setup() {
+    records = new AirbyteRecordMessage[RECORDS];
+    plainRecords = new AirbyteRecordMessage[RECORDS];
+    ids = new UUID[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      records[i] = BenchmarkRecords.recordMessage(i);
+      plainRecords[i] = BenchmarkRecords.recordMessage(i);
+      ((ObjectNode) plainRecords[i].getData()).remove(List.of("updated_at", "address"));
+      ids[i] = new UUID(0, i);
+    }
+    final Schema schema = new JsonToAvroSchemaConverter().getAvroSchema(BenchmarkRecords.jsonSchema(), BenchmarkRecords.STREAM_NAME,
+        BenchmarkRecords.NAMESPACE);
+    recordFactory = new AvroRecordFactory(schema, AvroConstants.JSON_CONVERTER);
+  }
+
+  @Benchmark
+  public GenericData.Record getAvroRecord() throws JsonProcessingException {
+    final int index = next++ & (RECORDS - 1);
+    return recordFactory.getAvroRecord(ids[index], records[index]);
+  }
+
+  @Benchmark
+  public GenericData.Record getAvroRecordOfPlainValues() throws JsonProcessingException {
+    final int index = next++ & (RECORDS - 1);
+    return recordFactory.getAvroRecord(ids[index], plainRecords[index]);
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserializing the messages read by a destination, see
+ * {@link AsyncStreamConsumer#deserializeAirbyteMessage(String)}. Scores are in messages per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AsyncStreamConsumerBenchmark {
+
+  // a power of two, so that the next message is picked with a mask
+  private static final int MESSAGES = 1_024;
+
+  private String[] lines;
+  private byte[][] utf8Lines;
+  private int next;
+
+  @Setup
+  public void setup() {
+    lines = new String[MESSAGES];
+    utf8Lines = new byte[MESSAGES][];
+    for (int i = 0; i < MESSAGES; i++) {
+      lines[i] = i % 100 == 99 ? BenchmarkRecords.serializedState(i) : BenchmarkRecords.serializedRecord(i);
+      utf8Lines[i] = lines[i].getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  @Benchmark
+  public PartialAirbyteMessage deserializeString() {
+    return AsyncStreamConsumer.deserializeAirbyteMessage(lines[next++ & (MESSAGES - 1)]);
+  }
+
+  @Benchmark
+  public PartialAirbyteMessage deserializeBytes() {
+    final byte[] line = utf8Lines[next++ & (MESSAGES - 1)];
+    return AsyncStreamConsumer.deserializeAirbyteMessage(line, 0, line.length);
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Records going through the {@link BufferEnqueue} and {@link BufferDequeue} of a
+ * {@link BufferManager}, with several threads reading records while a flush thread takes them. The
+ * enqueuers block on the memory of the buffers whenever the flush thread falls behind, like they do
+ * in a destination.
+ * <p>
+ * The flush thread is not a benchmark thread: it runs for the whole trial, so that enqueuers blocked
+ * on memory at the end of an iteration are always released, rather than waiting for a dequeuer that
+ * has already stopped. The score is in records enqueued per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BufferBenchmark {
+
+  private static final long MEMORY_LIMIT_BYTES = 256L * 1024 * 1024;
+  private static final long OPTIMAL_BATCH_BYTES = 1024L * 1024;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  /**
+   * Number of streams the records are spread over, a single stream being the most contended.
+   */
+  @Param({"1", "4"})
+  public int streams;
+
+  private BufferManager bufferManager;
+  private StreamDescriptor[] streamDescriptors;
+  private PartialAirbyteMessage[] records;
+  private int recordSizeInBytes;
+  private final AtomicInteger enqueuers = new AtomicInteger();
+  private Thread flushThread;
+  private volatile boolean isFlushing;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    bufferManager = new BufferManager(MEMORY_LIMIT_BYTES);
+    streamDescriptors = new StreamDescriptor[streams];
+    records = new PartialAirbyteMessage[streams];
+    final String serialized = BenchmarkRecords.serializedRecord(1);
+    recordSizeInBytes = serialized.getBytes(StandardCharsets.UTF_8).length;
+    for (int i = 0; i < streams; i++) {
+      final String streamName = BenchmarkRecords.STREAM_NAME + "_" + i;
+      streamDescriptors[i] = new StreamDescriptor().withName(streamName).withNamespace(BenchmarkRecords.NAMESPACE);
+      records[i] = new PartialAirbyteMessage()
+          .withType(Type.RECORD)
+          .withRecord(new PartialAirbyteRecordMessage()
+              .withStream(streamName)
+              .withNamespace(BenchmarkRecords.NAMESPACE)
+              .withEmittedAt(BenchmarkRecords.EMITTED_AT))
+          .withSerialized(serialized);
+      // the queue of a stream is created by its first record
+      bufferManager.getBufferEnqueue().addRecord(records[i], recordSizeInBytes, BenchmarkRecords.NAMESPACE);
+    }
+    isFlushing = true;
+    flushThread = new Thread(this::flush, "buffer-benchmark-flush");
+    flushThread.setDaemon(true);
+    flushThread.start();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    isFlushing = false;
+    flushThread.join();
+    bufferManager.close();
+  }
+
+  /**
+   * Takes batches from the streams in turn until the trial ends, like a single flush worker.
+   */
+  private void flush() {
+    int nextStream = 0;
+    while (isFlushing) {
+      final StreamDescriptor streamDescriptor = streamDescriptors[nextStream++ % streams];
+      try (final MemoryAwareMessageBatch batch = bufferManager.getBufferDequeue().take(streamDescriptor, OPTIMAL_BATCH_BYTES)) {
+        if (batch.getData().isEmpty()) {
+          LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+      } catch (final Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * The stream an enqueuer thread writes to, the threads being spread evenly over the streams.
+   */
+  @State(Scope.Thread)
+  public static class EnqueuerState {
+
+    int stream;
+
+    @Setup(Level.Trial)
+    public void setup(final BufferBenchmark benchmark) {
+      stream = benchmark.enqueuers.getAndIncrement() % benchmark.streams;
+    }
+
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void enqueue(final EnqueuerState state) {
+    bufferManager.getBufferEnqueue().addRecord(records[state.stream], recordSizeInBytes, BenchmarkRecords.NAMESPACE);
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.cdk.benchmarks.BenchmarkRecords;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validating records against the schema of their stream with {@link JsonSchemaValidator}, once
+ * with the schema compiled ahead, like the validation of the messages of the platform, and once with
+ * the schema passed along every record. Scores are in records per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonSchemaValidatorBenchmark {
+
+  // a power of two, so that the next record is picked with a mask
+  private static final int RECORDS = 1_024;
+
+  private JsonSchemaValidator validator;
+  private JsonNode schema;
+  private JsonNode[] records;
+  private int next;
+
+  @Setup
+  public void setup() {
+    validator = new JsonSchemaValidator();
+    schema = BenchmarkRecords.jsonSchema();
+    validator.initializeSchemaValidator(BenchmarkRecords.STREAM_NAME, schema);
+    records = new JsonNode[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      records[i] = BenchmarkRecords.data(i);
+    }
+  }
+
+  @Benchmark
+  public boolean testInitializedSchema() {
+    return validator.testInitializedSchema(BenchmarkRecords.STREAM_NAME, records[next++ & (RECORDS - 1)]);
+  }
+
+  @Benchmark
+  public boolean test() {
+    return validator.test(schema, records[next++ & (RECORDS - 1)]);
+  }
+
+}
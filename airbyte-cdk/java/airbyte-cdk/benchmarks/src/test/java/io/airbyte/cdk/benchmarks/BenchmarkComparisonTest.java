@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.benchmarks.BenchmarkComparison.Comparison;
+import io.airbyte.cdk.benchmarks.BenchmarkComparison.Result;
+import io.airbyte.commons.json.Jsons;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class BenchmarkComparisonTest {
+
+  @Test
+  void testReadResults() {
+    final Map<String, Result> results = BenchmarkComparison.readResults(Jsons.arrayNode()
+        .add(result("Csv.write", "thrpt", 1000.0, "ops/s", null))
+        .add(result("Buffer.contended", "thrpt", 500.0, "ops/s", Map.of("streams", "4", "offHeap", "false"))));
+
+    assertEquals(List.of("Csv.write", "Buffer.contended:offHeap=false:streams=4"), List.copyOf(results.keySet()));
+    assertEquals(new Result("Csv.write", "thrpt", 1000.0, 10.0, "ops/s"), results.get("Csv.write"));
+  }
+
+  @Test
+  void testReadSecondaryResultsInTheUnitOfThePrimaryResult() {
+    final ObjectNode group = result("Buffer.contended", "thrpt", 500.0, "ops/s", Map.of("streams", "1"));
+    group.set("secondaryMetrics", Jsons.jsonNode(Map.of(
+        "enqueue", Map.of("score", 300.0, "scoreError", 1.0, "scoreUnit", "ops/s"),
+        "\u00b7gc.alloc.rate", Map.of("score", 42.0, "scoreError", 1.0, "scoreUnit", "MB/sec"))));
+    final Map<String, Result> results = BenchmarkComparison.readResults(Jsons.arrayNode().add(group));
+
+    assertEquals(Set.of("Buffer.contended:streams=1", "Buffer.contended:enqueue:streams=1"), results.keySet());
+    assertEquals(300.0, results.get("Buffer.contended:enqueue:streams=1").score());
+  }
+
+  @Test
+  void testRegressions() {
+    final Map<String, Result> baseline = BenchmarkComparison.readResults(Jsons.arrayNode()
+        .add(result("throughputRegressed", "thrpt", 1000.0, "ops/s", null))
+        .add(result("throughputImproved", "thrpt", 1000.0, "ops/s", null))
+        .add(result("timeRegressed", "avgt", 100.0, "ns/op", null))
+        .add(result("timeWithinThreshold", "avgt", 100.0, "ns/op", null))
+        .add(result("removed", "thrpt", 1000.0, "ops/s", null)));
+    final Map<String, Result> current = BenchmarkComparison.readResults(Jsons.arrayNode()
+        .add(result("throughputRegressed", "thrpt", 800.0, "ops/s", null))
+        .add(result("throughputImproved", "thrpt", 2000.0, "ops/s", null))
+        .add(result("timeRegressed", "avgt", 150.0, "ns/op", null))
+        .add(result("timeWithinThreshold", "avgt", 105.0, "ns/op", null))
+        .add(result("added", "thrpt", 1000.0, "ops/s", null)));
+
+    final List<Comparison> regressions = BenchmarkComparison.regressions(baseline, current, 10.0);
+
+    assertEquals(List.of("throughputRegressed", "timeRegressed"), regressions.stream().map(comparison -> comparison.current().name()).toList());
+    assertEquals(20.0, regressions.get(0).regressionPercent(), 1e-9);
+    assertEquals(50.0, regressions.get(1).regressionPercent(), 1e-9);
+    assertTrue(current.get("throughputImproved").regressionPercentFrom(baseline.get("throughputImproved")) < 0);
+  }
+
+  private static ObjectNode result(final String benchmark,
+                                   final String mode,
+                                   final double score,
+                                   final String unit,
+                                   final Map<String, String> params) {
+    final ObjectNode result = (ObjectNode) Jsons.jsonNode(Map.of(
+        "benchmark", benchmark,
+        "mode", mode,
+        "primaryMetric", Map.of("score", score, "scoreError", 10.0, "scoreUnit", unit)));
+    if (params != null) {
+      result.set("params", Jsons.jsonNode(params));
+    }
+    return result;
+  }
+
+}
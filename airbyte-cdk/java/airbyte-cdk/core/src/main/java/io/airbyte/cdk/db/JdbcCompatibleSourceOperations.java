@@ -6,9 +6,12 @@ package io.airbyte.cdk.db;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.db.jdbc.SerializedRow;
+import io.airbyte.commons.functional.CheckedFunction;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Set;
 
 public interface JdbcCompatibleSourceOperations<SourceType> extends SourceOperations<ResultSet, SourceType> {
 
@@ -20,6 +23,28 @@ public interface JdbcCompatibleSourceOperations<SourceType> extends SourceOperat
    */
   void copyToJsonField(final ResultSet resultSet, final int colIndex, final ObjectNode json) throws SQLException;
 
+  /**
+   * Returns the function converting the rows of a query, like {@link #rowToJson(Object)}. Sources
+   * resolve the conversion of each column once per query here, rather than on every row.
+   */
+  default CheckedFunction<ResultSet, JsonNode, SQLException> rowToJsonMapper() {
+    return this::rowToJson;
+  }
+
+  /**
+   * Like {@link #rowToJsonMapper()}, but the rows are written straight to bytes rather than to an
+   * object tree when supported. Only the given columns can be read back from the returned rows, the
+   * rest of the row can only be serialized. By default, rows are converted to trees and then
+   * serialized.
+   *
+   * @param retainedColumns columns whose values must be readable from the returned rows, e.g. the
+   *        cursor field
+   */
+  default CheckedFunction<ResultSet, SerializedRow, SQLException> rowToSerializedJsonMapper(final Set<String> retainedColumns) {
+    final CheckedFunction<ResultSet, JsonNode, SQLException> rowToJsonMapper = rowToJsonMapper();
+    return resultSet -> SerializedRow.fromTree(rowToJsonMapper.apply(resultSet), retainedColumns);
+  }
+
   /**
    * Set the cursor field in incremental table query.
    */
@@ -7,16 +7,20 @@ package io.airbyte.cdk.db.jdbc;
 import static io.airbyte.cdk.db.DataTypeUtils.TIMESTAMPTZ_FORMATTER;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.cdk.db.DataTypeUtils;
 import io.airbyte.cdk.db.JdbcCompatibleSourceOperations;
-import io.airbyte.commons.json.Jsons;
+import io.airbyte.cdk.db.jdbc.JdbcRowEncoder.ColumnEncoder;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
+import io.airbyte.commons.functional.CheckedFunction;
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.ParseException;
@@ -29,7 +33,10 @@ import java.time.OffsetTime;
 import java.time.chrono.IsoEra;
 import java.time.format.DateTimeParseException;
 import java.util.Base64;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Source operation skeleton for JDBC compatible databases.
@@ -41,30 +48,247 @@ public abstract class AbstractJdbcCompatibleSourceOperations<Datatype> implement
    */
   private static final Date ONE_CE = Date.valueOf("0001-01-01");
 
+  /**
+   * Signature shared by the put methods, e.g. {@link #putString}.
+   */
+  @FunctionalInterface
+  protected interface ColumnPutter {
+
+    void put(ObjectNode node, String columnName, ResultSet resultSet, int index) throws SQLException;
+
+  }
+
+  /**
+   * Resolves how to read a column, once per column of each query. See
+   * {@link #registerColumnExtractor(String, ColumnReaderFactory)}.
+   */
+  @FunctionalInterface
+  public interface ColumnReaderFactory {
+
+    ColumnReader create(ResultSetMetaData metaData, int colIndex) throws SQLException;
+
+  }
+
+  /**
+   * Resolves how to write a column straight to JSON, once per column of each query.
+   */
+  @FunctionalInterface
+  public interface ColumnEncoderFactory {
+
+    ColumnEncoder create(ResultSetMetaData metaData, int colIndex) throws SQLException;
+
+  }
+
+  /**
+   * How the columns of a type are read and, optionally, written out without a node per value.
+   */
+  private record ColumnExtractor(ColumnReaderFactory readerFactory, ColumnEncoderFactory encoderFactory) {}
+
+  private final Map<String, ColumnExtractor> columnExtractorsByTypeName = new HashMap<>();
+  private final Map<Integer, ColumnExtractor> columnExtractorsByJdbcType = new HashMap<>();
+
+  /**
+   * Registers how the columns whose database type name, as reported by
+   * {@link ResultSetMetaData#getColumnTypeName(int)}, matches the given one, ignoring case, are read.
+   * These take precedence over the extractors registered by JDBC type.
+   * <p/>
+   * Meant to be called from the constructor. Registering a type again replaces its extractor, so
+   * subclasses can replace the extractors of their parent.
+   */
+  protected void registerColumnExtractor(final String columnTypeName, final ColumnReaderFactory readerFactory) {
+    columnExtractorsByTypeName.put(columnTypeName.toLowerCase(Locale.ROOT), new ColumnExtractor(readerFactory, null));
+  }
+
+  /**
+   * Registers how the columns of a JDBC type, as reported by
+   * {@link ResultSetMetaData#getColumnType(int)}, are read. Like
+   * {@link #registerColumnExtractor(String, ColumnReaderFactory)}, a later registration replaces the
+   * earlier one.
+   */
+  protected void registerColumnExtractor(final JDBCType jdbcType, final ColumnReaderFactory readerFactory) {
+    registerColumnExtractor(jdbcType, readerFactory, null);
+  }
+
+  /**
+   * @param encoderFactory writes the columns straight to JSON when rows are serialized while being
+   *        read. If null, the columns are read with the reader and then written out.
+   */
+  protected void registerColumnExtractor(final JDBCType jdbcType,
+                                         final ColumnReaderFactory readerFactory,
+                                         final ColumnEncoderFactory encoderFactory) {
+    columnExtractorsByJdbcType.put(jdbcType.getVendorTypeNumber(), new ColumnExtractor(readerFactory, encoderFactory));
+  }
+
+  /**
+   * @return a reader factory that reads the column with one of the put methods, e.g.
+   *         {@link #putTimestamp}, skipping null values.
+   */
+  protected ColumnReaderFactory readerOf(final ColumnPutter putter) {
+    return (metaData, colIndex) -> readIfNotNull(putter, metaData.getColumnName(colIndex), colIndex);
+  }
+
+  /**
+   * Converts the row with a reader compiled for it alone. Rows read one after the other from the same
+   * result set should go through {@link #rowToJsonMapper()} instead, which compiles the reader once.
+   */
   @Override
-  public JsonNode rowToJson(final ResultSet queryContext) throws SQLException {
-    // the first call communicates with the database. after that the result is cached.
-    final int columnCount = queryContext.getMetaData().getColumnCount();
-    final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
+  public final JsonNode rowToJson(final ResultSet queryContext) throws SQLException {
+    return rowToJsonMapper().apply(queryContext);
+  }
+
+  /**
+   * Every column's name, type and reader is resolved from the metadata of the first row the mapper
+   * converts, see {@link #compileRowReader(ResultSet)}, and reused for the following rows of the same
+   * result set. Subclasses that change the converted rows, e.g. to add fields to them, override this
+   * method and wrap the mapper of their parent.
+   */
+  @Override
+  public CheckedFunction<ResultSet, JsonNode, SQLException> rowToJsonMapper() {
+    return new CheckedFunction<>() {
+
+      private JdbcRowReader rowReader;
 
+      @Override
+      public JsonNode apply(final ResultSet resultSet) throws SQLException {
+        if (rowReader == null || !rowReader.isFor(resultSet)) {
+          rowReader = compileRowReader(resultSet);
+        }
+        return rowReader.read(resultSet);
+      }
+
+    };
+  }
+
+  /**
+   * Resolves how to read each column of the result set from its metadata.
+   */
+  public JdbcRowReader compileRowReader(final ResultSet resultSet) throws SQLException {
+    // the first call communicates with the database. after that the result is cached.
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+    final ColumnReader[] columnReaders = new ColumnReader[columnCount];
     for (int i = 1; i <= columnCount; i++) {
+      columnReaders[i - 1] = compileColumnReader(metaData, i);
+    }
+    return new JdbcRowReader(resultSet, columnReaders);
+  }
+
+  /**
+   * Returns the reader of a column, called once per column of each query: the registered extractor of
+   * the column's type if there is one, see {@link #registerColumnExtractor(String, ColumnReaderFactory)},
+   * {@link #compileUnregisteredColumnReader(ResultSetMetaData, int)} otherwise.
+   *
+   * @param colIndex 1-based column index.
+   */
+  protected ColumnReader compileColumnReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final ColumnExtractor extractor = findColumnExtractor(metaData, colIndex);
+    if (extractor == null) {
+      return compileUnregisteredColumnReader(metaData, colIndex);
+    }
+    return extractor.readerFactory().create(metaData, colIndex);
+  }
+
+  /**
+   * Returns the reader of a column whose type has no registered extractor. By default, every value is
+   * checked for null before being passed to {@link #copyToJsonField(ResultSet, int, ObjectNode)}.
+   *
+   * @param colIndex 1-based column index.
+   */
+  protected ColumnReader compileUnregisteredColumnReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    return (resultSet, json) -> {
       // attempt to access the column. this allows us to know if it is null before we do type-specific
       // parsing. if it is null, we can move on. while awkward, this seems to be the agreed upon way of
       // checking for null values with jdbc.
-      queryContext.getObject(i);
-      if (queryContext.wasNull()) {
-        continue;
+      resultSet.getObject(colIndex);
+      if (!resultSet.wasNull()) {
+        // convert to java types that will convert into reasonable json.
+        copyToJsonField(resultSet, colIndex, json);
       }
+    };
+  }
+
+  /**
+   * Like {@link #rowToJsonMapper()}, the row encoder is compiled on the first row of a result set and
+   * reused for the following ones, see {@link #compileRowEncoder(ResultSet, Set)}.
+   */
+  @Override
+  public CheckedFunction<ResultSet, SerializedRow, SQLException> rowToSerializedJsonMapper(final Set<String> retainedColumns) {
+    return new CheckedFunction<>() {
 
-      // convert to java types that will convert into reasonable json.
-      copyToJsonField(queryContext, i, jsonNode);
+      private JdbcRowEncoder rowEncoder;
+
+      @Override
+      public SerializedRow apply(final ResultSet resultSet) throws SQLException {
+        if (rowEncoder == null || !rowEncoder.isFor(resultSet)) {
+          rowEncoder = compileRowEncoder(resultSet, retainedColumns);
+        }
+        return rowEncoder.encode(resultSet);
+      }
+
+    };
+  }
+
+  /**
+   * Resolves how to write each column of the result set from its metadata. Retained columns are read
+   * with {@link #compileColumnReader(ResultSetMetaData, int)} so that their values can be looked up.
+   */
+  public JdbcRowEncoder compileRowEncoder(final ResultSet resultSet, final Set<String> retainedColumns) throws SQLException {
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+    final ColumnEncoder[] columnEncoders = new ColumnEncoder[columnCount];
+    final ColumnReader[] retainedColumnReaders = new ColumnReader[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      if (retainedColumns.contains(metaData.getColumnName(i))) {
+        retainedColumnReaders[i - 1] = compileColumnReader(metaData, i);
+      } else {
+        columnEncoders[i - 1] = compileColumnEncoder(metaData, i);
+      }
     }
+    return new JdbcRowEncoder(resultSet, columnEncoders, retainedColumnReaders);
+  }
 
-    return jsonNode;
+  /**
+   * Returns the encoder of a column, called once per column of each query: the encoder of the
+   * registered extractor of the column's type if it has one. Otherwise, the value is read with the
+   * column reader and then written out.
+   *
+   * @param colIndex 1-based column index.
+   */
+  protected ColumnEncoder compileColumnEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final ColumnExtractor extractor = findColumnExtractor(metaData, colIndex);
+    if (extractor != null && extractor.encoderFactory() != null) {
+      return extractor.encoderFactory().create(metaData, colIndex);
+    }
+    return JdbcRowEncoder.fromColumnReader(compileColumnReader(metaData, colIndex));
+  }
+
+  private ColumnExtractor findColumnExtractor(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    if (!columnExtractorsByTypeName.isEmpty()) {
+      final String columnTypeName = metaData.getColumnTypeName(colIndex);
+      if (columnTypeName != null) {
+        final ColumnExtractor extractor = columnExtractorsByTypeName.get(columnTypeName.toLowerCase(Locale.ROOT));
+        if (extractor != null) {
+          return extractor;
+        }
+      }
+    }
+    return columnExtractorsByJdbcType.get(metaData.getColumnType(colIndex));
+  }
+
+  /**
+   * Reads a column with one of the put methods, e.g. {@link #putTimestamp}, skipping null values.
+   */
+  protected ColumnReader readIfNotNull(final ColumnPutter putter, final String columnName, final int colIndex) {
+    return (resultSet, json) -> {
+      resultSet.getObject(colIndex);
+      if (!resultSet.wasNull()) {
+        putter.put(json, columnName, resultSet, colIndex);
+      }
+    };
   }
 
   protected void putArray(final ObjectNode node, final String columnName, final ResultSet resultSet, final int index) throws SQLException {
-    final ArrayNode arrayNode = new ObjectMapper().createArrayNode();
+    final ArrayNode arrayNode = JsonNodeFactory.instance.arrayNode();
     final ResultSet arrayResultSet = resultSet.getArray(index).getResultSet();
     while (arrayResultSet.next()) {
       arrayNode.add(arrayResultSet.getString(2));
@@ -205,7 +205,7 @@ public abstract class JdbcDatabase extends SqlDatabase {
         ++i;
       }
       return statement;
-    }, sourceOperations::rowToJson);
+    }, sourceOperations.rowToJsonMapper());
   }
 
   /**
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
+import io.airbyte.commons.jackson.MoreMappers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * Writes the rows of a single {@link ResultSet} straight to UTF-8 JSON, without building a
+ * {@link JsonNode} tree per row, see {@link SerializedRow}.
+ * <p>
+ * Like {@link JdbcRowReader}, how each column is written is resolved once from the result set's
+ * metadata, see
+ * {@link AbstractJdbcCompatibleSourceOperations#compileColumnEncoder(java.sql.ResultSetMetaData, int)}.
+ * Retained columns are read into a small object tree as well, so that their values can still be
+ * read back from the row, e.g. to track the cursor of an incremental read.
+ */
+public class JdbcRowEncoder {
+
+  /**
+   * Writes the value of one column of the current row as a field of the JSON object being written.
+   * Null values are left out of the object.
+   */
+  @FunctionalInterface
+  public interface ColumnEncoder {
+
+    void write(ResultSet resultSet, JsonGenerator generator) throws SQLException, IOException;
+
+  }
+
+  // shares the configuration of the mapper used to serialize messages, so rows are written the same
+  // way as their trees would be.
+  private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
+
+  private final ResultSet resultSet;
+  private final ColumnEncoder[] columnEncoders;
+  private final ColumnReader[] retainedColumnReaders;
+  private final ObjectNode retainedColumnValue = JsonNodeFactory.instance.objectNode();
+  private final ByteArrayOutputStream row = new ByteArrayOutputStream();
+  private final JsonGenerator generator;
+
+  /**
+   * @param resultSet result set the encoders were compiled for
+   * @param columnEncoders one encoder per column, in column order. Ignored for retained columns.
+   * @param retainedColumnReaders readers of the columns whose values are retained, null for the other
+   *        columns
+   */
+  public JdbcRowEncoder(final ResultSet resultSet, final ColumnEncoder[] columnEncoders, final ColumnReader[] retainedColumnReaders) {
+    this.resultSet = resultSet;
+    this.columnEncoders = columnEncoders;
+    this.retainedColumnReaders = retainedColumnReaders;
+    try {
+      this.generator = OBJECT_MAPPER.getFactory().createGenerator(row, JsonEncoding.UTF8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // rows are written one at a time, not as a sequence of values.
+    generator.setRootValueSeparator(null);
+  }
+
+  /**
+   * Adapts a column reader, for columns that have no encoder of their own. The value is read into a
+   * single field object node that is reused for every row.
+   */
+  public static ColumnEncoder fromColumnReader(final ColumnReader columnReader) {
+    final ObjectNode value = JsonNodeFactory.instance.objectNode();
+    return (resultSet, generator) -> {
+      columnReader.read(resultSet, value);
+      writeFields(value, generator);
+      value.removeAll();
+    };
+  }
+
+  /**
+   * @return true if this encoder was compiled for this very result set
+   */
+  public boolean isFor(final ResultSet resultSet) {
+    return this.resultSet == resultSet;
+  }
+
+  public SerializedRow encode(final ResultSet resultSet) throws SQLException {
+    final ObjectNode retainedFields = JsonNodeFactory.instance.objectNode();
+    row.reset();
+    try {
+      generator.writeStartObject();
+      for (int i = 0; i < columnEncoders.length; i++) {
+        if (retainedColumnReaders[i] == null) {
+          columnEncoders[i].write(resultSet, generator);
+        } else {
+          retainedColumnReaders[i].read(resultSet, retainedColumnValue);
+          writeFields(retainedColumnValue, generator);
+          retainedFields.setAll(retainedColumnValue);
+          retainedColumnValue.removeAll();
+        }
+      }
+      generator.writeEndObject();
+      generator.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new SerializedRow(row.toByteArray(), retainedFields);
+  }
+
+  private static void writeFields(final ObjectNode node, final JsonGenerator generator) throws IOException {
+    final Iterator<Entry<String, JsonNode>> fields = node.fields();
+    while (fields.hasNext()) {
+      final Entry<String, JsonNode> field = fields.next();
+      generator.writeFieldName(field.getKey());
+      OBJECT_MAPPER.writeTree(generator, field.getValue());
+    }
+  }
+
+}
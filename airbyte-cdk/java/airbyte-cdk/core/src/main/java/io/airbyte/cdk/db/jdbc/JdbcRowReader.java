@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the rows of a single {@link ResultSet} to JSON.
+ * <p>
+ * Column names, types and the way each column is read are resolved once from the result set's
+ * metadata when the reader is compiled, see
+ * {@link AbstractJdbcCompatibleSourceOperations#compileColumnReader(java.sql.ResultSetMetaData, int)},
+ * so converting a row only calls the getter of each column.
+ */
+public class JdbcRowReader {
+
+  /**
+   * Copies the value of one column of the current row to a JSON object. Null values are left out of
+   * the object.
+   */
+  @FunctionalInterface
+  public interface ColumnReader {
+
+    void read(ResultSet resultSet, ObjectNode json) throws SQLException;
+
+  }
+
+  private final ResultSet resultSet;
+  private final ColumnReader[] columnReaders;
+
+  /**
+   * @param resultSet result set the column readers were compiled for
+   * @param columnReaders one reader per column, in column order
+   */
+  public JdbcRowReader(final ResultSet resultSet, final ColumnReader[] columnReaders) {
+    this.resultSet = resultSet;
+    this.columnReaders = columnReaders;
+  }
+
+  /**
+   * @return true if this reader was compiled for this very result set
+   */
+  public boolean isFor(final ResultSet resultSet) {
+    return this.resultSet == resultSet;
+  }
+
+  public JsonNode read(final ResultSet resultSet) throws SQLException {
+    final ObjectNode json = JsonNodeFactory.instance.objectNode();
+    for (final ColumnReader columnReader : columnReaders) {
+      columnReader.read(resultSet, json);
+    }
+    return json;
+  }
+
+}
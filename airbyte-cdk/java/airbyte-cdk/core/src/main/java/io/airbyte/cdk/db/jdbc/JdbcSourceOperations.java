@@ -9,18 +9,50 @@ import static io.airbyte.cdk.db.jdbc.JdbcConstants.INTERNAL_COLUMN_TYPE;
 import static io.airbyte.cdk.db.jdbc.JdbcConstants.INTERNAL_SCHEMA_NAME;
 import static io.airbyte.cdk.db.jdbc.JdbcConstants.INTERNAL_TABLE_NAME;
 import static io.airbyte.cdk.db.jdbc.JdbcUtils.ALLOWED_CURSOR_TYPES;
+import static java.sql.JDBCType.ARRAY;
+import static java.sql.JDBCType.BIGINT;
+import static java.sql.JDBCType.BINARY;
+import static java.sql.JDBCType.BIT;
+import static java.sql.JDBCType.BLOB;
+import static java.sql.JDBCType.BOOLEAN;
+import static java.sql.JDBCType.CHAR;
+import static java.sql.JDBCType.DATE;
+import static java.sql.JDBCType.DECIMAL;
+import static java.sql.JDBCType.DOUBLE;
+import static java.sql.JDBCType.FLOAT;
+import static java.sql.JDBCType.INTEGER;
+import static java.sql.JDBCType.LONGVARBINARY;
+import static java.sql.JDBCType.LONGVARCHAR;
+import static java.sql.JDBCType.NUMERIC;
+import static java.sql.JDBCType.REAL;
+import static java.sql.JDBCType.SMALLINT;
+import static java.sql.JDBCType.TIME;
+import static java.sql.JDBCType.TIMESTAMP;
+import static java.sql.JDBCType.TIMESTAMP_WITH_TIMEZONE;
+import static java.sql.JDBCType.TINYINT;
+import static java.sql.JDBCType.VARBINARY;
+import static java.sql.JDBCType.VARCHAR;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.db.DataTypeUtils;
 import io.airbyte.cdk.db.SourceOperations;
+import io.airbyte.cdk.db.jdbc.JdbcRowEncoder.ColumnEncoder;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
 import io.airbyte.protocol.models.JsonSchemaType;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +97,292 @@ public class JdbcSourceOperations extends AbstractJdbcCompatibleSourceOperations
     }
   }
 
+  /**
+   * Registers the extractors of the standard types, which read them with their typed getter and
+   * {@link ResultSet#wasNull()} rather than {@link ResultSet#getObject(int)}. Subclasses that change
+   * how one of these types is read, in {@link #copyToJsonField(ResultSet, int, ObjectNode)} or in its
+   * put method, register their own extractor for it.
+   */
+  public JdbcSourceOperations() {
+    registerColumnExtractors(List.of(BIT, BOOLEAN), JdbcSourceOperations::booleanReader, JdbcSourceOperations::booleanEncoder);
+    registerColumnExtractors(List.of(TINYINT, SMALLINT), JdbcSourceOperations::shortReader, JdbcSourceOperations::shortEncoder);
+    registerColumnExtractor(INTEGER, JdbcSourceOperations::integerReader, JdbcSourceOperations::integerEncoder);
+    registerColumnExtractor(BIGINT, JdbcSourceOperations::bigIntReader, JdbcSourceOperations::bigIntEncoder);
+    registerColumnExtractors(List.of(FLOAT, DOUBLE), JdbcSourceOperations::doubleReader, JdbcSourceOperations::doubleEncoder);
+    registerColumnExtractor(REAL, JdbcSourceOperations::floatReader, JdbcSourceOperations::floatEncoder);
+    registerColumnExtractors(List.of(NUMERIC, DECIMAL), JdbcSourceOperations::bigDecimalReader, JdbcSourceOperations::bigDecimalEncoder);
+    registerColumnExtractors(List.of(CHAR, VARCHAR, LONGVARCHAR, DATE), JdbcSourceOperations::stringReader, JdbcSourceOperations::stringEncoder);
+    registerColumnExtractors(List.of(BLOB, BINARY, VARBINARY, LONGVARBINARY), JdbcSourceOperations::binaryReader,
+        JdbcSourceOperations::binaryEncoder);
+    // temporal and array values are read as objects anyway.
+    registerColumnExtractor(TIME, readerOf(this::putTime));
+    registerColumnExtractor(TIMESTAMP, readerOf(this::putTimestamp));
+    registerColumnExtractor(TIMESTAMP_WITH_TIMEZONE, readerOf(this::putTimestampWithTimezone));
+    registerColumnExtractor(ARRAY, readerOf(this::putArray));
+  }
+
+  private void registerColumnExtractors(final List<JDBCType> jdbcTypes,
+                                        final ColumnReaderFactory readerFactory,
+                                        final ColumnEncoderFactory encoderFactory) {
+    for (final JDBCType jdbcType : jdbcTypes) {
+      registerColumnExtractor(jdbcType, readerFactory, encoderFactory);
+    }
+  }
+
+  private static ColumnReader booleanReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final boolean value = resultSet.getBoolean(colIndex);
+      if (!resultSet.wasNull()) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader shortReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final short value = resultSet.getShort(colIndex);
+        if (!resultSet.wasNull()) {
+          json.put(columnName, value);
+        }
+      } catch (final SQLException e) {
+        json.put(columnName, DataTypeUtils.returnNullIfInvalid(() -> resultSet.getInt(colIndex)));
+      }
+    };
+  }
+
+  private static ColumnReader integerReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final int value = resultSet.getInt(colIndex);
+        if (!resultSet.wasNull()) {
+          json.put(columnName, value);
+        }
+      } catch (final SQLException e) {
+        json.put(columnName, DataTypeUtils.returnNullIfInvalid(() -> resultSet.getLong(colIndex)));
+      }
+    };
+  }
+
+  private static ColumnReader bigIntReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final long value = resultSet.getLong(colIndex);
+        if (!resultSet.wasNull()) {
+          json.put(columnName, value);
+        }
+      } catch (final SQLException e) {
+        json.putNull(columnName);
+      }
+    };
+  }
+
+  private static ColumnReader doubleReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final double value = resultSet.getDouble(colIndex);
+        if (!resultSet.wasNull()) {
+          json.put(columnName, Double.isFinite(value) ? Double.valueOf(value) : null);
+        }
+      } catch (final SQLException e) {
+        json.putNull(columnName);
+      }
+    };
+  }
+
+  private static ColumnReader floatReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final float value = resultSet.getFloat(colIndex);
+        if (!resultSet.wasNull()) {
+          json.put(columnName, Float.isFinite(value) ? Float.valueOf(value) : null);
+        }
+      } catch (final SQLException e) {
+        json.putNull(columnName);
+      }
+    };
+  }
+
+  private static ColumnReader bigDecimalReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      try {
+        final BigDecimal value = resultSet.getBigDecimal(colIndex);
+        if (value != null) {
+          json.put(columnName, value);
+        }
+      } catch (final SQLException e) {
+        json.putNull(columnName);
+      }
+    };
+  }
+
+  private static ColumnReader stringReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final String value = resultSet.getString(colIndex);
+      if (value != null) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader binaryReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final byte[] value = resultSet.getBytes(colIndex);
+      if (value != null) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnEncoder booleanEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      final boolean value = resultSet.getBoolean(colIndex);
+      if (!resultSet.wasNull()) {
+        generator.writeFieldName(fieldName);
+        generator.writeBoolean(value);
+      }
+    };
+  }
+
+  private static ColumnEncoder shortEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final short value = resultSet.getShort(colIndex);
+        if (!resultSet.wasNull()) {
+          generator.writeFieldName(fieldName);
+          generator.writeNumber(value);
+        }
+      } catch (final SQLException e) {
+        writeIntegerOrNull(generator, fieldName, DataTypeUtils.returnNullIfInvalid(() -> resultSet.getInt(colIndex)));
+      }
+    };
+  }
+
+  private static ColumnEncoder integerEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final int value = resultSet.getInt(colIndex);
+        if (!resultSet.wasNull()) {
+          generator.writeFieldName(fieldName);
+          generator.writeNumber(value);
+        }
+      } catch (final SQLException e) {
+        writeIntegerOrNull(generator, fieldName, DataTypeUtils.returnNullIfInvalid(() -> resultSet.getLong(colIndex)));
+      }
+    };
+  }
+
+  private static ColumnEncoder bigIntEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final long value = resultSet.getLong(colIndex);
+        if (!resultSet.wasNull()) {
+          generator.writeFieldName(fieldName);
+          generator.writeNumber(value);
+        }
+      } catch (final SQLException e) {
+        generator.writeNullField(fieldName.getValue());
+      }
+    };
+  }
+
+  private static ColumnEncoder doubleEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final double value = resultSet.getDouble(colIndex);
+        if (!resultSet.wasNull()) {
+          generator.writeFieldName(fieldName);
+          if (Double.isFinite(value)) {
+            generator.writeNumber(value);
+          } else {
+            generator.writeNull();
+          }
+        }
+      } catch (final SQLException e) {
+        generator.writeNullField(fieldName.getValue());
+      }
+    };
+  }
+
+  private static ColumnEncoder floatEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final float value = resultSet.getFloat(colIndex);
+        if (!resultSet.wasNull()) {
+          generator.writeFieldName(fieldName);
+          if (Float.isFinite(value)) {
+            generator.writeNumber(value);
+          } else {
+            generator.writeNull();
+          }
+        }
+      } catch (final SQLException e) {
+        generator.writeNullField(fieldName.getValue());
+      }
+    };
+  }
+
+  private static ColumnEncoder bigDecimalEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      try {
+        final BigDecimal value = resultSet.getBigDecimal(colIndex);
+        if (value != null) {
+          generator.writeFieldName(fieldName);
+          generator.writeNumber(value);
+        }
+      } catch (final SQLException e) {
+        generator.writeNullField(fieldName.getValue());
+      }
+    };
+  }
+
+  private static ColumnEncoder stringEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      final String value = resultSet.getString(colIndex);
+      if (value != null) {
+        generator.writeFieldName(fieldName);
+        generator.writeString(value);
+      }
+    };
+  }
+
+  private static ColumnEncoder binaryEncoder(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final SerializedString fieldName = new SerializedString(metaData.getColumnName(colIndex));
+    return (resultSet, generator) -> {
+      final byte[] value = resultSet.getBytes(colIndex);
+      if (value != null) {
+        generator.writeFieldName(fieldName);
+        generator.writeBinary(value);
+      }
+    };
+  }
+
+  private static void writeIntegerOrNull(final JsonGenerator generator, final SerializedString fieldName, final Number value) throws IOException {
+    generator.writeFieldName(fieldName);
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(value.longValue());
+    }
+  }
+
   @Override
   public void setCursorField(final PreparedStatement preparedStatement,
                              final int parameterIndex,
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Reads the elements of a source spliterator on a thread of its own, up to {@code capacity} elements
+ * ahead of the consumer, so that waiting on the source, e.g. for the next rows of a result set,
+ * overlaps with whatever the consumer does with the elements.
+ * <p>
+ * The source is only ever advanced by the read-ahead thread, which starts on the first advance.
+ * Failures of the source are thrown to the consumer once it reaches them. {@link #close()} must be
+ * called before the resources backing the source are released, since it waits for the read-ahead
+ * thread to stop.
+ */
+public class ReadAheadSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+  private static final ThreadFactory THREAD_FACTORY = new BasicThreadFactory.Builder()
+      .namingPattern("jdbc-read-ahead-%d")
+      .daemon(true)
+      .build();
+  // the queue cannot hold nulls
+  private static final Object NULL_ELEMENT = new Object();
+  private static final Object END_OF_DATA = new Object();
+
+  private final Spliterator<T> source;
+  private final int capacity;
+  private final BlockingQueue<Object> queue;
+  // elements taken from the queue at once, to not contend with the read-ahead thread for each element
+  private final Queue<Object> taken;
+
+  private Thread readAheadThread;
+  private boolean isDone = false;
+
+  // a RuntimeException or an Error, thrown to the consumer unchanged
+  private record Failure(Throwable throwable) {}
+
+  public ReadAheadSpliterator(final Spliterator<T> source, final int capacity) {
+    super(Long.MAX_VALUE, source.characteristics() & Spliterator.ORDERED);
+    Preconditions.checkArgument(capacity > 0, "The read-ahead capacity must be positive: %s", capacity);
+    this.source = source;
+    this.capacity = capacity;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.taken = new ArrayDeque<>(capacity);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    if (isDone) {
+      return false;
+    }
+    if (readAheadThread == null) {
+      readAheadThread = THREAD_FACTORY.newThread(this::readAhead);
+      readAheadThread.start();
+    }
+    final Object element = takeNext();
+    if (element == END_OF_DATA) {
+      isDone = true;
+      return false;
+    }
+    if (element instanceof final Failure failure) {
+      isDone = true;
+      if (failure.throwable() instanceof final Error error) {
+        throw error;
+      }
+      throw (RuntimeException) failure.throwable();
+    }
+    action.accept(element == NULL_ELEMENT ? null : (T) element);
+    return true;
+  }
+
+  private Object takeNext() {
+    if (taken.isEmpty()) {
+      try {
+        taken.add(queue.take());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      queue.drainTo(taken, capacity - 1);
+    }
+    return taken.remove();
+  }
+
+  private void readAhead() {
+    try {
+      boolean hasNext = true;
+      while (hasNext && !Thread.currentThread().isInterrupted()) {
+        hasNext = source.tryAdvance(this::put);
+      }
+      queue.put(END_OF_DATA);
+    } catch (final InterruptedException e) {
+      // closed before the consumer was done
+      Thread.currentThread().interrupt();
+    } catch (final RuntimeException | Error e) {
+      if (Thread.currentThread().isInterrupted()) {
+        // closed while putting an element, or the source failed because of the interruption
+        return;
+      }
+      try {
+        queue.put(new Failure(e));
+      } catch (final InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void put(final T element) {
+    try {
+      queue.put(element == null ? NULL_ELEMENT : element);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Stops the read-ahead thread, and waits for it to stop. An element that is being read from the
+   * source is read to the end first.
+   */
+  @Override
+  public void close() {
+    isDone = true;
+    if (readAheadThread == null) {
+      return;
+    }
+    readAheadThread.interrupt();
+    try {
+      readAheadThread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.airbyte.commons.json.Jsons;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A row that was written to UTF-8 JSON as it was read from the database, see {@link JdbcRowEncoder}.
+ * <p>
+ * The row is carried as the data of its record message, wrapped in a {@link POJONode}, see
+ * {@link #toNode()}. Serializing the message, e.g. in the output record collector, copies the JSON
+ * as is, so that no object tree is ever built for the row. Only the fields the row encoder was asked
+ * to retain, typically the cursor field of an incremental read, can be read back.
+ *
+ * @param json the row as a JSON object, in UTF-8. The array must not be modified.
+ * @param retainedFields fields of the row that can be read back
+ */
+public record SerializedRow(byte[] json, ObjectNode retainedFields) implements JsonSerializable {
+
+  /**
+   * Serializes a row that was read as a tree, for sources that cannot write their rows directly.
+   */
+  public static SerializedRow fromTree(final JsonNode row, final Set<String> retainedFields) {
+    final ObjectNode retained = JsonNodeFactory.instance.objectNode();
+    for (final String field : retainedFields) {
+      if (row.has(field)) {
+        retained.set(field, row.get(field));
+      }
+    }
+    return new SerializedRow(Jsons.toBytes(row), retained);
+  }
+
+  /**
+   * @return the serialized row wrapped by the record data, if it is one
+   */
+  public static Optional<SerializedRow> fromNode(final JsonNode data) {
+    if (data instanceof final POJONode node && node.getPojo() instanceof final SerializedRow row) {
+      return Optional.of(row);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return the fields that can be read from the record data: the retained ones of a serialized row,
+   *         every field of a tree
+   */
+  public static JsonNode readableFields(final JsonNode data) {
+    return fromNode(data).map(row -> (JsonNode) row.retainedFields()).orElse(data);
+  }
+
+  /**
+   * @return the node to use as the data of the record message of the row
+   */
+  public JsonNode toNode() {
+    return JsonNodeFactory.instance.pojoNode(this);
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+    generator.writeRawValue(new Utf8Json(json));
+  }
+
+  @Override
+  public void serializeWithType(final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, provider);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return o instanceof final SerializedRow other && Arrays.equals(json, other.json);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(json);
+  }
+
+  @Override
+  public String toString() {
+    return new String(json, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Raw JSON value that is already encoded. Jackson only ever needs its unquoted forms to write it as
+   * a raw value.
+   */
+  private static class Utf8Json implements SerializableString {
+
+    private final byte[] bytes;
+
+    private Utf8Json(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public String getValue() {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+      return getValue().length();
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+      return bytes;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(final byte[] buffer, final int offset) {
+      if (offset + bytes.length > buffer.length) {
+        return -1;
+      }
+      System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+      return bytes.length;
+    }
+
+    @Override
+    public int appendUnquoted(final char[] buffer, final int offset) {
+      final String value = getValue();
+      if (offset + value.length() > buffer.length) {
+        return -1;
+      }
+      value.getChars(0, value.length(), buffer, offset);
+      return value.length();
+    }
+
+    @Override
+    public int writeUnquotedUTF8(final OutputStream out) throws IOException {
+      out.write(bytes);
+      return bytes.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(final ByteBuffer buffer) {
+      if (bytes.length > buffer.remaining()) {
+        return -1;
+      }
+      buffer.put(bytes);
+      return bytes.length;
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public int appendQuotedUTF8(final byte[] buffer, final int offset) {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public int appendQuoted(final char[] buffer, final int offset) {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public int writeQuotedUTF8(final OutputStream out) {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public int putQuotedUTF8(final ByteBuffer buffer) {
+      throw new UnsupportedOperationException("Serialized rows are only written as raw values.");
+    }
+
+    @Override
+    public String toString() {
+      return getValue();
+    }
+
+  }
+
+}
@@ -32,12 +32,26 @@ public class StreamingJdbcDatabase extends DefaultJdbcDatabase {
   private static final Logger LOGGER = LoggerFactory.getLogger(StreamingJdbcDatabase.class);
 
   private final Supplier<JdbcStreamingQueryConfig> streamingQueryConfigProvider;
+  private final int readAheadRowCount;
 
   public StreamingJdbcDatabase(final DataSource dataSource,
                                final JdbcCompatibleSourceOperations<?> sourceOperations,
                                final Supplier<JdbcStreamingQueryConfig> streamingQueryConfigProvider) {
+    this(dataSource, sourceOperations, streamingQueryConfigProvider, 0);
+  }
+
+  /**
+   * @param readAheadRowCount number of rows that are fetched and mapped ahead of the consumer of a
+   *        query, on a thread of their own, see {@link ReadAheadSpliterator}. The rows are read when
+   *        the consumer asks for them if 0.
+   */
+  public StreamingJdbcDatabase(final DataSource dataSource,
+                               final JdbcCompatibleSourceOperations<?> sourceOperations,
+                               final Supplier<JdbcStreamingQueryConfig> streamingQueryConfigProvider,
+                               final int readAheadRowCount) {
     super(dataSource, sourceOperations);
     this.streamingQueryConfigProvider = streamingQueryConfigProvider;
+    this.readAheadRowCount = readAheadRowCount;
   }
 
   /**
@@ -46,7 +60,7 @@ public class StreamingJdbcDatabase extends DefaultJdbcDatabase {
    * {@link JdbcStreamingQueryConfig} to understand the size of these chunks. If the entire stream is
    * consumed the database connection will be closed automatically and the caller need not call close
    * on the returned stream. This query (and the first chunk) are fetched immediately. Subsequent
-   * chunks will not be pulled until the first chunk is consumed.
+   * chunks will not be pulled until the first chunk is consumed, unless rows are read ahead.
    *
    * @param statementCreator create a {@link PreparedStatement} from a {@link Connection}.
    * @param recordTransform transform each record of that result set into the desired type. do NOT
@@ -87,12 +101,13 @@ public class StreamingJdbcDatabase extends DefaultJdbcDatabase {
 
   /**
    * This method differs from {@link DefaultJdbcDatabase#toUnsafeStream} in that it takes a streaming
-   * config that adjusts the fetch size dynamically according to sampled row size.
+   * config that adjusts the fetch size dynamically according to sampled row size. The rows are read
+   * ahead of the consumer of the stream if the database is configured to.
    */
   protected <T> Stream<T> toUnsafeStream(final ResultSet resultSet,
                                          final CheckedFunction<ResultSet, T, SQLException> mapper,
                                          final JdbcStreamingQueryConfig streamingConfig) {
-    return StreamSupport.stream(new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+    final Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
 
       @Override
       public boolean tryAdvance(final Consumer<? super T> action) {
@@ -113,7 +128,13 @@ public class StreamingJdbcDatabase extends DefaultJdbcDatabase {
         }
       }
 
-    }, false);
+    };
+    if (readAheadRowCount <= 0) {
+      return StreamSupport.stream(rows, false);
+    }
+    // the read-ahead thread must be stopped before the connection is closed
+    final ReadAheadSpliterator<T> readAheadRows = new ReadAheadSpliterator<>(rows, readAheadRowCount);
+    return StreamSupport.stream(readAheadRows, false).onClose(readAheadRows::close);
   }
 
 }
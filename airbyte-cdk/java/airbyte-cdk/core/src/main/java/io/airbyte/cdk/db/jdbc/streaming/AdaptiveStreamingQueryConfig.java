@@ -4,6 +4,7 @@
 
 package io.airbyte.cdk.db.jdbc.streaming;
 
+import com.google.common.base.Preconditions;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -19,7 +20,17 @@ public class AdaptiveStreamingQueryConfig implements JdbcStreamingQueryConfig {
   private int currentFetchSize;
 
   public AdaptiveStreamingQueryConfig() {
-    this.fetchSizeEstimator = TwoStageSizeEstimator.getInstance();
+    this(FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO);
+  }
+
+  /**
+   * @param targetBufferSizeRatio share of the max heap size that the fetched rows are meant to take
+   *        up, see {@link FetchSizeConstants#TARGET_BUFFER_SIZE_RATIO}
+   */
+  public AdaptiveStreamingQueryConfig(final double targetBufferSizeRatio) {
+    Preconditions.checkArgument(targetBufferSizeRatio > 0.0 && targetBufferSizeRatio <= 1.0,
+        "The target buffer size ratio must be in (0, 1]: %s", targetBufferSizeRatio);
+    this.fetchSizeEstimator = TwoStageSizeEstimator.getInstance(targetBufferSizeRatio);
     this.currentFetchSize = FetchSizeConstants.INITIAL_SAMPLE_SIZE;
   }
 
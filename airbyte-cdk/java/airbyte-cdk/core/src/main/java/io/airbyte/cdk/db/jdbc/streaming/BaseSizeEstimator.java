@@ -4,11 +4,17 @@
 
 package io.airbyte.cdk.db.jdbc.streaming;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Utf8;
+import io.airbyte.cdk.db.jdbc.SerializedRow;
 import io.airbyte.commons.json.Jsons;
+import java.util.Iterator;
+import java.util.Map.Entry;
 
 /**
- * Fetch size (number of rows) = target buffer byte size / max row byte size
+ * Fetch size (number of rows) = target buffer byte size / estimated row byte size
  */
 public abstract class BaseSizeEstimator implements FetchSizeEstimator {
 
@@ -18,7 +24,7 @@ public abstract class BaseSizeEstimator implements FetchSizeEstimator {
   private final int defaultFetchSize;
   private final int maxFetchSize;
 
-  protected double maxRowByteSize = 0.0;
+  protected double rowByteSize = 0.0;
 
   protected BaseSizeEstimator(final long targetBufferByteSize,
                               final int minFetchSize,
@@ -32,24 +38,60 @@ public abstract class BaseSizeEstimator implements FetchSizeEstimator {
 
   /**
    * What we really want is to know how much memory each {@code rowData} takes. However, there is no
-   * easy way to measure that. So we use the byte size of the serialized row to approximate that.
+   * easy way to measure that. So we use the UTF-8 byte size of the serialized row, times
+   * {@link FetchSizeConstants#ROW_MEMORY_FACTOR}, to approximate that.
+   * <p>
+   * Rows that are JSON trees are measured by adding up the sizes of their values, without serializing
+   * them. Rows that were serialized while they were read, see {@link SerializedRow}, already know
+   * their exact size.
    */
   @VisibleForTesting
   public static long getEstimatedByteSize(final Object rowData) {
     if (rowData == null) {
       return 0L;
     }
-    // The string length is multiplied by 4 assuming each character is a
-    // full UTF-8 character. In reality, a UTF-8 character is encoded as
-    // 1 to 4 bytes. So this is an overestimation. This is alright, because
-    // the whole method only provides an estimation. Please never convert
-    // the string to byte[] to get the exact length. That conversion is known
-    // to introduce a lot of memory overhead.
-    //
-    // We are using 3L as the median byte-size of a serialized char here assuming that most chars fit
-    // into the ASCII space (fewer bytes)
+    final long serializedByteSize;
+    if (rowData instanceof final JsonNode json) {
+      serializedByteSize = SerializedRow.fromNode(json)
+          .map(serializedRow -> (long) serializedRow.json().length)
+          .orElseGet(() -> getSerializedByteSize(json));
+    } else {
+      serializedByteSize = Utf8.encodedLength(Jsons.serialize(rowData));
+    }
+    return serializedByteSize * FetchSizeConstants.ROW_MEMORY_FACTOR;
+  }
 
-    return Jsons.serialize(rowData).length() * 3L;
+  /**
+   * Byte size of the JSON the node serializes to. Escaped characters in strings are counted as one
+   * character, which is close enough for an estimation.
+   */
+  private static long getSerializedByteSize(final JsonNode json) {
+    return switch (json.getNodeType()) {
+      case OBJECT -> {
+        // braces and the commas between fields
+        long byteSize = 1 + Math.max(1, json.size());
+        final Iterator<Entry<String, JsonNode>> fields = json.fields();
+        while (fields.hasNext()) {
+          final Entry<String, JsonNode> field = fields.next();
+          // quotes around the field name and the colon
+          byteSize += Utf8.encodedLength(field.getKey()) + 3 + getSerializedByteSize(field.getValue());
+        }
+        yield byteSize;
+      }
+      case ARRAY -> {
+        long byteSize = 1 + Math.max(1, json.size());
+        for (final JsonNode element : json) {
+          byteSize += getSerializedByteSize(element);
+        }
+        yield byteSize;
+      }
+      case STRING -> Utf8.encodedLength(json.textValue()) + 2L;
+      // base64, in quotes
+      case BINARY -> 4L * ((((BinaryNode) json).binaryValue().length + 2) / 3) + 2;
+      case NUMBER, BOOLEAN -> json.asText().length();
+      case NULL -> 4L;
+      default -> Utf8.encodedLength(Jsons.serialize(json));
+    };
   }
 
   /**
@@ -58,18 +100,18 @@ public abstract class BaseSizeEstimator implements FetchSizeEstimator {
    */
   @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
   protected int getBoundedFetchSize() {
-    if (maxRowByteSize <= 0.0) {
+    if (rowByteSize <= 0.0) {
       return defaultFetchSize;
     }
-    final long rawFetchSize = Math.round(targetBufferByteSize / maxRowByteSize);
+    final long rawFetchSize = Math.round(targetBufferByteSize / rowByteSize);
     if (rawFetchSize > Integer.MAX_VALUE) {
       return maxFetchSize;
     }
     return Math.max(minFetchSize, Math.min(maxFetchSize, (int) rawFetchSize));
   }
 
-  double getMaxRowByteSize() {
-    return maxRowByteSize;
+  double getRowByteSize() {
+    return rowByteSize;
   }
 
 }
@@ -16,6 +16,17 @@ public final class FetchSizeConstants {
   public static final int INITIAL_SAMPLE_SIZE = 10;
   // sample every N rows during the post-initial stage
   public static final int SAMPLE_FREQUENCY = 100;
+  // the row size is estimated from the last N samples, so that it follows the rows as they get wider
+  // or narrower
+  public static final int SAMPLE_WINDOW_SIZE = 100;
+  // percentile of the sampled row sizes used as the row size. The mean of the samples is used instead
+  // when it is higher, i.e. when a few very wide rows take up most of the buffer.
+  public static final double ROW_SIZE_PERCENTILE = 0.9;
+  // a new fetch size is only set when it differs from the current one by more than this ratio
+  public static final double FETCH_SIZE_CHANGE_THRESHOLD = 0.1;
+  // A fetched row takes up more memory than its serialized byte size, e.g. once in the driver's
+  // buffer and once more as the Java values read from it.
+  public static final long ROW_MEMORY_FACTOR = 3L;
 
   public static final int MIN_FETCH_SIZE = 1;
   public static final int DEFAULT_FETCH_SIZE = 1000;
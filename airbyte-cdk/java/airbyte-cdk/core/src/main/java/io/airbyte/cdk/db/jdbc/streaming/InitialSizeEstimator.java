@@ -27,8 +27,8 @@ public class InitialSizeEstimator extends BaseSizeEstimator implements FetchSize
   @Override
   public void accept(final Object row) {
     final long byteSize = getEstimatedByteSize(row);
-    if (maxRowByteSize < byteSize) {
-      maxRowByteSize = byteSize;
+    if (rowByteSize < byteSize) {
+      rowByteSize = byteSize;
     }
     counter++;
   }
@@ -4,18 +4,33 @@
 
 package io.airbyte.cdk.db.jdbc.streaming;
 
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
- * This class adjusts the max row byte size by measuring one row out of every
- * {@code sampleFrequency} rows.
+ * This class adjusts the row byte size by measuring one row out of every {@code sampleFrequency}
+ * rows.
+ * <p>
+ * The row byte size is a percentile of the last {@code windowSize} samples, or their mean when that
+ * is higher. Unlike a maximum, it is not skewed for good by a few wide rows, and it goes back down
+ * once the rows get narrower again, so that the fetch size can grow back. A new fetch size is only
+ * reported when it differs enough from the last one to be worth a change.
  */
 public class SamplingSizeEstimator extends BaseSizeEstimator implements FetchSizeEstimator {
 
   private final int sampleFrequency;
+  private final double percentile;
+  private final double fetchSizeChangeThreshold;
+  // ring buffer of the most recent samples
+  private final long[] samples;
+  private final long[] sortedSamples;
+  private int sampleCount = 0;
+  private int nextSample = 0;
 
   private int counter = 0;
   private boolean hasNewEstimation = false;
+  private int lastFetchSize = 0;
 
   public SamplingSizeEstimator(final long bufferByteSize,
                                final int sampleFrequency,
@@ -23,9 +38,35 @@ public class SamplingSizeEstimator extends BaseSizeEstimator implements FetchSiz
                                final int minFetchSize,
                                final int defaultFetchSize,
                                final int maxFetchSize) {
+    this(bufferByteSize, sampleFrequency, FetchSizeConstants.SAMPLE_WINDOW_SIZE, FetchSizeConstants.ROW_SIZE_PERCENTILE,
+        FetchSizeConstants.FETCH_SIZE_CHANGE_THRESHOLD, initialRowByteSize, minFetchSize, defaultFetchSize, maxFetchSize);
+  }
+
+  /**
+   * @param windowSize number of most recent samples the row byte size is estimated from
+   * @param percentile percentile of the samples used as the row byte size, between 0 and 1
+   * @param fetchSizeChangeThreshold minimum relative change of the fetch size for it to be reported
+   * @param initialRowByteSize row byte size estimated so far. It counts as the first sample.
+   */
+  public SamplingSizeEstimator(final long bufferByteSize,
+                               final int sampleFrequency,
+                               final int windowSize,
+                               final double percentile,
+                               final double fetchSizeChangeThreshold,
+                               final double initialRowByteSize,
+                               final int minFetchSize,
+                               final int defaultFetchSize,
+                               final int maxFetchSize) {
     super(bufferByteSize, minFetchSize, defaultFetchSize, maxFetchSize);
+    Preconditions.checkArgument(windowSize > 0, "The sample window size must be positive: %s", windowSize);
+    Preconditions.checkArgument(percentile > 0.0 && percentile <= 1.0, "The percentile must be in (0, 1]: %s", percentile);
     this.sampleFrequency = sampleFrequency;
-    this.maxRowByteSize = initialRowByteSize;
+    this.percentile = percentile;
+    this.fetchSizeChangeThreshold = fetchSizeChangeThreshold;
+    this.samples = new long[windowSize];
+    this.sortedSamples = new long[windowSize];
+    this.rowByteSize = initialRowByteSize;
+    addSample(Math.round(initialRowByteSize));
   }
 
   @Override
@@ -36,9 +77,10 @@ public class SamplingSizeEstimator extends BaseSizeEstimator implements FetchSiz
     }
 
     counter = 0;
-    final long rowByteSize = getEstimatedByteSize(row);
-    if (this.maxRowByteSize < rowByteSize) {
-      this.maxRowByteSize = rowByteSize;
+    addSample(getEstimatedByteSize(row));
+    final double estimatedRowByteSize = estimateRowByteSize();
+    if (estimatedRowByteSize != rowByteSize) {
+      rowByteSize = estimatedRowByteSize;
       hasNewEstimation = true;
     }
   }
@@ -50,7 +92,32 @@ public class SamplingSizeEstimator extends BaseSizeEstimator implements FetchSiz
     }
 
     hasNewEstimation = false;
-    return Optional.of(getBoundedFetchSize());
+    final int fetchSize = getBoundedFetchSize();
+    if (lastFetchSize > 0 && Math.abs(fetchSize - lastFetchSize) <= lastFetchSize * fetchSizeChangeThreshold) {
+      return Optional.empty();
+    }
+    lastFetchSize = fetchSize;
+    return Optional.of(fetchSize);
+  }
+
+  private void addSample(final long rowByteSize) {
+    samples[nextSample] = rowByteSize;
+    nextSample = (nextSample + 1) % samples.length;
+    sampleCount = Math.min(sampleCount + 1, samples.length);
+  }
+
+  /**
+   * @return the nearest-rank percentile of the samples in the window, or their mean when it is higher
+   */
+  private double estimateRowByteSize() {
+    System.arraycopy(samples, 0, sortedSamples, 0, sampleCount);
+    Arrays.sort(sortedSamples, 0, sampleCount);
+    final int rank = Math.max(1, (int) Math.ceil(percentile * sampleCount));
+    long sum = 0;
+    for (int i = 0; i < sampleCount; i++) {
+      sum += sortedSamples[i];
+    }
+    return Math.max(sortedSamples[rank - 1], (double) sum / sampleCount);
   }
 
 }
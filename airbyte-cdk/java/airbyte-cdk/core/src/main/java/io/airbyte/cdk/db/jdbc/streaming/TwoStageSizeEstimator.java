@@ -19,14 +19,24 @@ public class TwoStageSizeEstimator implements FetchSizeEstimator {
   private static final Logger LOGGER = LoggerFactory.getLogger(TwoStageSizeEstimator.class);
 
   private final int initialSampleSize;
+  private final double targetBufferSizeRatio;
   private BaseSizeEstimator delegate;
   private int counter = 0;
 
   public static TwoStageSizeEstimator getInstance() {
-    return new TwoStageSizeEstimator();
+    return getInstance(FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO);
   }
 
-  private TwoStageSizeEstimator() {
+  /**
+   * @param targetBufferSizeRatio share of the max heap size that the fetched rows are meant to take
+   *        up once the initial sampling is done
+   */
+  public static TwoStageSizeEstimator getInstance(final double targetBufferSizeRatio) {
+    return new TwoStageSizeEstimator(targetBufferSizeRatio);
+  }
+
+  private TwoStageSizeEstimator(final double targetBufferSizeRatio) {
+    this.targetBufferSizeRatio = targetBufferSizeRatio;
     this.initialSampleSize = FetchSizeConstants.INITIAL_SAMPLE_SIZE;
     this.delegate = new InitialSizeEstimator(
         FetchSizeConstants.MIN_BUFFER_BYTE_SIZE,
@@ -48,9 +58,9 @@ public class TwoStageSizeEstimator implements FetchSizeEstimator {
       // switch to SamplingSizeEstimator after the initial N rows
       if (delegate instanceof InitialSizeEstimator && counter > initialSampleSize) {
         delegate = new SamplingSizeEstimator(
-            getTargetBufferByteSize(Runtime.getRuntime().maxMemory()),
+            getTargetBufferByteSize(Runtime.getRuntime().maxMemory(), targetBufferSizeRatio),
             FetchSizeConstants.SAMPLE_FREQUENCY,
-            delegate.getMaxRowByteSize(),
+            delegate.getRowByteSize(),
             FetchSizeConstants.MIN_FETCH_SIZE,
             FetchSizeConstants.DEFAULT_FETCH_SIZE,
             FetchSizeConstants.MAX_FETCH_SIZE);
@@ -61,12 +71,12 @@ public class TwoStageSizeEstimator implements FetchSizeEstimator {
   }
 
   @VisibleForTesting
-  static long getTargetBufferByteSize(final Long maxMemory) {
+  static long getTargetBufferByteSize(final Long maxMemory, final double targetBufferSizeRatio) {
     if (maxMemory == null || maxMemory == Long.MAX_VALUE) {
       LOGGER.info("No max memory limit found, use min JDBC buffer size: {}", FetchSizeConstants.MIN_BUFFER_BYTE_SIZE);
       return FetchSizeConstants.MIN_BUFFER_BYTE_SIZE;
     }
-    final long targetBufferByteSize = Math.round(maxMemory * FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO);
+    final long targetBufferByteSize = Math.round(maxMemory * targetBufferSizeRatio);
     final long finalBufferByteSize = Math.max(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE, targetBufferByteSize);
     LOGGER.info("Max memory limit: {}, JDBC buffer size: {}", maxMemory, finalBufferByteSize);
     return finalBufferByteSize;
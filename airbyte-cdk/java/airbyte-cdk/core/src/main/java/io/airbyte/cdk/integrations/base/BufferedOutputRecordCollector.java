@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.base;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.jackson.MoreMappers;
+import io.airbyte.protocol.models.v0.AirbyteMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Output record collector that writes messages as UTF-8 JSON lines into a large buffer and only
+ * writes the buffer out when it is full, when the oldest buffered message has waited for the max
+ * flush delay, or when a message has to be seen right away.
+ * <p>
+ * Every thread serializes straight to bytes with its own reusable Jackson generator, outside of any
+ * lock, so {@link io.airbyte.cdk.integrations.util.concurrent.ConcurrentStreamConsumer}'s threads only contend
+ * on copying finished lines into the buffer. Lines are never split across writes, and the buffer is
+ * written to the output stream in one call, so lines written by other code to the same stream (e.g.
+ * logs on {@link System#out}) cannot end up in the middle of a message. Record data that was
+ * serialized while it was read, see {@link io.airbyte.cdk.db.jdbc.SerializedRow}, is copied into the
+ * line as is.
+ * <p>
+ * STATE messages are flushed immediately along with every message before them, so a checkpoint is
+ * never emitted ahead of its records nor held back. TRACE and CONTROL messages are flushed
+ * immediately too, since they are often the last thing a connector writes before failing.
+ */
+public class BufferedOutputRecordCollector implements Consumer<AirbyteMessage>, Flushable {
+
+  public static final int DEFAULT_BUFFER_SIZE_BYTES = 1024 * 1024;
+  public static final Duration DEFAULT_MAX_FLUSH_DELAY = Duration.ofSeconds(1);
+
+  private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
+  private static final byte NEW_LINE = '\n';
+
+  private static final BufferedOutputRecordCollector STDOUT = createStdoutCollector();
+
+  private final Supplier<OutputStream> output;
+  private final long maxFlushDelayNanos;
+  private final ThreadLocal<LineSerializer> serializers = ThreadLocal.withInitial(LineSerializer::new);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // guarded by lock
+  private final byte[] buffer;
+  private int position = 0;
+  private long oldestUnflushedNanos = 0;
+
+  /**
+   * @param output stream to write to. It is looked up on every write, so that e.g. a replaced
+   *        {@link System#out} is picked up.
+   * @param bufferSizeBytes bytes buffered before writing to the output
+   * @param maxFlushDelay max time a message is buffered when messages keep coming. Use
+   *        {@link #scheduleFlushes(ScheduledExecutorService)} so that it also holds when they stop.
+   */
+  public BufferedOutputRecordCollector(final Supplier<OutputStream> output, final int bufferSizeBytes, final Duration maxFlushDelay) {
+    this.output = output;
+    this.buffer = new byte[bufferSizeBytes];
+    this.maxFlushDelayNanos = maxFlushDelay.toNanos();
+  }
+
+  /**
+   * @return the collector writing to {@link System#out} shared by the whole process, see
+   *         {@link Destination#defaultOutputRecordCollector(AirbyteMessage)}.
+   */
+  public static BufferedOutputRecordCollector stdout() {
+    return STDOUT;
+  }
+
+  @Override
+  public void accept(final AirbyteMessage message) {
+    final LineSerializer serializer = serializers.get();
+    try {
+      serializer.serialize(message);
+    } catch (final IOException e) {
+      // the generator may be left in the middle of a value.
+      serializers.remove();
+      throw new UncheckedIOException(e);
+    } catch (final RuntimeException e) {
+      serializers.remove();
+      throw e;
+    }
+
+    lock.lock();
+    try {
+      append(serializer.bytes(), serializer.size());
+      if (mustFlushImmediately(message) || System.nanoTime() - oldestUnflushedNanos >= maxFlushDelayNanos) {
+        flushBuffer();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void flush() {
+    lock.lock();
+    try {
+      flushBuffer();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes messages that have been buffered for longer than the max flush delay, also when no new
+   * messages come in to trigger it.
+   */
+  public void scheduleFlushes(final ScheduledExecutorService executor) {
+    executor.scheduleWithFixedDelay(this::flushIfStale, maxFlushDelayNanos, maxFlushDelayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @VisibleForTesting
+  void flushIfStale() {
+    lock.lock();
+    try {
+      if (position > 0 && System.nanoTime() - oldestUnflushedNanos >= maxFlushDelayNanos) {
+        flushBuffer();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static boolean mustFlushImmediately(final AirbyteMessage message) {
+    return message.getType() == Type.STATE || message.getType() == Type.TRACE || message.getType() == Type.CONTROL;
+  }
+
+  private void append(final byte[] line, final int length) {
+    if (position + length > buffer.length) {
+      flushBuffer();
+    }
+    if (length > buffer.length) {
+      write(line, length);
+      return;
+    }
+    if (position == 0) {
+      oldestUnflushedNanos = System.nanoTime();
+    }
+    System.arraycopy(line, 0, buffer, position, length);
+    position += length;
+  }
+
+  private void flushBuffer() {
+    if (position > 0) {
+      write(buffer, position);
+      position = 0;
+    }
+  }
+
+  private void write(final byte[] bytes, final int length) {
+    final OutputStream out = output.get();
+    try {
+      out.write(bytes, 0, length);
+      out.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static BufferedOutputRecordCollector createStdoutCollector() {
+    final BufferedOutputRecordCollector collector =
+        new BufferedOutputRecordCollector(() -> System.out, DEFAULT_BUFFER_SIZE_BYTES, DEFAULT_MAX_FLUSH_DELAY);
+    collector.scheduleFlushes(Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+        .namingPattern("stdout-flusher-%d")
+        .daemon(true)
+        .build()));
+    Runtime.getRuntime().addShutdownHook(new Thread(collector::flush, "stdout-flusher-shutdown"));
+    return collector;
+  }
+
+  /**
+   * Serializes one message at a time into a reusable byte array.
+   */
+  private static class LineSerializer {
+
+    private final ExposedByteArrayOutputStream line = new ExposedByteArrayOutputStream();
+    private final JsonGenerator generator;
+
+    LineSerializer() {
+      try {
+        generator = OBJECT_MAPPER.getFactory().createGenerator(line, JsonEncoding.UTF8);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      // lines are separated by the new line written after each message instead.
+      generator.setRootValueSeparator(null);
+    }
+
+    void serialize(final AirbyteMessage message) throws IOException {
+      line.reset();
+      OBJECT_MAPPER.writeValue(generator, message);
+      generator.writeRaw((char) NEW_LINE);
+      generator.flush();
+    }
+
+    byte[] bytes() {
+      return line.buffer();
+    }
+
+    int size() {
+      return line.size();
+    }
+
+  }
+
+  private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    byte[] buffer() {
+      return buf;
+    }
+
+  }
+
+}
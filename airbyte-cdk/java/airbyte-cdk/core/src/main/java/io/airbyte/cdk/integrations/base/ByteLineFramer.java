@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Splits a byte channel into newline-delimited lines without copying or decoding them.
+ * <p>
+ * Bytes are read from the channel into a single reusable buffer. Every complete line is handed to
+ * the {@link LineConsumer} as an offset/length view over that buffer, so no per-line array or
+ * {@link String} is allocated. Both {@code \n} and {@code \r} are treated as delimiters and empty
+ * lines are skipped, which matches the behaviour of splitting stdin on {@code [\r\n]+}.
+ * <p>
+ * The buffer only grows when a single line does not fit in it. Consumers must not hold on to the
+ * array after {@link LineConsumer#accept(byte[], int, int)} returns, since its contents are
+ * overwritten by the next read.
+ */
+public class ByteLineFramer {
+
+  public static final int DEFAULT_BUFFER_SIZE_BYTES = 1024 * 1024;
+
+  /**
+   * Receives a single framed line as a view over the framer's buffer.
+   */
+  @FunctionalInterface
+  public interface LineConsumer {
+
+    void accept(byte[] buffer, int offset, int length) throws Exception;
+
+  }
+
+  private final ReadableByteChannel channel;
+  private ByteBuffer buffer;
+
+  public ByteLineFramer(final ReadableByteChannel channel) {
+    this(channel, DEFAULT_BUFFER_SIZE_BYTES);
+  }
+
+  public ByteLineFramer(final ReadableByteChannel channel, final int initialBufferSizeBytes) {
+    this.channel = channel;
+    // heap backed so that lines can be exposed as array slices, which is what the json parser reads.
+    this.buffer = ByteBuffer.allocate(initialBufferSizeBytes);
+  }
+
+  /**
+   * Reads the channel until it is exhausted, passing every non-empty line to the consumer.
+   *
+   * @param consumer receives each line
+   * @throws Exception if reading from the channel or consuming a line fails
+   */
+  public void forEachLine(final LineConsumer consumer) throws Exception {
+    // bytes in [lineStart, scanPosition) have been checked for delimiters and belong to an unfinished
+    // line.
+    int lineStart = 0;
+    int scanPosition = 0;
+
+    while (readMore()) {
+      final byte[] array = buffer.array();
+      final int end = buffer.position();
+      for (int i = scanPosition; i < end; i++) {
+        final byte b = array[i];
+        if (b == '\n' || b == '\r') {
+          if (i > lineStart) {
+            consumer.accept(array, lineStart, i - lineStart);
+          }
+          lineStart = i + 1;
+        }
+      }
+      scanPosition = end - lineStart;
+      compact(lineStart);
+      lineStart = 0;
+    }
+
+    // Handle last line if there's one
+    if (buffer.position() > 0) {
+      consumer.accept(buffer.array(), 0, buffer.position());
+      buffer.clear();
+    }
+  }
+
+  /**
+   * Fills the free space at the end of the buffer, growing it first if there is none left.
+   *
+   * @return false once the channel has reached end of stream
+   */
+  private boolean readMore() throws IOException {
+    if (!buffer.hasRemaining()) {
+      final ByteBuffer grown = ByteBuffer.allocate(Math.multiplyExact(buffer.capacity(), 2));
+      buffer.flip();
+      grown.put(buffer);
+      buffer = grown;
+    }
+    int bytesRead;
+    do {
+      bytesRead = channel.read(buffer);
+    } while (bytesRead == 0 && buffer.hasRemaining());
+    return bytesRead != -1;
+  }
+
+  /**
+   * Moves the unfinished line starting at {@code lineStart} to the front of the buffer.
+   */
+  private void compact(final int lineStart) {
+    if (lineStart == 0) {
+      return;
+    }
+    final int remaining = buffer.position() - lineStart;
+    if (remaining > 0) {
+      System.arraycopy(buffer.array(), lineStart, buffer.array(), 0, remaining);
+    }
+    buffer.position(remaining);
+  }
+
+}
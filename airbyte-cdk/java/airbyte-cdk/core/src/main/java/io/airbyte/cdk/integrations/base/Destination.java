@@ -54,8 +54,12 @@ public interface Destination extends Integration {
     return new ShimToSerializedAirbyteMessageConsumer(getConsumer(config, catalog, outputRecordCollector));
   }
 
+  /**
+   * Writes the message to stdout through {@link BufferedOutputRecordCollector#stdout()}, which
+   * batches records and writes STATE and TRACE messages right away.
+   */
   static void defaultOutputRecordCollector(final AirbyteMessage message) {
-    System.out.println(Jsons.serialize(message));
+    BufferedOutputRecordCollector.stdout().accept(message);
   }
 
   /**
@@ -24,9 +24,9 @@ import io.airbyte.protocol.models.v0.AirbyteMessage;
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
 import io.airbyte.validation.json.JsonSchemaValidator;
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
@@ -125,6 +125,9 @@ public class IntegrationRunner {
       runInternal(parsed);
     } catch (final Exception e) {
       throw e;
+    } finally {
+      // write out the records still buffered by the default output record collector.
+      BufferedOutputRecordCollector.stdout().flush();
     }
   }
 
@@ -296,43 +299,19 @@ public class IntegrationRunner {
 
   @VisibleForTesting
   static void consumeWriteStream(final SerializedAirbyteMessageConsumer consumer) throws Exception {
-    try (final BufferedInputStream bis = new BufferedInputStream(System.in);
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      consumeWriteStream(consumer, bis, baos);
+    try (final ReadableByteChannel stdin = Channels.newChannel(System.in)) {
+      consumeWriteStream(consumer, stdin);
     }
   }
 
   @VisibleForTesting
-  static void consumeWriteStream(final SerializedAirbyteMessageConsumer consumer,
-                                 final BufferedInputStream bis,
-                                 final ByteArrayOutputStream baos)
-      throws Exception {
-    consumer.start();
-
-    final byte[] buffer = new byte[8192]; // 8K buffer
-    int bytesRead;
-    boolean lastWasNewLine = false;
-
-    while ((bytesRead = bis.read(buffer)) != -1) {
-      for (int i = 0; i < bytesRead; i++) {
-        final byte b = buffer[i];
-        if (b == '\n' || b == '\r') {
-          if (!lastWasNewLine && baos.size() > 0) {
-            consumer.accept(baos.toString(StandardCharsets.UTF_8), baos.size());
-            baos.reset();
-          }
-          lastWasNewLine = true;
-        } else {
-          baos.write(b);
-          lastWasNewLine = false;
-        }
-      }
-    }
+  static void consumeWriteStream(final SerializedAirbyteMessageConsumer consumer, final InputStream inputStream) throws Exception {
+    consumeWriteStream(consumer, Channels.newChannel(inputStream));
+  }
 
-    // Handle last line if there's one
-    if (baos.size() > 0) {
-      consumer.accept(baos.toString(StandardCharsets.UTF_8), baos.size());
-    }
+  private static void consumeWriteStream(final SerializedAirbyteMessageConsumer consumer, final ReadableByteChannel channel) throws Exception {
+    consumer.start();
+    new ByteLineFramer(channel).forEachLine(consumer::accept);
   }
 
   /**
@@ -7,6 +7,7 @@ package io.airbyte.cdk.integrations.base;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.functional.CheckedBiConsumer;
 import io.airbyte.protocol.models.v0.AirbyteMessage;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface for the destination's consumption of incoming messages as strings. This interface is
@@ -22,7 +23,8 @@ import io.airbyte.protocol.models.v0.AirbyteMessage;
  * <li>2. start() to initialize any resources that need to be created BEFORE the consumer consumes
  * any messages.</li>
  * <li>3. Consumes ALL records via
- * {@link SerializedAirbyteMessageConsumer#accept(String, Integer)}</li>
+ * {@link SerializedAirbyteMessageConsumer#accept(byte[], int, int)}, which by default decodes the
+ * bytes and delegates to {@link SerializedAirbyteMessageConsumer#accept(String, Integer)}</li>
  * <li>4. Always (on success or failure) finalize by calling
  * {@link SerializedAirbyteMessageConsumer#close()}</li>
  * </ul>
@@ -46,6 +48,23 @@ public interface SerializedAirbyteMessageConsumer extends CheckedBiConsumer<Stri
   @Override
   void accept(String message, Integer sizeInBytes) throws Exception;
 
+  /**
+   * Consumes an {@link AirbyteMessage} given as a UTF-8 encoded slice of a larger buffer. This is how
+   * {@link IntegrationRunner} hands over stdin lines. Consumers that can parse bytes directly should
+   * override it to skip the {@link String} decode; the default keeps string-based consumers working.
+   * <p>
+   * The buffer is reused once this method returns, so implementations must copy anything they need
+   * to retain.
+   *
+   * @param buffer buffer holding the serialized message
+   * @param offset index of the first byte of the message in the buffer
+   * @param length size of the message in bytes
+   * @throws Exception exception
+   */
+  default void accept(final byte[] buffer, final int offset, final int length) throws Exception {
+    accept(new String(buffer, offset, length, StandardCharsets.UTF_8), length);
+  }
+
   /**
    * Executes at the end of consumption of all incoming streamed data regardless of success or failure
    *
@@ -70,6 +89,11 @@ public interface SerializedAirbyteMessageConsumer extends CheckedBiConsumer<Stri
         consumer.accept(message, sizeInBytes);
       }
 
+      @Override
+      public void accept(final byte[] buffer, final int offset, final int length) throws Exception {
+        consumer.accept(buffer, offset, length);
+      }
+
       @Override
       public void close() throws Exception {
         consumer.close();
@@ -11,7 +11,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,13 +27,12 @@ import org.slf4j.LoggerFactory;
 public abstract class BaseSerializedBuffer implements SerializableBuffer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BaseSerializedBuffer.class);
-  private static final String GZ_SUFFIX = ".gz";
 
   private final BufferStorage bufferStorage;
   private final CountingOutputStream byteCounter;
 
-  private boolean useCompression;
-  private GzipCompressorOutputStream compressedBuffer;
+  private BufferCompression compression;
+  private OutputStream compressedBuffer;
   private InputStream inputStream;
   private boolean isStarted;
   private boolean isClosed;
@@ -42,7 +40,7 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
   protected BaseSerializedBuffer(final BufferStorage bufferStorage) throws Exception {
     this.bufferStorage = bufferStorage;
     byteCounter = new CountingOutputStream(bufferStorage.getOutputStream());
-    useCompression = true;
+    compression = BufferCompression.GZIP;
     compressedBuffer = null;
     inputStream = null;
     isStarted = false;
@@ -83,8 +81,12 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
   protected abstract void closeWriter() throws IOException;
 
   public SerializableBuffer withCompression(final boolean useCompression) {
+    return withCompression(useCompression ? BufferCompression.GZIP : BufferCompression.NONE);
+  }
+
+  public SerializableBuffer withCompression(final BufferCompression compression) {
     if (!isStarted) {
-      this.useCompression = useCompression;
+      this.compression = compression;
       return this;
     }
     throw new RuntimeException("Options should be configured before starting to write");
@@ -93,8 +95,8 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
   @Override
   public long accept(final AirbyteRecordMessage record) throws Exception {
     if (!isStarted) {
-      if (useCompression) {
-        compressedBuffer = new GzipCompressorOutputStream(byteCounter);
+      if (compression != BufferCompression.NONE) {
+        compressedBuffer = compression.wrap(byteCounter);
         initWriter(compressedBuffer);
       } else {
         initWriter(byteCounter);
@@ -113,8 +115,8 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
   @Override
   public long accept(final String recordString, final long emittedAt) throws Exception {
     if (!isStarted) {
-      if (useCompression) {
-        compressedBuffer = new GzipCompressorOutputStream(byteCounter);
+      if (compression != BufferCompression.NONE) {
+        compressedBuffer = compression.wrap(byteCounter);
         initWriter(compressedBuffer);
       } else {
         initWriter(byteCounter);
@@ -132,17 +134,17 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
 
   @Override
   public String getFilename() throws IOException {
-    if (useCompression && !bufferStorage.getFilename().endsWith(GZ_SUFFIX)) {
-      return bufferStorage.getFilename() + GZ_SUFFIX;
+    if (compression != BufferCompression.NONE && !bufferStorage.getFilename().endsWith(compression.getFileExtension())) {
+      return bufferStorage.getFilename() + compression.getFileExtension();
     }
     return bufferStorage.getFilename();
   }
 
   @Override
   public File getFile() throws IOException {
-    if (useCompression && !bufferStorage.getFilename().endsWith(GZ_SUFFIX)) {
-      if (bufferStorage.getFile().renameTo(new File(bufferStorage.getFilename() + GZ_SUFFIX))) {
-        LOGGER.info("Renaming compressed file to include .gz file extension");
+    if (compression != BufferCompression.NONE && !bufferStorage.getFilename().endsWith(compression.getFileExtension())) {
+      if (bufferStorage.getFile().renameTo(new File(bufferStorage.getFilename() + compression.getFileExtension()))) {
+        LOGGER.info("Renaming compressed file to include {} file extension", compression.getFileExtension());
       }
     }
     return bufferStorage.getFile();
@@ -162,7 +164,7 @@ public abstract class BaseSerializedBuffer implements SerializableBuffer {
     if (inputStream == null && !isClosed) {
       flushWriter();
       if (compressedBuffer != null) {
-        LOGGER.debug("Wrapping up compression and write GZIP trailer data.");
+        LOGGER.debug("Wrapping up {} compression and write trailer data.", compression);
         compressedBuffer.flush();
         compressedBuffer.close();
       }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.record_buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+/**
+ * How a {@link BaseSerializedBuffer} compresses the data it stores.
+ */
+public enum BufferCompression {
+
+  NONE(""),
+  GZIP(".gz");
+
+  private final String fileExtension;
+
+  BufferCompression(final String fileExtension) {
+    this.fileExtension = fileExtension;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  public OutputStream wrap(final OutputStream outputStream) throws IOException {
+    return switch (this) {
+      case NONE -> outputStream;
+      case GZIP -> new GzipCompressorOutputStream(outputStream);
+    };
+  }
+
+}
@@ -15,6 +15,7 @@ import io.airbyte.cdk.integrations.destination.buffered_stream_consumer.OnStartF
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferEnqueue;
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferManager;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessageParser;
 import io.airbyte.cdk.integrations.destination_async.state.FlushFailure;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.v0.AirbyteMessage;
@@ -58,6 +59,7 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
   private final String defaultNamespace;
   // Note that this map will only be populated for streams with nonzero records.
   private final ConcurrentMap<StreamDescriptor, AtomicLong> recordCounts;
+  private final Optional<DeserializationWorkers> deserializationWorkers;
 
   private boolean hasStarted;
   private boolean hasClosed;
@@ -100,20 +102,9 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
                              final FlushFailure flushFailure,
                              final String defaultNamespace,
                              final ExecutorService workerPool) {
-    this.defaultNamespace = defaultNamespace;
-    hasStarted = false;
-    hasClosed = false;
-
-    this.onStart = onStart;
-    this.onClose = onClose;
-    this.catalog = catalog;
-    this.bufferManager = bufferManager;
-    bufferEnqueue = bufferManager.getBufferEnqueue();
-    this.flushFailure = flushFailure;
-    flushWorkers =
-        new FlushWorkers(bufferManager.getBufferDequeue(), flusher, outputRecordCollector, flushFailure, bufferManager.getStateManager(), workerPool);
-    streamNames = StreamDescriptorUtils.fromConfiguredCatalog(catalog);
-    this.recordCounts = new ConcurrentHashMap<>();
+    this(builder(outputRecordCollector, onStart, onClose, flusher, catalog, bufferManager, defaultNamespace)
+        .setFlushFailure(flushFailure)
+        .setFlushWorkerPool(FlushWorkerPool.fixed(workerPool)));
   }
 
   @VisibleForTesting
@@ -125,7 +116,117 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
                              final BufferManager bufferManager,
                              final FlushFailure flushFailure,
                              final String defaultNamespace) {
-    this(outputRecordCollector, onStart, onClose, flusher, catalog, bufferManager, flushFailure, defaultNamespace, Executors.newFixedThreadPool(5));
+    this(outputRecordCollector, onStart, onClose, flusher, catalog, bufferManager, flushFailure, defaultNamespace,
+        Executors.newFixedThreadPool(FlushWorkerPool.DEFAULT_NUM_WORKERS));
+  }
+
+  private AsyncStreamConsumer(final Builder builder) {
+    this.defaultNamespace = builder.defaultNamespace;
+    hasStarted = false;
+    hasClosed = false;
+
+    this.onStart = builder.onStart;
+    this.onClose = builder.onClose;
+    this.catalog = builder.catalog;
+    this.bufferManager = builder.bufferManager;
+    bufferEnqueue = bufferManager.getBufferEnqueue();
+    this.flushFailure = builder.flushFailure;
+    final FlushWorkerPool workerPool = builder.flushWorkerPool != null
+        ? builder.flushWorkerPool
+        : FlushWorkerPool.fixed(Executors.newFixedThreadPool(FlushWorkerPool.DEFAULT_NUM_WORKERS));
+    flushWorkers =
+        new FlushWorkers(bufferManager.getBufferDequeue(), builder.flusher, builder.outputRecordCollector, flushFailure,
+            bufferManager.getStateManager(), workerPool, bufferManager.getFlushScheduler(), builder.flushSelectionPolicy);
+    streamNames = StreamDescriptorUtils.fromConfiguredCatalog(catalog);
+    this.recordCounts = new ConcurrentHashMap<>();
+    deserializationWorkers = builder.numDeserializationWorkers > 0
+        ? Optional.of(new DeserializationWorkers(builder.numDeserializationWorkers, bufferManager.getMemoryManager(), this::acceptDeserialized))
+        : Optional.empty();
+  }
+
+  /**
+   * For the optional settings not covered by the constructors: a resizable flush worker pool,
+   * deserialization workers and the flush selection policy.
+   */
+  public static Builder builder(final Consumer<AirbyteMessage> outputRecordCollector,
+                                final OnStartFunction onStart,
+                                final OnCloseFunction onClose,
+                                final DestinationFlushFunction flusher,
+                                final ConfiguredAirbyteCatalog catalog,
+                                final BufferManager bufferManager,
+                                final String defaultNamespace) {
+    return new Builder(outputRecordCollector, onStart, onClose, flusher, catalog, bufferManager, defaultNamespace);
+  }
+
+  public static class Builder {
+
+    private final Consumer<AirbyteMessage> outputRecordCollector;
+    private final OnStartFunction onStart;
+    private final OnCloseFunction onClose;
+    private final DestinationFlushFunction flusher;
+    private final ConfiguredAirbyteCatalog catalog;
+    private final BufferManager bufferManager;
+    private final String defaultNamespace;
+
+    private FlushFailure flushFailure = new FlushFailure();
+    // created in build() when not set, so that an unused default pool is never started.
+    private FlushWorkerPool flushWorkerPool = null;
+    private int numDeserializationWorkers = 0;
+    private FlushSelectionPolicy flushSelectionPolicy = new LargestQueueFirstFlushPolicy();
+
+    private Builder(final Consumer<AirbyteMessage> outputRecordCollector,
+                    final OnStartFunction onStart,
+                    final OnCloseFunction onClose,
+                    final DestinationFlushFunction flusher,
+                    final ConfiguredAirbyteCatalog catalog,
+                    final BufferManager bufferManager,
+                    final String defaultNamespace) {
+      this.outputRecordCollector = outputRecordCollector;
+      this.onStart = onStart;
+      this.onClose = onClose;
+      this.flusher = flusher;
+      this.catalog = catalog;
+      this.bufferManager = bufferManager;
+      this.defaultNamespace = defaultNamespace;
+    }
+
+    @VisibleForTesting
+    public Builder setFlushFailure(final FlushFailure flushFailure) {
+      this.flushFailure = flushFailure;
+      return this;
+    }
+
+    /**
+     * @param flushWorkerPool see {@link FlushWorkerPool} for how it is sized between its bounds
+     */
+    public Builder setFlushWorkerPool(final FlushWorkerPool flushWorkerPool) {
+      this.flushWorkerPool = flushWorkerPool;
+      return this;
+    }
+
+    /**
+     * @param numDeserializationWorkers when greater than zero, incoming messages are deserialized by
+     *        this many {@link DeserializationWorkers} instead of on the thread reading stdin. Order is
+     *        preserved, so this is safe for every destination.
+     */
+    public Builder setNumDeserializationWorkers(final int numDeserializationWorkers) {
+      this.numDeserializationWorkers = numDeserializationWorkers;
+      return this;
+    }
+
+    /**
+     * @param flushSelectionPolicy decides which stream gets the next free flush worker, e.g.
+     *        {@link WeightedFairFlushPolicy} to keep a big stream from delaying smaller ones
+     */
+    public Builder setFlushSelectionPolicy(final FlushSelectionPolicy flushSelectionPolicy) {
+      this.flushSelectionPolicy = flushSelectionPolicy;
+      return this;
+    }
+
+    public AsyncStreamConsumer build() {
+      return new AsyncStreamConsumer(this);
+    }
+
   }
 
   @Override
@@ -144,11 +245,28 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
     Preconditions.checkState(hasStarted, "Cannot accept records until consumer has started");
     propagateFlushWorkerExceptionIfPresent();
     /*
-     * intentionally putting extractStream outside the buffer manager so that if in the future we want
-     * to try to use a thread pool to partially deserialize to get record type and stream name, we can
-     * do it without touching buffer manager.
+     * intentionally putting extractStream outside the buffer manager so that deserialization can be
+     * moved onto the DeserializationWorkers thread pool without touching buffer manager.
      */
-    final var message = deserializeAirbyteMessage(messageString);
+    if (deserializationWorkers.isPresent()) {
+      deserializationWorkers.get().submit(messageString, sizeInBytes);
+    } else {
+      acceptDeserialized(deserializeAirbyteMessage(messageString), sizeInBytes);
+    }
+  }
+
+  @Override
+  public void accept(final byte[] buffer, final int offset, final int length) throws Exception {
+    Preconditions.checkState(hasStarted, "Cannot accept records until consumer has started");
+    propagateFlushWorkerExceptionIfPresent();
+    if (deserializationWorkers.isPresent()) {
+      deserializationWorkers.get().submit(buffer, offset, length);
+    } else {
+      acceptDeserialized(deserializeAirbyteMessage(buffer, offset, length), length);
+    }
+  }
+
+  private void acceptDeserialized(final PartialAirbyteMessage message, final int sizeInBytes) {
     if (Type.RECORD.equals(message.getType())) {
       if (Strings.isNullOrEmpty(message.getRecord().getNamespace())) {
         message.getRecord().setNamespace(defaultNamespace);
@@ -168,6 +286,8 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
    * <li>entire serialized message string when message is a valid State Message
    * <li>serialized AirbyteRecordMessage when message is a valid Record Message</li>
    *
+   * The record data is never parsed into a tree; see {@link PartialAirbyteMessageParser}.
+   *
    * @param messageString the string to deserialize
    * @return PartialAirbyteMessage if the message is valid, empty otherwise
    */
@@ -175,24 +295,16 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
   public static PartialAirbyteMessage deserializeAirbyteMessage(final String messageString) {
     // TODO: (ryankfu) plumb in the serialized AirbyteStateMessage to match AirbyteRecordMessage code
     // parity. https://github.com/airbytehq/airbyte/issues/27530 for additional context
-    final var partial = Jsons.tryDeserializeExact(messageString, PartialAirbyteMessage.class)
-        .orElseThrow(() -> new RuntimeException("Unable to deserialize PartialAirbyteMessage."));
-
-    final var msgType = partial.getType();
-    if (Type.RECORD.equals(msgType) && partial.getRecord().getData() != null) {
-      // store serialized json
-      partial.withSerialized(partial.getRecord().getData().toString());
-      // The connector doesn't need to be able to access to the record value. We can serialize it here and
-      // drop the json
-      // object. Having this data stored as a string is slightly more optimal for the memory usage.
-      partial.getRecord().setData(null);
-    } else if (Type.STATE.equals(msgType)) {
-      partial.withSerialized(messageString);
-    } else {
-      throw new RuntimeException(String.format("Unsupported message type: %s", msgType));
-    }
+    return PartialAirbyteMessageParser.parse(messageString);
+  }
 
-    return partial;
+  /**
+   * Same as {@link #deserializeAirbyteMessage(String)} for a message held in a UTF-8 encoded slice of
+   * a buffer, which avoids decoding the whole line.
+   */
+  @VisibleForTesting
+  public static PartialAirbyteMessage deserializeAirbyteMessage(final byte[] buffer, final int offset, final int length) {
+    return PartialAirbyteMessageParser.parse(buffer, offset, length);
   }
 
   @Override
@@ -201,6 +313,20 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
     Preconditions.checkState(!hasClosed, "Has already closed.");
     hasClosed = true;
 
+    // everything read from stdin must reach the buffers before the flush workers drain them. A message
+    // that failed to deserialize is rethrown once the records ahead of it have been flushed, which is
+    // how the serial path behaves when accept throws.
+    Exception deserializationFailure = null;
+    if (deserializationWorkers.isPresent()) {
+      try {
+        deserializationWorkers.get().drain();
+      } catch (final Exception e) {
+        deserializationFailure = e;
+      } finally {
+        deserializationWorkers.get().close();
+      }
+    }
+
     // assume closing upload workers will flush all accepted records.
     // we need to close the workers before closing the bufferManagers (and underlying buffers)
     // or we risk in-memory data.
@@ -216,6 +342,9 @@ public class AsyncStreamConsumer implements SerializedAirbyteMessageConsumer {
 
     // as this throws an exception, we need to be after all other close functions.
     propagateFlushWorkerExceptionIfPresent();
+    if (deserializationFailure != null) {
+      throw deserializationFailure;
+    }
     LOGGER.info("{} closed", AsyncStreamConsumer.class);
   }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.commons.functional.CheckedBiConsumer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Parallel deserialization of incoming messages ahead of
+ * {@link io.airbyte.cdk.integrations.destination_async.buffers.BufferEnqueue}.
+ * <p>
+ * The thread reading stdin only frames lines and submits them here. A pool of workers turns them
+ * into {@link PartialAirbyteMessage}s, which are handed downstream in exactly the order they were
+ * submitted. Keeping the original order means records of a stream are never reordered and every
+ * state message still lands after all the records that preceded it, so state barriers behave as in
+ * the serial path.
+ * <p>
+ * Messages are handed downstream as soon as they and every message ahead of them are parsed, by
+ * whichever thread completes the oldest one, so a state message does not wait for more input when
+ * stdin goes idle. Only one thread hands over at a time, so enqueueing is still never concurrent.
+ * <p>
+ * Messages waiting to be handed over hold a copy of their line and, once parsed, the message itself.
+ * That memory is reserved up front from the {@link GlobalMemoryManager}, {@link
+ * #MAX_IN_FLIGHT_BYTES_PER_WORKER} per worker, and submitting blocks while the messages in flight
+ * would exceed it, until older ones have been handed downstream. A message larger than the whole
+ * budget is let through alone. A message that fails to parse, or that downstream rejects, stops the
+ * hand-over and is rethrown by the next {@link #submit} or {@link #drain()}.
+ */
+@Slf4j
+public class DeserializationWorkers implements AutoCloseable {
+
+  public static final long MAX_IN_FLIGHT_BYTES_PER_WORKER = 2 * 1024 * 1024;
+  // charged per message on top of its line and parsed copy, for the future and the queue entry.
+  private static final long PENDING_MESSAGE_OVERHEAD_BYTES = 128;
+
+  private final ExecutorService workerPool;
+  private final GlobalMemoryManager memoryManager;
+  private final long maxInFlightBytes;
+  private final CheckedBiConsumer<PartialAirbyteMessage, Integer, Exception> downstream;
+  // added to by the submitting thread only, removed from by the thread holding the hand-over lock.
+  private final Queue<PendingMessage> inFlight;
+  private final ReentrantLock inFlightBytesLock;
+  private final Condition inFlightBytesReleased;
+  private long inFlightBytes;
+  private final ReentrantLock handOverLock;
+  private volatile Exception failure;
+
+  private record PendingMessage(CompletableFuture<PartialAirbyteMessage> message, int sizeInBytes, long reservedBytes) {}
+
+  /**
+   * @param numWorkers number of deserialization threads
+   * @param memoryManager the in-flight budget is reserved from it until {@link #close()}
+   * @param downstream receives each deserialized message and its size, in submission order, from
+   *        one thread at a time
+   */
+  public DeserializationWorkers(final int numWorkers,
+                                final GlobalMemoryManager memoryManager,
+                                final CheckedBiConsumer<PartialAirbyteMessage, Integer, Exception> downstream) {
+    this(Executors.newFixedThreadPool(numWorkers, new BasicThreadFactory.Builder()
+        .namingPattern("deserialization-worker-%d")
+        .daemon(true)
+        .build()),
+        memoryManager,
+        numWorkers * MAX_IN_FLIGHT_BYTES_PER_WORKER,
+        downstream);
+  }
+
+  /**
+   * @param maxInFlightBytes budget wanted for messages in flight. Less is reserved if the memory
+   *        manager does not have that much left.
+   */
+  public DeserializationWorkers(final ExecutorService workerPool,
+                                final GlobalMemoryManager memoryManager,
+                                final long maxInFlightBytes,
+                                final CheckedBiConsumer<PartialAirbyteMessage, Integer, Exception> downstream) {
+    this.workerPool = workerPool;
+    this.memoryManager = memoryManager;
+    this.maxInFlightBytes = memoryManager.requestMemory(maxInFlightBytes);
+    this.downstream = downstream;
+    this.inFlight = new ConcurrentLinkedQueue<>();
+    this.inFlightBytesLock = new ReentrantLock();
+    this.inFlightBytesReleased = inFlightBytesLock.newCondition();
+    this.inFlightBytes = 0;
+    this.handOverLock = new ReentrantLock();
+  }
+
+  /**
+   * Submits a message held in a slice of a buffer. The slice is copied since the caller reuses the
+   * buffer.
+   */
+  public void submit(final byte[] buffer, final int offset, final int length) throws Exception {
+    final byte[] line = Arrays.copyOfRange(buffer, offset, offset + length);
+    submit(() -> AsyncStreamConsumer.deserializeAirbyteMessage(line, 0, line.length), length);
+  }
+
+  public void submit(final String message, final int sizeInBytes) throws Exception {
+    submit(() -> AsyncStreamConsumer.deserializeAirbyteMessage(message), sizeInBytes);
+  }
+
+  private void submit(final Supplier<PartialAirbyteMessage> parse, final int sizeInBytes) throws Exception {
+    throwIfFailed();
+    // the copied line and the parsed message both hold about the size of the line.
+    final long reservedBytes = 2L * sizeInBytes + PENDING_MESSAGE_OVERHEAD_BYTES;
+    acquireInFlightBytes(reservedBytes);
+    // a failure wakes a blocked submit up so that it gets here.
+    throwIfFailed();
+    final CompletableFuture<PartialAirbyteMessage> message = CompletableFuture.supplyAsync(parse, workerPool);
+    inFlight.add(new PendingMessage(message, sizeInBytes, reservedBytes));
+    // registered once queued, so the message is always there for the hand-over it triggers.
+    message.whenComplete((ignored, e) -> handOverParsed());
+  }
+
+  /**
+   * Blocks until every submitted message has been handed downstream.
+   */
+  public void drain() throws Exception {
+    handOverLock.lock();
+    try {
+      throwIfFailed();
+      PendingMessage pending;
+      while ((pending = inFlight.peek()) != null) {
+        final PartialAirbyteMessage message;
+        try {
+          message = pending.message().get();
+        } catch (final ExecutionException e) {
+          // surface the parse failure exactly as the serial path would have.
+          fail(unwrap(e));
+          throw failure;
+        }
+        handOver(message, pending);
+      }
+    } finally {
+      handOverLock.unlock();
+    }
+  }
+
+  /**
+   * Hands downstream the parsed messages at the head of the queue. Called whenever a parse
+   * completes; if another thread is already handing over, it picks this message up as well, and the
+   * check after unlocking covers a message that completed just as it stopped.
+   */
+  private void handOverParsed() {
+    // drain() may run this callback itself while waiting on a message, and already hands it over.
+    if (handOverLock.isHeldByCurrentThread()) {
+      return;
+    }
+    do {
+      if (!handOverLock.tryLock()) {
+        return;
+      }
+      try {
+        PendingMessage pending;
+        while (failure == null && (pending = inFlight.peek()) != null && pending.message().isDone()) {
+          final PartialAirbyteMessage message;
+          try {
+            message = pending.message().get();
+          } catch (final ExecutionException e) {
+            fail(unwrap(e));
+            return;
+          }
+          handOver(message, pending);
+        }
+      } catch (final Exception e) {
+        fail(e);
+        return;
+      } finally {
+        handOverLock.unlock();
+      }
+    } while (failure == null && isOldestParsed());
+  }
+
+  private void handOver(final PartialAirbyteMessage message, final PendingMessage pending) throws Exception {
+    inFlight.poll();
+    releaseInFlightBytes(pending.reservedBytes());
+    downstream.accept(message, pending.sizeInBytes());
+  }
+
+  private void acquireInFlightBytes(final long bytes) throws InterruptedException {
+    inFlightBytesLock.lockInterruptibly();
+    try {
+      // with nothing in flight a message goes through even if it is larger than the whole budget.
+      while (failure == null && inFlightBytes > 0 && inFlightBytes + bytes > maxInFlightBytes) {
+        inFlightBytesReleased.await();
+      }
+      inFlightBytes += bytes;
+    } finally {
+      inFlightBytesLock.unlock();
+    }
+  }
+
+  private void releaseInFlightBytes(final long bytes) {
+    inFlightBytesLock.lock();
+    try {
+      inFlightBytes -= bytes;
+      inFlightBytesReleased.signalAll();
+    } finally {
+      inFlightBytesLock.unlock();
+    }
+  }
+
+  private boolean isOldestParsed() {
+    final PendingMessage pending = inFlight.peek();
+    return pending != null && pending.message().isDone();
+  }
+
+  private void fail(final Exception e) {
+    failure = e;
+    // wake up a submit blocked on the budget.
+    releaseInFlightBytes(0);
+  }
+
+  private void throwIfFailed() throws Exception {
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static Exception unwrap(final ExecutionException e) {
+    return e.getCause() instanceof final Exception cause ? cause : e;
+  }
+
+  @Override
+  public void close() throws Exception {
+    inFlight.forEach(pending -> pending.message().cancel(true));
+    inFlight.clear();
+    workerPool.shutdown();
+    while (!workerPool.awaitTermination(5L, TimeUnit.MINUTES)) {
+      log.info("Waiting for deserialization workers to shut down");
+    }
+    if (maxInFlightBytes > 0) {
+      memoryManager.free(maxInFlightBytes);
+    }
+  }
+
+}
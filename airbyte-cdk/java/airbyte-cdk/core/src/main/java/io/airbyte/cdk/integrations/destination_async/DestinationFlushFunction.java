@@ -7,6 +7,7 @@ package io.airbyte.cdk.integrations.destination_async;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
 import io.airbyte.protocol.models.v0.AirbyteMessage;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -38,6 +39,26 @@ public interface DestinationFlushFunction {
    */
   void flush(StreamDescriptor decs, Stream<PartialAirbyteMessage> stream) throws Exception;
 
+  /**
+   * Flush a batch of data to the destination, without waiting for it to be committed. The stream is
+   * consumed before returning, so the memory of the batch can be released, but committing the data,
+   * e.g. loading it from a stage along with other batches, can happen later. {@link FlushWorkers}
+   * only acknowledges the states of the batch once the returned future completes, and fails the sync
+   * if it completes exceptionally.
+   * <p>
+   * Defaults to {@link #flush(StreamDescriptor, Stream)}, which commits the batch before returning.
+   *
+   * @param decs the Airbyte stream the data stream belongs to
+   * @param stream a bounded {@link AirbyteMessage} stream ideally of
+   *        {@link #getOptimalBatchSizeBytes()} size
+   * @return a future completed once the batch is committed
+   * @throws Exception
+   */
+  default CompletableFuture<Void> flushAsync(final StreamDescriptor decs, final Stream<PartialAirbyteMessage> stream) throws Exception {
+    flush(decs, stream);
+    return CompletableFuture.completedFuture(null);
+  }
+
   /**
    * When invoking {@link #flush(StreamDescriptor, Stream)}, best effort attempt to invoke flush with
    * a batch of this size. Useful for Destinations that have optimal flush batch sizes.
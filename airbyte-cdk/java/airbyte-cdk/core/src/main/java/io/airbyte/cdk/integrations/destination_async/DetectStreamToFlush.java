@@ -5,19 +5,20 @@
 package io.airbyte.cdk.integrations.destination_async;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.cdk.integrations.destination_async.FlushSelectionPolicy.FlushPriority;
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.time.Clock;
-import java.time.Instant;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
@@ -27,20 +28,40 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 @Slf4j
 public class DetectStreamToFlush {
 
-  private static final double EAGER_FLUSH_THRESHOLD = 0.90;
+  static final double EAGER_FLUSH_THRESHOLD = 0.90;
   private static final long MAX_TIME_BETWEEN_FLUSH_MS = 5 * 60 * 1000;
   private final BufferDequeue bufferDequeue;
   private final RunningFlushWorkers runningFlushWorkers;
   private final AtomicBoolean isClosing;
   private final DestinationFlushFunction flusher;
   private final Clock nowProvider;
+  private final FlushSelectionPolicy selectionPolicy;
   private final ConcurrentMap<StreamDescriptor, Long> latestFlushTimeMsPerStream = new ConcurrentHashMap<>();
+  // streams taken from the FlushScheduler that have not been flushed yet, in the order of the
+  // selection policy as of when they became ready. Only used by the flush supervisor thread.
+  private final TreeSet<ReadyStream> readyStreams =
+      new TreeSet<>(Comparator.comparing(ReadyStream::priority).thenComparingLong(ReadyStream::sequence));
+  private final Map<StreamDescriptor, ReadyStream> readyStreamsByDescriptor = new HashMap<>();
+  private long readyStreamSequence = 0;
+
+  private record ReadyStream(StreamDescriptor stream, FlushPriority priority, long sequence) {}
 
   public DetectStreamToFlush(final BufferDequeue bufferDequeue,
                              final RunningFlushWorkers runningFlushWorkers,
                              final AtomicBoolean isClosing,
                              final DestinationFlushFunction flusher) {
-    this(bufferDequeue, runningFlushWorkers, isClosing, flusher, Clock.systemUTC());
+    this(bufferDequeue, runningFlushWorkers, isClosing, flusher, new LargestQueueFirstFlushPolicy());
+  }
+
+  /**
+   * @param selectionPolicy decides which of the streams that are ready to flush goes first
+   */
+  public DetectStreamToFlush(final BufferDequeue bufferDequeue,
+                             final RunningFlushWorkers runningFlushWorkers,
+                             final AtomicBoolean isClosing,
+                             final DestinationFlushFunction flusher,
+                             final FlushSelectionPolicy selectionPolicy) {
+    this(bufferDequeue, runningFlushWorkers, isClosing, flusher, Clock.systemUTC(), selectionPolicy);
   }
 
   @VisibleForTesting
@@ -49,11 +70,22 @@ public class DetectStreamToFlush {
                       final AtomicBoolean isClosing,
                       final DestinationFlushFunction flusher,
                       final Clock nowProvider) {
+    this(bufferDequeue, runningFlushWorkers, isClosing, flusher, nowProvider, new LargestQueueFirstFlushPolicy());
+  }
+
+  @VisibleForTesting
+  DetectStreamToFlush(final BufferDequeue bufferDequeue,
+                      final RunningFlushWorkers runningFlushWorkers,
+                      final AtomicBoolean isClosing,
+                      final DestinationFlushFunction flusher,
+                      final Clock nowProvider,
+                      final FlushSelectionPolicy selectionPolicy) {
     this.bufferDequeue = bufferDequeue;
     this.runningFlushWorkers = runningFlushWorkers;
     this.isClosing = isClosing;
     this.flusher = flusher;
     this.nowProvider = nowProvider;
+    this.selectionPolicy = selectionPolicy;
   }
 
   /**
@@ -65,6 +97,51 @@ public class DetectStreamToFlush {
     return getNextStreamToFlush(computeQueueThreshold());
   }
 
+  /**
+   * Get the stream that goes first among the streams that crossed the flush threshold since they
+   * were last flushed and are still ready to be flushed. Streams are taken from the
+   * {@link FlushScheduler}'s heap, so only streams that have work are looked at. They are kept in the
+   * order of the {@link FlushSelectionPolicy} as of when they became ready, so only the streams taken
+   * from the heap are prioritized, rather than every ready stream on each call.
+   * <p>
+   * Time triggered flushes are only found by {@link #getNextStreamToFlush()}.
+   *
+   * @param flushScheduler scheduler that tracks which streams crossed the flush threshold
+   * @return next ready stream. If none of the streams that crossed the threshold is still ready,
+   *         return empty.
+   */
+  public Optional<StreamDescriptor> getNextReadyStream(final FlushScheduler flushScheduler) {
+    for (Optional<StreamDescriptor> next = flushScheduler.pollReadyStream(); next.isPresent(); next = flushScheduler.pollReadyStream()) {
+      final StreamDescriptor stream = next.get();
+      final ReadyStream previous = readyStreamsByDescriptor.remove(stream);
+      if (previous != null) {
+        readyStreams.remove(previous);
+      }
+      final ReadyStream ready = new ReadyStream(stream, selectionPolicy.getPriority(stream, bufferDequeue), readyStreamSequence++);
+      readyStreams.add(ready);
+      readyStreamsByDescriptor.put(stream, ready);
+    }
+    if (readyStreams.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final long queueSizeThresholdBytes = computeQueueThreshold();
+    while (!readyStreams.isEmpty()) {
+      final StreamDescriptor stream = readyStreams.pollFirst().stream();
+      readyStreamsByDescriptor.remove(stream);
+      // the queue may have been drained, or be about to be drained by running workers, since it
+      // crossed the threshold. FlushWorkers puts it back when a worker leaves it above the threshold.
+      final ImmutablePair<Boolean, String> isSizeTriggeredResult = isSizeTriggered(stream, queueSizeThresholdBytes);
+      // held back by the policy while it has workers. It is put back once they are done.
+      if (isSizeTriggeredResult.getLeft() && canStartFlush(stream)) {
+        log.info("flushing: trigger info: {} - {}, {}", stream.getNamespace(), stream.getName(), isSizeTriggeredResult.getRight());
+        startFlush(stream);
+        return Optional.of(stream);
+      }
+    }
+    return Optional.empty();
+  }
+
   /**
    * We have a minimum threshold for the size of a queue before we will flush it. The threshold helps
    * us avoid uploading small amounts of data at a time, which is really resource inefficient.
@@ -93,7 +170,8 @@ public class DetectStreamToFlush {
   // workers will process. we have access to their batch sizes after all!
   /**
    * Iterates over streams until it finds one that is ready to flush. Streams are ordered by priority.
-   * Return an empty optional if no streams are ready.
+   * Return an empty optional if no streams are ready. Ready streams the {@link FlushSelectionPolicy}
+   * holds back are skipped.
    * <p>
    * A stream is ready to flush if it either meets a size threshold or a time threshold. See
    * {@link #isSizeTriggered(StreamDescriptor, long)} and {@link #isTimeTriggered(long)} for details
@@ -118,15 +196,25 @@ public class DetectStreamToFlush {
           isSizeTriggeredResult.getRight());
       log.debug("computed: {}", debugString);
 
-      if (isSizeTriggeredResult.getLeft() || isTimeTriggeredResult.getLeft()) {
+      if ((isSizeTriggeredResult.getLeft() || isTimeTriggeredResult.getLeft()) && canStartFlush(stream)) {
         log.info("flushing: {}", debugString);
-        latestFlushTimeMsPerStream.put(stream, nowProvider.millis());
+        startFlush(stream);
         return Optional.of(stream);
       }
     }
     return Optional.empty();
   }
 
+  private boolean canStartFlush(final StreamDescriptor stream) {
+    return selectionPolicy.canStartFlush(stream, runningFlushWorkers.getSizesOfRunningWorkerBatches(stream).size());
+  }
+
+  private void startFlush(final StreamDescriptor stream) {
+    latestFlushTimeMsPerStream.put(stream, nowProvider.millis());
+    final long queueSize = bufferDequeue.getQueueSizeBytes(stream).orElse(0L);
+    selectionPolicy.onFlushStarted(stream, Math.min(queueSize, flusher.getOptimalBatchSizeBytes()));
+  }
+
   /**
    * The time trigger is based on the last time a record was added to the queue. We don't want records
    * to sit forever, even if the queue is not that full (bad for time to value for users). Also, the
@@ -203,40 +291,16 @@ public class DetectStreamToFlush {
     return (workersWithBatchesSize + workersWithoutBatchesSizeEstimate);
   }
 
-  // todo (cgardens) - perf test whether it would make sense to flip 1 & 2.
   /**
-   * Sort stream descriptors in order of priority with which we would want to flush them.
-   * <p>
-   * Priority is in the following order:
-   * <li>1. size in queue (descending)</li>
-   * <li>2. time since last record (ascending)</li>
-   * <li>3. alphabetical by namespace + stream name.</li>
-   * <p>
-   * In other words, move the biggest queues first, because they are most likely to use available
-   * resources optimally. Then get rid of old stuff (time to value for the user and, generally, as the
-   * age of the last record grows, the likelihood of getting any more records from that stream
-   * decreases, so by flushing them, we can totally complete that stream). Finally, tertiary sort by
-   * name so the order is deterministic.
+   * Sort stream descriptors in order of priority with which we would want to flush them, as decided
+   * by the {@link FlushSelectionPolicy}.
    *
    * @param streams streams to sort.
    * @return streams sorted by priority.
    */
   @VisibleForTesting
   List<StreamDescriptor> orderStreamsByPriority(final Set<StreamDescriptor> streams) {
-    // eagerly pull attributes so that values are consistent throughout comparison
-    final Map<StreamDescriptor, Optional<Long>> sdToQueueSize = streams.stream()
-        .collect(Collectors.toMap(s -> s, bufferDequeue::getQueueSizeBytes));
-
-    final Map<StreamDescriptor, Optional<Instant>> sdToTimeOfLastRecord = streams.stream()
-        .collect(Collectors.toMap(s -> s, bufferDequeue::getTimeOfLastRecord));
-
-    return streams.stream()
-        .sorted(Comparator.comparing((StreamDescriptor s) -> sdToQueueSize.get(s).orElseThrow(), Comparator.reverseOrder())
-            // if no time is present, it suggests the queue has no records. set MAX time as a sentinel value to
-            // represent no records.
-            .thenComparing(s -> sdToTimeOfLastRecord.get(s).orElse(Instant.MAX))
-            .thenComparing(s -> s.getNamespace() + s.getName()))
-        .collect(Collectors.toList());
+    return selectionPolicy.orderStreams(streams, bufferDequeue);
   }
 
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tells the flush supervisor about work as soon as it shows up, instead of leaving it to be found by
+ * the next periodic scan of every buffered stream.
+ * <p>
+ * {@link io.airbyte.cdk.integrations.destination_async.buffers.BufferEnqueue} reports every
+ * buffered record. When a stream's queue crosses the flush threshold, the stream is pushed onto a
+ * heap of ready streams ordered by queue size, and the supervisor is woken up to pop the biggest one.
+ * When global buffer usage crosses {@link DetectStreamToFlush#EAGER_FLUSH_THRESHOLD}, every stream
+ * becomes eligible, so the supervisor is woken up for a full scan instead.
+ * <p>
+ * Only threshold crossings take the lock. Recording a record that does not cross a threshold is a
+ * couple of comparisons.
+ */
+public class FlushScheduler {
+
+  private final long eagerFlushThresholdBytes;
+  // set by FlushWorkers from the flush function. Until then no stream is ever considered ready.
+  private volatile long queueFlushThresholdBytes = Long.MAX_VALUE;
+  private volatile boolean isAboveEagerFlushThreshold = false;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition workAvailable = lock.newCondition();
+  // guarded by lock. The key is the queue size when the stream became ready.
+  private final PriorityQueue<ReadyStream> readyStreams =
+      new PriorityQueue<>(Comparator.comparingLong(ReadyStream::queueSizeBytes).reversed());
+  private final Set<StreamDescriptor> readyStreamSet = new HashSet<>();
+  private boolean isWorkSignalled = false;
+  private boolean isFullScanRequested = false;
+
+  private record ReadyStream(StreamDescriptor stream, long queueSizeBytes) {}
+
+  /**
+   * @param maxMemoryBytes total buffer memory, used to compute the eager flush threshold
+   */
+  public FlushScheduler(final long maxMemoryBytes) {
+    this.eagerFlushThresholdBytes = (long) (maxMemoryBytes * DetectStreamToFlush.EAGER_FLUSH_THRESHOLD);
+  }
+
+  public void setQueueFlushThresholdBytes(final long queueFlushThresholdBytes) {
+    this.queueFlushThresholdBytes = queueFlushThresholdBytes;
+  }
+
+  /**
+   * Called after a record has been added to a stream's queue.
+   *
+   * @param stream stream the record belongs to
+   * @param queueSizeBeforeBytes size of the stream's queue before the record was added
+   * @param queueSizeAfterBytes size of the stream's queue after the record was added
+   * @param globalMemoryBytes memory currently allocated to buffers
+   */
+  public void onRecordBuffered(final StreamDescriptor stream,
+                               final long queueSizeBeforeBytes,
+                               final long queueSizeAfterBytes,
+                               final long globalMemoryBytes) {
+    final long threshold = queueFlushThresholdBytes;
+    if (queueSizeBeforeBytes <= threshold && queueSizeAfterBytes > threshold) {
+      markReady(stream, queueSizeAfterBytes);
+    }
+
+    final boolean isAboveEagerThreshold = globalMemoryBytes >= eagerFlushThresholdBytes;
+    if (isAboveEagerThreshold != isAboveEagerFlushThreshold) {
+      isAboveEagerFlushThreshold = isAboveEagerThreshold;
+      if (isAboveEagerThreshold) {
+        requestFullScan();
+      }
+    }
+  }
+
+  /**
+   * Called once a flush worker is done with a stream. The stream is ready again if what is left in
+   * its queue is still above the threshold, and either way the freed up worker can take more work.
+   *
+   * @param stream stream that was flushed
+   * @param queueSizeBytes size of the stream's queue after the flush
+   */
+  public void onFlushCompleted(final StreamDescriptor stream, final long queueSizeBytes) {
+    if (queueSizeBytes > queueFlushThresholdBytes) {
+      markReady(stream, queueSizeBytes);
+    } else {
+      signal(false);
+    }
+  }
+
+  /**
+   * Asks the supervisor to look at every buffered stream, for example because flush thresholds have
+   * been lowered.
+   */
+  public void requestFullScan() {
+    signal(true);
+  }
+
+  /**
+   * Blocks until there is work or the timeout elapses.
+   *
+   * @return true if a full scan was requested since the last call
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitWork(final long timeout, final TimeUnit unit) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long remainingNanos = unit.toNanos(timeout);
+      while (!isWorkSignalled && remainingNanos > 0) {
+        remainingNanos = workAvailable.awaitNanos(remainingNanos);
+      }
+      final boolean fullScan = isFullScanRequested;
+      isWorkSignalled = false;
+      isFullScanRequested = false;
+      return fullScan;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the ready stream with the biggest queue, if any
+   */
+  public Optional<StreamDescriptor> pollReadyStream() {
+    lock.lock();
+    try {
+      final ReadyStream next = readyStreams.poll();
+      if (next == null) {
+        return Optional.empty();
+      }
+      readyStreamSet.remove(next.stream());
+      return Optional.of(next.stream());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void markReady(final StreamDescriptor stream, final long queueSizeBytes) {
+    lock.lock();
+    try {
+      if (readyStreamSet.add(stream)) {
+        readyStreams.add(new ReadyStream(stream, queueSizeBytes));
+      }
+      isWorkSignalled = true;
+      workAvailable.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void signal(final boolean fullScan) {
+    lock.lock();
+    try {
+      isWorkSignalled = true;
+      isFullScanRequested |= fullScan;
+      workAvailable.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which stream gets the next free flush worker, see {@link DetectStreamToFlush}.
+ * <p>
+ * Streams still have to meet the size or time trigger to be flushed. The policy only orders the
+ * streams and may hold a stream back while it already has workers flushing it. It is only called
+ * from the flush supervisor thread, so implementations do not need to be thread safe.
+ */
+public interface FlushSelectionPolicy {
+
+  /**
+   * Where a stream stands in the order of a policy at the time it was computed. Streams with the
+   * lowest rank go first, then the biggest queues, then the queues whose last record is the oldest,
+   * then by namespace and name so the order is deterministic.
+   */
+  record FlushPriority(double rank, long queueSizeBytes, Instant timeOfLastRecord, String name) implements Comparable<FlushPriority> {
+
+    private static final Comparator<FlushPriority> ORDER = Comparator.comparingDouble(FlushPriority::rank)
+        .thenComparing(FlushPriority::queueSizeBytes, Comparator.reverseOrder())
+        .thenComparing(FlushPriority::timeOfLastRecord)
+        .thenComparing(FlushPriority::name);
+
+    @Override
+    public int compareTo(final FlushPriority other) {
+      return ORDER.compare(this, other);
+    }
+
+  }
+
+  /**
+   * Computes the priority of a single stream. Ready streams are kept ordered by the priority they had
+   * when they became ready, so only the streams that become ready again are re-prioritized.
+   *
+   * @param stream stream to prioritize
+   * @param bufferDequeue buffers the stream is read from
+   * @return priority of the stream, compared against the priorities of the other streams
+   */
+  FlushPriority getPriority(StreamDescriptor stream, BufferDequeue bufferDequeue);
+
+  /**
+   * @param streams streams to order
+   * @param bufferDequeue buffers the streams are read from
+   * @return streams in the order they should get a flush worker
+   */
+  default List<StreamDescriptor> orderStreams(final Collection<StreamDescriptor> streams, final BufferDequeue bufferDequeue) {
+    // eagerly pull attributes so that values are consistent throughout comparison
+    final Map<StreamDescriptor, FlushPriority> sdToPriority = streams.stream()
+        .collect(Collectors.toMap(s -> s, s -> getPriority(s, bufferDequeue)));
+
+    return streams.stream()
+        .sorted(Comparator.comparing(sdToPriority::get))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @param stream stream that is ready to flush
+   * @param runningWorkers number of workers currently flushing the stream
+   * @return true if one more worker may flush the stream
+   */
+  default boolean canStartFlush(final StreamDescriptor stream, final int runningWorkers) {
+    return true;
+  }
+
+  /**
+   * Called once a worker has been assigned to a stream.
+   *
+   * @param stream stream that is about to be flushed
+   * @param estimatedBatchSizeBytes bytes the worker is expected to read from the stream
+   */
+  default void onFlushStarted(final StreamDescriptor stream, final long estimatedBatchSizeBytes) {}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thread pool used by {@link FlushWorkers}, sized between a minimum and a maximum number of workers
+ * from what flushes actually achieve.
+ * <p>
+ * Workers report every flush through {@link #recordFlush(long, long)}. Every
+ * {@link #ADJUST_PERIOD_SECS}, the supervisor calls {@link #adjust(long, long)} with the bytes
+ * waiting in the buffers:
+ * <ul>
+ * <li>When more batches of {@link DestinationFlushFunction#getOptimalBatchSizeBytes()} are waiting
+ * than there are workers, and the workers spent most of the period flushing, the pool grows by half
+ * its size.</li>
+ * <li>If the following period does not flush at least {@link #MIN_THROUGHPUT_GAIN} more bytes per
+ * second, the destination is the bottleneck rather than the number of workers. The growth is undone
+ * and the pool does not grow again for {@link #HOLD_OFF_PERIODS} periods.</li>
+ * <li>When workers are mostly idle and the backlog fits in fewer workers, the pool shrinks by one
+ * worker.</li>
+ * </ul>
+ * A pool whose minimum and maximum are equal never changes size, which is how the fixed pools
+ * connectors used so far are modelled.
+ */
+@Slf4j
+public class FlushWorkerPool {
+
+  public static final int DEFAULT_NUM_WORKERS = 5;
+
+  static final long ADJUST_PERIOD_SECS = 10L;
+  static final double MIN_THROUGHPUT_GAIN = 0.1;
+  static final int HOLD_OFF_PERIODS = 6;
+  private static final double HIGH_UTILIZATION = 0.8;
+  private static final double LOW_UTILIZATION = 0.5;
+
+  private final ThreadPoolExecutor executor;
+  private final int minWorkers;
+  private final int maxWorkers;
+
+  private final LongAdder flushCount = new LongAdder();
+  private final LongAdder flushedBytes = new LongAdder();
+  private final LongAdder flushNanos = new LongAdder();
+
+  // only touched by the supervisor thread through adjust.
+  private volatile int targetSize;
+  private long lastAdjustNanos;
+  private int lastGrowth = 0;
+  private double throughputBeforeLastGrowth = 0;
+  private int holdOffPeriods = 0;
+
+  /**
+   * @param minWorkers number of workers the pool starts with and never shrinks below
+   * @param maxWorkers number of workers the pool never grows above
+   */
+  public FlushWorkerPool(final int minWorkers, final int maxWorkers) {
+    this(new ThreadPoolExecutor(minWorkers, minWorkers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()), minWorkers, maxWorkers,
+        System.nanoTime());
+  }
+
+  @VisibleForTesting
+  FlushWorkerPool(final ThreadPoolExecutor executor, final int minWorkers, final int maxWorkers, final long nowNanos) {
+    Preconditions.checkArgument(minWorkers > 0, "A flush worker pool needs at least one worker.");
+    Preconditions.checkArgument(minWorkers <= maxWorkers, "Minimum number of flush workers is above the maximum.");
+    this.executor = executor;
+    this.minWorkers = minWorkers;
+    this.maxWorkers = maxWorkers;
+    this.targetSize = executor.getMaximumPoolSize();
+    this.lastAdjustNanos = nowNanos;
+  }
+
+  public static FlushWorkerPool fixed(final int numWorkers) {
+    return new FlushWorkerPool(numWorkers, numWorkers);
+  }
+
+  /**
+   * Wraps an existing pool without ever resizing it.
+   */
+  public static FlushWorkerPool fixed(final ExecutorService workerPool) {
+    final ThreadPoolExecutor executor = (ThreadPoolExecutor) workerPool;
+    return new FlushWorkerPool(executor, executor.getMaximumPoolSize(), executor.getMaximumPoolSize(), System.nanoTime());
+  }
+
+  public ExecutorService getExecutor() {
+    return executor;
+  }
+
+  /**
+   * @return number of workers that may currently flush at once
+   */
+  public int getTargetSize() {
+    return targetSize;
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Called by a worker after each flush.
+   *
+   * @param bytes size of the flushed batch
+   * @param durationNanos time spent in {@link DestinationFlushFunction#flush}
+   */
+  public void recordFlush(final long bytes, final long durationNanos) {
+    flushCount.increment();
+    flushedBytes.add(bytes);
+    flushNanos.add(durationNanos);
+  }
+
+  /**
+   * Resizes the pool if a full period has elapsed since the last adjustment. Only meant to be called
+   * from a single thread.
+   *
+   * @param queuedBytes bytes currently waiting in the buffers
+   * @param optimalBatchSizeBytes size of the batches workers read from the buffers
+   */
+  public void adjust(final long queuedBytes, final long optimalBatchSizeBytes) {
+    adjust(queuedBytes, optimalBatchSizeBytes, System.nanoTime());
+  }
+
+  @VisibleForTesting
+  void adjust(final long queuedBytes, final long optimalBatchSizeBytes, final long nowNanos) {
+    final long elapsedNanos = nowNanos - lastAdjustNanos;
+    if (minWorkers == maxWorkers || elapsedNanos < TimeUnit.SECONDS.toNanos(ADJUST_PERIOD_SECS)) {
+      return;
+    }
+    lastAdjustNanos = nowNanos;
+
+    final long flushes = flushCount.sumThenReset();
+    final double throughput = flushedBytes.sumThenReset() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    final double utilization = flushNanos.sumThenReset() / ((double) elapsedNanos * targetSize);
+    final long pendingBatches = (queuedBytes + optimalBatchSizeBytes - 1) / Math.max(1, optimalBatchSizeBytes);
+    final int currentSize = targetSize;
+
+    if (lastGrowth > 0 && throughput < throughputBeforeLastGrowth * (1 + MIN_THROUGHPUT_GAIN)) {
+      log.info("Flush worker pool -- {} more workers did not increase throughput ({} -> {} bytes/s), shrinking back.",
+          lastGrowth, (long) throughputBeforeLastGrowth, (long) throughput);
+      resize(Math.max(minWorkers, currentSize - lastGrowth));
+      lastGrowth = 0;
+      holdOffPeriods = HOLD_OFF_PERIODS;
+      return;
+    }
+    lastGrowth = 0;
+    final boolean canGrow = holdOffPeriods == 0;
+    if (holdOffPeriods > 0) {
+      holdOffPeriods--;
+    }
+
+    if (canGrow && pendingBatches > currentSize && utilization >= HIGH_UTILIZATION && currentSize < maxWorkers) {
+      final int newSize = (int) Math.min(Math.min(maxWorkers, pendingBatches), currentSize + Math.max(1, currentSize / 2));
+      log.info("Flush worker pool -- {} batches waiting, workers {}% busy over {} flushes, growing from {} to {} workers.",
+          pendingBatches, (int) (utilization * 100), flushes, currentSize, newSize);
+      throughputBeforeLastGrowth = throughput;
+      lastGrowth = newSize - currentSize;
+      resize(newSize);
+    } else if (pendingBatches < currentSize && utilization < LOW_UTILIZATION && currentSize > minWorkers) {
+      log.info("Flush worker pool -- workers {}% busy, shrinking from {} to {} workers.", (int) (utilization * 100), currentSize, currentSize - 1);
+      resize(currentSize - 1);
+    }
+  }
+
+  private void resize(final int newSize) {
+    // the core size may never be above the maximum size, so the order depends on the direction.
+    if (newSize > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(newSize);
+      executor.setCorePoolSize(newSize);
+    } else {
+      executor.setCorePoolSize(newSize);
+      executor.setMaximumPoolSize(newSize);
+    }
+    targetSize = newSize;
+  }
+
+}
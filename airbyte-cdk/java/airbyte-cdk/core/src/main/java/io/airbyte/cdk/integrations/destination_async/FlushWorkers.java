@@ -12,15 +12,17 @@ import io.airbyte.protocol.models.v0.AirbyteMessage;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,40 +38,51 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * The {@link #supervisorThread} assigns work to worker threads by looping over
  * {@link #bufferDequeue} - a dequeue interface over in-memory queues of {@link AirbyteMessage}. See
- * {@link #retrieveWork()} for assignment logic.
+ * {@link #retrieveWork(boolean)} for assignment logic. The supervisor is woken up by the
+ * {@link FlushScheduler} as soon as a queue crosses the flush threshold, global memory crosses the
+ * eager flush threshold, or a worker finishes. It also scans every stream once per
+ * {@link #SUPERVISOR_PERIOD_SECS} for time triggered flushes, which is also when the
+ * {@link FlushWorkerPool} gets a chance to resize.
  * <p>
  * Within a worker thread, a worker best-effort reads a
  * {@link DestinationFlushFunction#getOptimalBatchSizeBytes()} batch from the in-memory stream and
- * calls {@link DestinationFlushFunction#flush(StreamDescriptor, Stream)} on the returned data.
+ * calls {@link DestinationFlushFunction#flushAsync(StreamDescriptor, Stream)} on the returned data.
+ * The memory of the batch is released as soon as the data is handed over, while the states of the
+ * batch are only acknowledged once the destination has committed it, so a destination can keep
+ * uploading batches while earlier ones are being committed.
  */
 @Slf4j
 public class FlushWorkers implements AutoCloseable {
 
-  private static final long SUPERVISOR_INITIAL_DELAY_SECS = 0L;
   private static final long SUPERVISOR_PERIOD_SECS = 1L;
   private static final long DEBUG_INITIAL_DELAY_SECS = 0L;
   private static final long DEBUG_PERIOD_SECS = 60L;
 
-  private final ScheduledExecutorService supervisorThread;
-  private final ExecutorService workerPool;
+  private final ExecutorService supervisorThread;
+  private final FlushWorkerPool workerPool;
   private final BufferDequeue bufferDequeue;
   private final DestinationFlushFunction flusher;
   private final Consumer<AirbyteMessage> outputRecordCollector;
   private final ScheduledExecutorService debugLoop;
   private final RunningFlushWorkers runningFlushWorkers;
   private final DetectStreamToFlush detectStreamToFlush;
+  private final FlushScheduler flushScheduler;
 
   private final FlushFailure flushFailure;
 
   private final AtomicBoolean isClosing;
+  private final AtomicBoolean isStopped;
   private final GlobalAsyncStateManager stateManager;
+  // batches handed over to the flush function whose states wait for the commit
+  private final Set<CompletableFuture<Void>> pendingCommits;
 
   public FlushWorkers(final BufferDequeue bufferDequeue,
                       final DestinationFlushFunction flushFunction,
                       final Consumer<AirbyteMessage> outputRecordCollector,
                       final FlushFailure flushFailure,
                       final GlobalAsyncStateManager stateManager) {
-    this(bufferDequeue, flushFunction, outputRecordCollector, flushFailure, stateManager, Executors.newFixedThreadPool(5));
+    this(bufferDequeue, flushFunction, outputRecordCollector, flushFailure, stateManager,
+        Executors.newFixedThreadPool(FlushWorkerPool.DEFAULT_NUM_WORKERS));
   }
 
   public FlushWorkers(final BufferDequeue bufferDequeue,
@@ -78,6 +91,46 @@ public class FlushWorkers implements AutoCloseable {
                       final FlushFailure flushFailure,
                       final GlobalAsyncStateManager stateManager,
                       final ExecutorService workerPool) {
+    this(bufferDequeue, flushFunction, outputRecordCollector, flushFailure, stateManager, workerPool,
+        new FlushScheduler(bufferDequeue.getMaxQueueSizeBytes()));
+  }
+
+  public FlushWorkers(final BufferDequeue bufferDequeue,
+                      final DestinationFlushFunction flushFunction,
+                      final Consumer<AirbyteMessage> outputRecordCollector,
+                      final FlushFailure flushFailure,
+                      final GlobalAsyncStateManager stateManager,
+                      final ExecutorService workerPool,
+                      final FlushScheduler flushScheduler) {
+    this(bufferDequeue, flushFunction, outputRecordCollector, flushFailure, stateManager, FlushWorkerPool.fixed(workerPool), flushScheduler);
+  }
+
+  public FlushWorkers(final BufferDequeue bufferDequeue,
+                      final DestinationFlushFunction flushFunction,
+                      final Consumer<AirbyteMessage> outputRecordCollector,
+                      final FlushFailure flushFailure,
+                      final GlobalAsyncStateManager stateManager,
+                      final FlushWorkerPool workerPool,
+                      final FlushScheduler flushScheduler) {
+    this(bufferDequeue, flushFunction, outputRecordCollector, flushFailure, stateManager, workerPool, flushScheduler,
+        new LargestQueueFirstFlushPolicy());
+  }
+
+  /**
+   * @param workerPool pool the flushes run on. It is resized within its bounds as flushes complete.
+   * @param flushScheduler scheduler notified by the enqueue side of the buffers, see
+   *        {@link io.airbyte.cdk.integrations.destination_async.buffers.BufferManager#getFlushScheduler()}.
+   *        Without one, work is only found by the periodic scan.
+   * @param selectionPolicy decides which ready stream gets the next free worker
+   */
+  public FlushWorkers(final BufferDequeue bufferDequeue,
+                      final DestinationFlushFunction flushFunction,
+                      final Consumer<AirbyteMessage> outputRecordCollector,
+                      final FlushFailure flushFailure,
+                      final GlobalAsyncStateManager stateManager,
+                      final FlushWorkerPool workerPool,
+                      final FlushScheduler flushScheduler,
+                      final FlushSelectionPolicy selectionPolicy) {
     this.bufferDequeue = bufferDequeue;
     this.outputRecordCollector = outputRecordCollector;
     this.flushFailure = flushFailure;
@@ -85,34 +138,61 @@ public class FlushWorkers implements AutoCloseable {
     this.workerPool = workerPool;
     flusher = flushFunction;
     debugLoop = Executors.newSingleThreadScheduledExecutor();
-    supervisorThread = Executors.newScheduledThreadPool(1);
+    supervisorThread = Executors.newSingleThreadExecutor();
     isClosing = new AtomicBoolean(false);
+    isStopped = new AtomicBoolean(false);
     runningFlushWorkers = new RunningFlushWorkers();
-    detectStreamToFlush = new DetectStreamToFlush(bufferDequeue, runningFlushWorkers, isClosing, flusher);
+    pendingCommits = ConcurrentHashMap.newKeySet();
+    detectStreamToFlush = new DetectStreamToFlush(bufferDequeue, runningFlushWorkers, isClosing, flusher, selectionPolicy);
+    this.flushScheduler = flushScheduler;
+    flushScheduler.setQueueFlushThresholdBytes(flusher.getQueueFlushThresholdBytes());
   }
 
   public void start() {
     log.info("Start async buffer supervisor");
-    supervisorThread.scheduleAtFixedRate(this::retrieveWork,
-        SUPERVISOR_INITIAL_DELAY_SECS,
-        SUPERVISOR_PERIOD_SECS,
-        TimeUnit.SECONDS);
+    supervisorThread.submit(this::superviseFlushes);
     debugLoop.scheduleAtFixedRate(this::printWorkerInfo,
         DEBUG_INITIAL_DELAY_SECS,
         DEBUG_PERIOD_SECS,
         TimeUnit.SECONDS);
   }
 
-  private void retrieveWork() {
+  private void superviseFlushes() {
+    long nextFullScanNanos = System.nanoTime();
+    while (!isStopped.get()) {
+      final boolean isFullScanRequested;
+      try {
+        isFullScanRequested = flushScheduler.awaitWork(Math.max(0L, nextFullScanNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (final InterruptedException e) {
+        return;
+      }
+      final boolean isFullScanDue = System.nanoTime() - nextFullScanNanos >= 0;
+      if (isFullScanDue) {
+        nextFullScanNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(SUPERVISOR_PERIOD_SECS);
+        workerPool.adjust(bufferDequeue.getTotalGlobalQueueSizeBytes(), flusher.getOptimalBatchSizeBytes());
+      }
+      retrieveWork(isFullScanRequested || isFullScanDue);
+    }
+  }
+
+  /**
+   * Hands streams that are ready to flush to idle workers.
+   *
+   * @param fullScan if false, only streams that the {@link FlushScheduler} reported as crossing the
+   *        flush threshold are considered. If true, every buffered stream is.
+   */
+  private void retrieveWork(final boolean fullScan) {
     try {
       // This will put a new log line every second which is too much, sampling it doesn't bring much value
       // so it is set to debug
       log.debug("Retrieve Work -- Finding queues to flush");
-      final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) workerPool;
-      int allocatableThreads = threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount();
+      int allocatableThreads = workerPool.getTargetSize() - workerPool.getActiveCount();
 
       while (allocatableThreads > 0) {
-        final Optional<StreamDescriptor> next = detectStreamToFlush.getNextStreamToFlush();
+        Optional<StreamDescriptor> next = detectStreamToFlush.getNextReadyStream(flushScheduler);
+        if (next.isEmpty() && fullScan) {
+          next = detectStreamToFlush.getNextStreamToFlush();
+        }
 
         if (next.isPresent()) {
           final StreamDescriptor desc = next.get();
@@ -134,18 +214,16 @@ public class FlushWorkers implements AutoCloseable {
   private void printWorkerInfo() {
     final var workerInfo = new StringBuilder().append("[ASYNC WORKER INFO] ");
 
-    final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) workerPool;
+    final int queueSize = workerPool.getQueueSize();
+    final int activeCount = workerPool.getActiveCount();
 
-    final int queueSize = threadPoolExecutor.getQueue().size();
-    final int activeCount = threadPoolExecutor.getActiveCount();
-
-    workerInfo.append(String.format("Pool queue size: %d, Active threads: %d", queueSize, activeCount));
+    workerInfo.append(String.format("Pool queue size: %d, Active threads: %d, Pool size: %d", queueSize, activeCount, workerPool.getTargetSize()));
     log.info(workerInfo.toString());
 
   }
 
   private void flush(final StreamDescriptor desc, final UUID flushWorkerId) {
-    workerPool.submit(() -> {
+    workerPool.getExecutor().submit(() -> {
       log.info("Flush Worker ({}) -- Worker picked up work.", humanReadableFlushWorkerId(flushWorkerId));
       try {
         log.info("Flush Worker ({}) -- Attempting to read from queue namespace: {}, stream: {}.",
@@ -155,19 +233,15 @@ public class FlushWorkers implements AutoCloseable {
 
         try (final var batch = bufferDequeue.take(desc, flusher.getOptimalBatchSizeBytes())) {
           runningFlushWorkers.registerBatchSize(desc, flushWorkerId, batch.getSizeInBytes());
-          final Map<Long, Long> stateIdToCount = batch.getData()
-              .stream()
-              .map(MessageWithMeta::stateId)
-              .collect(Collectors.groupingBy(
-                  stateId -> stateId,
-                  Collectors.counting()));
           log.info("Flush Worker ({}) -- Batch contains: {} records, {} bytes.",
               humanReadableFlushWorkerId(flushWorkerId),
               batch.getData().size(),
               AirbyteFileUtils.byteCountToDisplaySize(batch.getSizeInBytes()));
 
-          flusher.flush(desc, batch.getData().stream().map(MessageWithMeta::message));
-          batch.flushStates(stateIdToCount, outputRecordCollector);
+          final long flushStartNanos = System.nanoTime();
+          final CompletableFuture<Void> commit = flusher.flushAsync(desc, batch.getData().stream().map(MessageWithMeta::message));
+          workerPool.recordFlush(batch.getSizeInBytes(), System.nanoTime() - flushStartNanos);
+          acknowledgeOnCommit(batch.getStateIdToCount(), commit, flushWorkerId);
         }
 
         log.info("Flush Worker ({}) -- Worker finished flushing. Current queue size: {}",
@@ -179,37 +253,53 @@ public class FlushWorkers implements AutoCloseable {
         throw new RuntimeException(e);
       } finally {
         runningFlushWorkers.completeFlushWorker(desc, flushWorkerId);
+        flushScheduler.onFlushCompleted(desc, bufferDequeue.getQueueSizeBytes(desc).orElse(0L));
       }
     });
   }
 
+  /**
+   * Flushes the states of a batch once its data is committed. Only the state counts are held until
+   * then, so the records of the batch can be collected as soon as they are handed over.
+   */
+  private void acknowledgeOnCommit(final Map<Long, Long> stateIdToCount,
+                                   final CompletableFuture<Void> commit,
+                                   final UUID flushWorkerId) {
+    final CompletableFuture<Void> acknowledged = commit
+        .thenRun(() -> {
+          stateIdToCount.forEach(stateManager::decrement);
+          stateManager.flushStates(outputRecordCollector);
+        })
+        .whenComplete((ignored, e) -> {
+          if (e != null) {
+            final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error(String.format("Flush Worker (%s) -- commit error: ", humanReadableFlushWorkerId(flushWorkerId)), cause);
+            flushFailure.propagateException(cause instanceof final Exception exception ? exception : new RuntimeException(cause));
+          }
+        });
+    pendingCommits.add(acknowledged);
+    // runs right away if the commit is already done, e.g. for flush functions that commit in flush
+    acknowledged.whenComplete((ignored, e) -> pendingCommits.remove(acknowledged));
+  }
+
   @Override
   public void close() throws Exception {
     log.info("Closing flush workers -- waiting for all buffers to flush");
     isClosing.set(true);
+    // the flush threshold is now 0, so every non-empty stream is ready.
+    flushScheduler.requestFullScan();
     // wait for all buffers to be flushed.
-    while (true) {
-      final Map<StreamDescriptor, Long> streamDescriptorToRemainingRecords = bufferDequeue.getBufferedStreams()
-          .stream()
-          .collect(Collectors.toMap(desc -> desc, desc -> bufferDequeue.getQueueSizeInRecords(desc).orElseThrow()));
-
-      final boolean anyRecordsLeft = streamDescriptorToRemainingRecords
-          .values()
-          .stream()
-          .anyMatch(size -> size > 0);
-
-      if (!anyRecordsLeft) {
-        break;
-      }
-
+    while (bufferDequeue.getTotalGlobalQueueSizeInRecords() > 0) {
       final var workerInfo = new StringBuilder().append("REMAINING_BUFFERS_INFO").append(System.lineSeparator());
-      streamDescriptorToRemainingRecords.entrySet()
-          .stream()
-          .filter(entry -> entry.getValue() > 0)
-          .forEach(entry -> workerInfo.append(String.format("  Namespace: %s Stream: %s -- remaining records: %d",
-              entry.getKey().getNamespace(),
-              entry.getKey().getName(),
-              entry.getValue())));
+      for (final StreamDescriptor desc : bufferDequeue.getBufferedStreams()) {
+        final long remainingRecords = bufferDequeue.getQueueSizeInRecords(desc).orElseThrow();
+        if (remainingRecords > 0) {
+          workerInfo.append(String.format("  Namespace: %s Stream: %s -- remaining records: %d",
+              desc.getNamespace(),
+              desc.getName(),
+              remainingRecords));
+        }
+      }
       log.info(workerInfo.toString());
       log.info("Waiting for all streams to flush.");
       Thread.sleep(1000);
@@ -218,6 +308,8 @@ public class FlushWorkers implements AutoCloseable {
 
     // before shutting down the supervisor, flush all state.
     stateManager.flushStates(outputRecordCollector);
+    isStopped.set(true);
+    flushScheduler.requestFullScan();
     supervisorThread.shutdown();
     while (!supervisorThread.awaitTermination(5L, TimeUnit.MINUTES)) {
       log.info("Waiting for flush worker supervisor to shut down");
@@ -225,12 +317,19 @@ public class FlushWorkers implements AutoCloseable {
     log.info("Closing flush workers -- supervisor shut down");
 
     log.info("Closing flush workers -- Starting worker pool shutdown..");
-    workerPool.shutdown();
-    while (!workerPool.awaitTermination(5L, TimeUnit.MINUTES)) {
+    workerPool.getExecutor().shutdown();
+    while (!workerPool.getExecutor().awaitTermination(5L, TimeUnit.MINUTES)) {
       log.info("Waiting for flush workers to shut down");
     }
     log.info("Closing flush workers  -- workers shut down");
 
+    log.info("Closing flush workers -- waiting for {} pending commits", pendingCommits.size());
+    // failures were already propagated to the flush failure
+    CompletableFuture.allOf(pendingCommits.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+    // states of the batches committed since the last flush of the states
+    stateManager.flushStates(outputRecordCollector);
+    log.info("Closing flush workers -- all commits completed");
+
     debugLoop.shutdownNow();
   }
 
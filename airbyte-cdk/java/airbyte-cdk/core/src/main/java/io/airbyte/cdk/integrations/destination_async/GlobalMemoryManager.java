@@ -4,7 +4,12 @@
 
 package io.airbyte.cdk.integrations.destination_async;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 
@@ -23,6 +28,10 @@ import org.apache.commons.io.FileUtils;
  * enabling effective sharing of global memory resources across all the queues, and avoiding
  * accidental stream backpressure.
  * <p>
+ * Allocation is lock free. Callers that cannot proceed without memory can wait in
+ * {@link #requestMemory(long, long, TimeUnit)}, which wakes up as soon as memory is freed rather than
+ * polling.
+ * <p>
  * This becomes particularly useful in the following scenarios:
  * <ul>
  * <li>1. When the incoming records belong to a single stream. Dynamic allocation ensures this one
@@ -43,6 +52,17 @@ public class GlobalMemoryManager {
 
   private final AtomicLong currentMemoryBytes = new AtomicLong(0);
 
+  // waiting callers park on memoryFreed. free() only takes the lock when someone is waiting, so the
+  // common path never contends on it.
+  private final ReentrantLock waitLock = new ReentrantLock();
+  private final Condition memoryFreed = waitLock.newCondition();
+  private final AtomicInteger numWaiting = new AtomicInteger(0);
+
+  private final LongAdder numAllocations = new LongAdder();
+  private final LongAdder bytesAllocated = new LongAdder();
+  private final LongAdder numWaits = new LongAdder();
+  private final LongAdder waitTimeNanos = new LongAdder();
+
   public GlobalMemoryManager(final long maxMemoryBytes) {
     this.maxMemoryBytes = maxMemoryBytes;
   }
@@ -60,22 +80,71 @@ public class GlobalMemoryManager {
    *
    * @return the size of the allocated block, in bytes
    */
-  public synchronized long requestMemory() {
-    // todo(davin): what happens if the incoming record is larger than 30MB?
-    if (currentMemoryBytes.get() >= maxMemoryBytes) {
-      return 0L;
+  public long requestMemory() {
+    return requestMemory(BLOCK_SIZE_BYTES);
+  }
+
+  /**
+   * Requests up to the given amount of memory without blocking. Less than requested is returned if
+   * that is all that is left, and 0 if memory is exhausted.
+   *
+   * @param bytes the amount of memory wanted, in bytes
+   * @return the size of the allocated block, in bytes
+   */
+  public long requestMemory(final long bytes) {
+    while (true) {
+      final long current = currentMemoryBytes.get();
+      // todo(davin): what happens if the incoming record is larger than 30MB?
+      if (current >= maxMemoryBytes) {
+        return 0L;
+      }
+
+      // Never allocate more than free memory size.
+      final long toAllocateBytes = Math.min(maxMemoryBytes - current, bytes);
+      if (currentMemoryBytes.compareAndSet(current, current + toAllocateBytes)) {
+        numAllocations.increment();
+        bytesAllocated.add(toAllocateBytes);
+        log.debug("Memory Requested: max: {}, allocated: {}, allocated in this request: {}",
+            FileUtils.byteCountToDisplaySize(maxMemoryBytes),
+            FileUtils.byteCountToDisplaySize(current + toAllocateBytes),
+            FileUtils.byteCountToDisplaySize(toAllocateBytes));
+        return toAllocateBytes;
+      }
     }
+  }
 
-    final var freeMem = maxMemoryBytes - currentMemoryBytes.get();
-    // Never allocate more than free memory size.
-    final var toAllocateBytes = Math.min(freeMem, BLOCK_SIZE_BYTES);
-    currentMemoryBytes.addAndGet(toAllocateBytes);
+  /**
+   * Requests up to the given amount of memory, waiting for memory to be freed if there is none left.
+   *
+   * @param bytes the amount of memory wanted, in bytes
+   * @param timeout how long to wait at most
+   * @param unit unit of the timeout
+   * @return the size of the allocated block, in bytes, or 0 if no memory was freed before the timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public long requestMemory(final long bytes, final long timeout, final TimeUnit unit) throws InterruptedException {
+    long allocated = requestMemory(bytes);
+    if (allocated > 0) {
+      return allocated;
+    }
 
-    log.debug("Memory Requested: max: {}, allocated: {}, allocated in this request: {}",
-        FileUtils.byteCountToDisplaySize(maxMemoryBytes),
-        FileUtils.byteCountToDisplaySize(currentMemoryBytes.get()),
-        FileUtils.byteCountToDisplaySize(toAllocateBytes));
-    return toAllocateBytes;
+    final long waitStart = System.nanoTime();
+    // register before retrying under the lock, so that a concurrent free either sees the waiter and
+    // signals, or happens early enough for the retry to succeed.
+    numWaiting.incrementAndGet();
+    waitLock.lockInterruptibly();
+    try {
+      long remainingNanos = unit.toNanos(timeout);
+      while ((allocated = requestMemory(bytes)) == 0 && remainingNanos > 0) {
+        remainingNanos = memoryFreed.awaitNanos(remainingNanos);
+      }
+      return allocated;
+    } finally {
+      waitLock.unlock();
+      numWaiting.decrementAndGet();
+      numWaits.increment();
+      waitTimeNanos.add(System.nanoTime() - waitStart);
+    }
   }
 
   /**
@@ -92,6 +161,42 @@ public class GlobalMemoryManager {
     if (currentMemory < 0) {
       log.info("Freed more memory than allocated ({} of {})", bytes, currentMemory + bytes);
     }
+
+    if (numWaiting.get() > 0) {
+      waitLock.lock();
+      try {
+        memoryFreed.signalAll();
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * @return a summary of allocations and of time spent waiting for memory, for periodic logging.
+   */
+  public String getAllocationStatsMessage() {
+    return String.format("Memory manager: allocations: %d, allocated in total: %s, waits for memory: %d, time waited: %d ms",
+        numAllocations.sum(),
+        AirbyteFileUtils.byteCountToDisplaySize(bytesAllocated.sum()),
+        numWaits.sum(),
+        TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.sum()));
+  }
+
+  public long getNumAllocations() {
+    return numAllocations.sum();
+  }
+
+  public long getBytesAllocated() {
+    return bytesAllocated.sum();
+  }
+
+  public long getNumWaits() {
+    return numWaits.sum();
+  }
+
+  public long getWaitTimeNanos() {
+    return waitTimeNanos.sum();
   }
 
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.time.Instant;
+
+/**
+ * Default {@link FlushSelectionPolicy}. Flushes the biggest queues first and puts no limit on the
+ * number of workers flushing the same stream.
+ */
+public class LargestQueueFirstFlushPolicy implements FlushSelectionPolicy {
+
+  // todo (cgardens) - perf test whether it would make sense to flip 1 & 2.
+  /**
+   * Priority is in the following order:
+   * <li>1. size in queue (descending)</li>
+   * <li>2. time since last record (ascending)</li>
+   * <li>3. alphabetical by namespace + stream name.</li>
+   * <p>
+   * In other words, move the biggest queues first, because they are most likely to use available
+   * resources optimally. Then get rid of old stuff (time to value for the user and, generally, as the
+   * age of the last record grows, the likelihood of getting any more records from that stream
+   * decreases, so by flushing them, we can totally complete that stream). Finally, tertiary sort by
+   * name so the order is deterministic.
+   */
+  @Override
+  public FlushPriority getPriority(final StreamDescriptor stream, final BufferDequeue bufferDequeue) {
+    return new FlushPriority(
+        0,
+        bufferDequeue.getQueueSizeBytes(stream).orElseThrow(),
+        // if no time is present, it suggests the queue has no records. set MAX time as a sentinel value to
+        // represent no records.
+        bufferDequeue.getTimeOfLastRecord(stream).orElse(Instant.MAX),
+        stream.getNamespace() + stream.getName());
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import com.google.common.base.Preconditions;
+import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link FlushSelectionPolicy} that shares flush workers between streams in proportion to their
+ * weights, so that one huge stream cannot keep every worker busy while smaller streams wait.
+ * <p>
+ * This is start-time fair queueing over flushed bytes. Every flush is tagged with a virtual start
+ * time, the later of the stream's previous finish time and the start time of the latest flush. Its
+ * finish time adds the flush's expected bytes divided by the stream's weight. The stream with the
+ * earliest start time goes first, biggest queue first on ties. A stream that was idle starts at the
+ * current virtual time, so it neither gets credit for the time it was idle nor waits behind the
+ * backlog of busy streams.
+ * <p>
+ * On top of that, at most {@link #maxInFlightPerStream} workers flush the same stream at once.
+ */
+public class WeightedFairFlushPolicy implements FlushSelectionPolicy {
+
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  private final int maxInFlightPerStream;
+  private final Map<StreamDescriptor, Double> weights;
+  private final Map<StreamDescriptor, Double> virtualFinishTimes = new HashMap<>();
+  private double virtualTime = 0;
+
+  public WeightedFairFlushPolicy(final int maxInFlightPerStream) {
+    this(maxInFlightPerStream, Map.of());
+  }
+
+  /**
+   * @param maxInFlightPerStream max number of workers flushing the same stream at once
+   * @param weights share of flush capacity per stream, relative to the other streams. Streams
+   *        without a weight get 1.
+   */
+  public WeightedFairFlushPolicy(final int maxInFlightPerStream, final Map<StreamDescriptor, Double> weights) {
+    Preconditions.checkArgument(maxInFlightPerStream > 0, "At least one worker per stream must be allowed.");
+    Preconditions.checkArgument(weights.values().stream().allMatch(weight -> weight > 0), "Stream weights must be positive.");
+    this.maxInFlightPerStream = maxInFlightPerStream;
+    this.weights = Map.copyOf(weights);
+  }
+
+  @Override
+  public FlushPriority getPriority(final StreamDescriptor stream, final BufferDequeue bufferDequeue) {
+    return new FlushPriority(
+        virtualStartTime(stream),
+        bufferDequeue.getQueueSizeBytes(stream).orElse(0L),
+        bufferDequeue.getTimeOfLastRecord(stream).orElse(Instant.MAX),
+        stream.getNamespace() + stream.getName());
+  }
+
+  @Override
+  public boolean canStartFlush(final StreamDescriptor stream, final int runningWorkers) {
+    return runningWorkers < maxInFlightPerStream;
+  }
+
+  @Override
+  public void onFlushStarted(final StreamDescriptor stream, final long estimatedBatchSizeBytes) {
+    final double startTime = virtualStartTime(stream);
+    virtualTime = startTime;
+    virtualFinishTimes.put(stream, startTime + estimatedBatchSizeBytes / weights.getOrDefault(stream, DEFAULT_WEIGHT));
+  }
+
+  private double virtualStartTime(final StreamDescriptor stream) {
+    return Math.max(virtualTime, virtualFinishTimes.getOrDefault(stream, 0.0));
+  }
+
+}
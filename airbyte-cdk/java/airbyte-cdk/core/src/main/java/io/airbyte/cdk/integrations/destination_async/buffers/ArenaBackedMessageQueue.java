@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import static io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager.BLOCK_SIZE_BYTES;
+
+import com.google.common.base.Preconditions;
+import io.airbyte.cdk.integrations.destination_async.buffers.MemoryBoundedLinkedBlockingQueue.MemoryItem;
+import io.airbyte.cdk.integrations.destination_async.buffers.StreamAwareQueue.MessageWithMeta;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap alternative to {@link MemoryBoundedLinkedBlockingQueue} for the records of a single
+ * stream.
+ * <p>
+ * Instead of keeping one queue node, {@link MemoryItem}, {@link MessageWithMeta} and
+ * {@link PartialAirbyteMessage} per record on the heap, each record is appended to a chain of
+ * direct byte buffer chunks as {@code [state id][emitted at][length][serialized data]}. The stream
+ * name and namespace are the same for every record and are kept once. Chunks grow from
+ * {@link #MIN_CHUNK_SIZE_BYTES} up to
+ * {@link io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager#BLOCK_SIZE_BYTES} so that
+ * thousands of small streams do not each reserve a full block, and a chunk is released as a whole
+ * once every record in it has been read.
+ * <p>
+ * Each item's size is the number of bytes it actually occupies in the arena rather than the
+ * caller's estimate. The memory granted to the queue must cover the full capacity of its chunks,
+ * including the part not written to yet, so a record that needs a new chunk is refused until enough
+ * memory has been added, and a new chunk is never larger than what is left of the grant. For the
+ * same reason, reading records does not give any of the grant back until their whole chunk is
+ * released, see {@link #releaseRemovedMemory(long)}. Records are only turned back into
+ * {@link PartialAirbyteMessage}s when they are dequeued for a flush.
+ * <p>
+ * Released chunks go back to a {@link DirectChunkPool} to be reused by the next chunk of the same
+ * size, instead of waiting for the garbage collector to free their direct memory.
+ * <p>
+ * Only record messages can be queued; state messages never go through the stream queues.
+ */
+class ArenaBackedMessageQueue implements MemoryBoundedQueue<MessageWithMeta> {
+
+  static final int MIN_CHUNK_SIZE_BYTES = 64 * 1024;
+  // state id + emitted at + payload length
+  static final int ENTRY_HEADER_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+  private final String streamName;
+  private final String streamNamespace;
+  private final int maxChunkSizeBytes;
+  private final GlobalQueueCounters globalCounters;
+  private final DirectChunkPool chunkPool;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+
+  // guarded by lock. Records are read from the head chunk and appended to the tail chunk; a chunk's
+  // position is its write offset.
+  private final ArrayDeque<ByteBuffer> chunks = new ArrayDeque<>();
+  private int readOffset = 0;
+  private int size = 0;
+  private long currentMemoryUsage = 0;
+  private long maxMemoryUsage;
+  private long allocatedBytes = 0;
+  // capacity of the chunks released since the grant was last taken back.
+  private long releasedBytes = 0;
+  private int nextChunkSizeBytes = MIN_CHUNK_SIZE_BYTES;
+  // the head record is decoded once on peek and reused by the following poll.
+  private MemoryItem<MessageWithMeta> decodedHead;
+
+  ArenaBackedMessageQueue(final StreamDescriptor streamDescriptor, final long maxMemoryUsage) {
+    this(streamDescriptor, maxMemoryUsage, new GlobalQueueCounters(), new DirectChunkPool());
+  }
+
+  ArenaBackedMessageQueue(final StreamDescriptor streamDescriptor,
+                          final long maxMemoryUsage,
+                          final GlobalQueueCounters globalCounters,
+                          final DirectChunkPool chunkPool) {
+    this(streamDescriptor, maxMemoryUsage, globalCounters, chunkPool, (int) BLOCK_SIZE_BYTES);
+  }
+
+  ArenaBackedMessageQueue(final StreamDescriptor streamDescriptor,
+                          final long maxMemoryUsage,
+                          final GlobalQueueCounters globalCounters,
+                          final DirectChunkPool chunkPool,
+                          final int maxChunkSizeBytes) {
+    this.streamName = streamDescriptor.getName();
+    this.streamNamespace = streamDescriptor.getNamespace();
+    this.maxMemoryUsage = maxMemoryUsage;
+    this.globalCounters = globalCounters;
+    this.chunkPool = chunkPool;
+    this.maxChunkSizeBytes = maxChunkSizeBytes;
+  }
+
+  @Override
+  public long getCurrentMemoryUsage() {
+    lock.lock();
+    try {
+      return currentMemoryUsage;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getMaxMemoryUsage() {
+    lock.lock();
+    try {
+      return maxMemoryUsage;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void addMaxMemory(final long maxMemoryUsage) {
+    lock.lock();
+    try {
+      this.maxMemoryUsage += maxMemoryUsage;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the off-heap bytes currently held by chunks, including space not yet written to. This is
+   *         never more than the memory granted to the queue.
+   */
+  long getAllocatedBytes() {
+    lock.lock();
+    try {
+      return allocatedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Appends a record to the arena. The size estimate passed in is ignored in favour of the encoded
+   * size of the record.
+   */
+  @Override
+  public boolean offer(final MessageWithMeta messageWithMeta, final long itemSizeInBytes) {
+    final PartialAirbyteMessage message = messageWithMeta.message();
+    Preconditions.checkArgument(message.getType() == Type.RECORD, "Only record messages can be stored in an arena queue.");
+    final byte[] payload = message.getSerialized().getBytes(StandardCharsets.UTF_8);
+    final int entrySize = ENTRY_HEADER_BYTES + payload.length;
+
+    lock.lock();
+    try {
+      final ByteBuffer tail = tailChunkWithRoomFor(entrySize);
+      if (tail == null) {
+        return false;
+      }
+      tail.putLong(messageWithMeta.stateId());
+      tail.putLong(message.getRecord().getEmittedAt() == null ? 0L : message.getRecord().getEmittedAt());
+      tail.putInt(payload.length);
+      tail.put(payload);
+      currentMemoryUsage += entrySize;
+      size++;
+      globalCounters.onAdded(entrySize);
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public MemoryItem<MessageWithMeta> peek() {
+    lock.lock();
+    try {
+      if (size == 0) {
+        return null;
+      }
+      if (decodedHead == null) {
+        decodedHead = decodeHead();
+      }
+      return decodedHead;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public MemoryItem<MessageWithMeta> poll() {
+    lock.lock();
+    try {
+      return size == 0 ? null : removeHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public MemoryItem<MessageWithMeta> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (size == 0) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return removeHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public MemoryItem<MessageWithMeta> take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size == 0) {
+        notEmpty.await();
+      }
+      return removeHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drains under a single lock acquisition.
+   */
+  @Override
+  public long drainTo(final long maxBytes, final Consumer<MessageWithMeta> sink) {
+    lock.lock();
+    try {
+      long bytesDrained = 0;
+      while (size > 0) {
+        if (decodedHead == null) {
+          decodedHead = decodeHead();
+        }
+        if (bytesDrained + decodedHead.size() > maxBytes) {
+          break;
+        }
+        final MemoryItem<MessageWithMeta> item = removeHead();
+        bytesDrained += item.size();
+        sink.accept(item.item());
+      }
+      return bytesDrained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes back the grant of the chunks released since the last call, or the whole grant once the
+   * queue is empty and holds no chunk. Records read from a chunk that is still held give nothing
+   * back, since the chunk keeps its full capacity until all of it has been read.
+   */
+  @Override
+  public long releaseRemovedMemory(final long bytesRemoved) {
+    lock.lock();
+    try {
+      final long released = chunks.isEmpty() ? maxMemoryUsage : releasedBytes;
+      maxMemoryUsage -= released;
+      releasedBytes = 0;
+      return released;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the tail chunk if the entry fits in it, otherwise a new chunk if the memory left for the
+   *         queue can pay for one, otherwise null.
+   */
+  private ByteBuffer tailChunkWithRoomFor(final int entrySize) {
+    final ByteBuffer tail = chunks.peekLast();
+    if (tail != null && tail.remaining() >= entrySize) {
+      return tail;
+    }
+    final long unallocatedBytes = maxMemoryUsage - allocatedBytes;
+    if (entrySize > unallocatedBytes) {
+      return null;
+    }
+    // step down through the standard sizes, which the pool can reuse, until one fits the grant left.
+    int chunkSize = nextChunkSizeBytes;
+    while (chunkSize > unallocatedBytes && chunkSize > MIN_CHUNK_SIZE_BYTES) {
+      chunkSize = Integer.highestOneBit(chunkSize - 1);
+    }
+    if (chunkSize > unallocatedBytes) {
+      chunkSize = (int) unallocatedBytes;
+    }
+    chunkSize = Math.max(chunkSize, entrySize);
+    nextChunkSizeBytes = (int) Math.min((long) nextChunkSizeBytes * 2, maxChunkSizeBytes);
+    final ByteBuffer chunk = chunkPool.acquire(chunkSize);
+    allocatedBytes += chunkSize;
+    chunks.addLast(chunk);
+    return chunk;
+  }
+
+  private boolean isStandardChunkSize(final int chunkSize) {
+    return chunkSize == maxChunkSizeBytes
+        || chunkSize >= MIN_CHUNK_SIZE_BYTES && chunkSize < maxChunkSizeBytes && Integer.bitCount(chunkSize) == 1;
+  }
+
+  private void releaseChunk(final ByteBuffer chunk) {
+    allocatedBytes -= chunk.capacity();
+    releasedBytes += chunk.capacity();
+    // odd sizes are unlikely to be asked for again and would only take room in the pool.
+    if (isStandardChunkSize(chunk.capacity())) {
+      chunkPool.release(chunk);
+    }
+  }
+
+  private MemoryItem<MessageWithMeta> decodeHead() {
+    final ByteBuffer head = chunks.peekFirst();
+    final long stateId = head.getLong(readOffset);
+    final long emittedAt = head.getLong(readOffset + Long.BYTES);
+    final int payloadLength = head.getInt(readOffset + 2 * Long.BYTES);
+    final byte[] payload = new byte[payloadLength];
+    head.get(readOffset + ENTRY_HEADER_BYTES, payload);
+
+    final PartialAirbyteMessage message = new PartialAirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new PartialAirbyteRecordMessage()
+            .withNamespace(streamNamespace)
+            .withStream(streamName)
+            .withEmittedAt(emittedAt))
+        .withSerialized(new String(payload, StandardCharsets.UTF_8));
+    return new MemoryItem<>(new MessageWithMeta(message, stateId), ENTRY_HEADER_BYTES + payloadLength);
+  }
+
+  private MemoryItem<MessageWithMeta> removeHead() {
+    final MemoryItem<MessageWithMeta> item = decodedHead != null ? decodedHead : decodeHead();
+    decodedHead = null;
+    readOffset += (int) item.size();
+    currentMemoryUsage -= item.size();
+    size--;
+    globalCounters.onRemoved(item.size());
+
+    final ByteBuffer head = chunks.peekFirst();
+    if (readOffset == head.position()) {
+      if (size == 0) {
+        // drained: release every chunk so an idle stream holds no off-heap memory.
+        releaseChunks();
+      } else if (chunks.size() > 1) {
+        // everything written to the head chunk has been read and writing has moved on.
+        releaseChunk(chunks.pollFirst());
+        readOffset = 0;
+      }
+    }
+    return item;
+  }
+
+  /**
+   * Releases the off-heap memory of every chunk. Records still in the queue are dropped.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      decodedHead = null;
+      globalCounters.onRemoved(currentMemoryUsage, size);
+      currentMemoryUsage = 0;
+      size = 0;
+      releaseChunks();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void releaseChunks() {
+    chunks.forEach(this::releaseChunk);
+    chunks.clear();
+    nextChunkSizeBytes = MIN_CHUNK_SIZE_BYTES;
+    readOffset = 0;
+  }
+
+}
@@ -5,42 +5,64 @@
 package io.airbyte.cdk.integrations.destination_async.buffers;
 
 import io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager;
-import io.airbyte.cdk.integrations.destination_async.buffers.MemoryBoundedLinkedBlockingQueue.MemoryItem;
 import io.airbyte.cdk.integrations.destination_async.buffers.StreamAwareQueue.MessageWithMeta;
 import io.airbyte.cdk.integrations.destination_async.state.GlobalAsyncStateManager;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Represents the minimal interface over the underlying buffer queues required for dequeue
  * operations with the aim of minimizing lower-level queue access.
  * <p>
  * Aside from {@link #take(StreamDescriptor, long)}, all public methods in this class represents
- * queue metadata required to determine buffer flushing.
+ * queue metadata required to determine buffer flushing. Buffer-wide metadata is read from
+ * {@link GlobalQueueCounters} rather than computed over every queue.
  */
-// todo (cgardens) - make all the metadata methods more efficient.
 public class BufferDequeue {
 
   private final GlobalMemoryManager memoryManager;
   private final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers;
   private final GlobalAsyncStateManager stateManager;
   private final ConcurrentMap<StreamDescriptor, ReentrantLock> bufferLocks;
+  // null when the queues do not share counters, the totals being summed over the queues then
+  private final GlobalQueueCounters globalCounters;
+  // streams are never removed from the buffers, so the number of streams is the version of this
+  // snapshot: it is only rebuilt when a new stream has been added.
+  private volatile Set<StreamDescriptor> bufferedStreams = Set.of();
 
+  /**
+   * Buffer-wide totals are summed over the queues in {@code buffers} on each call, since the queues
+   * may not keep any shared counters up to date.
+   */
   public BufferDequeue(final GlobalMemoryManager memoryManager,
                        final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers,
                        final GlobalAsyncStateManager stateManager) {
+    this(memoryManager, buffers, stateManager, null);
+  }
+
+  /**
+   * @param globalCounters totals kept up to date by the queues in {@code buffers}
+   */
+  public BufferDequeue(final GlobalMemoryManager memoryManager,
+                       final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers,
+                       final GlobalAsyncStateManager stateManager,
+                       final GlobalQueueCounters globalCounters) {
     this.memoryManager = memoryManager;
     this.buffers = buffers;
     this.stateManager = stateManager;
+    this.globalCounters = globalCounters;
     bufferLocks = new ConcurrentHashMap<>();
   }
 
@@ -58,39 +80,25 @@ public class BufferDequeue {
     final var queue = buffers.get(streamDescriptor);
 
     try {
-      final AtomicLong bytesRead = new AtomicLong();
-
-      final List<MessageWithMeta> output = new LinkedList<>();
-      while (queue.size() > 0) {
-        final MemoryItem<MessageWithMeta> memoryItem = queue.peek().orElseThrow();
-
-        // otherwise pull records until we hit the memory limit.
-        final long newSize = memoryItem.size() + bytesRead.get();
-        if (newSize <= optimalBytesToRead) {
-          bytesRead.addAndGet(memoryItem.size());
-          output.add(queue.poll().item());
-        } else {
-          break;
-        }
-      }
-
-      if (queue.isEmpty()) {
-        final var batchSizeBytes = bytesRead.get();
-        final var allocatedBytes = queue.getMaxMemoryUsage();
-
-        // Free unused allocation for the queue.
-        // When the batch flushes it will flush its allocation.
-        memoryManager.free(allocatedBytes - batchSizeBytes);
-
-        // Shrink queue to 0 — any new messages will reallocate.
-        queue.addMaxMemory(-allocatedBytes);
-      } else {
-        queue.addMaxMemory(-bytesRead.get());
+      final StateIdCountingList output = new StateIdCountingList(estimateRecordCount(queue, optimalBytesToRead));
+      final long bytesRead = queue.drainTo(optimalBytesToRead, output);
+
+      // An empty queue gives back its whole allocation, and any new messages will reallocate. Otherwise
+      // the queue decides how much the records read free up, an off-heap queue only giving back whole
+      // chunks.
+      final long releasedBytes = queue.releaseRemovedMemory(bytesRead);
+      // When the batch flushes it will free its share, up to the size of its records. The rest of the
+      // released allocation is unused and freed now.
+      final long batchMemoryBytes = Math.min(releasedBytes, bytesRead);
+      if (releasedBytes > batchMemoryBytes) {
+        memoryManager.free(releasedBytes - batchMemoryBytes);
       }
 
       return new MemoryAwareMessageBatch(
-          output,
-          bytesRead.get(),
+          output.records,
+          bytesRead,
+          batchMemoryBytes,
+          output.getStateIdToCount(),
           memoryManager,
           stateManager);
     } finally {
@@ -101,10 +109,16 @@ public class BufferDequeue {
   /**
    * The following methods are provide metadata for buffer flushing calculations. Consumers are
    * expected to call it to retrieve the currently buffered streams as a handle to the remaining
-   * methods.
+   * methods. The returned set is a shared snapshot and cannot be modified.
    */
   public Set<StreamDescriptor> getBufferedStreams() {
-    return new HashSet<>(buffers.keySet());
+    final Set<StreamDescriptor> streams = bufferedStreams;
+    if (streams.size() == buffers.size()) {
+      return streams;
+    }
+    final Set<StreamDescriptor> refreshed = Collections.unmodifiableSet(new HashSet<>(buffers.keySet()));
+    bufferedStreams = refreshed;
+    return refreshed;
   }
 
   public long getMaxQueueSizeBytes() {
@@ -112,7 +126,17 @@ public class BufferDequeue {
   }
 
   public long getTotalGlobalQueueSizeBytes() {
-    return buffers.values().stream().map(StreamAwareQueue::getCurrentMemoryUsage).mapToLong(Long::longValue).sum();
+    if (globalCounters == null) {
+      return buffers.values().stream().mapToLong(StreamAwareQueue::getCurrentMemoryUsage).sum();
+    }
+    return globalCounters.getBytes();
+  }
+
+  public long getTotalGlobalQueueSizeInRecords() {
+    if (globalCounters == null) {
+      return buffers.values().stream().mapToLong(StreamAwareQueue::size).sum();
+    }
+    return globalCounters.getRecords();
   }
 
   public Optional<Long> getQueueSizeInRecords(final StreamDescriptor streamDescriptor) {
@@ -128,10 +152,60 @@ public class BufferDequeue {
   }
 
   private Optional<StreamAwareQueue> getBuffer(final StreamDescriptor streamDescriptor) {
-    if (buffers.containsKey(streamDescriptor)) {
-      return Optional.of(buffers.get(streamDescriptor));
+    return Optional.ofNullable(buffers.get(streamDescriptor));
+  }
+
+  /**
+   * Sizes the batch from the queue's average record size, so the list neither grows while draining
+   * nor reserves room for the whole queue when only part of it fits in the batch.
+   */
+  private static int estimateRecordCount(final StreamAwareQueue queue, final long optimalBytesToRead) {
+    final int queuedRecords = queue.size();
+    final long queuedBytes = queue.getCurrentMemoryUsage();
+    if (queuedRecords == 0 || queuedBytes <= optimalBytesToRead) {
+      return queuedRecords;
+    }
+    final long averageRecordBytes = Math.max(1, queuedBytes / queuedRecords);
+    return (int) Math.min(queuedRecords, optimalBytesToRead / averageRecordBytes + 1);
+  }
+
+  /**
+   * Collects drained records and counts them per state id in the same pass. Records of a stream
+   * arrive in runs of the same state id, so counts are only boxed into the map once per run.
+   */
+  private static class StateIdCountingList implements Consumer<MessageWithMeta> {
+
+    private final List<MessageWithMeta> records;
+    private final Map<Long, Long> stateIdToCount = new HashMap<>();
+    private long currentStateId;
+    private long currentRunLength = 0;
+
+    StateIdCountingList(final int expectedSize) {
+      records = new ArrayList<>(expectedSize);
     }
-    return Optional.empty();
+
+    @Override
+    public void accept(final MessageWithMeta record) {
+      records.add(record);
+      if (currentRunLength > 0 && record.stateId() != currentStateId) {
+        endRun();
+      }
+      currentStateId = record.stateId();
+      currentRunLength++;
+    }
+
+    Map<Long, Long> getStateIdToCount() {
+      endRun();
+      return stateIdToCount;
+    }
+
+    private void endRun() {
+      if (currentRunLength > 0) {
+        stateIdToCount.merge(currentStateId, currentRunLength, Long::sum);
+        currentRunLength = 0;
+      }
+    }
+
   }
 
 }
@@ -4,31 +4,63 @@
 
 package io.airbyte.cdk.integrations.destination_async.buffers;
 
-import static java.lang.Thread.sleep;
+import static io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager.BLOCK_SIZE_BYTES;
 
+import io.airbyte.cdk.integrations.destination_async.FlushScheduler;
 import io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
 import io.airbyte.cdk.integrations.destination_async.state.GlobalAsyncStateManager;
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Represents the minimal interface over the underlying buffer queues required for enqueue
  * operations with the aim of minimizing lower-level queue access.
  */
+@Slf4j
 public class BufferEnqueue {
 
+  // how long to wait for memory before logging that ingestion is blocked on flushing.
+  private static final long MEMORY_WAIT_LOG_INTERVAL_SECS = 60L;
+
   private final GlobalMemoryManager memoryManager;
   private final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers;
   private final GlobalAsyncStateManager stateManager;
+  private final boolean offHeapQueues;
+  private final FlushScheduler flushScheduler;
+  private final GlobalQueueCounters globalCounters;
+  // shared by the off-heap queues created here.
+  private final DirectChunkPool chunkPool;
 
   public BufferEnqueue(final GlobalMemoryManager memoryManager,
                        final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers,
                        final GlobalAsyncStateManager stateManager) {
+    this(memoryManager, buffers, stateManager, false, new FlushScheduler(memoryManager.getMaxMemoryBytes()), new GlobalQueueCounters());
+  }
+
+  /**
+   * @param offHeapQueues if true, new stream queues keep their records off-heap, see
+   *        {@link StreamAwareQueue#offHeap(StreamDescriptor, long)}.
+   * @param flushScheduler notified of every buffered record, so flushes start as soon as a queue is
+   *        ready.
+   * @param globalCounters totals across all queues, kept up to date by the queues created here.
+   */
+  public BufferEnqueue(final GlobalMemoryManager memoryManager,
+                       final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers,
+                       final GlobalAsyncStateManager stateManager,
+                       final boolean offHeapQueues,
+                       final FlushScheduler flushScheduler,
+                       final GlobalQueueCounters globalCounters) {
     this.memoryManager = memoryManager;
     this.buffers = buffers;
     this.stateManager = stateManager;
+    this.offHeapQueues = offHeapQueues;
+    this.flushScheduler = flushScheduler;
+    this.globalCounters = globalCounters;
+    this.chunkPool = new DirectChunkPool();
   }
 
   /**
@@ -48,27 +80,36 @@ public class BufferEnqueue {
 
   private void handleRecord(final PartialAirbyteMessage message, final Integer sizeInBytes) {
     final StreamDescriptor streamDescriptor = extractStateFromRecord(message);
-    final var queue = buffers.computeIfAbsent(streamDescriptor, _k -> new StreamAwareQueue(memoryManager.requestMemory()));
+    final var queue = buffers.computeIfAbsent(streamDescriptor, this::newQueue);
     final long stateId = stateManager.getStateIdAndIncrementCounter(streamDescriptor);
 
+    final long queueSizeBeforeBytes = queue.getCurrentMemoryUsage();
     var addedToQueue = queue.offer(message, sizeInBytes, stateId);
 
-    int i = 0;
     while (!addedToQueue) {
-      final var newlyAllocatedMemory = memoryManager.requestMemory();
+      // block until a flush frees memory instead of polling, so ingestion resumes as soon as it can.
+      final long newlyAllocatedMemory;
+      try {
+        newlyAllocatedMemory = memoryManager.requestMemory(Math.max(BLOCK_SIZE_BYTES, sizeInBytes), MEMORY_WAIT_LOG_INTERVAL_SECS, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
       if (newlyAllocatedMemory > 0) {
         queue.addMaxMemory(newlyAllocatedMemory);
+      } else {
+        log.info("Waited {} seconds for buffer memory to be freed by flushing, still waiting.", MEMORY_WAIT_LOG_INTERVAL_SECS);
       }
       addedToQueue = queue.offer(message, sizeInBytes, stateId);
-      i++;
-      if (i > 5) {
-        try {
-          sleep(500);
-        } catch (final InterruptedException e) {
-          throw new RuntimeException(e);
-        }
-      }
     }
+
+    flushScheduler.onRecordBuffered(streamDescriptor, queueSizeBeforeBytes, queue.getCurrentMemoryUsage(), memoryManager.getCurrentMemoryBytes());
+  }
+
+  private StreamAwareQueue newQueue(final StreamDescriptor streamDescriptor) {
+    final long initialMemory = memoryManager.requestMemory();
+    return offHeapQueues
+        ? StreamAwareQueue.offHeap(streamDescriptor, initialMemory, globalCounters, chunkPool)
+        : new StreamAwareQueue(initialMemory, globalCounters);
   }
 
   private static StreamDescriptor extractStateFromRecord(final PartialAirbyteMessage message) {
@@ -6,6 +6,7 @@ package io.airbyte.cdk.integrations.destination_async.buffers;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.airbyte.cdk.integrations.destination_async.AirbyteFileUtils;
+import io.airbyte.cdk.integrations.destination_async.FlushScheduler;
 import io.airbyte.cdk.integrations.destination_async.FlushWorkers;
 import io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager;
 import io.airbyte.cdk.integrations.destination_async.state.GlobalAsyncStateManager;
@@ -31,6 +32,7 @@ public class BufferManager {
   private final BufferEnqueue bufferEnqueue;
   private final BufferDequeue bufferDequeue;
   private final GlobalMemoryManager memoryManager;
+  private final FlushScheduler flushScheduler;
 
   private final GlobalAsyncStateManager stateManager;
   private final ScheduledExecutorService debugLoop;
@@ -49,13 +51,28 @@ public class BufferManager {
    *        reading unnecessarily, but small enough we apply back pressure before OOMing.
    */
   public BufferManager(final long memoryLimit) {
+    this(memoryLimit, false);
+  }
+
+  /**
+   * @param memoryLimit see {@link #BufferManager(long)}
+   * @param offHeapQueues if true, buffered records are kept in off-heap arenas instead of on-heap
+   *        queues. This takes most of the buffered data out of the garbage collector's way, and the
+   *        memory accounted for is the actual size of the stored records. Direct memory must be
+   *        allowed to grow to the memory limit plus the chunks kept for reuse, at most
+   *        {@link DirectChunkPool#DEFAULT_MAX_POOLED_BYTES} (by default it may grow to the max heap
+   *        size).
+   */
+  public BufferManager(final long memoryLimit, final boolean offHeapQueues) {
     maxMemory = memoryLimit;
     LOGGER.info("Max 'memory' available for buffer allocation {}", FileUtils.byteCountToDisplaySize(maxMemory));
     memoryManager = new GlobalMemoryManager(maxMemory);
     this.stateManager = new GlobalAsyncStateManager(memoryManager);
     buffers = new ConcurrentHashMap<>();
-    bufferEnqueue = new BufferEnqueue(memoryManager, buffers, stateManager);
-    bufferDequeue = new BufferDequeue(memoryManager, buffers, stateManager);
+    flushScheduler = new FlushScheduler(maxMemory);
+    final GlobalQueueCounters globalCounters = new GlobalQueueCounters();
+    bufferEnqueue = new BufferEnqueue(memoryManager, buffers, stateManager, offHeapQueues, flushScheduler, globalCounters);
+    bufferDequeue = new BufferDequeue(memoryManager, buffers, stateManager, globalCounters);
     debugLoop = Executors.newSingleThreadScheduledExecutor();
     debugLoop.scheduleAtFixedRate(this::printQueueInfo, 0, DEBUG_PERIOD_SECS, TimeUnit.SECONDS);
   }
@@ -64,8 +81,7 @@ public class BufferManager {
     return stateManager;
   }
 
-  @VisibleForTesting
-  protected GlobalMemoryManager getMemoryManager() {
+  public GlobalMemoryManager getMemoryManager() {
     return memoryManager;
   }
 
@@ -82,12 +98,21 @@ public class BufferManager {
     return bufferDequeue;
   }
 
+  /**
+   * @return the scheduler notified when buffered streams become ready to flush. Pass it to
+   *        {@link FlushWorkers} so flushes start without waiting for the periodic scan.
+   */
+  public FlushScheduler getFlushScheduler() {
+    return flushScheduler;
+  }
+
   /**
    * Closing a queue will flush all items from it. For this reason, this method needs to be called
    * after {@link FlushWorkers#close()}. This allows the upload workers to make sure all items in the
    * queue has been flushed.
    */
   public void close() throws Exception {
+    buffers.values().forEach(StreamAwareQueue::close);
     debugLoop.shutdownNow();
     log.info("Buffers cleared..");
   }
@@ -102,6 +127,10 @@ public class BufferManager {
             AirbyteFileUtils.byteCountToDisplaySize(memoryManager.getCurrentMemoryBytes()),
             (double) memoryManager.getCurrentMemoryBytes() / 1024 / 1024,
             (double) memoryManager.getCurrentMemoryBytes() / memoryManager.getMaxMemoryBytes()));
+    messages.add(String.format("Buffered: %d records, %s",
+        bufferDequeue.getTotalGlobalQueueSizeInRecords(),
+        AirbyteFileUtils.byteCountToDisplaySize(bufferDequeue.getTotalGlobalQueueSizeBytes())));
+    messages.add(memoryManager.getAllocationStatsMessage());
 
     for (final var entry : buffers.entrySet()) {
       final var queue = entry.getValue();
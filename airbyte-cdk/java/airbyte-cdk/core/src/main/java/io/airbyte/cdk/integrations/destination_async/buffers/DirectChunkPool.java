@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import static io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager.BLOCK_SIZE_BYTES;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Direct buffers released by {@link ArenaBackedMessageQueue}s, kept for the next chunk of the same
+ * capacity. Direct memory is only given back to the operating system when the garbage collector
+ * gets to the buffer, so reusing chunks keeps the off-heap footprint close to what the queues hold
+ * instead of piling up released chunks between collections.
+ * <p>
+ * At most {@link #getMaxPooledBytes()} are kept; a chunk released beyond that is left to the
+ * garbage collector. The pool is shared by the queues of a buffer manager.
+ */
+class DirectChunkPool {
+
+  static final long DEFAULT_MAX_POOLED_BYTES = 2 * BLOCK_SIZE_BYTES;
+
+  private final long maxPooledBytes;
+  private final ConcurrentMap<Integer, Queue<ByteBuffer>> freeChunks = new ConcurrentHashMap<>();
+  private final AtomicLong pooledBytes = new AtomicLong(0);
+
+  DirectChunkPool() {
+    this(DEFAULT_MAX_POOLED_BYTES);
+  }
+
+  DirectChunkPool(final long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+  }
+
+  long getMaxPooledBytes() {
+    return maxPooledBytes;
+  }
+
+  long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /**
+   * @return an empty direct buffer of the given capacity, reused if one was released.
+   */
+  ByteBuffer acquire(final int capacity) {
+    final Queue<ByteBuffer> chunks = freeChunks.get(capacity);
+    final ByteBuffer chunk = chunks == null ? null : chunks.poll();
+    if (chunk == null) {
+      return ByteBuffer.allocateDirect(capacity);
+    }
+    pooledBytes.addAndGet(-capacity);
+    return chunk.clear();
+  }
+
+  /**
+   * Keeps the chunk for reuse if the pool has room for it. The caller must not touch it afterwards.
+   */
+  void release(final ByteBuffer chunk) {
+    final int capacity = chunk.capacity();
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      return;
+    }
+    freeChunks.computeIfAbsent(capacity, c -> new ConcurrentLinkedQueue<>()).add(chunk);
+  }
+
+}
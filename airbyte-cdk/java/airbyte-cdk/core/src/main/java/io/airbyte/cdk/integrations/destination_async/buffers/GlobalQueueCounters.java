@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totals over every stream queue, so that buffer-wide metadata does not need a pass over all the
+ * queues. Each queue updates the totals in the same step as its own memory usage, with the size it
+ * accounted the record at.
+ */
+public class GlobalQueueCounters {
+
+  private final AtomicLong bytes = new AtomicLong(0);
+  private final AtomicLong records = new AtomicLong(0);
+
+  void onAdded(final long sizeInBytes) {
+    bytes.addAndGet(sizeInBytes);
+    records.incrementAndGet();
+  }
+
+  void onRemoved(final long sizeInBytes) {
+    bytes.addAndGet(-sizeInBytes);
+    records.decrementAndGet();
+  }
+
+  void onRemoved(final long sizeInBytes, final int count) {
+    bytes.addAndGet(-sizeInBytes);
+    records.addAndGet(-count);
+  }
+
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  public long getRecords() {
+    return records.get();
+  }
+
+}
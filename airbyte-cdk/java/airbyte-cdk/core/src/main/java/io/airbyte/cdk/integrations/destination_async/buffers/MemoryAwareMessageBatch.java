@@ -11,6 +11,7 @@ import io.airbyte.protocol.models.v0.AirbyteMessage;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +32,8 @@ public class MemoryAwareMessageBatch implements AutoCloseable {
   private final List<MessageWithMeta> batch;
 
   private final long sizeInBytes;
+  private final long memoryBytes;
+  private final Map<Long, Long> stateIdToCount;
   private final GlobalMemoryManager memoryManager;
   private final GlobalAsyncStateManager stateManager;
 
@@ -38,8 +41,35 @@ public class MemoryAwareMessageBatch implements AutoCloseable {
                                  final long sizeInBytes,
                                  final GlobalMemoryManager memoryManager,
                                  final GlobalAsyncStateManager stateManager) {
+    this(batch, sizeInBytes, countStateIds(batch), memoryManager, stateManager);
+  }
+
+  /**
+   * @param stateIdToCount number of records in the batch per state id, when already known from
+   *        reading the batch
+   */
+  public MemoryAwareMessageBatch(final List<MessageWithMeta> batch,
+                                 final long sizeInBytes,
+                                 final Map<Long, Long> stateIdToCount,
+                                 final GlobalMemoryManager memoryManager,
+                                 final GlobalAsyncStateManager stateManager) {
+    this(batch, sizeInBytes, sizeInBytes, stateIdToCount, memoryManager, stateManager);
+  }
+
+  /**
+   * @param memoryBytes memory freed when the batch is closed, when the queue it was read from gave
+   *        back less than the size of its records
+   */
+  public MemoryAwareMessageBatch(final List<MessageWithMeta> batch,
+                                 final long sizeInBytes,
+                                 final long memoryBytes,
+                                 final Map<Long, Long> stateIdToCount,
+                                 final GlobalMemoryManager memoryManager,
+                                 final GlobalAsyncStateManager stateManager) {
     this.batch = batch;
     this.sizeInBytes = sizeInBytes;
+    this.memoryBytes = memoryBytes;
+    this.stateIdToCount = stateIdToCount;
     this.memoryManager = memoryManager;
     this.stateManager = stateManager;
   }
@@ -52,9 +82,13 @@ public class MemoryAwareMessageBatch implements AutoCloseable {
     return batch;
   }
 
+  public Map<Long, Long> getStateIdToCount() {
+    return stateIdToCount;
+  }
+
   @Override
   public void close() throws Exception {
-    memoryManager.free(sizeInBytes);
+    memoryManager.free(memoryBytes);
   }
 
   /**
@@ -67,4 +101,8 @@ public class MemoryAwareMessageBatch implements AutoCloseable {
     stateManager.flushStates(outputRecordCollector);
   }
 
+  private static Map<Long, Long> countStateIds(final List<MessageWithMeta> batch) {
+    return batch.stream().collect(Collectors.groupingBy(MessageWithMeta::stateId, Collectors.counting()));
+  }
+
 }
@@ -7,6 +7,7 @@ package io.airbyte.cdk.integrations.destination_async.buffers;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,50 +27,79 @@ import lombok.extern.slf4j.Slf4j;
  * @param <E> type in the queue
  */
 @Slf4j
-class MemoryBoundedLinkedBlockingQueue<E> {
+class MemoryBoundedLinkedBlockingQueue<E> implements MemoryBoundedQueue<E> {
 
   private final HiddenQueue<E> hiddenQueue;
 
   public MemoryBoundedLinkedBlockingQueue(final long maxMemoryUsage) {
-    hiddenQueue = new HiddenQueue<>(maxMemoryUsage);
+    this(maxMemoryUsage, new GlobalQueueCounters());
   }
 
+  /**
+   * @param globalCounters totals across all queues, updated as items are added and removed
+   */
+  public MemoryBoundedLinkedBlockingQueue(final long maxMemoryUsage, final GlobalQueueCounters globalCounters) {
+    hiddenQueue = new HiddenQueue<>(maxMemoryUsage, globalCounters);
+  }
+
+  @Override
   public long getCurrentMemoryUsage() {
     return hiddenQueue.currentMemoryUsage.get();
   }
 
+  @Override
   public void addMaxMemory(final long maxMemoryUsage) {
     hiddenQueue.maxMemoryUsage.addAndGet(maxMemoryUsage);
   }
 
+  @Override
   public int size() {
     return hiddenQueue.size();
   }
 
+  @Override
   public boolean offer(final E e, final long itemSizeInBytes) {
     return hiddenQueue.offer(e, itemSizeInBytes);
   }
 
+  @Override
   public MemoryBoundedLinkedBlockingQueue.MemoryItem<E> peek() {
     return hiddenQueue.peek();
   }
 
+  @Override
   public MemoryBoundedLinkedBlockingQueue.MemoryItem<E> take() throws InterruptedException {
     return hiddenQueue.take();
   }
 
+  @Override
   public MemoryBoundedLinkedBlockingQueue.MemoryItem<E> poll() {
     return hiddenQueue.poll();
   }
 
+  @Override
   public MemoryBoundedLinkedBlockingQueue.MemoryItem<E> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
     return hiddenQueue.poll(timeout, unit);
   }
 
+  @Override
   public long getMaxMemoryUsage() {
     return hiddenQueue.getMaxMemoryUsage();
   }
 
+  @Override
+  public long drainTo(final long maxBytes, final Consumer<E> sink) {
+    long bytesDrained = 0;
+    MemoryItem<E> next;
+    // items are only ever removed by the single consumer, so the peeked item is the one polled.
+    while ((next = hiddenQueue.peek()) != null && bytesDrained + next.size() <= maxBytes) {
+      hiddenQueue.poll();
+      bytesDrained += next.size();
+      sink.accept(next.item());
+    }
+    return bytesDrained;
+  }
+
   /**
    * Extends LinkedBlockingQueue so that we can get a LinkedBlockingQueue bounded by memory. Hidden as
    * an inner class, so it doesn't get misused, see top-level javadoc comment.
@@ -80,10 +110,12 @@ class MemoryBoundedLinkedBlockingQueue<E> {
 
     private final AtomicLong currentMemoryUsage;
     private final AtomicLong maxMemoryUsage;
+    private final GlobalQueueCounters globalCounters;
 
-    public HiddenQueue(final long maxMemoryUsage) {
+    public HiddenQueue(final long maxMemoryUsage, final GlobalQueueCounters globalCounters) {
       currentMemoryUsage = new AtomicLong(0);
       this.maxMemoryUsage = new AtomicLong(maxMemoryUsage);
+      this.globalCounters = globalCounters;
     }
 
     public long getMaxMemoryUsage() {
@@ -94,7 +126,9 @@ class MemoryBoundedLinkedBlockingQueue<E> {
       final long newMemoryUsage = currentMemoryUsage.addAndGet(itemSizeInBytes);
       if (newMemoryUsage <= maxMemoryUsage.get()) {
         final boolean success = super.offer(new MemoryItem<>(e, itemSizeInBytes));
-        if (!success) {
+        if (success) {
+          globalCounters.onAdded(itemSizeInBytes);
+        } else {
           currentMemoryUsage.addAndGet(-itemSizeInBytes);
         }
         log.debug("offer status: {}", success);
@@ -111,6 +145,7 @@ class MemoryBoundedLinkedBlockingQueue<E> {
     public MemoryBoundedLinkedBlockingQueue.MemoryItem<E> take() throws InterruptedException {
       final MemoryItem<E> memoryItem = super.take();
       currentMemoryUsage.addAndGet(-memoryItem.size());
+      globalCounters.onRemoved(memoryItem.size());
       return memoryItem;
     }
 
@@ -119,6 +154,7 @@ class MemoryBoundedLinkedBlockingQueue<E> {
       final MemoryItem<E> memoryItem = super.poll();
       if (memoryItem != null) {
         currentMemoryUsage.addAndGet(-memoryItem.size());
+        globalCounters.onRemoved(memoryItem.size());
         return memoryItem;
       }
       return null;
@@ -129,6 +165,7 @@ class MemoryBoundedLinkedBlockingQueue<E> {
       final MemoryItem<E> memoryItem = super.poll(timeout, unit);
       if (memoryItem != null) {
         currentMemoryUsage.addAndGet(-memoryItem.size());
+        globalCounters.onRemoved(memoryItem.size());
         return memoryItem;
       }
       return null;
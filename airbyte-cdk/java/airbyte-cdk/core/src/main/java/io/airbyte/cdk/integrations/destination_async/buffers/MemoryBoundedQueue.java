@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import io.airbyte.cdk.integrations.destination_async.buffers.MemoryBoundedLinkedBlockingQueue.MemoryItem;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Queue bounded by the memory its items use rather than by their number. The bound can be resized
+ * after creation as {@link io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager} hands
+ * out or takes back memory.
+ *
+ * @param <E> type in the queue
+ */
+interface MemoryBoundedQueue<E> {
+
+  long getCurrentMemoryUsage();
+
+  long getMaxMemoryUsage();
+
+  void addMaxMemory(long maxMemoryUsage);
+
+  int size();
+
+  boolean offer(E e, long itemSizeInBytes);
+
+  MemoryItem<E> peek();
+
+  MemoryItem<E> take() throws InterruptedException;
+
+  MemoryItem<E> poll();
+
+  MemoryItem<E> poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Removes items from the head of the queue and hands them to the sink, in order, until the queue
+   * is empty or the next item would take the total over maxBytes. Meant for a single consumer.
+   *
+   * @param maxBytes most bytes to remove
+   * @param sink receives each removed item
+   * @return the number of bytes removed
+   */
+  long drainTo(long maxBytes, Consumer<E> sink);
+
+  /**
+   * Takes back from the queue's maximum the memory that the items removed since the last call no
+   * longer need, for the caller to hand back to the memory manager. Once the queue is empty, this is
+   * everything it was granted. Meant for the single consumer.
+   *
+   * @param bytesRemoved the size of the items removed since the last call
+   * @return the memory taken back
+   */
+  default long releaseRemovedMemory(final long bytesRemoved) {
+    final long released = size() == 0 ? getMaxMemoryUsage() : bytesRemoved;
+    addMaxMemory(-released);
+    return released;
+  }
+
+  /**
+   * Releases any memory the queue holds outside the heap. Items still in the queue are dropped.
+   */
+  default void close() {}
+
+}
@@ -5,10 +5,12 @@
 package io.airbyte.cdk.integrations.destination_async.buffers;
 
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -16,13 +18,38 @@ public class StreamAwareQueue {
 
   private final AtomicReference<Instant> timeOfLastMessage;
 
-  private final MemoryBoundedLinkedBlockingQueue<MessageWithMeta> memoryAwareQueue;
+  private final MemoryBoundedQueue<MessageWithMeta> memoryAwareQueue;
 
   public StreamAwareQueue(final long maxMemoryUsage) {
-    memoryAwareQueue = new MemoryBoundedLinkedBlockingQueue<>(maxMemoryUsage);
+    this(maxMemoryUsage, new GlobalQueueCounters());
+  }
+
+  /**
+   * @param globalCounters totals across all queues, kept up to date by this queue
+   */
+  public StreamAwareQueue(final long maxMemoryUsage, final GlobalQueueCounters globalCounters) {
+    this(new MemoryBoundedLinkedBlockingQueue<>(maxMemoryUsage, globalCounters));
+  }
+
+  StreamAwareQueue(final MemoryBoundedQueue<MessageWithMeta> memoryAwareQueue) {
+    this.memoryAwareQueue = memoryAwareQueue;
     timeOfLastMessage = new AtomicReference<>();
   }
 
+  /**
+   * Creates a queue that keeps its records off-heap. See {@link ArenaBackedMessageQueue}.
+   */
+  public static StreamAwareQueue offHeap(final StreamDescriptor streamDescriptor, final long maxMemoryUsage) {
+    return offHeap(streamDescriptor, maxMemoryUsage, new GlobalQueueCounters(), new DirectChunkPool());
+  }
+
+  static StreamAwareQueue offHeap(final StreamDescriptor streamDescriptor,
+                                  final long maxMemoryUsage,
+                                  final GlobalQueueCounters globalCounters,
+                                  final DirectChunkPool chunkPool) {
+    return new StreamAwareQueue(new ArenaBackedMessageQueue(streamDescriptor, maxMemoryUsage, globalCounters, chunkPool));
+  }
+
   public long getCurrentMemoryUsage() {
     return memoryAwareQueue.getCurrentMemoryUsage();
   }
@@ -76,6 +103,33 @@ public class StreamAwareQueue {
     return memoryAwareQueue.poll(timeout, unit);
   }
 
+  /**
+   * Moves records from the head of the queue into the sink until the queue is empty or the next
+   * record would take the total over maxBytes.
+   *
+   * @param maxBytes most bytes to remove
+   * @param sink receives each removed record, in order
+   * @return the number of bytes removed
+   */
+  public long drainTo(final long maxBytes, final Consumer<MessageWithMeta> sink) {
+    return memoryAwareQueue.drainTo(maxBytes, sink);
+  }
+
+  /**
+   * See {@link MemoryBoundedQueue#releaseRemovedMemory(long)}.
+   */
+  public long releaseRemovedMemory(final long bytesRemoved) {
+    return memoryAwareQueue.releaseRemovedMemory(bytesRemoved);
+  }
+
+  /**
+   * Releases the memory the queue holds outside the heap, if any. Meant to be called once every
+   * record has been flushed.
+   */
+  public void close() {
+    memoryAwareQueue.close();
+  }
+
   public record MessageWithMeta(PartialAirbyteMessage message, long stateId) {}
 
 }
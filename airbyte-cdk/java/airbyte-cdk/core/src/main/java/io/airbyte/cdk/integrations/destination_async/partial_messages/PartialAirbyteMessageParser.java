@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.partial_messages;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Token-streaming parser that turns a serialized {@link io.airbyte.protocol.models.v0.AirbyteMessage}
+ * into a {@link PartialAirbyteMessage} without building a Jackson tree for the record data.
+ * <p>
+ * Only {@code type} and the {@code stream}, {@code namespace} and {@code emitted_at} fields of the
+ * record are materialized. The {@code data} value is skipped over and its exact range in the input
+ * is kept as the serialized string, so it is neither parsed into a tree nor written back out.
+ * <p>
+ * State messages are rare and need their nested descriptors, so they are still fully deserialized.
+ */
+public class PartialAirbyteMessageParser {
+
+  // JsonFactory is thread-safe once configured.
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private static final String TYPE_FIELD = "type";
+  private static final String RECORD_FIELD = "record";
+  private static final String STREAM_FIELD = "stream";
+  private static final String NAMESPACE_FIELD = "namespace";
+  private static final String EMITTED_AT_FIELD = "emitted_at";
+  private static final String DATA_FIELD = "data";
+
+  /**
+   * Parses a message held in a UTF-8 encoded slice of a buffer.
+   *
+   * @param buffer buffer holding the serialized message
+   * @param offset index of the first byte of the message
+   * @param length size of the message in bytes
+   * @return the partially deserialized message
+   */
+  public static PartialAirbyteMessage parse(final byte[] buffer, final int offset, final int length) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(buffer, offset, length)) {
+      final ParsedMessage parsed = walkMessage(parser);
+      if (Type.STATE.equals(parsed.type)) {
+        return deserializeState(new String(buffer, offset, length, StandardCharsets.UTF_8));
+      }
+      // byte offsets reported by the parser are relative to the start of the slice.
+      return toRecord(parsed, new String(buffer, offset + (int) parsed.dataStart, (int) (parsed.dataEnd - parsed.dataStart), StandardCharsets.UTF_8));
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to deserialize PartialAirbyteMessage.", e);
+    }
+  }
+
+  /**
+   * Parses a message held in a string.
+   *
+   * @param message the serialized message
+   * @return the partially deserialized message
+   */
+  public static PartialAirbyteMessage parse(final String message) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(message)) {
+      final ParsedMessage parsed = walkMessage(parser);
+      if (Type.STATE.equals(parsed.type)) {
+        return deserializeState(message);
+      }
+      return toRecord(parsed, message.substring((int) parsed.dataStart, (int) parsed.dataEnd));
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to deserialize PartialAirbyteMessage.", e);
+    }
+  }
+
+  private static PartialAirbyteMessage toRecord(final ParsedMessage parsed, final String serializedData) {
+    if (!Type.RECORD.equals(parsed.type) || !parsed.hasData) {
+      throw new RuntimeException(String.format("Unsupported message type: %s", parsed.type));
+    }
+    return new PartialAirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new PartialAirbyteRecordMessage()
+            .withStream(parsed.stream)
+            .withNamespace(parsed.namespace)
+            .withEmittedAt(parsed.emittedAt))
+        .withSerialized(serializedData);
+  }
+
+  private static PartialAirbyteMessage deserializeState(final String message) {
+    return Jsons.tryDeserializeExact(message, PartialAirbyteMessage.class)
+        .orElseThrow(() -> new RuntimeException("Unable to deserialize PartialAirbyteMessage."))
+        .withSerialized(message);
+  }
+
+  private static ParsedMessage walkMessage(final JsonParser parser) throws IOException {
+    expect(parser.nextToken(), JsonToken.START_OBJECT);
+    final ParsedMessage parsed = new ParsedMessage();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.currentName();
+      final JsonToken value = parser.nextToken();
+      if (TYPE_FIELD.equals(field) && value != JsonToken.VALUE_NULL) {
+        parsed.type = toType(parser, value);
+      } else if (RECORD_FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+        walkRecord(parser, parsed);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return parsed;
+  }
+
+  private static void walkRecord(final JsonParser parser, final ParsedMessage parsed) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.currentName();
+      final JsonToken value = parser.nextToken();
+      switch (field) {
+        case STREAM_FIELD -> parsed.stream = parser.getValueAsString();
+        case NAMESPACE_FIELD -> parsed.namespace = parser.getValueAsString();
+        case EMITTED_AT_FIELD -> parsed.emittedAt = value == JsonToken.VALUE_NULL ? 0L : parser.getValueAsLong();
+        case DATA_FIELD -> {
+          // a null data is kept as "null", like a NullNode of a fully deserialized message
+          parsed.hasData = true;
+          parsed.dataStart = offsetOf(parser.currentTokenLocation());
+          parser.skipChildren();
+          // scalars are decoded lazily; finish them so the location points past the value.
+          parser.finishToken();
+          parsed.dataEnd = offsetOf(parser.currentLocation());
+        }
+        default -> parser.skipChildren();
+      }
+    }
+  }
+
+  /**
+   * An unknown message type fails like any other message that cannot be deserialized.
+   */
+  private static Type toType(final JsonParser parser, final JsonToken value) throws IOException {
+    expect(value, JsonToken.VALUE_STRING);
+    try {
+      return Type.fromValue(parser.getText());
+    } catch (final IllegalArgumentException e) {
+      throw new IOException(String.format("Unknown message type: %s", parser.getText()), e);
+    }
+  }
+
+  private static long offsetOf(final JsonLocation location) {
+    return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+  }
+
+  private static void expect(final JsonToken actual, final JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException(String.format("Expected %s but found %s", expected, actual));
+    }
+  }
+
+  private static class ParsedMessage {
+
+    private Type type;
+    private String stream;
+    private String namespace;
+    private long emittedAt;
+    private boolean hasData;
+    private long dataStart;
+    private long dataEnd;
+
+  }
+
+}
@@ -4,7 +4,7 @@
 
 package io.airbyte.cdk.integrations.destination_async.state;
 
-import static java.lang.Thread.sleep;
+import static io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager.BLOCK_SIZE_BYTES;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -24,6 +24,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
@@ -328,18 +329,17 @@ public class GlobalAsyncStateManager {
    *
    * @param sizeInBytes size of the state message
    */
-  @SuppressWarnings("BusyWait")
   private void allocateMemoryToState(final long sizeInBytes) {
     if (memoryAllocated.get() < memoryUsed.get() + sizeInBytes) {
       while (memoryAllocated.get() < memoryUsed.get() + sizeInBytes) {
-        memoryAllocated.addAndGet(memoryManager.requestMemory());
+        LOGGER.debug("Insufficient memory to store state message. Allocated: {}, Used: {}, Size of State Msg: {}, Needed: {}",
+            FileUtils.byteCountToDisplaySize(memoryAllocated.get()),
+            FileUtils.byteCountToDisplaySize(memoryUsed.get()),
+            FileUtils.byteCountToDisplaySize(sizeInBytes),
+            FileUtils.byteCountToDisplaySize(sizeInBytes - (memoryAllocated.get() - memoryUsed.get())));
         try {
-          LOGGER.debug("Insufficient memory to store state message. Allocated: {}, Used: {}, Size of State Msg: {}, Needed: {}",
-              FileUtils.byteCountToDisplaySize(memoryAllocated.get()),
-              FileUtils.byteCountToDisplaySize(memoryUsed.get()),
-              FileUtils.byteCountToDisplaySize(sizeInBytes),
-              FileUtils.byteCountToDisplaySize(sizeInBytes - (memoryAllocated.get() - memoryUsed.get())));
-          sleep(1000);
+          // wakes up as soon as a flush frees memory.
+          memoryAllocated.addAndGet(memoryManager.requestMemory(BLOCK_SIZE_BYTES, 1, TimeUnit.MINUTES));
         } catch (final InterruptedException e) {
           throw new RuntimeException(e);
         }
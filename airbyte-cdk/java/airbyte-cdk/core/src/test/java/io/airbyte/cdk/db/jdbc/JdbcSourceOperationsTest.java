@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.functional.CheckedFunction;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.v0.AirbyteMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcSourceOperationsTest {
+
+  private ResultSet resultSet;
+  private ResultSetMetaData metaData;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    resultSet = mock(ResultSet.class);
+    metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(4);
+    when(metaData.getColumnName(1)).thenReturn("id");
+    when(metaData.getColumnType(1)).thenReturn(JDBCType.BIGINT.getVendorTypeNumber());
+    when(metaData.getColumnName(2)).thenReturn("name");
+    when(metaData.getColumnType(2)).thenReturn(JDBCType.VARCHAR.getVendorTypeNumber());
+    when(metaData.getColumnName(3)).thenReturn("price");
+    when(metaData.getColumnType(3)).thenReturn(JDBCType.NUMERIC.getVendorTypeNumber());
+    when(metaData.getColumnName(4)).thenReturn("ratio");
+    when(metaData.getColumnType(4)).thenReturn(JDBCType.REAL.getVendorTypeNumber());
+  }
+
+  @Test
+  void testReadsMetadataOncePerQuery() throws SQLException {
+    final CheckedFunction<ResultSet, JsonNode, SQLException> mapper = new JdbcSourceOperations().rowToJsonMapper();
+    when(resultSet.getLong(1)).thenReturn(1L, 2L);
+    when(resultSet.getString(2)).thenReturn("picard", "crusher");
+    when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("1.5"), new BigDecimal("2.5"));
+    when(resultSet.getFloat(4)).thenReturn(0.5f, Float.NaN);
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 1L, "name", "picard", "price", new BigDecimal("1.5"), "ratio", 0.5f)),
+        mapper.apply(resultSet));
+    final Map<String, Object> secondRow = new HashMap<>(ImmutableMap.of("id", 2L, "name", "crusher", "price", new BigDecimal("2.5")));
+    secondRow.put("ratio", null);
+    assertEquals(Jsons.jsonNode(secondRow), mapper.apply(resultSet));
+
+    verify(resultSet, times(1)).getMetaData();
+    verify(metaData, times(1)).getColumnType(1);
+    verify(resultSet, never()).getObject(anyInt());
+  }
+
+  @Test
+  void testLeavesNullValuesOut() throws SQLException {
+    final JdbcSourceOperations sourceOperations = new JdbcSourceOperations();
+    when(resultSet.getLong(1)).thenReturn(0L);
+    when(resultSet.wasNull()).thenReturn(true);
+
+    assertEquals(Jsons.jsonNode(Collections.emptyMap()), sourceOperations.rowToJson(resultSet));
+  }
+
+  @Test
+  void testRecompilesForEveryResultSet() throws SQLException {
+    final CheckedFunction<ResultSet, JsonNode, SQLException> mapper = new JdbcSourceOperations().rowToJsonMapper();
+    when(resultSet.getLong(1)).thenReturn(1L);
+    mapper.apply(resultSet);
+
+    final ResultSet otherResultSet = mock(ResultSet.class);
+    final ResultSetMetaData otherMetaData = mock(ResultSetMetaData.class);
+    when(otherResultSet.getMetaData()).thenReturn(otherMetaData);
+    when(otherMetaData.getColumnCount()).thenReturn(1);
+    when(otherMetaData.getColumnName(1)).thenReturn("active");
+    when(otherMetaData.getColumnType(1)).thenReturn(JDBCType.BOOLEAN.getVendorTypeNumber());
+    when(otherResultSet.getBoolean(1)).thenReturn(true);
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("active", true)), mapper.apply(otherResultSet));
+  }
+
+  @Test
+  void testUsesCopyToJsonFieldForUnregisteredTypes() throws SQLException {
+    final JdbcSourceOperations sourceOperations = new JdbcSourceOperations() {
+
+      @Override
+      public void copyToJsonField(final ResultSet resultSet, final int colIndex, final ObjectNode json) throws SQLException {
+        json.put(resultSet.getMetaData().getColumnName(colIndex), "custom");
+      }
+
+    };
+    when(metaData.getColumnType(2)).thenReturn(JDBCType.NVARCHAR.getVendorTypeNumber());
+    when(metaData.getColumnType(3)).thenReturn(JDBCType.OTHER.getVendorTypeNumber());
+    when(resultSet.getLong(1)).thenReturn(1L);
+    when(resultSet.getObject(2)).thenReturn("picard");
+    when(resultSet.getObject(3)).thenReturn(null);
+    when(resultSet.getFloat(4)).thenReturn(0f);
+    when(resultSet.wasNull()).thenReturn(false, false, true, true);
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 1L, "name", "custom")), sourceOperations.rowToJson(resultSet));
+  }
+
+  @Test
+  void testRegisteredExtractorReplacesTheStandardOne() throws SQLException {
+    final JdbcSourceOperations sourceOperations = new JdbcSourceOperations() {
+
+      {
+        registerColumnExtractor(JDBCType.VARCHAR, readerOf(this::putString));
+      }
+
+      @Override
+      protected void putString(final ObjectNode node, final String columnName, final ResultSet resultSet, final int index) throws SQLException {
+        node.put(columnName, resultSet.getString(index).toUpperCase());
+      }
+
+    };
+    when(resultSet.getLong(1)).thenReturn(1L);
+    when(resultSet.getObject(2)).thenReturn("picard");
+    when(resultSet.getString(2)).thenReturn("picard");
+    when(resultSet.getBigDecimal(3)).thenReturn(null);
+    when(resultSet.getFloat(4)).thenReturn(0f);
+    when(resultSet.wasNull()).thenReturn(false, false, true);
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 1L, "name", "PICARD")), sourceOperations.rowToJson(resultSet));
+  }
+
+  @Test
+  void testExtractorRegisteredByTypeNameTakesPrecedence() throws SQLException {
+    final JdbcSourceOperations sourceOperations = new JdbcSourceOperations() {
+
+      {
+        registerColumnExtractor("CITEXT",
+            (metaData, colIndex) -> (resultSet, json) -> json.put(metaData.getColumnName(colIndex), "case-insensitive"));
+      }
+
+    };
+    when(metaData.getColumnTypeName(2)).thenReturn("citext");
+    when(resultSet.getLong(1)).thenReturn(1L);
+    when(resultSet.getFloat(4)).thenReturn(0f);
+    when(resultSet.wasNull()).thenReturn(false, true);
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 1L, "name", "case-insensitive")), sourceOperations.rowToJson(resultSet));
+    verify(resultSet, never()).getString(2);
+  }
+
+  @Test
+  void testSerializesRowsLikeTheirTrees() throws SQLException {
+    final JdbcSourceOperations sourceOperations = new JdbcSourceOperations();
+    final JsonNode tree = sourceOperations.rowToJson(mockAllTypesRow());
+    final SerializedRow serialized = sourceOperations.rowToSerializedJsonMapper(Set.of("updated_at")).apply(mockAllTypesRow());
+
+    assertEquals(Jsons.serialize(tree), new String(serialized.json(), StandardCharsets.UTF_8));
+    assertEquals(tree.get("updated_at"), serialized.retainedFields().get("updated_at"));
+    assertNull(serialized.retainedFields().get("name"));
+    assertEquals(Jsons.serialize(record(tree)), Jsons.serialize(record(serialized.toNode())));
+    assertEquals(Jsons.deserialize(Jsons.serialize(tree)),
+        Jsons.deserialize(Jsons.serialize(record(serialized.toNode()))).get("record").get("data"));
+  }
+
+  private static AirbyteMessage record(final JsonNode data) {
+    return new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("users").withEmittedAt(1L).withData(data));
+  }
+
+  private static ResultSet mockAllTypesRow() throws SQLException {
+    final ResultSet allTypes = mock(ResultSet.class);
+    final ResultSetMetaData allTypesMetaData = mock(ResultSetMetaData.class);
+    when(allTypes.getMetaData()).thenReturn(allTypesMetaData);
+    final List<JDBCType> types = List.of(JDBCType.BOOLEAN, JDBCType.SMALLINT, JDBCType.INTEGER, JDBCType.BIGINT, JDBCType.DOUBLE,
+        JDBCType.REAL, JDBCType.DECIMAL, JDBCType.VARCHAR, JDBCType.VARBINARY, JDBCType.DATE, JDBCType.DOUBLE, JDBCType.VARCHAR);
+    final List<String> names = List.of("active", "age", "visits", "id", "ratio", "score", "price", "name", "avatar", "updated_at", "nan",
+        "missing");
+    when(allTypesMetaData.getColumnCount()).thenReturn(types.size());
+    for (int i = 0; i < types.size(); i++) {
+      when(allTypesMetaData.getColumnName(i + 1)).thenReturn(names.get(i));
+      when(allTypesMetaData.getColumnType(i + 1)).thenReturn(types.get(i).getVendorTypeNumber());
+    }
+    when(allTypes.getBoolean(1)).thenReturn(true);
+    when(allTypes.getShort(2)).thenReturn((short) 42);
+    when(allTypes.getInt(3)).thenThrow(new SQLException("out of range"));
+    when(allTypes.getLong(3)).thenReturn(3_000_000_000L);
+    when(allTypes.getLong(4)).thenReturn(Long.MAX_VALUE);
+    when(allTypes.getDouble(5)).thenReturn(0.1);
+    when(allTypes.getFloat(6)).thenReturn(1.1f);
+    when(allTypes.getBigDecimal(7)).thenReturn(new BigDecimal("10.500"));
+    when(allTypes.getString(8)).thenReturn("Zoë \"quoted\"");
+    when(allTypes.getBytes(9)).thenReturn(new byte[] {1, 2, 3});
+    when(allTypes.getString(10)).thenReturn("2023-01-01");
+    when(allTypes.getDouble(11)).thenReturn(Double.NaN);
+    // the last column is null: getString returns null.
+    return allTypes;
+  }
+
+}
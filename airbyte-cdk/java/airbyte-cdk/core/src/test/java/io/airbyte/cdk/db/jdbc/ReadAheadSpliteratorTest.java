@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class ReadAheadSpliteratorTest {
+
+  private static final int CAPACITY = 10;
+
+  @Test
+  void testReadsAllElementsInOrder() {
+    final List<Integer> expected = IntStream.range(0, 1000).boxed().toList();
+    final ReadAheadSpliterator<Integer> spliterator = new ReadAheadSpliterator<>(expected.spliterator(), CAPACITY);
+
+    final List<Integer> actual = StreamSupport.stream(spliterator, false).onClose(spliterator::close).collect(Collectors.toList());
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testReadsNullElements() {
+    final List<String> expected = Arrays.asList("a", null, "b");
+    final ReadAheadSpliterator<String> spliterator = new ReadAheadSpliterator<>(expected.spliterator(), CAPACITY);
+
+    assertEquals(expected, StreamSupport.stream(spliterator, false).toList());
+    spliterator.close();
+  }
+
+  @Test
+  void testThrowsFailureOfTheSourceAfterTheElementsBeforeIt() {
+    final AtomicInteger count = new AtomicInteger();
+    final Spliterator<Integer> source = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+      @Override
+      public boolean tryAdvance(final Consumer<? super Integer> action) {
+        if (count.get() == 5) {
+          throw new IllegalStateException("failed to read");
+        }
+        action.accept(count.getAndIncrement());
+        return true;
+      }
+
+    };
+    final ReadAheadSpliterator<Integer> spliterator = new ReadAheadSpliterator<>(source, CAPACITY);
+
+    for (int i = 0; i < 5; i++) {
+      final int expected = i;
+      assertTrue(spliterator.tryAdvance(actual -> assertEquals(expected, actual)));
+    }
+    assertThrows(IllegalStateException.class, () -> spliterator.tryAdvance(actual -> {}));
+    assertFalse(spliterator.tryAdvance(actual -> {}));
+    spliterator.close();
+  }
+
+  @Test
+  void testRethrowsErrorOfTheSourceUnchanged() {
+    final AssertionError error = new AssertionError("failed to read");
+    final Spliterator<Integer> source = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+      @Override
+      public boolean tryAdvance(final Consumer<? super Integer> action) {
+        throw error;
+      }
+
+    };
+    final ReadAheadSpliterator<Integer> spliterator = new ReadAheadSpliterator<>(source, CAPACITY);
+
+    assertSame(error, assertThrows(AssertionError.class, () -> spliterator.tryAdvance(actual -> {})));
+    spliterator.close();
+  }
+
+  @Test
+  void testReadsAtMostTheCapacityAheadAndStopsWhenClosed() throws InterruptedException {
+    final AtomicInteger count = new AtomicInteger();
+    final Spliterator<Integer> source = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+      @Override
+      public boolean tryAdvance(final Consumer<? super Integer> action) {
+        action.accept(count.getAndIncrement());
+        return true;
+      }
+
+    };
+    final ReadAheadSpliterator<Integer> spliterator = new ReadAheadSpliterator<>(source, CAPACITY);
+
+    assertTrue(spliterator.tryAdvance(actual -> assertEquals(0, actual)));
+    Thread.sleep(100);
+    // the elements taken from the queue at once, the queued ones and the one waiting for room
+    assertTrue(count.get() <= 2 * CAPACITY + 1, "read " + count.get() + " elements ahead");
+
+    spliterator.close();
+    final int readCount = count.get();
+    Thread.sleep(100);
+    assertEquals(readCount, count.get());
+    assertFalse(spliterator.tryAdvance(actual -> {}));
+  }
+
+}
@@ -6,7 +6,13 @@ package io.airbyte.cdk.db.jdbc.streaming;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.db.jdbc.SerializedRow;
 import io.airbyte.commons.json.Jsons;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -20,6 +26,23 @@ class BaseSizeEstimatorTest {
     assertEquals(45L, BaseSizeEstimator.getEstimatedByteSize(Jsons.jsonNode(Map.of("key", "value"))));
   }
 
+  @Test
+  void testGetEstimatedByteSizeOfTrees() {
+    final ObjectNode row = (ObjectNode) Jsons.jsonNode(Map.of("name", "Zoë", "tags", List.of("a", "b"), "nested", Map.of()));
+    row.put("id", 12345L).put("ratio", 0.5).put("price", new BigDecimal("10.500")).put("active", true).putNull("missing");
+    row.put("avatar", new byte[] {1, 2, 3, 4});
+    row.putArray("empty");
+
+    assertEquals(Jsons.toBytes(row).length * FetchSizeConstants.ROW_MEMORY_FACTOR, BaseSizeEstimator.getEstimatedByteSize(row));
+  }
+
+  @Test
+  void testGetEstimatedByteSizeOfSerializedRows() {
+    final byte[] json = "{\"name\":\"Zoë\"}".getBytes(StandardCharsets.UTF_8);
+    assertEquals(json.length * FetchSizeConstants.ROW_MEMORY_FACTOR,
+        BaseSizeEstimator.getEstimatedByteSize(new SerializedRow(json, JsonNodeFactory.instance.objectNode()).toNode()));
+  }
+
   public static class TestSizeEstimator extends BaseSizeEstimator {
 
     protected TestSizeEstimator(final long bufferByteSize, final int minFetchSize, final int defaultFetchSize, final int maxFetchSize) {
@@ -35,7 +58,7 @@ class BaseSizeEstimatorTest {
     public void accept(final Object o) {}
 
     public void setMeanByteSize(final double meanByteSize) {
-      this.maxRowByteSize = meanByteSize;
+      this.rowByteSize = meanByteSize;
     }
 
   }
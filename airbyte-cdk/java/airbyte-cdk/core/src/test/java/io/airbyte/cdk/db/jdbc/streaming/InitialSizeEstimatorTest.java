@@ -42,7 +42,7 @@ class InitialSizeEstimatorTest {
     final Optional<Integer> fetchSize = sizeEstimator.getFetchSize();
     assertTrue(fetchSize.isPresent());
     final long expectedMaxByteSize = 21L;
-    assertEquals(expectedMaxByteSize, Math.round(sizeEstimator.getMaxRowByteSize()));
+    assertEquals(expectedMaxByteSize, Math.round(sizeEstimator.getRowByteSize()));
     assertEquals((bufferByteSize / expectedMaxByteSize) + 1, fetchSize.get().longValue()); // + 1 needed for int remainder rounding
   }
 
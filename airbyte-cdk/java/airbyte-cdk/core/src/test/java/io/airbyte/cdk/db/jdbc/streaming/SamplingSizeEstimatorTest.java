@@ -32,39 +32,79 @@ class SamplingSizeEstimatorTest {
     // size: 3 * 3 = 12, not sampled
     sizeEstimator.accept("1");
     assertFalse(sizeEstimator.getFetchSize().isPresent());
-    assertEquals(maxByteSize, sizeEstimator.getMaxRowByteSize());
+    assertEquals(maxByteSize, sizeEstimator.getRowByteSize());
 
     // size: 4 * 3 = 16, not sampled
     sizeEstimator.accept("11");
     assertFalse(sizeEstimator.getFetchSize().isPresent());
-    assertEquals(maxByteSize, sizeEstimator.getMaxRowByteSize());
+    assertEquals(maxByteSize, sizeEstimator.getRowByteSize());
 
     // size: 5 * 3 = 15, sampled, fetch size is ready
     sizeEstimator.accept("111");
     final Optional<Integer> fetchSize1 = sizeEstimator.getFetchSize();
     maxByteSize = 15;
-    assertDoubleEquals(15, sizeEstimator.getMaxRowByteSize());
+    assertDoubleEquals(15, sizeEstimator.getRowByteSize());
     assertDoubleEquals(bufferByteSize / maxByteSize, fetchSize1.get().doubleValue());
 
     // size: 6 * 3 = 24, not sampled
     sizeEstimator.accept("1111");
     assertFalse(sizeEstimator.getFetchSize().isPresent());
-    assertDoubleEquals(maxByteSize, sizeEstimator.getMaxRowByteSize());
+    assertDoubleEquals(maxByteSize, sizeEstimator.getRowByteSize());
 
     // size: 7 * 3 = 28, not sampled
     sizeEstimator.accept("11111");
     assertFalse(sizeEstimator.getFetchSize().isPresent());
-    assertDoubleEquals(maxByteSize, sizeEstimator.getMaxRowByteSize());
+    assertDoubleEquals(maxByteSize, sizeEstimator.getRowByteSize());
 
     // size: 8 * 3 = 24, sampled, fetch size is ready
     sizeEstimator.accept("111111");
     final Optional<Integer> fetchSize2 = sizeEstimator.getFetchSize();
     assertTrue(fetchSize2.isPresent());
     maxByteSize = 24;
-    assertDoubleEquals(maxByteSize, sizeEstimator.getMaxRowByteSize());
+    assertDoubleEquals(maxByteSize, sizeEstimator.getRowByteSize());
     assertDoubleEquals(bufferByteSize / maxByteSize, fetchSize2.get().doubleValue());
   }
 
+  @Test
+  void testFetchSizeGrowsBackWhenRowsGetNarrower() {
+    final long bufferByteSize = 12_000;
+    final int windowSize = 5;
+    final SamplingSizeEstimator sizeEstimator = new SamplingSizeEstimator(bufferByteSize, 1, windowSize, 0.9, 0.1, 30, 1, 20, 1000);
+    final String narrowRow = "x".repeat(8); // (8 + 2) * 3 = 30 bytes
+    final String wideRow = "x".repeat(398); // (398 + 2) * 3 = 1200 bytes
+
+    sizeEstimator.accept(wideRow);
+    assertEquals(Optional.of(10), sizeEstimator.getFetchSize());
+
+    // the wide row ages out of the window
+    for (int i = 0; i < windowSize - 1; i++) {
+      sizeEstimator.accept(narrowRow);
+    }
+    assertFalse(sizeEstimator.getFetchSize().isPresent());
+    assertDoubleEquals(1200, sizeEstimator.getRowByteSize());
+    sizeEstimator.accept(narrowRow);
+    assertEquals(Optional.of(400), sizeEstimator.getFetchSize());
+  }
+
+  @Test
+  void testFewWideRowsDoNotShrinkTheFetchSize() {
+    final long bufferByteSize = 12_000;
+    final SamplingSizeEstimator sizeEstimator = new SamplingSizeEstimator(bufferByteSize, 1, 100, 0.9, 0.1, 30, 1, 20, 1000);
+    final String narrowRow = "x".repeat(8); // 30 bytes
+    final String wideRow = "x".repeat(58); // 180 bytes
+
+    for (int i = 0; i < 100; i++) {
+      sizeEstimator.accept(i % 50 == 0 ? wideRow : narrowRow);
+    }
+    // 2% of the rows are wide: the 90th percentile is 30, the mean 33
+    assertDoubleEquals(33, sizeEstimator.getRowByteSize());
+    assertEquals(Optional.of(364), sizeEstimator.getFetchSize());
+
+    // no new fetch size for small changes
+    sizeEstimator.accept(narrowRow);
+    assertFalse(sizeEstimator.getFetchSize().isPresent());
+  }
+
   private static void assertDoubleEquals(final double expected, final double actual) {
     assertEquals(Math.round(expected), Math.round(actual));
   }
@@ -27,11 +27,12 @@ class TwoStageSizeEstimatorTest {
   @Test
   void testGetTargetBufferByteSize() {
     assertEquals(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE,
-        TwoStageSizeEstimator.getTargetBufferByteSize(null));
+        TwoStageSizeEstimator.getTargetBufferByteSize(null, FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO));
     assertEquals(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE,
-        TwoStageSizeEstimator.getTargetBufferByteSize(Long.MAX_VALUE));
+        TwoStageSizeEstimator.getTargetBufferByteSize(Long.MAX_VALUE, FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO));
     assertEquals(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE,
-        TwoStageSizeEstimator.getTargetBufferByteSize(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE - 10L));
+        TwoStageSizeEstimator.getTargetBufferByteSize(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE - 10L, FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO));
+    assertEquals(2_500_000_000L, TwoStageSizeEstimator.getTargetBufferByteSize(10_000_000_000L, 0.25));
   }
 
 }
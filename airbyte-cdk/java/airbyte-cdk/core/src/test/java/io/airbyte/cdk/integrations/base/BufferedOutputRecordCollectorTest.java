@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.v0.AirbyteMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteStateMessage;
+import io.airbyte.protocol.models.v0.AirbyteStateMessage.AirbyteStateType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BufferedOutputRecordCollectorTest {
+
+  private static final Duration NO_DELAY_LIMIT = Duration.ofDays(1);
+
+  private ByteArrayOutputStream output;
+
+  @BeforeEach
+  void setup() {
+    output = new ByteArrayOutputStream();
+  }
+
+  @Test
+  void testWritesTheSameLinesAsJsons() {
+    final BufferedOutputRecordCollector collector = new BufferedOutputRecordCollector(() -> output, 1024, NO_DELAY_LIMIT);
+    final AirbyteMessage record = record(1, "Zoë");
+
+    collector.accept(record);
+    collector.accept(record);
+    collector.flush();
+
+    assertEquals(Jsons.serialize(record) + "\n" + Jsons.serialize(record) + "\n", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testBuffersRecordsUntilAStateMessage() {
+    final BufferedOutputRecordCollector collector = new BufferedOutputRecordCollector(() -> output, 1024, NO_DELAY_LIMIT);
+
+    collector.accept(record(1, "a"));
+    collector.accept(record(2, "b"));
+    assertEquals(0, output.size());
+
+    final AirbyteMessage state = new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(new AirbyteStateMessage().withType(AirbyteStateType.LEGACY).withData(Jsons.jsonNode(1)));
+    collector.accept(state);
+
+    assertEquals(List.of(Jsons.serialize(record(1, "a")), Jsons.serialize(record(2, "b")), Jsons.serialize(state)), lines());
+  }
+
+  @Test
+  void testWritesWhenTheBufferIsFull() {
+    final int lineSize = (Jsons.serialize(record(1, "a")) + "\n").length();
+    final BufferedOutputRecordCollector collector = new BufferedOutputRecordCollector(() -> output, 2 * lineSize, NO_DELAY_LIMIT);
+
+    collector.accept(record(1, "a"));
+    collector.accept(record(2, "b"));
+    assertEquals(0, output.size());
+
+    // no room left, so the two buffered lines are written out.
+    collector.accept(record(3, "c"));
+    assertEquals(2, lines().size());
+
+    // bigger than the whole buffer, so written right after the buffered line.
+    final AirbyteMessage big = record(4, "x".repeat(4 * lineSize));
+    collector.accept(big);
+    assertEquals(List.of(Jsons.serialize(record(1, "a")), Jsons.serialize(record(2, "b")), Jsons.serialize(record(3, "c")), Jsons.serialize(big)),
+        lines());
+  }
+
+  @Test
+  void testWritesOnceTheDelayHasPassed() throws InterruptedException {
+    final BufferedOutputRecordCollector collector = new BufferedOutputRecordCollector(() -> output, 1024, Duration.ofMillis(10));
+
+    collector.accept(record(1, "a"));
+    collector.flushIfStale();
+    assertEquals(0, output.size());
+
+    Thread.sleep(20);
+    collector.flushIfStale();
+    assertEquals(1, lines().size());
+
+    collector.accept(record(2, "b"));
+    Thread.sleep(20);
+    // the next message triggers the write as well.
+    collector.accept(record(3, "c"));
+    assertEquals(3, lines().size());
+  }
+
+  @Test
+  void testLinesStayIntactWithConcurrentWriters() throws Exception {
+    final BufferedOutputRecordCollector collector = new BufferedOutputRecordCollector(() -> output, 4096, NO_DELAY_LIMIT);
+    final int threads = 8;
+    final int recordsPerThread = 1000;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<?>> futures = IntStream.range(0, threads)
+          .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+            for (int i = 0; i < recordsPerThread; i++) {
+              collector.accept(record(thread * recordsPerThread + i, "value-" + i));
+            }
+          }))
+          .toList();
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    collector.flush();
+
+    final Set<Long> ids = new HashSet<>();
+    for (final String line : lines()) {
+      final AirbyteMessage message = Jsons.deserialize(line, AirbyteMessage.class);
+      assertTrue(ids.add(message.getRecord().getEmittedAt()));
+    }
+    assertEquals(threads * recordsPerThread, ids.size());
+  }
+
+  private List<String> lines() {
+    final String written = output.toString(StandardCharsets.UTF_8);
+    return written.isEmpty() ? List.of() : Arrays.asList(written.split("\n"));
+  }
+
+  private static AirbyteMessage record(final long id, final String value) {
+    return new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("users")
+            .withEmittedAt(id)
+            .withData(Jsons.jsonNode(Map.of("value", value))));
+  }
+
+}
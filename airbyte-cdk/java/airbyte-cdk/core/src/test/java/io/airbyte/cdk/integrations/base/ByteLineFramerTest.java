@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteLineFramerTest {
+
+  @Test
+  void testSplitsOnAllNewlineCharacters() throws Exception {
+    assertEquals(List.of("line 1", "line 2", "line 3", "line 4"), frame("line 1\rline 2\nline 3\r\nline 4", 64));
+  }
+
+  @Test
+  void testSkipsEmptyLines() throws Exception {
+    assertEquals(List.of("line 1", "line 2"), frame("\n\nline 1\n\n\r\nline 2\n\n", 64));
+    assertEquals(List.of(), frame("\n", 64));
+    assertEquals(List.of(), frame("", 64));
+  }
+
+  @Test
+  void testLinesSpanningReads() throws Exception {
+    // a 4 byte buffer forces every line to be compacted and the buffer to grow.
+    final String longLine = "x".repeat(1000);
+    assertEquals(List.of("abc", longLine, "de", "f"), frame("abc\n" + longLine + "\nde\nf", 4));
+  }
+
+  @Test
+  void testMultiByteCharactersSplitAcrossReads() throws Exception {
+    final List<String> lines = List.of("emoji 😊", "greek Α, Β, Χ", "cyrillic Д, Ж, З");
+    assertEquals(lines, frame(String.join("\n", lines), 3));
+  }
+
+  @Test
+  void testSlicesReportByteLength() throws Exception {
+    final List<Integer> lengths = new ArrayList<>();
+    final InputStream input = new ByteArrayInputStream("😊\nab".getBytes(StandardCharsets.UTF_8));
+    new ByteLineFramer(Channels.newChannel(input), 2).forEachLine((buffer, offset, length) -> lengths.add(length));
+    assertEquals(List.of(4, 2), lengths);
+  }
+
+  private static List<String> frame(final String input, final int bufferSize) throws Exception {
+    final List<String> lines = new ArrayList<>();
+    final InputStream stream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    new ByteLineFramer(Channels.newChannel(stream), bufferSize)
+        .forEachLine((buffer, offset, length) -> lines.add(new String(buffer, offset, length, StandardCharsets.UTF_8)));
+    return lines;
+  }
+
+}
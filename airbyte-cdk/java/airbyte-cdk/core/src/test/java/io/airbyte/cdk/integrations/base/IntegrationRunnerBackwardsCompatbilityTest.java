@@ -6,9 +6,7 @@ package io.airbyte.cdk.integrations.base;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -36,10 +34,7 @@ public class IntegrationRunnerBackwardsCompatbilityTest {
       // get new output
       final InputStream stream1 = new ByteArrayInputStream(testInput.getBytes(StandardCharsets.UTF_8));
       final MockConsumer consumer2 = new MockConsumer();
-      try (final BufferedInputStream bis = new BufferedInputStream(stream1);
-          final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        IntegrationRunner.consumeWriteStream(consumer2, bis, baos);
-      }
+      IntegrationRunner.consumeWriteStream(consumer2, stream1);
       final List<String> newOutput = consumer2.getOutput();
 
       // get old output
@@ -38,6 +38,7 @@ import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
@@ -106,7 +107,7 @@ class AsyncStreamConsumerTest {
 
   @SuppressWarnings("unchecked")
   @BeforeEach
-  void setup() {
+  void setup() throws Exception {
     onStart = mock(OnStartFunction.class);
     onClose = mock(OnCloseFunction.class);
     flushFunction = mock(DestinationFlushFunction.class);
@@ -123,6 +124,8 @@ class AsyncStreamConsumerTest {
         "default_ns");
 
     when(flushFunction.getOptimalBatchSizeBytes()).thenReturn(10_000L);
+    // flushes through flush(), committing before returning
+    when(flushFunction.flushAsync(any(), any())).thenCallRealMethod();
   }
 
   @Test
@@ -185,6 +188,45 @@ class AsyncStreamConsumerTest {
     verifyRecords(STREAM_NAME, SCHEMA_NAME, allRecords);
   }
 
+  @Test
+  void test1StreamWith2StateWithDeserializationWorkers() throws Exception {
+    consumer = AsyncStreamConsumer.builder(
+        outputRecordCollector,
+        onStart,
+        onClose,
+        flushFunction,
+        CATALOG,
+        new BufferManager(),
+        "default_ns")
+        .setFlushFailure(flushFailure)
+        .setNumDeserializationWorkers(4)
+        .build();
+    final List<AirbyteMessage> firstRecords = generateRecords(1_000);
+    final List<AirbyteMessage> secondRecords = generateRecords(1_000);
+
+    consumer.start();
+    consumeRecords(consumer, firstRecords);
+    consumer.accept(Jsons.serialize(STATE_MESSAGE1), RECORD_SIZE_20_BYTES);
+    consumeRecords(consumer, secondRecords);
+    consumer.accept(Jsons.serialize(STATE_MESSAGE2), RECORD_SIZE_20_BYTES);
+    consumer.close();
+
+    verifyStartAndClose();
+
+    final List<AirbyteMessage> allRecords = Stream.concat(firstRecords.stream(), secondRecords.stream()).toList();
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, allRecords);
+
+    // each state must only count the records that were read before it.
+    final AirbyteMessage stateMessageWithDestinationStatsUpdated = new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(new AirbyteStateMessage()
+            .withType(AirbyteStateType.STREAM)
+            .withStream(new AirbyteStreamState().withStreamDescriptor(STREAM1_DESC).withStreamState(Jsons.jsonNode(2)))
+            .withDestinationStats(new AirbyteStateStats().withRecordCount((double) secondRecords.size())));
+
+    verify(outputRecordCollector, times(1)).accept(stateMessageWithDestinationStatsUpdated);
+  }
+
   @Test
   void testShouldBlockWhenQueuesAreFull() throws Exception {
     consumer.start();
@@ -208,6 +250,8 @@ class AsyncStreamConsumerTest {
         flushFailure,
         "default_ns");
     when(flushFunction.getOptimalBatchSizeBytes()).thenReturn(0L);
+    // flushes through flush(), committing before returning
+    when(flushFunction.flushAsync(any(), any())).thenCallRealMethod();
 
     final AtomicLong recordCount = new AtomicLong();
 
@@ -286,6 +330,40 @@ class AsyncStreamConsumerTest {
     assertEquals(emptyMap.toString(), partial.getSerialized());
   }
 
+  @Test
+  void deserializeAirbyteMessageFromBufferSlice() {
+    final AirbyteMessage airbyteMessage = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream(STREAM_NAME)
+            .withNamespace(SCHEMA_NAME)
+            .withEmittedAt(1234L)
+            .withData(Jsons.jsonNode(Map.of("name", "Zoë 😊"))));
+    final byte[] serialized = Jsons.serialize(airbyteMessage).getBytes(StandardCharsets.UTF_8);
+    final byte[] buffer = new byte[serialized.length + 20];
+    System.arraycopy(serialized, 0, buffer, 10, serialized.length);
+
+    final PartialAirbyteMessage partial = AsyncStreamConsumer.deserializeAirbyteMessage(buffer, 10, serialized.length);
+    assertEquals(Type.RECORD, partial.getType());
+    assertEquals(STREAM_NAME, partial.getRecord().getStream());
+    assertEquals(SCHEMA_NAME, partial.getRecord().getNamespace());
+    assertEquals(1234L, partial.getRecord().getEmittedAt());
+    assertNull(partial.getRecord().getData());
+    assertEquals(Jsons.serialize(airbyteMessage.getRecord().getData()), partial.getSerialized());
+  }
+
+  @Test
+  void deserializeAirbyteMessageKeepsRawData() {
+    // field order, unknown fields and number formatting must not matter.
+    final String serializedAirbyteMessage = """
+                                            {"record": {"data": {"id": 1.50, "tags": ["a", {"b": null}]}, "meta": {"x": 1},
+                                            "stream": "id_and_name", "emitted_at": 5}, "type": "RECORD"}""";
+    final PartialAirbyteMessage partial = AsyncStreamConsumer.deserializeAirbyteMessage(serializedAirbyteMessage);
+    assertEquals(STREAM_NAME, partial.getRecord().getStream());
+    assertNull(partial.getRecord().getNamespace());
+    assertEquals("{\"id\": 1.50, \"tags\": [\"a\", {\"b\": null}]}", partial.getSerialized());
+  }
+
   @Test
   void deserializeAirbyteMessageWithNoStateOrRecord() {
     final AirbyteMessage airbyteMessage = new AirbyteMessage()
@@ -295,6 +373,30 @@ class AsyncStreamConsumerTest {
     assertThrows(RuntimeException.class, () -> AsyncStreamConsumer.deserializeAirbyteMessage(serializedAirbyteMessage));
   }
 
+  @Test
+  void deserializeAirbyteMessageWithNullOrMissingData() {
+    final String nullData = """
+                            {"type": "RECORD", "record": {"stream": "id_and_name", "data": null, "emitted_at": 5}}""";
+    assertEquals("null", AsyncStreamConsumer.deserializeAirbyteMessage(nullData).getSerialized());
+
+    final String missingData = """
+                               {"type": "RECORD", "record": {"stream": "id_and_name", "emitted_at": 5}}""";
+    final RuntimeException e = assertThrows(RuntimeException.class, () -> AsyncStreamConsumer.deserializeAirbyteMessage(missingData));
+    assertEquals("Unsupported message type: RECORD", e.getMessage());
+  }
+
+  @Test
+  void deserializeAirbyteMessageWithUnknownType() {
+    final String serializedAirbyteMessage = """
+                                            {"type": "NOT_A_TYPE", "record": {"stream": "id_and_name", "data": {}, "emitted_at": 5}}""";
+    final RuntimeException e =
+        assertThrows(RuntimeException.class, () -> AsyncStreamConsumer.deserializeAirbyteMessage(serializedAirbyteMessage));
+    assertEquals("Unable to deserialize PartialAirbyteMessage.", e.getMessage());
+    final byte[] buffer = serializedAirbyteMessage.getBytes(StandardCharsets.UTF_8);
+    assertEquals("Unable to deserialize PartialAirbyteMessage.",
+        assertThrows(RuntimeException.class, () -> AsyncStreamConsumer.deserializeAirbyteMessage(buffer, 0, buffer.length)).getMessage());
+  }
+
   @Test
   void deserializeAirbyteMessageWithAirbyteState() {
     final String serializedAirbyteMessage = Jsons.serialize(STATE_MESSAGE1);
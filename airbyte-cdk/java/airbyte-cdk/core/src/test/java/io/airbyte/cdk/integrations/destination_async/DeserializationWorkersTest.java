@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DeserializationWorkersTest {
+
+  private static final long MEMORY_LIMIT = 100 * 1024 * 1024;
+  private static final String STATE = "{\"type\":\"STATE\",\"state\":{\"type\":\"GLOBAL\",\"global\":{\"shared_state\":{\"cursor\":1}}}}";
+
+  @Test
+  void testHandsOverInSubmissionOrder() throws Exception {
+    final List<Long> emittedAts = Collections.synchronizedList(new ArrayList<>());
+    try (final var workers = new DeserializationWorkers(4, new GlobalMemoryManager(MEMORY_LIMIT),
+        (message, size) -> emittedAts.add(message.getRecord().getEmittedAt()))) {
+      for (int i = 0; i < 1_000; i++) {
+        workers.submit(record(i), 10);
+      }
+      workers.drain();
+    }
+
+    assertEquals(IntStream.range(0, 1_000).mapToObj(i -> (long) i).toList(), emittedAts);
+  }
+
+  @Test
+  void testHandsOverWithoutWaitingForMoreInput() throws Exception {
+    final LinkedBlockingQueue<PartialAirbyteMessage> handedOver = new LinkedBlockingQueue<>();
+    try (final var workers = new DeserializationWorkers(2, new GlobalMemoryManager(MEMORY_LIMIT), (message, size) -> handedOver.add(message))) {
+      workers.submit(record(1), 10);
+      workers.submit(STATE, 10);
+
+      // nothing else is submitted, as when stdin goes idle right after a checkpoint.
+      assertEquals(Type.RECORD, handedOver.poll(10, TimeUnit.SECONDS).getType());
+      assertEquals(Type.STATE, handedOver.poll(10, TimeUnit.SECONDS).getType());
+    }
+  }
+
+  @Test
+  void testParseFailureIsRethrownAfterTheMessagesAheadOfIt() throws Exception {
+    final List<PartialAirbyteMessage> handedOver = Collections.synchronizedList(new ArrayList<>());
+    try (final var workers = new DeserializationWorkers(2, new GlobalMemoryManager(MEMORY_LIMIT), (message, size) -> handedOver.add(message))) {
+      workers.submit(record(1), 10);
+      workers.submit("not json", 10);
+
+      assertThrows(RuntimeException.class, workers::drain);
+      assertEquals(1, handedOver.size());
+      assertThrows(RuntimeException.class, () -> workers.submit(record(2), 10));
+    }
+  }
+
+  @Test
+  void testReservesTheBudgetUntilClosed() throws Exception {
+    final GlobalMemoryManager memoryManager = new GlobalMemoryManager(MEMORY_LIMIT);
+    try (final var workers = new DeserializationWorkers(2, memoryManager, (message, size) -> {})) {
+      assertEquals(2 * DeserializationWorkers.MAX_IN_FLIGHT_BYTES_PER_WORKER, memoryManager.getCurrentMemoryBytes());
+    }
+
+    assertEquals(0, memoryManager.getCurrentMemoryBytes());
+  }
+
+  @Test
+  void testSubmitBlocksWhileTheBudgetIsUsedUp() throws Exception {
+    final ExecutorService workerPool = Executors.newSingleThreadExecutor();
+    final CountDownLatch parsingBlocked = new CountDownLatch(1);
+    workerPool.submit(() -> {
+      parsingBlocked.await();
+      return null;
+    });
+    final List<PartialAirbyteMessage> handedOver = Collections.synchronizedList(new ArrayList<>());
+    // room for two messages of 10 bytes with their overhead, not three.
+    try (final var workers = new DeserializationWorkers(workerPool, new GlobalMemoryManager(MEMORY_LIMIT), 400,
+        (message, size) -> handedOver.add(message))) {
+      workers.submit(record(1), 10);
+      workers.submit(record(2), 10);
+      final CompletableFuture<Void> third = CompletableFuture.runAsync(() -> {
+        try {
+          workers.submit(record(3), 10);
+        } catch (final Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      Thread.sleep(100);
+      assertFalse(third.isDone());
+
+      parsingBlocked.countDown();
+      third.get(10, TimeUnit.SECONDS);
+      workers.drain();
+      assertEquals(3, handedOver.size());
+    }
+  }
+
+  @Test
+  void testMessageLargerThanTheBudgetGoesThroughAlone() throws Exception {
+    final List<PartialAirbyteMessage> handedOver = Collections.synchronizedList(new ArrayList<>());
+    try (final var workers = new DeserializationWorkers(Executors.newSingleThreadExecutor(), new GlobalMemoryManager(MEMORY_LIMIT), 10,
+        (message, size) -> handedOver.add(message))) {
+      workers.submit(record(1), 1_000);
+      workers.submit(record(2), 1_000);
+      workers.drain();
+    }
+
+    assertEquals(2, handedOver.size());
+    assertTrue(handedOver.stream().allMatch(message -> message.getType() == Type.RECORD));
+  }
+
+  private static String record(final long emittedAt) {
+    return "{\"type\":\"RECORD\",\"record\":{\"stream\":\"s\",\"data\":{\"id\":" + emittedAt + "},\"emitted_at\":" + emittedAt + "}}";
+  }
+
+}
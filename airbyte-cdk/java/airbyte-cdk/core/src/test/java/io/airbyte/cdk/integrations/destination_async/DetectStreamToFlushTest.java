@@ -7,6 +7,9 @@ package io.airbyte.cdk.integrations.destination_async;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
@@ -110,4 +113,93 @@ class DetectStreamToFlushTest {
     assertEquals(Optional.of(DESC1), detect.getNextStreamToFlush(0));
   }
 
+  @Test
+  void testGetNextReadyStreamSkipsStreamsNoLongerAboveThreshold() {
+    final StreamDescriptor desc2 = new StreamDescriptor().withName("test2");
+    final BufferDequeue bufferDequeue = mock(BufferDequeue.class);
+    when(bufferDequeue.getMaxQueueSizeBytes()).thenReturn(SIZE_200MB);
+    when(bufferDequeue.getTotalGlobalQueueSizeBytes()).thenReturn(SIZE_10MB);
+    // drained since it crossed the threshold
+    when(bufferDequeue.getQueueSizeBytes(DESC1)).thenReturn(Optional.of(0L));
+    when(bufferDequeue.getQueueSizeBytes(desc2)).thenReturn(Optional.of(SIZE_10MB));
+    when(flusher.getQueueFlushThresholdBytes()).thenReturn(1L);
+    final RunningFlushWorkers runningFlushWorkers = mock(RunningFlushWorkers.class);
+    final DetectStreamToFlush detect =
+        new DetectStreamToFlush(bufferDequeue, runningFlushWorkers, new AtomicBoolean(false), flusher);
+
+    final FlushScheduler flushScheduler = new FlushScheduler(SIZE_200MB);
+    flushScheduler.setQueueFlushThresholdBytes(1L);
+    flushScheduler.onRecordBuffered(DESC1, 0, SIZE_200MB, 0);
+    flushScheduler.onRecordBuffered(desc2, 0, SIZE_10MB, 0);
+
+    assertEquals(Optional.of(desc2), detect.getNextReadyStream(flushScheduler));
+    assertEquals(Optional.empty(), detect.getNextReadyStream(flushScheduler));
+  }
+
+  @Test
+  void testSelectionPolicyHoldsBackStreamsWithTooManyWorkers() {
+    final StreamDescriptor desc2 = new StreamDescriptor().withName("test2");
+    final StreamDescriptor desc3 = new StreamDescriptor().withName("test3");
+    final BufferDequeue bufferDequeue = mock(BufferDequeue.class);
+    when(bufferDequeue.getMaxQueueSizeBytes()).thenReturn(SIZE_200MB);
+    when(bufferDequeue.getTotalGlobalQueueSizeBytes()).thenReturn(SIZE_10MB);
+    when(bufferDequeue.getQueueSizeBytes(DESC1)).thenReturn(Optional.of(SIZE_200MB));
+    when(bufferDequeue.getQueueSizeBytes(desc2)).thenReturn(Optional.of(SIZE_10MB));
+    when(bufferDequeue.getQueueSizeBytes(desc3)).thenReturn(Optional.of(SIZE_10MB / 2));
+    when(flusher.getQueueFlushThresholdBytes()).thenReturn(1L);
+    final RunningFlushWorkers runningFlushWorkers = mock(RunningFlushWorkers.class);
+    // the biggest stream is still far above the threshold, but already has a worker.
+    when(runningFlushWorkers.getSizesOfRunningWorkerBatches(DESC1)).thenReturn(List.of(Optional.of(SIZE_10MB)));
+    final DetectStreamToFlush detect =
+        new DetectStreamToFlush(bufferDequeue, runningFlushWorkers, new AtomicBoolean(false), flusher, new WeightedFairFlushPolicy(1));
+
+    final FlushScheduler flushScheduler = new FlushScheduler(SIZE_200MB);
+    flushScheduler.setQueueFlushThresholdBytes(1L);
+    flushScheduler.onRecordBuffered(DESC1, 0, SIZE_200MB, 0);
+    flushScheduler.onRecordBuffered(desc2, 0, SIZE_10MB, 0);
+    flushScheduler.onRecordBuffered(desc3, 0, SIZE_10MB / 2, 0);
+
+    assertEquals(Optional.of(desc2), detect.getNextReadyStream(flushScheduler));
+    // the stream that was not picked is still ready, the one held back is not.
+    assertEquals(Optional.of(desc3), detect.getNextReadyStream(flushScheduler));
+    assertEquals(Optional.empty(), detect.getNextReadyStream(flushScheduler));
+
+    when(bufferDequeue.getBufferedStreams()).thenReturn(Set.of(DESC1));
+    assertEquals(Optional.empty(), detect.getNextStreamToFlush(0));
+  }
+
+  @Test
+  void testGetNextReadyStreamOnlyPrioritizesStreamsThatBecameReady() {
+    final StreamDescriptor desc2 = new StreamDescriptor().withName("test2");
+    final StreamDescriptor desc3 = new StreamDescriptor().withName("test3");
+    final BufferDequeue bufferDequeue = mock(BufferDequeue.class);
+    when(bufferDequeue.getMaxQueueSizeBytes()).thenReturn(SIZE_200MB);
+    when(bufferDequeue.getTotalGlobalQueueSizeBytes()).thenReturn(SIZE_10MB);
+    when(bufferDequeue.getQueueSizeBytes(DESC1)).thenReturn(Optional.of(SIZE_10MB * 3));
+    when(bufferDequeue.getQueueSizeBytes(desc2)).thenReturn(Optional.of(SIZE_10MB * 2));
+    when(bufferDequeue.getQueueSizeBytes(desc3)).thenReturn(Optional.of(SIZE_10MB));
+    when(flusher.getQueueFlushThresholdBytes()).thenReturn(1L);
+    final FlushSelectionPolicy selectionPolicy = spy(new LargestQueueFirstFlushPolicy());
+    final DetectStreamToFlush detect =
+        new DetectStreamToFlush(bufferDequeue, mock(RunningFlushWorkers.class), new AtomicBoolean(false), flusher, selectionPolicy);
+
+    final FlushScheduler flushScheduler = new FlushScheduler(SIZE_200MB);
+    flushScheduler.setQueueFlushThresholdBytes(1L);
+    flushScheduler.onRecordBuffered(DESC1, 0, SIZE_10MB * 3, 0);
+    flushScheduler.onRecordBuffered(desc2, 0, SIZE_10MB * 2, 0);
+    flushScheduler.onRecordBuffered(desc3, 0, SIZE_10MB, 0);
+
+    assertEquals(Optional.of(DESC1), detect.getNextReadyStream(flushScheduler));
+    // the flushed stream is ready again, and is the only one prioritized again.
+    flushScheduler.onFlushCompleted(DESC1, SIZE_10MB * 3);
+    assertEquals(Optional.of(DESC1), detect.getNextReadyStream(flushScheduler));
+    assertEquals(Optional.of(desc2), detect.getNextReadyStream(flushScheduler));
+    assertEquals(Optional.of(desc3), detect.getNextReadyStream(flushScheduler));
+    assertEquals(Optional.empty(), detect.getNextReadyStream(flushScheduler));
+
+    verify(selectionPolicy, times(2)).getPriority(DESC1, bufferDequeue);
+    verify(selectionPolicy, times(1)).getPriority(desc2, bufferDequeue);
+    verify(selectionPolicy, times(1)).getPriority(desc3, bufferDequeue);
+  }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FlushSchedulerTest {
+
+  private static final long MAX_MEMORY = 1000;
+  private static final long THRESHOLD = 100;
+
+  private static final StreamDescriptor DESC1 = new StreamDescriptor().withName("test1");
+  private static final StreamDescriptor DESC2 = new StreamDescriptor().withName("test2");
+  private static final StreamDescriptor DESC3 = new StreamDescriptor().withName("test3");
+
+  private FlushScheduler scheduler;
+
+  @BeforeEach
+  void setup() {
+    scheduler = new FlushScheduler(MAX_MEMORY);
+    scheduler.setQueueFlushThresholdBytes(THRESHOLD);
+  }
+
+  @Test
+  void testStreamIsReadyOnlyWhenCrossingThreshold() {
+    scheduler.onRecordBuffered(DESC1, 0, 50, 0);
+    assertEquals(Optional.empty(), scheduler.pollReadyStream());
+
+    scheduler.onRecordBuffered(DESC1, 50, 101, 0);
+    assertEquals(Optional.of(DESC1), scheduler.pollReadyStream());
+
+    // already above the threshold, so no new crossing.
+    scheduler.onRecordBuffered(DESC1, 101, 150, 0);
+    assertEquals(Optional.empty(), scheduler.pollReadyStream());
+  }
+
+  @Test
+  void testReadyStreamsArePolledBiggestFirst() {
+    scheduler.onRecordBuffered(DESC1, 100, 110, 0);
+    scheduler.onRecordBuffered(DESC2, 100, 300, 0);
+    scheduler.onRecordBuffered(DESC3, 100, 200, 0);
+    // a stream is only queued once.
+    scheduler.onRecordBuffered(DESC1, 100, 500, 0);
+
+    assertEquals(Optional.of(DESC2), scheduler.pollReadyStream());
+    assertEquals(Optional.of(DESC3), scheduler.pollReadyStream());
+    assertEquals(Optional.of(DESC1), scheduler.pollReadyStream());
+    assertEquals(Optional.empty(), scheduler.pollReadyStream());
+  }
+
+  @Test
+  void testFlushCompletedRequeuesStreamsStillAboveThreshold() throws InterruptedException {
+    scheduler.onFlushCompleted(DESC1, 50);
+    assertEquals(Optional.empty(), scheduler.pollReadyStream());
+    // the freed up worker still wakes the supervisor.
+    assertFalse(scheduler.awaitWork(0, TimeUnit.MILLISECONDS));
+
+    scheduler.onFlushCompleted(DESC1, 150);
+    assertEquals(Optional.of(DESC1), scheduler.pollReadyStream());
+  }
+
+  @Test
+  void testEagerThresholdRequestsFullScanOnce() throws InterruptedException {
+    scheduler.onRecordBuffered(DESC1, 0, 1, 800);
+    assertFalse(scheduler.awaitWork(0, TimeUnit.MILLISECONDS));
+
+    scheduler.onRecordBuffered(DESC1, 1, 2, 950);
+    assertTrue(scheduler.awaitWork(0, TimeUnit.MILLISECONDS));
+
+    // still above, nothing new to report.
+    scheduler.onRecordBuffered(DESC1, 2, 3, 960);
+    assertFalse(scheduler.awaitWork(0, TimeUnit.MILLISECONDS));
+
+    // drops below and crosses again.
+    scheduler.onRecordBuffered(DESC1, 3, 4, 100);
+    scheduler.onRecordBuffered(DESC1, 4, 5, 900);
+    assertTrue(scheduler.awaitWork(0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testAwaitWorkWakesUpWhenStreamBecomesReady() throws Exception {
+    final long start = System.nanoTime();
+    final CompletableFuture<Boolean> supervisor = CompletableFuture.supplyAsync(() -> {
+      try {
+        return scheduler.awaitWork(1, TimeUnit.MINUTES);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    scheduler.onRecordBuffered(DESC1, 0, 101, 0);
+
+    assertFalse(supervisor.get(10, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    assertEquals(Optional.of(DESC1), scheduler.pollReadyStream());
+  }
+
+}
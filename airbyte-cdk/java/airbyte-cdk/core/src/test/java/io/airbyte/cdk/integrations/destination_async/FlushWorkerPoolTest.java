@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FlushWorkerPoolTest {
+
+  private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(FlushWorkerPool.ADJUST_PERIOD_SECS);
+  private static final long BATCH_SIZE = 100;
+  private static final long BIG_BACKLOG = 100 * BATCH_SIZE;
+
+  private ThreadPoolExecutor executor;
+  private long now = 0;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testGrowsWhileBusyWithABacklog() {
+    final FlushWorkerPool pool = pool(2, 8);
+
+    runPeriod(pool, 2, 1000, BIG_BACKLOG);
+    assertEquals(3, pool.getTargetSize());
+    assertEquals(3, executor.getMaximumPoolSize());
+    assertEquals(3, executor.getCorePoolSize());
+
+    runPeriod(pool, 3, 1500, BIG_BACKLOG);
+    assertEquals(4, pool.getTargetSize());
+
+    runPeriod(pool, 4, 2000, BIG_BACKLOG);
+    assertEquals(6, pool.getTargetSize());
+
+    runPeriod(pool, 6, 3000, BIG_BACKLOG);
+    runPeriod(pool, 8, 4000, BIG_BACKLOG);
+    // capped at the maximum.
+    assertEquals(8, pool.getTargetSize());
+  }
+
+  @Test
+  void testNeverGrowsBeyondTheBacklog() {
+    final FlushWorkerPool pool = pool(2, 8);
+
+    runPeriod(pool, 2, 1000, 3 * BATCH_SIZE);
+    assertEquals(3, pool.getTargetSize());
+
+    runPeriod(pool, 3, 1500, 3 * BATCH_SIZE);
+    assertEquals(3, pool.getTargetSize());
+  }
+
+  @Test
+  void testShrinksBackWhenGrowingDidNotHelp() {
+    final FlushWorkerPool pool = pool(2, 8);
+
+    runPeriod(pool, 2, 1000, BIG_BACKLOG);
+    assertEquals(3, pool.getTargetSize());
+
+    // same throughput with one more worker: the destination is saturated.
+    runPeriod(pool, 3, 1000, BIG_BACKLOG);
+    assertEquals(2, pool.getTargetSize());
+    assertEquals(2, executor.getMaximumPoolSize());
+    assertEquals(2, executor.getCorePoolSize());
+
+    for (int i = 0; i < FlushWorkerPool.HOLD_OFF_PERIODS; i++) {
+      runPeriod(pool, 2, 1000, BIG_BACKLOG);
+      assertEquals(2, pool.getTargetSize());
+    }
+    runPeriod(pool, 2, 1000, BIG_BACKLOG);
+    assertEquals(3, pool.getTargetSize());
+  }
+
+  @Test
+  void testShrinksToTheMinimumWhenIdle() {
+    final FlushWorkerPool pool = pool(2, 8);
+    runPeriod(pool, 2, 1000, BIG_BACKLOG);
+    runPeriod(pool, 3, 1500, BIG_BACKLOG);
+    assertEquals(4, pool.getTargetSize());
+
+    runPeriod(pool, 0, 0, 0);
+    assertEquals(3, pool.getTargetSize());
+    runPeriod(pool, 0, 0, 0);
+    runPeriod(pool, 0, 0, 0);
+    assertEquals(2, pool.getTargetSize());
+  }
+
+  @Test
+  void testOnlyAdjustsOncePerPeriod() {
+    final FlushWorkerPool pool = pool(2, 8);
+    pool.recordFlush(1000, PERIOD_NANOS * 2);
+    pool.adjust(BIG_BACKLOG, BATCH_SIZE, now + PERIOD_NANOS / 2);
+    assertEquals(2, pool.getTargetSize());
+  }
+
+  @Test
+  void testFixedPoolNeverResizes() {
+    final FlushWorkerPool pool = pool(4, 4);
+    runPeriod(pool, 4, 1000, BIG_BACKLOG);
+    runPeriod(pool, 0, 0, 0);
+    assertEquals(4, pool.getTargetSize());
+  }
+
+  @Test
+  void testRejectsInvalidBounds() {
+    assertThrows(IllegalArgumentException.class, () -> new FlushWorkerPool(0, 2));
+    assertThrows(IllegalArgumentException.class, () -> new FlushWorkerPool(3, 2));
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+  }
+
+  private FlushWorkerPool pool(final int min, final int max) {
+    executor = new ThreadPoolExecutor(min, min, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    return new FlushWorkerPool(executor, min, max, now);
+  }
+
+  /**
+   * Simulates a period where the given number of workers flush the whole time.
+   */
+  private void runPeriod(final FlushWorkerPool pool, final int busyWorkers, final long bytesFlushed, final long queuedBytes) {
+    if (busyWorkers > 0) {
+      pool.recordFlush(bytesFlushed, busyWorkers * PERIOD_NANOS);
+    }
+    now += PERIOD_NANOS;
+    pool.adjust(queuedBytes, BATCH_SIZE, now);
+  }
+
+}
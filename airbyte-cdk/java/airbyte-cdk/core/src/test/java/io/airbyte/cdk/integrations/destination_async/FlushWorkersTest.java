@@ -4,7 +4,11 @@
 
 package io.airbyte.cdk.integrations.destination_async;
 
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
@@ -15,8 +19,11 @@ import io.airbyte.cdk.integrations.destination_async.state.GlobalAsyncStateManag
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
@@ -39,6 +46,7 @@ public class FlushWorkersTest {
         return Optional.of(1L);
       }
     });
+    when(dequeue.getTotalGlobalQueueSizeInRecords()).thenAnswer(ignored -> hasThrownError.get() ? 0L : 1L);
 
     final var flushFailure = new FlushFailure();
     final var workers = new FlushWorkers(dequeue, new ErrorOnFlush(hasThrownError), m -> {}, flushFailure, mock(GlobalAsyncStateManager.class));
@@ -49,6 +57,94 @@ public class FlushWorkersTest {
     Assertions.assertEquals(IOException.class, flushFailure.getException().getClass());
   }
 
+  @Test
+  void testStatesAreAcknowledgedOnCommit() throws Exception {
+    final var desc = new StreamDescriptor().withName("test");
+    final var memoryManager = mock(GlobalMemoryManager.class);
+    final var stateManager = mock(GlobalAsyncStateManager.class);
+    final var commit = new CompletableFuture<Void>();
+    final var workers = new FlushWorkers(mockDequeueOfOneBatch(desc, memoryManager, stateManager), new CommitLater(commit), m -> {},
+        new FlushFailure(), stateManager);
+    workers.start();
+    // closing flushes the batch, then waits for its commit
+    final CompletableFuture<Void> closed = CompletableFuture.runAsync(() -> {
+      try {
+        workers.close();
+      } catch (final Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    // the memory of the batch is released once handed over, but its states wait for the commit
+    verify(memoryManager, timeout(10_000)).free(10);
+    Thread.sleep(100);
+    verify(stateManager, never()).decrement(anyLong(), anyLong());
+    Assertions.assertFalse(closed.isDone());
+
+    commit.complete(null);
+    closed.get(10, TimeUnit.SECONDS);
+    verify(stateManager).decrement(1L, 2L);
+  }
+
+  @Test
+  void testCommitErrorHandling() throws Exception {
+    final var desc = new StreamDescriptor().withName("test");
+    final var stateManager = mock(GlobalAsyncStateManager.class);
+    final var commit = new CompletableFuture<Void>();
+    final var flushFailure = new FlushFailure();
+    final var workers = new FlushWorkers(mockDequeueOfOneBatch(desc, mock(GlobalMemoryManager.class), stateManager), new CommitLater(commit),
+        m -> {}, flushFailure, stateManager);
+    workers.start();
+
+    commit.completeExceptionally(new IOException("Error on commit"));
+    workers.close();
+
+    Assertions.assertTrue(flushFailure.isFailed());
+    Assertions.assertEquals(IOException.class, flushFailure.getException().getClass());
+    verify(stateManager, never()).decrement(anyLong(), anyLong());
+  }
+
+  private static BufferDequeue mockDequeueOfOneBatch(final StreamDescriptor desc,
+                                                     final GlobalMemoryManager memoryManager,
+                                                     final GlobalAsyncStateManager stateManager) {
+    final AtomicBoolean isTaken = new AtomicBoolean(false);
+    final var dequeue = mock(BufferDequeue.class);
+    when(dequeue.getBufferedStreams()).thenReturn(Set.of(desc));
+    when(dequeue.take(desc, 1000)).thenAnswer(ignored -> {
+      isTaken.set(true);
+      return new MemoryAwareMessageBatch(List.of(), 10, Map.of(1L, 2L), memoryManager, stateManager);
+    });
+    when(dequeue.getQueueSizeBytes(desc)).thenAnswer(ignored -> Optional.of(isTaken.get() ? 0L : 10L));
+    when(dequeue.getQueueSizeInRecords(desc)).thenAnswer(ignored -> Optional.of(isTaken.get() ? 0L : 2L));
+    when(dequeue.getTotalGlobalQueueSizeInRecords()).thenAnswer(ignored -> isTaken.get() ? 0L : 2L);
+    return dequeue;
+  }
+
+  private static class CommitLater implements DestinationFlushFunction {
+
+    private final CompletableFuture<Void> commit;
+
+    public CommitLater(final CompletableFuture<Void> commit) {
+      this.commit = commit;
+    }
+
+    @Override
+    public void flush(final StreamDescriptor desc, final Stream<PartialAirbyteMessage> stream) throws Exception {
+      flushAsync(desc, stream).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> flushAsync(final StreamDescriptor desc, final Stream<PartialAirbyteMessage> stream) {
+      return commit;
+    }
+
+    @Override
+    public long getOptimalBatchSizeBytes() {
+      return 1000;
+    }
+
+  }
+
   private static class ErrorOnFlush implements DestinationFlushFunction {
 
     private final AtomicBoolean hasThrownError;
@@ -5,7 +5,10 @@
 package io.airbyte.cdk.integrations.destination_async;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 public class GlobalMemoryManagerTest {
@@ -26,4 +29,47 @@ public class GlobalMemoryManagerTest {
     assertEquals(10 * BYTES_MB, mgr.requestMemory());
   }
 
+  @Test
+  void testVariableSizedRequests() {
+    final GlobalMemoryManager mgr = new GlobalMemoryManager(15 * BYTES_MB);
+
+    assertEquals(BYTES_MB, mgr.requestMemory(BYTES_MB));
+    assertEquals(12 * BYTES_MB, mgr.requestMemory(12 * BYTES_MB));
+    assertEquals(2 * BYTES_MB, mgr.requestMemory(3 * BYTES_MB));
+    assertEquals(0, mgr.requestMemory(BYTES_MB));
+
+    assertEquals(3, mgr.getNumAllocations());
+    assertEquals(15 * BYTES_MB, mgr.getBytesAllocated());
+  }
+
+  @Test
+  void testBlockingRequestTimesOut() throws InterruptedException {
+    final GlobalMemoryManager mgr = new GlobalMemoryManager(BYTES_MB);
+    assertEquals(BYTES_MB, mgr.requestMemory());
+
+    assertEquals(0, mgr.requestMemory(BYTES_MB, 10, TimeUnit.MILLISECONDS));
+    assertEquals(1, mgr.getNumWaits());
+    assertTrue(mgr.getWaitTimeNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+  }
+
+  @Test
+  void testBlockingRequestWakesUpOnFree() throws Exception {
+    final GlobalMemoryManager mgr = new GlobalMemoryManager(BYTES_MB);
+    assertEquals(BYTES_MB, mgr.requestMemory());
+
+    final CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> {
+      try {
+        return mgr.requestMemory(BYTES_MB, 1, TimeUnit.MINUTES);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    // let the waiter park before memory is released.
+    Thread.sleep(100);
+    mgr.free(BYTES_MB / 2);
+
+    assertEquals(BYTES_MB / 2, waiter.get(10, TimeUnit.SECONDS));
+    assertEquals(BYTES_MB, mgr.getCurrentMemoryBytes());
+  }
+
 }
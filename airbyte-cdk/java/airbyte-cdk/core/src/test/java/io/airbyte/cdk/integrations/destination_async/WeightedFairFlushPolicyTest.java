@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.cdk.integrations.destination_async.buffers.BufferDequeue;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WeightedFairFlushPolicyTest {
+
+  private static final long BATCH = 100;
+
+  private static final StreamDescriptor BIG = new StreamDescriptor().withName("big");
+  private static final StreamDescriptor SMALL = new StreamDescriptor().withName("small");
+  private static final StreamDescriptor LATE = new StreamDescriptor().withName("late");
+
+  private BufferDequeue bufferDequeue;
+
+  @BeforeEach
+  void setup() {
+    bufferDequeue = mock(BufferDequeue.class);
+    when(bufferDequeue.getQueueSizeBytes(BIG)).thenReturn(Optional.of(100 * BATCH));
+    when(bufferDequeue.getQueueSizeBytes(SMALL)).thenReturn(Optional.of(BATCH));
+    when(bufferDequeue.getQueueSizeBytes(LATE)).thenReturn(Optional.of(BATCH));
+  }
+
+  @Test
+  void testBiggestQueueGoesFirstWithoutHistory() {
+    final WeightedFairFlushPolicy policy = new WeightedFairFlushPolicy(2);
+    assertEquals(List.of(BIG, SMALL), policy.orderStreams(Set.of(BIG, SMALL), bufferDequeue));
+  }
+
+  @Test
+  void testStreamsTakeTurns() {
+    final WeightedFairFlushPolicy policy = new WeightedFairFlushPolicy(2);
+
+    policy.onFlushStarted(BIG, BATCH);
+    assertEquals(List.of(SMALL, BIG), policy.orderStreams(Set.of(BIG, SMALL), bufferDequeue));
+
+    policy.onFlushStarted(SMALL, BATCH);
+    assertEquals(List.of(BIG, SMALL), policy.orderStreams(Set.of(BIG, SMALL), bufferDequeue));
+  }
+
+  @Test
+  void testWeightsShareFlushesProportionally() {
+    final WeightedFairFlushPolicy policy = new WeightedFairFlushPolicy(2, Map.of(BIG, 3.0));
+
+    int bigFlushes = 0;
+    for (int i = 0; i < 40; i++) {
+      final StreamDescriptor next = policy.orderStreams(Set.of(BIG, SMALL), bufferDequeue).get(0);
+      policy.onFlushStarted(next, BATCH);
+      if (next.equals(BIG)) {
+        bigFlushes++;
+      }
+    }
+    assertEquals(30, bigFlushes);
+  }
+
+  @Test
+  void testIdleStreamDoesNotBankCredit() {
+    final WeightedFairFlushPolicy policy = new WeightedFairFlushPolicy(2);
+    for (int i = 0; i < 10; i++) {
+      policy.onFlushStarted(BIG, BATCH);
+      policy.onFlushStarted(SMALL, BATCH);
+    }
+
+    // a stream showing up late goes next, but then takes turns with the others instead of getting
+    // ten flushes in a row.
+    assertEquals(LATE, policy.orderStreams(Set.of(BIG, SMALL, LATE), bufferDequeue).get(0));
+    policy.onFlushStarted(LATE, BATCH);
+    assertEquals(BIG, policy.orderStreams(Set.of(BIG, SMALL, LATE), bufferDequeue).get(0));
+  }
+
+  @Test
+  void testLimitsWorkersPerStream() {
+    final WeightedFairFlushPolicy policy = new WeightedFairFlushPolicy(2);
+    assertTrue(policy.canStartFlush(BIG, 0));
+    assertTrue(policy.canStartFlush(BIG, 1));
+    assertFalse(policy.canStartFlush(BIG, 2));
+  }
+
+  @Test
+  void testRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new WeightedFairFlushPolicy(0));
+    assertThrows(IllegalArgumentException.class, () -> new WeightedFairFlushPolicy(1, Map.of(BIG, 0.0)));
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.cdk.integrations.destination_async.buffers.StreamAwareQueue.MessageWithMeta;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
+import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteRecordMessage;
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ArenaBackedMessageQueueTest {
+
+  private static final StreamDescriptor STREAM = new StreamDescriptor().withName("users").withNamespace("public");
+
+  @Test
+  void offerAndTakeShouldRoundTrip() throws InterruptedException {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024);
+
+    assertTrue(queue.offer(new MessageWithMeta(record("{\"name\":\"Zoë\"}", 123L), 7), 0));
+    assertEquals(1, queue.size());
+
+    final var item = queue.take();
+    final PartialAirbyteMessage message = item.item().message();
+
+    assertEquals(7, item.item().stateId());
+    assertEquals(Type.RECORD, message.getType());
+    assertEquals("users", message.getRecord().getStream());
+    assertEquals("public", message.getRecord().getNamespace());
+    assertEquals(123L, message.getRecord().getEmittedAt());
+    assertEquals("{\"name\":\"Zoë\"}", message.getSerialized());
+    assertEquals(ArenaBackedMessageQueue.ENTRY_HEADER_BYTES + "{\"name\":\"Zoë\"}".getBytes(StandardCharsets.UTF_8).length, item.size());
+    assertEquals(0, queue.size());
+    assertEquals(0, queue.getCurrentMemoryUsage());
+  }
+
+  @Test
+  void peekDoesNotRemove() {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024);
+    assertNull(queue.peek());
+
+    queue.offer(new MessageWithMeta(record("1", 1L), 1), 0);
+    queue.offer(new MessageWithMeta(record("2", 2L), 1), 0);
+
+    final var head = queue.peek();
+    assertEquals("1", head.item().message().getSerialized());
+    assertSame(head, queue.poll());
+    assertEquals("2", queue.poll().item().message().getSerialized());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testBlocksOnFullMemory() throws InterruptedException {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, ArenaBackedMessageQueue.ENTRY_HEADER_BYTES + 4);
+    assertTrue(queue.offer(new MessageWithMeta(record("abc", 1L), 1), 0));
+    assertFalse(queue.offer(new MessageWithMeta(record("abc", 1L), 1), 0));
+
+    assertNotNull(queue.poll(1, TimeUnit.NANOSECONDS));
+    assertNull(queue.poll(1, TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  void chunksAreReleasedOnceRead() {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024 * 1024, new GlobalQueueCounters(), new DirectChunkPool(),
+        4 * ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES);
+    assertEquals(0, queue.getAllocatedBytes());
+
+    final String data = "x".repeat(1000);
+    final int records = 200;
+    for (int i = 0; i < records; i++) {
+      assertTrue(queue.offer(new MessageWithMeta(record(data, i), i), 0));
+    }
+    // more than one chunk is needed, and none of them is larger than the configured maximum.
+    assertTrue(queue.getAllocatedBytes() > ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES);
+    final long allocatedWhenFull = queue.getAllocatedBytes();
+
+    for (int i = 0; i < records / 2; i++) {
+      assertEquals(i, queue.poll().item().stateId());
+    }
+    assertTrue(queue.getAllocatedBytes() < allocatedWhenFull);
+
+    for (int i = records / 2; i < records; i++) {
+      assertEquals(i, queue.poll().item().stateId());
+    }
+    assertEquals(0, queue.getAllocatedBytes());
+    assertEquals(0, queue.getCurrentMemoryUsage());
+  }
+
+  @Test
+  void chunksAreChargedInFull() {
+    final long maxMemory = 3 * ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES;
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, maxMemory, new GlobalQueueCounters(), new DirectChunkPool(),
+        4 * ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES);
+
+    final String data = "x".repeat(1000);
+    int records = 0;
+    while (queue.offer(new MessageWithMeta(record(data, records), records), 0)) {
+      records++;
+    }
+    // the second chunk is cut down to what is left of the grant rather than doubling past it.
+    assertEquals(maxMemory, queue.getAllocatedBytes());
+    assertTrue(queue.getCurrentMemoryUsage() <= maxMemory);
+
+    queue.addMaxMemory(ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES);
+    assertTrue(queue.offer(new MessageWithMeta(record(data, records), records), 0));
+    assertEquals(maxMemory + ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, queue.getAllocatedBytes());
+  }
+
+  @Test
+  void allocationIsOnlyGivenBackWithWholeChunks() {
+    final long maxMemory = 1024 * 1024;
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, maxMemory, new GlobalQueueCounters(), new DirectChunkPool(),
+        4 * ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES);
+    final String data = "x".repeat(1000);
+    final long entrySize = ArenaBackedMessageQueue.ENTRY_HEADER_BYTES + data.length();
+    for (int i = 0; i < 200; i++) {
+      assertTrue(queue.offer(new MessageWithMeta(record(data, i), i), 0));
+    }
+
+    // part of the first chunk is read: it is still held in full.
+    assertEquals(10 * entrySize, queue.drainTo(10 * entrySize, message -> {}));
+    assertEquals(0, queue.releaseRemovedMemory(10 * entrySize));
+    assertEquals(maxMemory, queue.getMaxMemoryUsage());
+
+    // the rest of the first chunk is read: its whole capacity is given back.
+    final long drained = queue.drainTo(ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, message -> {});
+    assertEquals(ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, queue.releaseRemovedMemory(drained));
+    assertEquals(maxMemory - ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, queue.getMaxMemoryUsage());
+    assertTrue(queue.getAllocatedBytes() <= queue.getMaxMemoryUsage());
+
+    // once empty, everything left is given back.
+    final long rest = queue.drainTo(Long.MAX_VALUE, message -> {});
+    assertEquals(maxMemory - ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, queue.releaseRemovedMemory(rest));
+    assertEquals(0, queue.getMaxMemoryUsage());
+    assertEquals(0, queue.getAllocatedBytes());
+  }
+
+  @Test
+  void releasedChunksAreReused() {
+    final DirectChunkPool chunkPool = new DirectChunkPool();
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024 * 1024, new GlobalQueueCounters(), chunkPool);
+    queue.offer(new MessageWithMeta(record("abc", 1L), 1), 0);
+    queue.poll();
+    assertEquals(ArenaBackedMessageQueue.MIN_CHUNK_SIZE_BYTES, chunkPool.getPooledBytes());
+
+    queue.offer(new MessageWithMeta(record("abc", 2L), 2), 0);
+    assertEquals(0, chunkPool.getPooledBytes());
+    assertEquals("abc", queue.poll().item().message().getSerialized());
+  }
+
+  @Test
+  void closeReleasesEveryChunk() {
+    final GlobalQueueCounters counters = new GlobalQueueCounters();
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024 * 1024, counters, new DirectChunkPool());
+    for (int i = 0; i < 10; i++) {
+      queue.offer(new MessageWithMeta(record("abc", i), i), 0);
+    }
+
+    queue.close();
+    assertEquals(0, queue.size());
+    assertEquals(0, queue.getCurrentMemoryUsage());
+    assertEquals(0, queue.getAllocatedBytes());
+    assertEquals(0, counters.getBytes());
+    assertEquals(0, counters.getRecords());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void drainToStopsBeforeExceedingMaxBytes() {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024);
+    final long entrySize = ArenaBackedMessageQueue.ENTRY_HEADER_BYTES + 1;
+    for (int i = 0; i < 5; i++) {
+      queue.offer(new MessageWithMeta(record(String.valueOf(i), i), i), 0);
+    }
+
+    final List<MessageWithMeta> drained = new ArrayList<>();
+    assertEquals(3 * entrySize, queue.drainTo(3 * entrySize + 1, drained::add));
+    assertEquals(List.of(0L, 1L, 2L), drained.stream().map(MessageWithMeta::stateId).toList());
+    assertEquals(2, queue.size());
+    assertEquals(2 * entrySize, queue.getCurrentMemoryUsage());
+
+    assertEquals(2 * entrySize, queue.drainTo(Long.MAX_VALUE, drained::add));
+    assertEquals("4", drained.get(4).message().getSerialized());
+    assertEquals(0, queue.getAllocatedBytes());
+  }
+
+  @Test
+  void onlyRecordsAreAccepted() {
+    final ArenaBackedMessageQueue queue = new ArenaBackedMessageQueue(STREAM, 1024);
+    final PartialAirbyteMessage state = new PartialAirbyteMessage().withType(Type.STATE).withSerialized("{}");
+    assertThrows(IllegalArgumentException.class, () -> queue.offer(new MessageWithMeta(state, 1), 0));
+  }
+
+  private static PartialAirbyteMessage record(final String data, final long emittedAt) {
+    return new PartialAirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new PartialAirbyteRecordMessage()
+            .withStream(STREAM.getName())
+            .withNamespace(STREAM.getNamespace())
+            .withEmittedAt(emittedAt))
+        .withSerialized(data);
+  }
+
+}
@@ -6,15 +6,23 @@ package io.airbyte.cdk.integrations.destination_async.buffers;
 
 import static io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager.BLOCK_SIZE_BYTES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
+import io.airbyte.cdk.integrations.destination_async.GlobalMemoryManager;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteRecordMessage;
+import io.airbyte.cdk.integrations.destination_async.state.GlobalAsyncStateManager;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -87,6 +95,25 @@ public class BufferDequeueTest {
       }
     }
 
+    @Test
+    void testTakeCountsRecordsPerStateId() throws Exception {
+      final BufferManager bufferManager = new BufferManager();
+      final BufferEnqueue enqueue = bufferManager.getBufferEnqueue();
+      final BufferDequeue dequeue = bufferManager.getBufferDequeue();
+
+      enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+      enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+      enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+
+      try (final MemoryAwareMessageBatch take = dequeue.take(STREAM_DESC, 50)) {
+        assertEquals(2, take.getData().size());
+        assertEquals(Map.of(take.getData().get(0).stateId(), 2L), take.getStateIdToCount());
+      }
+      try (final MemoryAwareMessageBatch take = dequeue.take(STREAM_DESC, 50)) {
+        assertEquals(Map.of(take.getData().get(0).stateId(), 1L), take.getStateIdToCount());
+      }
+    }
+
   }
 
   @Test
@@ -104,6 +131,7 @@ public class BufferDequeueTest {
     enqueue.addRecord(recordFromSecondStream, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
 
     assertEquals(60, dequeue.getTotalGlobalQueueSizeBytes());
+    assertEquals(3, dequeue.getTotalGlobalQueueSizeInRecords());
 
     assertEquals(2, dequeue.getQueueSizeInRecords(STREAM_DESC).get());
     assertEquals(1, dequeue.getQueueSizeInRecords(secondStream).get());
@@ -167,4 +195,98 @@ public class BufferDequeueTest {
     }
   }
 
+  @Test
+  void offHeapQueueKeepsItsAllocationUntilWholeChunksAreRead() throws Exception {
+    final var bufferManager = new BufferManager(BLOCK_SIZE_BYTES * 10, true);
+    final var enqueue = bufferManager.getBufferEnqueue();
+    final var dequeue = bufferManager.getBufferDequeue();
+    final var memoryManager = bufferManager.getMemoryManager();
+    final PartialAirbyteMessage record = new PartialAirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new PartialAirbyteRecordMessage().withStream(STREAM_NAME))
+        .withSerialized("x".repeat(100));
+
+    for (int i = 0; i < 4; i++) {
+      enqueue.addRecord(record, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    }
+    assertEquals(2 * BLOCK_SIZE_BYTES, memoryManager.getCurrentMemoryBytes());
+    final long recordBytes = ArenaBackedMessageQueue.ENTRY_HEADER_BYTES + 100;
+
+    // the records read share their chunk with the ones left, so none of the allocation is given back.
+    try (final var batch = dequeue.take(STREAM_DESC, 2 * recordBytes)) {
+      assertEquals(2, batch.getData().size());
+      assertEquals(2 * recordBytes, batch.getSizeInBytes());
+      assertEquals(BLOCK_SIZE_BYTES, bufferManager.getBuffers().get(STREAM_DESC).getMaxMemoryUsage());
+    }
+    assertEquals(2 * BLOCK_SIZE_BYTES, memoryManager.getCurrentMemoryBytes());
+
+    try (final var batch = dequeue.take(STREAM_DESC, 2 * recordBytes)) {
+      // emptied, so the unused allocation is freed right away and the batch holds on to its share.
+      assertEquals(BLOCK_SIZE_BYTES + 2 * recordBytes, memoryManager.getCurrentMemoryBytes());
+      assertEquals(0, bufferManager.getBuffers().get(STREAM_DESC).getMaxMemoryUsage());
+    }
+    assertEquals(BLOCK_SIZE_BYTES, memoryManager.getCurrentMemoryBytes());
+  }
+
+  @Test
+  void testGlobalTotalsFollowTakes() throws Exception {
+    final BufferManager bufferManager = new BufferManager();
+    final BufferEnqueue enqueue = bufferManager.getBufferEnqueue();
+    final BufferDequeue dequeue = bufferManager.getBufferDequeue();
+
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+
+    try (final MemoryAwareMessageBatch take = dequeue.take(STREAM_DESC, 50)) {
+      assertEquals(20, dequeue.getTotalGlobalQueueSizeBytes());
+      assertEquals(1, dequeue.getTotalGlobalQueueSizeInRecords());
+    }
+    try (final MemoryAwareMessageBatch take = dequeue.take(STREAM_DESC, 50)) {
+      assertEquals(0, dequeue.getTotalGlobalQueueSizeBytes());
+      assertEquals(0, dequeue.getTotalGlobalQueueSizeInRecords());
+    }
+  }
+
+  @Test
+  void testGlobalTotalsAreSummedWithoutSharedCounters() throws Exception {
+    final GlobalMemoryManager memoryManager = new GlobalMemoryManager(BLOCK_SIZE_BYTES * 10);
+    final ConcurrentMap<StreamDescriptor, StreamAwareQueue> buffers = new ConcurrentHashMap<>();
+    final GlobalAsyncStateManager stateManager = mock(GlobalAsyncStateManager.class);
+    final BufferEnqueue enqueue = new BufferEnqueue(memoryManager, buffers, stateManager);
+    final BufferDequeue dequeue = new BufferDequeue(memoryManager, buffers, stateManager);
+
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    assertEquals(40, dequeue.getTotalGlobalQueueSizeBytes());
+    assertEquals(2, dequeue.getTotalGlobalQueueSizeInRecords());
+
+    try (final MemoryAwareMessageBatch take = dequeue.take(STREAM_DESC, 30)) {
+      assertEquals(20, dequeue.getTotalGlobalQueueSizeBytes());
+      assertEquals(1, dequeue.getTotalGlobalQueueSizeInRecords());
+    }
+  }
+
+  @Test
+  void testBufferedStreamsSnapshotOnlyChangesWithNewStreams() {
+    final BufferManager bufferManager = new BufferManager();
+    final BufferEnqueue enqueue = bufferManager.getBufferEnqueue();
+    final BufferDequeue dequeue = bufferManager.getBufferDequeue();
+
+    assertEquals(Set.of(), dequeue.getBufferedStreams());
+
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    final Set<StreamDescriptor> streams = dequeue.getBufferedStreams();
+    assertEquals(Set.of(STREAM_DESC), streams);
+
+    enqueue.addRecord(RECORD_MSG_20_BYTES, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    assertSame(streams, dequeue.getBufferedStreams());
+
+    final var secondStream = new StreamDescriptor().withName("stream_2");
+    final PartialAirbyteMessage recordFromSecondStream = Jsons.clone(RECORD_MSG_20_BYTES);
+    recordFromSecondStream.getRecord().withStream(secondStream.getName());
+    enqueue.addRecord(recordFromSecondStream, RECORD_SIZE_20_BYTES, DEFAULT_NAMESPACE);
+    assertEquals(Set.of(STREAM_DESC, secondStream), dequeue.getBufferedStreams());
+  }
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination_async.buffers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class DirectChunkPoolTest {
+
+  @Test
+  void testReusesReleasedChunksOfTheSameCapacity() {
+    final DirectChunkPool pool = new DirectChunkPool(1024);
+    final ByteBuffer chunk = pool.acquire(512);
+    assertTrue(chunk.isDirect());
+    chunk.putLong(1L);
+
+    pool.release(chunk);
+    assertEquals(512, pool.getPooledBytes());
+    assertNotSame(chunk, pool.acquire(256));
+
+    final ByteBuffer reused = pool.acquire(512);
+    assertSame(chunk, reused);
+    assertEquals(0, reused.position());
+    assertEquals(0, pool.getPooledBytes());
+  }
+
+  @Test
+  void testKeepsAtMostTheMaximum() {
+    final DirectChunkPool pool = new DirectChunkPool(1024);
+    pool.release(ByteBuffer.allocateDirect(512));
+    pool.release(ByteBuffer.allocateDirect(512));
+    pool.release(ByteBuffer.allocateDirect(512));
+
+    assertEquals(1024, pool.getPooledBytes());
+  }
+
+}
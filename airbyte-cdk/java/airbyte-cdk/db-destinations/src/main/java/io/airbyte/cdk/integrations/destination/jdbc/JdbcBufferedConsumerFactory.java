@@ -18,6 +18,7 @@ import io.airbyte.cdk.integrations.destination.buffered_stream_consumer.Buffered
 import io.airbyte.cdk.integrations.destination.buffered_stream_consumer.OnStartFunction;
 import io.airbyte.cdk.integrations.destination.buffered_stream_consumer.RecordWriter;
 import io.airbyte.cdk.integrations.destination_async.AsyncStreamConsumer;
+import io.airbyte.cdk.integrations.destination_async.FlushWorkerPool;
 import io.airbyte.cdk.integrations.destination_async.OnCloseFunction;
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferManager;
 import io.airbyte.cdk.integrations.destination_async.partial_messages.PartialAirbyteMessage;
@@ -36,7 +37,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -61,6 +61,8 @@ public class JdbcBufferedConsumerFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBufferedConsumerFactory.class);
 
+  private static final int DEFAULT_NUM_FLUSH_WORKERS = 2;
+
   public static SerializedAirbyteMessageConsumer createAsync(final Consumer<AirbyteMessage> outputRecordCollector,
                                                              final JdbcDatabase database,
                                                              final SqlOperations sqlOperations,
@@ -69,16 +71,36 @@ public class JdbcBufferedConsumerFactory {
                                                              final ConfiguredAirbyteCatalog catalog,
                                                              final String defaultNamespace,
                                                              final TyperDeduper typerDeduper) {
+    return createAsync(outputRecordCollector, database, sqlOperations, namingResolver, config, catalog, defaultNamespace, typerDeduper,
+        DEFAULT_NUM_FLUSH_WORKERS, DEFAULT_NUM_FLUSH_WORKERS);
+  }
+
+  /**
+   * @param minFlushWorkers number of concurrent inserts the destination starts with
+   * @param maxFlushWorkers number of concurrent inserts the destination may grow to while the
+   *        buffers keep filling up faster than they are flushed
+   */
+  public static SerializedAirbyteMessageConsumer createAsync(final Consumer<AirbyteMessage> outputRecordCollector,
+                                                             final JdbcDatabase database,
+                                                             final SqlOperations sqlOperations,
+                                                             final NamingConventionTransformer namingResolver,
+                                                             final JsonNode config,
+                                                             final ConfiguredAirbyteCatalog catalog,
+                                                             final String defaultNamespace,
+                                                             final TyperDeduper typerDeduper,
+                                                             final int minFlushWorkers,
+                                                             final int maxFlushWorkers) {
     final List<WriteConfig> writeConfigs = createWriteConfigs(namingResolver, config, catalog, sqlOperations.isSchemaRequired());
-    return new AsyncStreamConsumer(
+    return AsyncStreamConsumer.builder(
         outputRecordCollector,
         onStartFunction(database, sqlOperations, writeConfigs, typerDeduper),
         onCloseFunction(typerDeduper),
         new JdbcInsertFlushFunction(recordWriterFunction(database, sqlOperations, writeConfigs, catalog)),
         catalog,
         new BufferManager((long) (Runtime.getRuntime().maxMemory() * 0.2)),
-        defaultNamespace,
-        Executors.newFixedThreadPool(2));
+        defaultNamespace)
+        .setFlushWorkerPool(new FlushWorkerPool(minFlushWorkers, maxFlushWorkers))
+        .build();
   }
 
   private static List<WriteConfig> createWriteConfigs(final NamingConventionTransformer namingResolver,
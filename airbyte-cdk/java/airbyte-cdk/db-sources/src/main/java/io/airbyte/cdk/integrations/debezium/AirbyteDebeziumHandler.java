@@ -13,6 +13,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.cdk.db.jdbc.JdbcUtils;
 import io.airbyte.cdk.integrations.debezium.internals.AirbyteFileOffsetBackingStore;
 import io.airbyte.cdk.integrations.debezium.internals.AirbyteSchemaHistoryStorage;
+import io.airbyte.cdk.integrations.debezium.internals.ChangeEventBatchQueue;
 import io.airbyte.cdk.integrations.debezium.internals.ChangeEventWithMetadata;
 import io.airbyte.cdk.integrations.debezium.internals.DebeziumEventConverter;
 import io.airbyte.cdk.integrations.debezium.internals.DebeziumPropertiesManager;
@@ -26,11 +27,13 @@ import io.airbyte.protocol.models.v0.AirbyteMessage;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.v0.SyncMode;
+import io.debezium.embedded.Connect;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine;
+import io.debezium.engine.format.Json;
+import io.debezium.engine.format.SerializationFormat;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +50,12 @@ public class AirbyteDebeziumHandler<T> {
    * {@link io.debezium.config.CommonConnectorConfig#DEFAULT_MAX_QUEUE_SIZE} is 8192
    */
   public static final int QUEUE_CAPACITY = 10_000;
+  /**
+   * Share of the heap the change events waiting in the queue may take, as estimated by
+   * {@link ChangeEventBatchQueue#estimateSizeInBytes(ChangeEvent)}. With wide rows, the queue is
+   * full well before it holds {@link #QUEUE_CAPACITY} events.
+   */
+  private static final double QUEUE_MEMORY_RATIO = 0.2;
 
   private final JsonNode config;
   private final CdcTargetPosition<T> targetPosition;
@@ -54,6 +63,7 @@ public class AirbyteDebeziumHandler<T> {
   private final Duration firstRecordWaitTime, subsequentRecordWaitTime;
   private final int queueSize;
   private final boolean addDbNameToOffsetState;
+  private final boolean useConnectRecords;
 
   public AirbyteDebeziumHandler(final JsonNode config,
                                 final CdcTargetPosition<T> targetPosition,
@@ -62,6 +72,24 @@ public class AirbyteDebeziumHandler<T> {
                                 final Duration subsequentRecordWaitTime,
                                 final int queueSize,
                                 final boolean addDbNameToOffsetState) {
+    this(config, targetPosition, trackSchemaHistory, firstRecordWaitTime, subsequentRecordWaitTime, queueSize, addDbNameToOffsetState, false);
+  }
+
+  /**
+   * @param useConnectRecords if true, change events are consumed as the Connect records produced by
+   *        the connector and converted straight into records, instead of being serialized to json
+   *        strings by Debezium and parsed back. Target positions should then read the position of an
+   *        event from {@link ChangeEventWithMetadata#eventSourceAsJson()}, which does not convert the
+   *        rest of the event.
+   */
+  public AirbyteDebeziumHandler(final JsonNode config,
+                                final CdcTargetPosition<T> targetPosition,
+                                final boolean trackSchemaHistory,
+                                final Duration firstRecordWaitTime,
+                                final Duration subsequentRecordWaitTime,
+                                final int queueSize,
+                                final boolean addDbNameToOffsetState,
+                                final boolean useConnectRecords) {
     this.config = config;
     this.targetPosition = targetPosition;
     this.trackSchemaHistory = trackSchemaHistory;
@@ -69,6 +97,7 @@ public class AirbyteDebeziumHandler<T> {
     this.subsequentRecordWaitTime = subsequentRecordWaitTime;
     this.queueSize = queueSize;
     this.addDbNameToOffsetState = addDbNameToOffsetState;
+    this.useConnectRecords = useConnectRecords;
   }
 
   public AutoCloseableIterator<AirbyteMessage> getIncrementalIterators(final DebeziumPropertiesManager debeziumPropertiesManager,
@@ -85,16 +114,10 @@ public class AirbyteDebeziumHandler<T> {
             cdcSavedInfoFetcher.getSavedSchemaHistory(), cdcStateHandler.compressSchemaHistoryForState()))
         : Optional.<AirbyteSchemaHistoryStorage>empty();
     final var publisher = new DebeziumRecordPublisher(debeziumPropertiesManager);
-    final var queue = new LinkedBlockingQueue<ChangeEvent<String, String>>(queueSize);
-    publisher.start(queue, offsetManager, schemaHistoryManager);
-    // handle state machine around pub/sub logic.
-    final AutoCloseableIterator<ChangeEventWithMetadata> eventIterator = new DebeziumRecordIterator<>(
-        queue,
-        targetPosition,
-        publisher::hasClosed,
-        new DebeziumShutdownProcedure<>(queue, publisher::close, publisher::hasClosed),
-        firstRecordWaitTime,
-        subsequentRecordWaitTime);
+    LOGGER.info("Using Connect records: {}", useConnectRecords);
+    final AutoCloseableIterator<ChangeEventWithMetadata> eventIterator = useConnectRecords
+        ? startEventIterator(publisher, Connect.class, offsetManager, schemaHistoryManager)
+        : startEventIterator(publisher, Json.class, offsetManager, schemaHistoryManager);
 
     final Duration syncCheckpointDuration = config.has(SYNC_CHECKPOINT_DURATION_PROPERTY)
         ? Duration.ofSeconds(config.get(SYNC_CHECKPOINT_DURATION_PROPERTY).asLong())
@@ -114,6 +137,24 @@ public class AirbyteDebeziumHandler<T> {
         syncCheckpointRecords));
   }
 
+  private <V> AutoCloseableIterator<ChangeEventWithMetadata> startEventIterator(final DebeziumRecordPublisher publisher,
+                                                                                final Class<? extends SerializationFormat<V>> format,
+                                                                                final AirbyteFileOffsetBackingStore offsetManager,
+                                                                                final Optional<AirbyteSchemaHistoryStorage> schemaHistoryManager) {
+    final long queueMaxBytes = (long) (Runtime.getRuntime().maxMemory() * QUEUE_MEMORY_RATIO);
+    LOGGER.info("Change event queue capacity: {} events, {} bytes", queueSize, queueMaxBytes);
+    final var queue = new ChangeEventBatchQueue<ChangeEvent<V, V>>(queueSize, queueMaxBytes, ChangeEventBatchQueue::estimateSizeInBytes);
+    publisher.start(format, queue, offsetManager, schemaHistoryManager);
+    // handle state machine around pub/sub logic.
+    return new DebeziumRecordIterator<>(
+        queue,
+        targetPosition,
+        publisher::hasClosed,
+        new DebeziumShutdownProcedure<>(queue, publisher::close, publisher::hasClosed),
+        firstRecordWaitTime,
+        subsequentRecordWaitTime);
+  }
+
   public static boolean isAnyStreamIncrementalSyncMode(final ConfiguredAirbyteCatalog catalog) {
     return catalog.getStreams().stream().map(ConfiguredAirbyteStream::getSyncMode)
         .anyMatch(syncMode -> syncMode == SyncMode.INCREMENTAL);
@@ -10,23 +10,28 @@ import io.airbyte.commons.json.Jsons;
 import io.debezium.document.Document;
 import io.debezium.document.DocumentReader;
 import io.debezium.document.DocumentWriter;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +40,13 @@ import org.slf4j.LoggerFactory;
  * the schema history at the end of the sync so that it can be saved in state for future syncs.
  * Check {@link #read()} 2. Write the saved content back to the file {@link #path} at the beginning
  * of the sync so that debezium can function smoothly. Check persist(Optional&lt;JsonNode&gt;).
+ * <p>
+ * Debezium only ever appends to the schema history file, so {@link #read()} only reads the lines
+ * appended since the previous read and keeps the content read so far: the text of the history while
+ * it is small, and once it is compressed, gzip segments that each hold the lines of one read. Gzip
+ * segments can be concatenated into a single valid gzip stream, so emitting a state only compresses
+ * the DDL added since the previous state. Segments are merged in the background once there are
+ * {@link #MAX_COMPRESSED_SEGMENTS} of them, to keep the compression ratio of a single stream.
  */
 public class AirbyteSchemaHistoryStorage {
 
@@ -42,12 +54,25 @@ public class AirbyteSchemaHistoryStorage {
   private static final long SIZE_LIMIT_TO_COMPRESS_MB = 3;
   public static final int ONE_MB = 1024 * 1024;
   private static final Charset UTF8 = StandardCharsets.UTF_8;
+  @VisibleForTesting
+  static final int MAX_COMPRESSED_SEGMENTS = 16;
+  private static final ExecutorService COMPACTION_EXECUTOR = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+      .namingPattern("schema-history-compaction-%d")
+      .daemon(true)
+      .build());
 
   private final DocumentReader reader = DocumentReader.defaultReader();
   private final DocumentWriter writer = DocumentWriter.defaultWriter();
   private final Path path;
   private final boolean compressSchemaHistoryForState;
 
+  // bytes of the file read so far
+  private long readOffset = 0;
+  // content read so far, as text until it is compressed, then as gzip segments
+  private StringBuilder uncompressedContent = new StringBuilder();
+  private List<byte[]> compressedSegments = null;
+  private boolean isCompacting = false;
+
   public AirbyteSchemaHistoryStorage(final Path path, final boolean compressSchemaHistoryForState) {
     this.path = path;
     this.compressSchemaHistoryForState = compressSchemaHistoryForState;
@@ -55,12 +80,18 @@ public class AirbyteSchemaHistoryStorage {
 
   public record SchemaHistory<T> (T schema, boolean isCompressed) {}
 
-  public SchemaHistory<String> read() {
+  public synchronized SchemaHistory<String> read() {
     final double fileSizeMB = (double) path.toFile().length() / (ONE_MB);
+    readAppendedLines();
     if ((fileSizeMB > SIZE_LIMIT_TO_COMPRESS_MB) && compressSchemaHistoryForState) {
       LOGGER.info("File Size {} MB is greater than the size limit of {} MB, compressing the content of the file.", fileSizeMB,
           SIZE_LIMIT_TO_COMPRESS_MB);
-      final String schemaHistory = readCompressed();
+      if (compressedSegments == null) {
+        compressedSegments = new ArrayList<>();
+        compressedSegments.add(compress(uncompressedContent.toString()));
+        uncompressedContent = null;
+      }
+      final String schemaHistory = Jsons.serialize(concatenate(compressedSegments));
       final double compressedSizeMB = calculateSizeOfStringInMB(schemaHistory);
       if (fileSizeMB > compressedSizeMB) {
         LOGGER.info("Content Size post compression is {} MB ", compressedSizeMB);
@@ -68,6 +99,7 @@ public class AirbyteSchemaHistoryStorage {
         throw new RuntimeException("Compressing increased the size of the content. Size before compression " + fileSizeMB + ", after compression "
             + compressedSizeMB);
       }
+      maybeCompact();
       return new SchemaHistory<>(schemaHistory, true);
     }
     if (compressSchemaHistoryForState) {
@@ -76,8 +108,12 @@ public class AirbyteSchemaHistoryStorage {
     } else {
       LOGGER.info("File Size {} MB.", fileSizeMB);
     }
-    final String schemaHistory = readUncompressed();
-    return new SchemaHistory<>(schemaHistory, false);
+    if (uncompressedContent == null) {
+      // the history was compressed when the sync started, which it is no longer asked for
+      uncompressedContent = new StringBuilder(decompress(concatenate(compressedSegments)));
+      compressedSegments = null;
+    }
+    return new SchemaHistory<>(uncompressedContent.toString(), false);
   }
 
   @VisibleForTesting
@@ -98,28 +134,108 @@ public class AirbyteSchemaHistoryStorage {
     }
   }
 
-  private String readCompressed() {
-    final String lineSeparator = System.lineSeparator();
-    final ByteArrayOutputStream compressedStream = new ByteArrayOutputStream();
-    try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedStream);
-        final BufferedReader bufferedReader = Files.newBufferedReader(path, UTF8)) {
-      for (;;) {
-        final String line = bufferedReader.readLine();
-        if (line == null) {
-          break;
-        }
+  @VisibleForTesting
+  synchronized int getCompressedSegmentCount() {
+    return compressedSegments == null ? 0 : compressedSegments.size();
+  }
 
+  /**
+   * Reads the complete lines appended to the file since the previous read, adding them to the text
+   * or as a new gzip segment. A line Debezium is still writing is left for the next read.
+   */
+  private void readAppendedLines() {
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < readOffset) {
+        LOGGER.warn("Schema history file shrank from {} to {} bytes, reading it again.", readOffset, channel.size());
+        readOffset = 0;
+        uncompressedContent = compressedSegments == null ? new StringBuilder() : null;
+        compressedSegments = compressedSegments == null ? null : new ArrayList<>();
+      }
+      final ByteBuffer appended = ByteBuffer.allocate(Math.toIntExact(channel.size() - readOffset));
+      while (appended.hasRemaining() && channel.read(appended, readOffset + appended.position()) >= 0) {
+        // read until the buffer is full
+      }
+      int completeLength = appended.position();
+      while (completeLength > 0 && appended.get(completeLength - 1) != '\n') {
+        completeLength--;
+      }
+      if (completeLength == 0) {
+        return;
+      }
+      final StringBuilder appendedLines = new StringBuilder();
+      for (final String line : new String(appended.array(), 0, completeLength, UTF8).split("\\r?\\n")) {
         if (!line.isEmpty()) {
-          final Document record = reader.read(line);
-          final String recordAsString = writer.write(record);
-          gzipOutputStream.write(recordAsString.getBytes(StandardCharsets.UTF_8));
-          gzipOutputStream.write(lineSeparator.getBytes(StandardCharsets.UTF_8));
+          appendedLines.append(writer.write(reader.read(line)));
+          appendedLines.append(System.lineSeparator());
         }
       }
-    } catch (IOException e) {
+      readOffset += completeLength;
+      if (appendedLines.isEmpty()) {
+        return;
+      } else if (compressedSegments != null) {
+        compressedSegments.add(compress(appendedLines.toString()));
+      } else {
+        uncompressedContent.append(appendedLines);
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Merges the gzip segments in the background, so that reading the history does not wait for it.
+   * Segments added meanwhile are kept after the merged one.
+   */
+  private void maybeCompact() {
+    if (isCompacting || compressedSegments.size() < MAX_COMPRESSED_SEGMENTS) {
+      return;
+    }
+    isCompacting = true;
+    final List<byte[]> segments = List.copyOf(compressedSegments);
+    COMPACTION_EXECUTOR.execute(() -> {
+      byte[] compacted = null;
+      try {
+        compacted = compress(decompress(concatenate(segments)));
+      } catch (final RuntimeException e) {
+        LOGGER.warn("Failed to compact the compressed schema history, keeping its segments.", e);
+      }
+      synchronized (this) {
+        isCompacting = false;
+        // the segments are replaced only if they were not read again from scratch meanwhile
+        if (compacted != null && compressedSegments != null && compressedSegments.size() >= segments.size()
+            && compressedSegments.get(0) == segments.get(0)) {
+          final List<byte[]> remaining = new ArrayList<>();
+          remaining.add(compacted);
+          remaining.addAll(compressedSegments.subList(segments.size(), compressedSegments.size()));
+          compressedSegments = remaining;
+          LOGGER.info("Compacted {} segments of the compressed schema history.", segments.size());
+        }
+      }
+    });
+  }
+
+  private static byte[] compress(final String content) {
+    final ByteArrayOutputStream compressedStream = new ByteArrayOutputStream();
+    try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedStream)) {
+      gzipOutputStream.write(content.getBytes(UTF8));
+    } catch (final IOException e) {
       throw new RuntimeException(e);
     }
-    return Jsons.serialize(compressedStream.toByteArray());
+    return compressedStream.toByteArray();
+  }
+
+  private static String decompress(final byte[] compressed) {
+    try (final GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(gzipInputStream.readAllBytes(), UTF8);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static byte[] concatenate(final List<byte[]> segments) {
+    final ByteArrayOutputStream concatenated = new ByteArrayOutputStream(segments.stream().mapToInt(segment -> segment.length).sum());
+    segments.forEach(concatenated::writeBytes);
+    return concatenated.toByteArray();
   }
 
   private void makeSureFileExists() {
@@ -162,32 +278,26 @@ public class AirbyteSchemaHistoryStorage {
   }
 
   /**
+   * Writes the saved content as is, without parsing its documents: Debezium reads them once it starts.
+   * The content is also the content read so far, so that the first state of the sync does not read
+   * the history again.
+   *
    * @param fileAsString Represents the contents of the file saved in state from previous syncs
    */
   private void writeToFile(final String fileAsString) {
+    final String content = fileAsString.endsWith(System.lineSeparator()) ? fileAsString : fileAsString + System.lineSeparator();
     try {
-      final String[] split = fileAsString.split(System.lineSeparator());
-      for (final String element : split) {
-        final Document read = reader.read(element);
-        final String line = writer.write(read);
-
-        try (final BufferedWriter historyWriter = Files
-            .newBufferedWriter(path, StandardOpenOption.APPEND)) {
-          try {
-            historyWriter.append(line);
-            historyWriter.newLine();
-          } catch (final IOException e) {
-            throw new RuntimeException(e);
-          }
-        }
-      }
+      Files.writeString(path, content, UTF8, StandardOpenOption.TRUNCATE_EXISTING);
+      readOffset = Files.size(path);
     } catch (final IOException e) {
       throw new RuntimeException(e);
     }
+    uncompressedContent = new StringBuilder(content);
   }
 
   private void writeCompressedStringToFile(final String compressedString) {
-    try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(Jsons.deserialize(compressedString, byte[].class));
+    final byte[] compressed = Jsons.deserialize(compressedString, byte[].class);
+    try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(compressed);
         final GZIPInputStream gzipInputStream = new GZIPInputStream(inputStream);
         final FileOutputStream fileOutputStream = new FileOutputStream(path.toFile())) {
       final byte[] buffer = new byte[1024];
@@ -198,6 +308,12 @@ public class AirbyteSchemaHistoryStorage {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    if (compressSchemaHistoryForState) {
+      // the saved content is the first segment of the history
+      readOffset = path.toFile().length();
+      uncompressedContent = null;
+      compressedSegments = new ArrayList<>(List.of(compressed));
+    }
   }
 
   @VisibleForTesting
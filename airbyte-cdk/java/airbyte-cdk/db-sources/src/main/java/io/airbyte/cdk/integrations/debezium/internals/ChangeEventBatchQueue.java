@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.debezium.internals;
+
+import com.google.common.base.Preconditions;
+import io.debezium.engine.ChangeEvent;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Queue between the {@link DebeziumRecordPublisher} and the {@link DebeziumRecordIterator}, holding
+ * the change events in the batches the engine hands them over in.
+ * <p>
+ * The queue is bounded both by a number of events and by the estimated size of the events it holds,
+ * so that a few very wide rows cannot fill the heap. A batch is put and polled as a whole, which
+ * takes the lock of the queue once per batch instead of once per event. A batch larger than the
+ * bounds is still accepted once the queue is empty, so that it cannot block the engine forever.
+ */
+public class ChangeEventBatchQueue<E> {
+
+  // rough per object overhead of the JVM, added to the size of every value
+  private static final long OBJECT_OVERHEAD_BYTES = 16;
+
+  /**
+   * Change events handed over by the engine at once, with their estimated size.
+   */
+  public record Batch<E> (List<E> events, long sizeInBytes) {}
+
+  private final int maxEvents;
+  private final long maxBytes;
+  private final ToLongFunction<E> sizeEstimator;
+  private final ArrayDeque<Batch<E>> batches = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private int eventCount = 0;
+  private long sizeInBytes = 0;
+
+  /**
+   * @param maxEvents number of events the queue holds at most
+   * @param maxBytes estimated size of the events the queue holds at most
+   * @param sizeEstimator estimates the size in bytes of an event in memory
+   */
+  public ChangeEventBatchQueue(final int maxEvents, final long maxBytes, final ToLongFunction<E> sizeEstimator) {
+    Preconditions.checkArgument(maxEvents > 0, "The number of events of the queue must be positive: %s", maxEvents);
+    Preconditions.checkArgument(maxBytes > 0, "The size of the queue must be positive: %s", maxBytes);
+    this.maxEvents = maxEvents;
+    this.maxBytes = maxBytes;
+    this.sizeEstimator = sizeEstimator;
+  }
+
+  /**
+   * Adds a batch of events, waiting for room in the queue if needed. An empty batch is ignored.
+   */
+  public void put(final List<E> events) throws InterruptedException {
+    if (events.isEmpty()) {
+      return;
+    }
+    final Batch<E> batch = new Batch<>(List.copyOf(events), events.stream().mapToLong(sizeEstimator).sum());
+    lock.lockInterruptibly();
+    try {
+      while (!batches.isEmpty() && (eventCount + batch.events().size() > maxEvents || sizeInBytes + batch.sizeInBytes() > maxBytes)) {
+        notFull.await();
+      }
+      batches.addLast(batch);
+      eventCount += batch.events().size();
+      sizeInBytes += batch.sizeInBytes();
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes the oldest batch of events, waiting up to the given time for one to be added.
+   *
+   * @return the oldest batch, or null if the queue is still empty after the given time
+   */
+  public Batch<E> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (batches.isEmpty()) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      final Batch<E> batch = batches.pollFirst();
+      eventCount -= batch.events().size();
+      sizeInBytes -= batch.sizeInBytes();
+      notFull.signalAll();
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean isEmpty() {
+    lock.lock();
+    try {
+      return batches.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of events in the queue
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return eventCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the estimated size of the events in the queue
+   */
+  public long sizeInBytes() {
+    lock.lock();
+    try {
+      return sizeInBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Estimates the size in memory of a change event, serialized by Debezium's Json format or as a
+   * Connect record. The estimate is meant to be cheap rather than exact: strings count two bytes per
+   * character and every value an object header.
+   */
+  public static long estimateSizeInBytes(final ChangeEvent<?, ?> event) {
+    if (event.value() instanceof final SourceRecord sourceRecord) {
+      return OBJECT_OVERHEAD_BYTES + estimateSizeInBytes(sourceRecord.key()) + estimateSizeInBytes(sourceRecord.value());
+    }
+    return OBJECT_OVERHEAD_BYTES + estimateSizeInBytes(event.key()) + estimateSizeInBytes(event.value());
+  }
+
+  private static long estimateSizeInBytes(final Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof final String string) {
+      return OBJECT_OVERHEAD_BYTES + 2L * string.length();
+    } else if (value instanceof final byte[] bytes) {
+      return OBJECT_OVERHEAD_BYTES + bytes.length;
+    } else if (value instanceof final ByteBuffer buffer) {
+      return OBJECT_OVERHEAD_BYTES + buffer.remaining();
+    } else if (value instanceof final Struct struct) {
+      long size = OBJECT_OVERHEAD_BYTES;
+      for (final Field field : struct.schema().fields()) {
+        size += estimateSizeInBytes(struct.getWithoutDefault(field.name()));
+      }
+      return size;
+    } else if (value instanceof final Collection<?> collection) {
+      return OBJECT_OVERHEAD_BYTES + collection.stream().mapToLong(ChangeEventBatchQueue::estimateSizeInBytes).sum();
+    } else if (value instanceof final Map<?, ?> map) {
+      return OBJECT_OVERHEAD_BYTES + map.entrySet().stream()
+          .mapToLong(entry -> estimateSizeInBytes(entry.getKey()) + estimateSizeInBytes(entry.getValue()))
+          .sum();
+    }
+    // numbers, booleans, dates and the like
+    return OBJECT_OVERHEAD_BYTES + 8;
+  }
+
+}
@@ -7,33 +7,92 @@ package io.airbyte.cdk.integrations.debezium.internals;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.commons.json.Jsons;
 import io.debezium.engine.ChangeEvent;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
 
+/**
+ * A change event from Debezium, either serialized by its Json format or as the Connect record
+ * itself. The json of a Connect record is only built for the parts of the event that are asked for,
+ * so converters and target positions should use {@link #eventValueField(String)} and
+ * {@link #eventSourceAsJson()} rather than the whole {@link #eventValueAsJson()}.
+ */
 public class ChangeEventWithMetadata {
 
   private final ChangeEvent<String, String> event;
-  private final JsonNode eventKeyAsJson;
-  private final JsonNode eventValueAsJson;
+  private final SourceRecord sourceRecord;
+  private final ConnectToJsonConverter converter;
+  private JsonNode eventKeyAsJson;
+  private JsonNode eventValueAsJson;
+  private final JsonNode eventSourceAsJson;
   private final SnapshotMetadata snapshotMetadata;
 
   public ChangeEventWithMetadata(final ChangeEvent<String, String> event) {
     this.event = event;
+    this.sourceRecord = null;
+    this.converter = null;
     this.eventKeyAsJson = Jsons.deserialize(event.key());
     this.eventValueAsJson = Jsons.deserialize(event.value());
-    this.snapshotMetadata = SnapshotMetadata.fromString(eventValueAsJson.get("source").get("snapshot").asText());
+    this.eventSourceAsJson = eventValueAsJson.get(DebeziumEventConverter.SOURCE_EVENT);
+    this.snapshotMetadata = SnapshotMetadata.fromString(eventSourceAsJson.get("snapshot").asText());
+  }
+
+  /**
+   * @param sourceRecord a change event read with Debezium's Connect format
+   * @param converter converts the parts of the event that are asked for
+   */
+  public ChangeEventWithMetadata(final SourceRecord sourceRecord, final ConnectToJsonConverter converter) {
+    this.event = null;
+    this.sourceRecord = sourceRecord;
+    this.converter = converter;
+    this.eventSourceAsJson = convertValueField(DebeziumEventConverter.SOURCE_EVENT);
+    this.snapshotMetadata = SnapshotMetadata.fromString(eventSourceAsJson.get("snapshot").asText());
   }
 
+  /**
+   * @return the event serialized by Debezium's Json format, or null for an event read as a Connect
+   *         record
+   */
   public ChangeEvent<String, String> event() {
     return event;
   }
 
+  /**
+   * @return the Connect record of the event, or null for an event read with Debezium's Json format
+   */
+  public SourceRecord sourceRecord() {
+    return sourceRecord;
+  }
+
   public JsonNode eventKeyAsJson() {
+    if (eventKeyAsJson == null) {
+      eventKeyAsJson = converter.toJson(sourceRecord.keySchema(), sourceRecord.key());
+    }
     return eventKeyAsJson;
   }
 
   public JsonNode eventValueAsJson() {
+    if (eventValueAsJson == null) {
+      eventValueAsJson = converter.toJson(sourceRecord.valueSchema(), sourceRecord.value());
+    }
     return eventValueAsJson;
   }
 
+  /**
+   * @return a top level field of the value of the event, e.g. {@link DebeziumEventConverter#AFTER_EVENT},
+   *         or null if the event does not have it
+   */
+  public JsonNode eventValueField(final String fieldName) {
+    return eventValueAsJson != null ? eventValueAsJson.get(fieldName) : convertValueField(fieldName);
+  }
+
+  /**
+   * @return the {@link DebeziumEventConverter#SOURCE_EVENT} metadata of the event
+   */
+  public JsonNode eventSourceAsJson() {
+    return eventSourceAsJson;
+  }
+
   public boolean isSnapshotEvent() {
     return SnapshotMetadata.isSnapshotEventMetadata(snapshotMetadata);
   }
@@ -42,4 +101,10 @@ public class ChangeEventWithMetadata {
     return snapshotMetadata;
   }
 
+  private JsonNode convertValueField(final String fieldName) {
+    final Struct value = (Struct) sourceRecord.value();
+    final Field field = value.schema().field(fieldName);
+    return field == null ? null : converter.toJson(field.schema(), value.get(field));
+  }
+
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.debezium.internals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Converts the Connect data of Debezium change events to {@link JsonNode}, producing the same tree
+ * as serializing the event with Debezium's Json format (a {@code JsonConverter} without schemas)
+ * and deserializing it with {@link io.airbyte.commons.json.Jsons}, without going through a string.
+ * <p>
+ * Walking a schema is done once: the conversion of a struct schema, e.g. the row of a table, is
+ * compiled into a tree of per-field converters and cached by schema instance. Debezium reuses the
+ * schema instances of a table until its schema changes. The converters of a schema reference it, so
+ * the number of cached schemas is bounded to let the old schemas of altered tables go.
+ */
+public class ConnectToJsonConverter {
+
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+  // enough for the schemas of every table of a large sync, plus a few of their old versions
+  private static final int MAX_CACHED_SCHEMAS = 10_000;
+
+  @FunctionalInterface
+  private interface ValueConverter {
+
+    JsonNode convert(Object value);
+
+  }
+
+  // weak keys are compared by identity, which is much cheaper than the deep equality of schemas
+  private final Cache<Schema, ValueConverter> structConverters = CacheBuilder.newBuilder()
+      .weakKeys()
+      .maximumSize(MAX_CACHED_SCHEMAS)
+      .build();
+
+  /**
+   * @param schema schema of the value, only schemaless values of Debezium heartbeats have none
+   * @param value Connect value, e.g. a {@link Struct}
+   */
+  public JsonNode toJson(final Schema schema, final Object value) {
+    if (schema == null) {
+      return convertSchemaless(value);
+    }
+    if (schema.type() == Schema.Type.STRUCT) {
+      try {
+        return structConverters.get(schema, () -> compile(schema)).convert(value);
+      } catch (final ExecutionException e) {
+        throw new DataException("Failed to compile the conversion of schema " + schema, e.getCause());
+      }
+    }
+    return compile(schema).convert(value);
+  }
+
+  private static ValueConverter compile(final Schema schema) {
+    final ValueConverter converter = compileNonNull(schema);
+    return value -> {
+      if (value != null) {
+        return converter.convert(value);
+      } else if (schema.defaultValue() != null) {
+        return converter.convert(schema.defaultValue());
+      } else if (schema.isOptional()) {
+        return NODE_FACTORY.nullNode();
+      }
+      throw new DataException("Conversion error: null value for field that is required and has no default value");
+    };
+  }
+
+  private static ValueConverter compileNonNull(final Schema schema) {
+    if (schema.name() != null) {
+      // logical types of Connect, with the default formats of JsonConverter
+      switch (schema.name()) {
+        case Decimal.LOGICAL_NAME -> {
+          return value -> binaryNode(Decimal.fromLogical(schema, (BigDecimal) value));
+        }
+        case Date.LOGICAL_NAME -> {
+          return value -> NODE_FACTORY.numberNode(Date.fromLogical(schema, (java.util.Date) value));
+        }
+        case Time.LOGICAL_NAME -> {
+          return value -> NODE_FACTORY.numberNode(Time.fromLogical(schema, (java.util.Date) value));
+        }
+        case Timestamp.LOGICAL_NAME -> {
+          return value -> integralNode(Timestamp.fromLogical(schema, (java.util.Date) value));
+        }
+        default -> {
+          // not a logical type of Connect, converted from its type
+        }
+      }
+    }
+    return switch (schema.type()) {
+      case INT8, INT16, INT32, INT64 -> value -> integralNode(((Number) value).longValue());
+      case FLOAT32 -> value -> floatingPointNode(Double.parseDouble(Float.toString((Float) value)));
+      case FLOAT64 -> value -> floatingPointNode((Double) value);
+      case BOOLEAN -> value -> NODE_FACTORY.booleanNode((Boolean) value);
+      case STRING -> value -> NODE_FACTORY.textNode(value.toString());
+      case BYTES -> ConnectToJsonConverter::convertBytes;
+      case ARRAY -> {
+        final ValueConverter elementConverter = compile(schema.valueSchema());
+        yield value -> {
+          final ArrayNode array = NODE_FACTORY.arrayNode();
+          ((Collection<?>) value).forEach(element -> array.add(elementConverter.convert(element)));
+          return array;
+        };
+      }
+      case MAP -> {
+        final ValueConverter keyConverter = compile(schema.keySchema());
+        final ValueConverter valueConverter = compile(schema.valueSchema());
+        if (schema.keySchema().type() == Schema.Type.STRING) {
+          yield value -> {
+            final ObjectNode object = NODE_FACTORY.objectNode();
+            ((Map<?, ?>) value).forEach((k, v) -> object.set(keyConverter.convert(k).asText(), valueConverter.convert(v)));
+            return object;
+          };
+        }
+        yield value -> {
+          final ArrayNode entries = NODE_FACTORY.arrayNode();
+          ((Map<?, ?>) value).forEach((k, v) -> entries.add(NODE_FACTORY.arrayNode().add(keyConverter.convert(k)).add(valueConverter.convert(v))));
+          return entries;
+        };
+      }
+      case STRUCT -> {
+        final List<Field> fields = schema.fields();
+        final String[] names = new String[fields.size()];
+        final ValueConverter[] fieldConverters = new ValueConverter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+          names[i] = fields.get(i).name();
+          fieldConverters[i] = compile(fields.get(i).schema());
+        }
+        yield value -> {
+          final Struct struct = (Struct) value;
+          final ObjectNode object = NODE_FACTORY.objectNode();
+          for (int i = 0; i < names.length; i++) {
+            object.set(names[i], fieldConverters[i].convert(struct.get(fields.get(i))));
+          }
+          return object;
+        };
+      }
+    };
+  }
+
+  private static JsonNode convertSchemaless(final Object value) {
+    if (value == null) {
+      return NODE_FACTORY.nullNode();
+    } else if (value instanceof final Struct struct) {
+      return compile(struct.schema()).convert(struct);
+    } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+      return integralNode(((Number) value).longValue());
+    } else if (value instanceof final Float f) {
+      return floatingPointNode(Double.parseDouble(Float.toString(f)));
+    } else if (value instanceof final Double d) {
+      return floatingPointNode(d);
+    } else if (value instanceof final Boolean b) {
+      return NODE_FACTORY.booleanNode(b);
+    } else if (value instanceof byte[] || value instanceof ByteBuffer) {
+      return convertBytes(value);
+    } else if (value instanceof final Collection<?> collection) {
+      final ArrayNode array = NODE_FACTORY.arrayNode();
+      collection.forEach(element -> array.add(convertSchemaless(element)));
+      return array;
+    } else if (value instanceof final Map<?, ?> map) {
+      final ObjectNode object = NODE_FACTORY.objectNode();
+      map.forEach((k, v) -> object.set(String.valueOf(k), convertSchemaless(v)));
+      return object;
+    }
+    return NODE_FACTORY.textNode(value.toString());
+  }
+
+  // a deserialized json number is an int when it fits in one
+  private static JsonNode integralNode(final long value) {
+    return value == (int) value ? NODE_FACTORY.numberNode((int) value) : NODE_FACTORY.numberNode(value);
+  }
+
+  // jackson writes non-finite floating point numbers as strings
+  private static JsonNode floatingPointNode(final double value) {
+    return Double.isFinite(value) ? NODE_FACTORY.numberNode(value) : NODE_FACTORY.textNode(Double.toString(value));
+  }
+
+  private static JsonNode convertBytes(final Object value) {
+    if (value instanceof final byte[] bytes) {
+      return binaryNode(bytes);
+    } else if (value instanceof final ByteBuffer buffer) {
+      return binaryNode(buffer.array());
+    }
+    throw new DataException("Invalid type for bytes type: " + value.getClass());
+  }
+
+  // a binary node is written as base64, which is deserialized as text
+  private static JsonNode binaryNode(final byte[] bytes) {
+    return NODE_FACTORY.textNode(Base64.getEncoder().encodeToString(bytes));
+  }
+
+}
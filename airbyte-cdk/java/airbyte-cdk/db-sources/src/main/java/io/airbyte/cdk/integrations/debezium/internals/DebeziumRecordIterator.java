@@ -13,10 +13,11 @@ import io.debezium.engine.ChangeEvent;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -40,12 +41,14 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumRecordIterator.class);
 
   private final Map<Class<? extends ChangeEvent>, Field> heartbeatEventSourceField;
-  private final LinkedBlockingQueue<ChangeEvent<String, String>> queue;
+  private final ChangeEventBatchQueue<? extends ChangeEvent<?, ?>> queue;
   private final CdcTargetPosition<T> targetPosition;
   private final Supplier<Boolean> publisherStatusSupplier;
   private final Duration firstRecordWaitTime, subsequentRecordWaitTime;
-  private final DebeziumShutdownProcedure<ChangeEvent<String, String>> debeziumShutdownProcedure;
+  private final DebeziumShutdownProcedure<? extends ChangeEvent<?, ?>> debeziumShutdownProcedure;
+  private final ConnectToJsonConverter connectConverter;
 
+  private Iterator<? extends ChangeEvent<?, ?>> currentBatch;
   private boolean receivedFirstRecord;
   private boolean hasSnapshotFinished;
   private LocalDateTime tsLastHeartbeat;
@@ -53,12 +56,16 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
   private int maxInstanceOfNoRecordsFound;
   private boolean signalledDebeziumEngineShutdown;
 
-  public DebeziumRecordIterator(final LinkedBlockingQueue<ChangeEvent<String, String>> queue,
-                                final CdcTargetPosition<T> targetPosition,
-                                final Supplier<Boolean> publisherStatusSupplier,
-                                final DebeziumShutdownProcedure<ChangeEvent<String, String>> debeziumShutdownProcedure,
-                                final Duration firstRecordWaitTime,
-                                final Duration subsequentRecordWaitTime) {
+  /**
+   * @param queue batches of change events published by the {@link DebeziumRecordPublisher}, either
+   *        serialized by Debezium's Json format or as Connect records
+   */
+  public <E extends ChangeEvent<?, ?>> DebeziumRecordIterator(final ChangeEventBatchQueue<E> queue,
+                                                              final CdcTargetPosition<T> targetPosition,
+                                                              final Supplier<Boolean> publisherStatusSupplier,
+                                                              final DebeziumShutdownProcedure<E> debeziumShutdownProcedure,
+                                                              final Duration firstRecordWaitTime,
+                                                              final Duration subsequentRecordWaitTime) {
     this.queue = queue;
     this.targetPosition = targetPosition;
     this.publisherStatusSupplier = publisherStatusSupplier;
@@ -66,6 +73,8 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
     this.firstRecordWaitTime = firstRecordWaitTime;
     this.subsequentRecordWaitTime = subsequentRecordWaitTime;
     this.heartbeatEventSourceField = new HashMap<>(1);
+    this.connectConverter = new ConnectToJsonConverter();
+    this.currentBatch = Collections.emptyIterator();
 
     this.receivedFirstRecord = false;
     this.hasSnapshotFinished = true;
@@ -87,12 +96,12 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
     // keep trying until the publisher is closed or until the queue is empty. the latter case is
     // possible when the publisher has shutdown but the consumer has not yet processed all messages it
     // emitted.
-    while (!MoreBooleans.isTruthy(publisherStatusSupplier.get()) || !queue.isEmpty()) {
-      final ChangeEvent<String, String> next;
+    while (!MoreBooleans.isTruthy(publisherStatusSupplier.get()) || currentBatch.hasNext() || !queue.isEmpty()) {
+      final ChangeEvent<?, ?> next;
 
       final Duration waitTime = receivedFirstRecord ? this.subsequentRecordWaitTime : this.firstRecordWaitTime;
       try {
-        next = queue.poll(waitTime.getSeconds(), TimeUnit.SECONDS);
+        next = pollEvent(waitTime);
       } catch (final InterruptedException e) {
         throw new RuntimeException(e);
       }
@@ -130,7 +139,7 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
         continue;
       }
 
-      final ChangeEventWithMetadata changeEventWithMetadata = new ChangeEventWithMetadata(next);
+      final ChangeEventWithMetadata changeEventWithMetadata = withMetadata(next);
       hasSnapshotFinished = !changeEventWithMetadata.isSnapshotEvent();
 
       // if the last record matches the target file position, it is time to tell the producer to shutdown.
@@ -150,7 +159,7 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
 
     // Read the records that Debezium might have fetched right at the time we called shutdown
     while (!debeziumShutdownProcedure.getRecordsRemainingAfterShutdown().isEmpty()) {
-      final ChangeEvent<String, String> event;
+      final ChangeEvent<?, ?> event;
       try {
         event = debeziumShutdownProcedure.getRecordsRemainingAfterShutdown().poll(100, TimeUnit.MILLISECONDS);
       } catch (final InterruptedException e) {
@@ -159,7 +168,7 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
       if (event == null || isHeartbeatEvent(event)) {
         continue;
       }
-      final ChangeEventWithMetadata changeEventWithMetadata = new ChangeEventWithMetadata(event);
+      final ChangeEventWithMetadata changeEventWithMetadata = withMetadata(event);
       hasSnapshotFinished = !changeEventWithMetadata.isSnapshotEvent();
       return changeEventWithMetadata;
     }
@@ -188,8 +197,37 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
     requestClose("Closing: Iterator closing");
   }
 
-  private boolean isHeartbeatEvent(final ChangeEvent<String, String> event) {
-    return targetPosition.isHeartbeatSupported() && Objects.nonNull(event) && !event.value().contains("source");
+  /**
+   * Takes the next event of the batch being read, or of the next batch of the queue once the batch
+   * being read is over.
+   */
+  private ChangeEvent<?, ?> pollEvent(final Duration waitTime) throws InterruptedException {
+    if (!currentBatch.hasNext()) {
+      final ChangeEventBatchQueue.Batch<? extends ChangeEvent<?, ?>> batch = queue.poll(waitTime.getSeconds(), TimeUnit.SECONDS);
+      if (batch == null) {
+        return null;
+      }
+      currentBatch = batch.events().iterator();
+    }
+    return currentBatch.next();
+  }
+
+  @SuppressWarnings("unchecked")
+  private ChangeEventWithMetadata withMetadata(final ChangeEvent<?, ?> event) {
+    return event.value() instanceof final SourceRecord sourceRecord
+        ? new ChangeEventWithMetadata(sourceRecord, connectConverter)
+        : new ChangeEventWithMetadata((ChangeEvent<String, String>) event);
+  }
+
+  private boolean isHeartbeatEvent(final ChangeEvent<?, ?> event) {
+    return targetPosition.isHeartbeatSupported() && Objects.nonNull(event) && !hasSource(event);
+  }
+
+  private static boolean hasSource(final ChangeEvent<?, ?> event) {
+    if (event.value() instanceof final SourceRecord sourceRecord) {
+      return sourceRecord.valueSchema() != null && sourceRecord.valueSchema().field(DebeziumEventConverter.SOURCE_EVENT) != null;
+    }
+    return ((String) event.value()).contains(DebeziumEventConverter.SOURCE_EVENT);
   }
 
   private boolean heartbeatPosNotChanging() {
@@ -222,7 +260,10 @@ public class DebeziumRecordIterator<T> extends AbstractIterator<ChangeEventWithM
    * reflection to setAccessible for each event
    */
   @VisibleForTesting
-  protected T getHeartbeatPosition(final ChangeEvent<String, String> heartbeatEvent) {
+  protected T getHeartbeatPosition(final ChangeEvent<?, ?> heartbeatEvent) {
+    if (heartbeatEvent.value() instanceof final SourceRecord sourceRecord) {
+      return targetPosition.extractPositionFromHeartbeatOffset(sourceRecord.sourceOffset());
+    }
 
     try {
       final Class<? extends ChangeEvent> eventClass = heartbeatEvent.getClass();
@@ -6,7 +6,9 @@ package io.airbyte.cdk.integrations.debezium.internals;
 
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine;
+import io.debezium.engine.DebeziumEngine.ChangeConsumer;
 import io.debezium.engine.format.Json;
+import io.debezium.engine.format.SerializationFormat;
 import io.debezium.engine.spi.OffsetCommitPolicy;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
@@ -16,6 +18,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,7 +30,7 @@ public class DebeziumRecordPublisher implements AutoCloseable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumRecordPublisher.class);
   private final ExecutorService executor;
-  private DebeziumEngine<ChangeEvent<String, String>> engine;
+  private DebeziumEngine<?> engine;
   private final AtomicBoolean hasClosed;
   private final AtomicBoolean isClosing;
   private final AtomicReference<Throwable> thrownError;
@@ -46,23 +49,50 @@ public class DebeziumRecordPublisher implements AutoCloseable {
   public void start(final BlockingQueue<ChangeEvent<String, String>> queue,
                     final AirbyteFileOffsetBackingStore offsetManager,
                     final Optional<AirbyteSchemaHistoryStorage> schemaHistoryManager) {
-    engine = DebeziumEngine.create(Json.class)
+    start(Json.class, (records, committer) -> {
+      for (final ChangeEvent<String, String> record : records) {
+        if (!isTombstone(record)) {
+          queue.put(record);
+        }
+        committer.markProcessed(record);
+      }
+      committer.markBatchFinished();
+    }, offsetManager, schemaHistoryManager);
+  }
+
+  /**
+   * Starts the engine with the given format of the change events. With
+   * {@link io.debezium.embedded.Connect}, the value of a change event is the {@link SourceRecord}
+   * itself, which saves serializing every event to a string.
+   * <p>
+   * Each batch of change events produced by the engine is put into the queue as a whole, and the
+   * offsets of the batch are committed once it is queued.
+   */
+  public <V> void start(final Class<? extends SerializationFormat<V>> format,
+                        final ChangeEventBatchQueue<ChangeEvent<V, V>> queue,
+                        final AirbyteFileOffsetBackingStore offsetManager,
+                        final Optional<AirbyteSchemaHistoryStorage> schemaHistoryManager) {
+    start(format, (records, committer) -> {
+      // debezium outputs a tombstone event that has a value of null. this is an artifact of how it
+      // interacts with kafka. we want to ignore it.
+      // more on the tombstone:
+      // https://debezium.io/documentation/reference/2.2/transformations/event-flattening.html
+      queue.put(records.stream().filter(record -> !isTombstone(record)).toList());
+      for (final ChangeEvent<V, V> record : records) {
+        committer.markProcessed(record);
+      }
+      committer.markBatchFinished();
+    }, offsetManager, schemaHistoryManager);
+  }
+
+  private <V> void start(final Class<? extends SerializationFormat<V>> format,
+                         final ChangeConsumer<ChangeEvent<V, V>> changeConsumer,
+                         final AirbyteFileOffsetBackingStore offsetManager,
+                         final Optional<AirbyteSchemaHistoryStorage> schemaHistoryManager) {
+    engine = DebeziumEngine.create(format)
         .using(debeziumPropertiesManager.getDebeziumProperties(offsetManager, schemaHistoryManager))
         .using(new OffsetCommitPolicy.AlwaysCommitOffsetPolicy())
-        .notifying(e -> {
-          // debezium outputs a tombstone event that has a value of null. this is an artifact of how it
-          // interacts with kafka. we want to ignore it.
-          // more on the tombstone:
-          // https://debezium.io/documentation/reference/2.2/transformations/event-flattening.html
-          if (e.value() != null) {
-            try {
-              queue.put(e);
-            } catch (final InterruptedException ex) {
-              Thread.currentThread().interrupt();
-              throw new RuntimeException(ex);
-            }
-          }
-        })
+        .notifying(changeConsumer)
         .using((success, message, error) -> {
           LOGGER.info("Debezium engine shutdown. Engine terminated successfully : {}", success);
           LOGGER.info(message);
@@ -83,6 +113,10 @@ public class DebeziumRecordPublisher implements AutoCloseable {
     executor.execute(engine);
   }
 
+  private static boolean isTombstone(final ChangeEvent<?, ?> event) {
+    return event.value() == null || event.value() instanceof final SourceRecord sourceRecord && sourceRecord.value() == null;
+  }
+
   public boolean hasClosed() {
     return hasClosed.get();
   }
@@ -6,6 +6,7 @@ package io.airbyte.cdk.integrations.debezium.internals;
 
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.lang.MoreBooleans;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -21,7 +22,7 @@ import org.slf4j.LoggerFactory;
 public class DebeziumShutdownProcedure<T> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumShutdownProcedure.class);
-  private final LinkedBlockingQueue<T> sourceQueue;
+  private final SourceQueue<T> sourceQueue;
   private final LinkedBlockingQueue<T> targetQueue;
   private final ExecutorService executorService;
   private final Supplier<Boolean> publisherStatusSupplier;
@@ -29,9 +30,65 @@ public class DebeziumShutdownProcedure<T> {
   private Throwable exception;
   private boolean hasTransferThreadShutdown;
 
+  /**
+   * Queue the records are moved out of, either one event or one batch of events at a time.
+   */
+  private interface SourceQueue<T> {
+
+    boolean isEmpty();
+
+    /**
+     * @return the events taken from the queue, empty if none was added within the given time
+     */
+    List<T> poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+  }
+
+  public DebeziumShutdownProcedure(final ChangeEventBatchQueue<T> sourceQueue,
+                                   final VoidCallable debeziumThreadRequestClose,
+                                   final Supplier<Boolean> publisherStatusSupplier) {
+    this(new SourceQueue<>() {
+
+      @Override
+      public boolean isEmpty() {
+        return sourceQueue.isEmpty();
+      }
+
+      @Override
+      public List<T> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final ChangeEventBatchQueue.Batch<T> batch = sourceQueue.poll(timeout, unit);
+        return batch == null ? List.of() : batch.events();
+      }
+
+    }, debeziumThreadRequestClose, publisherStatusSupplier);
+  }
+
+  /**
+   * For connectors that still hand the events of the engine over one by one through a
+   * {@link LinkedBlockingQueue}.
+   */
   public DebeziumShutdownProcedure(final LinkedBlockingQueue<T> sourceQueue,
                                    final VoidCallable debeziumThreadRequestClose,
                                    final Supplier<Boolean> publisherStatusSupplier) {
+    this(new SourceQueue<>() {
+
+      @Override
+      public boolean isEmpty() {
+        return sourceQueue.isEmpty();
+      }
+
+      @Override
+      public List<T> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final T event = sourceQueue.poll(timeout, unit);
+        return event == null ? List.of() : List.of(event);
+      }
+
+    }, debeziumThreadRequestClose, publisherStatusSupplier);
+  }
+
+  private DebeziumShutdownProcedure(final SourceQueue<T> sourceQueue,
+                                    final VoidCallable debeziumThreadRequestClose,
+                                    final Supplier<Boolean> publisherStatusSupplier) {
     this.sourceQueue = sourceQueue;
     this.targetQueue = new LinkedBlockingQueue<>();
     this.debeziumThreadRequestClose = debeziumThreadRequestClose;
@@ -50,10 +107,7 @@ public class DebeziumShutdownProcedure<T> {
     return () -> {
       while (!sourceQueue.isEmpty() || !hasEngineShutDown()) {
         try {
-          final T event = sourceQueue.poll(100, TimeUnit.MILLISECONDS);
-          if (event != null) {
-            targetQueue.put(event);
-          }
+          targetQueue.addAll(sourceQueue.poll(100, TimeUnit.MILLISECONDS));
         } catch (final InterruptedException e) {
           Thread.currentThread().interrupt();
           throw new RuntimeException(e);
@@ -22,12 +22,11 @@ public class RelationalDbDebeziumEventConverter implements DebeziumEventConverte
 
   @Override
   public AirbyteMessage toAirbyteMessage(ChangeEventWithMetadata event) {
-    final JsonNode debeziumEvent = event.eventValueAsJson();
-    final JsonNode before = debeziumEvent.get(DebeziumEventConverter.BEFORE_EVENT);
-    final JsonNode after = debeziumEvent.get(DebeziumEventConverter.AFTER_EVENT);
-    final JsonNode source = debeziumEvent.get(DebeziumEventConverter.SOURCE_EVENT);
+    // only the parts of the event that make the record, for events read as Connect records
+    final JsonNode after = event.eventValueField(DebeziumEventConverter.AFTER_EVENT);
+    final JsonNode source = event.eventSourceAsJson();
 
-    final ObjectNode baseNode = (ObjectNode) (after.isNull() ? before : after);
+    final ObjectNode baseNode = (ObjectNode) (after.isNull() ? event.eventValueField(DebeziumEventConverter.BEFORE_EVENT) : after);
     final JsonNode data = DebeziumEventConverter.addCdcMetadata(baseNode, source, cdcMetadataInjector, after.isNull());
     return DebeziumEventConverter.buildAirbyteMessage(source, cdcMetadataInjector, emittedAt, data);
   }
@@ -38,6 +38,7 @@ import io.airbyte.cdk.db.SqlDatabase;
 import io.airbyte.cdk.db.factory.DataSourceFactory;
 import io.airbyte.cdk.db.jdbc.JdbcDatabase;
 import io.airbyte.cdk.db.jdbc.JdbcUtils;
+import io.airbyte.cdk.db.jdbc.SerializedRow;
 import io.airbyte.cdk.db.jdbc.StreamingJdbcDatabase;
 import io.airbyte.cdk.db.jdbc.streaming.JdbcStreamingQueryConfig;
 import io.airbyte.cdk.integrations.base.Source;
@@ -47,6 +48,7 @@ import io.airbyte.cdk.integrations.source.relationaldb.CursorInfo;
 import io.airbyte.cdk.integrations.source.relationaldb.TableInfo;
 import io.airbyte.cdk.integrations.source.relationaldb.state.StateManager;
 import io.airbyte.commons.functional.CheckedConsumer;
+import io.airbyte.commons.functional.CheckedFunction;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.stream.AirbyteStreamUtils;
 import io.airbyte.commons.util.AutoCloseableIterator;
@@ -119,16 +121,49 @@ public abstract class AbstractJdbcSource<Datatype> extends AbstractDbSource<Data
       return queryTable(database, String.format("SELECT %s FROM %s ORDER BY %s ASC",
           enquoteIdentifierList(columnNames, getQuoteString()),
           getFullyQualifiedTableNameWithQuoting(schemaName, tableName, getQuoteString()), quotedCursorField),
-          tableName, schemaName);
+          tableName, schemaName, getRecordTransform(cursorField));
     } else {
       // If we are in FULL_REFRESH mode, state messages are never emitted, so we don't care about ordering
       // of the records.
       return queryTable(database, String.format("SELECT %s FROM %s",
           enquoteIdentifierList(columnNames, getQuoteString()),
-          getFullyQualifiedTableNameWithQuoting(schemaName, tableName, getQuoteString())), tableName, schemaName);
+          getFullyQualifiedTableNameWithQuoting(schemaName, tableName, getQuoteString())), tableName, schemaName,
+          getRecordTransform(cursorField));
     }
   }
 
+  /**
+   * When true, rows are written straight to JSON bytes as they are read, instead of being converted
+   * to an object tree that is serialized again when the record is emitted. The record data then only
+   * holds the cursor field as a tree, see {@link SerializedRow}.
+   */
+  protected boolean serializeRowsWhileReading() {
+    return false;
+  }
+
+  /**
+   * Number of rows of a table that are read and converted ahead of the emission of their records, on
+   * a thread per query, so that waiting on the database overlaps with the serialization of the
+   * records, see {@link StreamingJdbcDatabase}. These rows are held in memory on top of the fetched
+   * ones. The rows are read when their records are emitted if 0.
+   */
+  protected int getReadAheadRowCount() {
+    return 0;
+  }
+
+  /**
+   * @param cursorField cursor field whose value must stay readable from the converted rows
+   * @return the function converting every row read from a table
+   */
+  protected CheckedFunction<ResultSet, JsonNode, SQLException> getRecordTransform(final Optional<String> cursorField) {
+    if (!serializeRowsWhileReading()) {
+      return sourceOperations.rowToJsonMapper();
+    }
+    final CheckedFunction<ResultSet, SerializedRow, SQLException> rowToSerializedJsonMapper =
+        sourceOperations.rowToSerializedJsonMapper(cursorField.map(Set::of).orElse(Set.of()));
+    return resultSet -> rowToSerializedJsonMapper.apply(resultSet).toNode();
+  }
+
   /**
    * Configures a list of operations that can be used to check the connection to the source.
    *
@@ -370,7 +405,7 @@ public abstract class AbstractJdbcSource<Datatype> extends AbstractDbSource<Data
               sourceOperations.setCursorField(preparedStatement, 1, cursorFieldType, cursorInfo.getCursor());
               return preparedStatement;
             },
-            sourceOperations::rowToJson);
+            getRecordTransform(Optional.of(cursorInfo.getCursorField())));
         return AutoCloseableIterators.fromStream(stream, airbyteStream);
       } catch (final SQLException e) {
         throw new RuntimeException(e);
@@ -446,7 +481,8 @@ public abstract class AbstractJdbcSource<Datatype> extends AbstractDbSource<Data
     final JdbcDatabase database = new StreamingJdbcDatabase(
         dataSource,
         sourceOperations,
-        streamingQueryConfigProvider);
+        streamingQueryConfigProvider,
+        getReadAheadRowCount());
 
     quoteString = (quoteString == null ? database.getMetaData().getIdentifierQuoteString() : quoteString);
     database.setSourceConfig(sourceConfig);
@@ -13,6 +13,7 @@ import datadog.trace.api.Trace;
 import io.airbyte.cdk.db.AbstractDatabase;
 import io.airbyte.cdk.db.IncrementalUtils;
 import io.airbyte.cdk.db.jdbc.JdbcDatabase;
+import io.airbyte.cdk.db.jdbc.SerializedRow;
 import io.airbyte.cdk.integrations.JdbcConnector;
 import io.airbyte.cdk.integrations.base.AirbyteTraceMessageUtility;
 import io.airbyte.cdk.integrations.base.Source;
@@ -405,6 +406,7 @@ public abstract class AbstractDbSource<DataType, Database extends AbstractDataba
               stateManager,
               pair,
               cursorField,
+              record -> SerializedRow.readableFields(record.getData()).get(cursorField),
               cursorInfo.map(CursorInfo::getCursor).orElse(null),
               cursorType,
               getStateEmissionFrequency()),
@@ -6,11 +6,16 @@ package io.airbyte.cdk.integrations.source.relationaldb;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.cdk.db.SqlDatabase;
+import io.airbyte.cdk.db.jdbc.JdbcDatabase;
+import io.airbyte.commons.functional.CheckedFunction;
+import io.airbyte.commons.functional.CheckedSupplier;
 import io.airbyte.commons.stream.AirbyteStreamUtils;
 import io.airbyte.commons.util.AutoCloseableIterator;
 import io.airbyte.commons.util.AutoCloseableIterators;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
@@ -71,11 +76,31 @@ public class RelationalDbQueryUtils {
                                                                                           final String sqlQuery,
                                                                                           final String tableName,
                                                                                           final String schemaName) {
+    return queryTable(() -> database.unsafeQuery(sqlQuery), sqlQuery, tableName, schemaName);
+  }
+
+  /**
+   * Same as {@link #queryTable(SqlDatabase, String, String, String)}, with every row converted by the
+   * given function.
+   */
+  public static AutoCloseableIterator<JsonNode> queryTable(final JdbcDatabase database,
+                                                           final String sqlQuery,
+                                                           final String tableName,
+                                                           final String schemaName,
+                                                           final CheckedFunction<ResultSet, JsonNode, SQLException> recordTransform) {
+    return queryTable(() -> database.unsafeQuery(connection -> connection.prepareStatement(sqlQuery), recordTransform),
+        sqlQuery, tableName, schemaName);
+  }
+
+  private static AutoCloseableIterator<JsonNode> queryTable(final CheckedSupplier<Stream<JsonNode>, Exception> query,
+                                                            final String sqlQuery,
+                                                            final String tableName,
+                                                            final String schemaName) {
     final AirbyteStreamNameNamespacePair airbyteStreamNameNamespacePair = AirbyteStreamUtils.convertFromNameAndNamespace(tableName, schemaName);
     return AutoCloseableIterators.lazyIterator(() -> {
       try {
         LOGGER.info("Queueing query: {}", sqlQuery);
-        final Stream<JsonNode> stream = database.unsafeQuery(sqlQuery);
+        final Stream<JsonNode> stream = query.get();
         return AutoCloseableIterators.fromStream(stream, airbyteStreamNameNamespacePair);
       } catch (final Exception e) {
         throw new RuntimeException(e);
@@ -4,18 +4,21 @@
 
 package io.airbyte.cdk.integrations.source.relationaldb;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.AbstractIterator;
 import io.airbyte.cdk.db.IncrementalUtils;
 import io.airbyte.cdk.integrations.source.relationaldb.state.StateManager;
 import io.airbyte.protocol.models.JsonSchemaPrimitiveUtil.JsonSchemaPrimitive;
 import io.airbyte.protocol.models.v0.AirbyteMessage;
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type;
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
 import io.airbyte.protocol.models.v0.AirbyteStateMessage;
 import io.airbyte.protocol.models.v0.AirbyteStateStats;
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +30,7 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
   private final StateManager stateManager;
   private final AirbyteStreamNameNamespacePair pair;
   private final String cursorField;
+  private final Function<AirbyteRecordMessage, JsonNode> cursorValueOf;
   private final JsonSchemaPrimitive cursorType;
 
   private final String initialCursor;
@@ -79,18 +83,38 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
                                  final String initialCursor,
                                  final JsonSchemaPrimitive cursorType,
                                  final int stateEmissionFrequency) {
+    this(messageIterator, stateManager, pair, cursorField, record -> record.getData().get(cursorField), initialCursor, cursorType,
+        stateEmissionFrequency);
+  }
+
+  /**
+   * Same as
+   * {@link #StateDecoratingIterator(Iterator, StateManager, AirbyteStreamNameNamespacePair, String, String, JsonSchemaPrimitive, int)},
+   * for records whose cursor value cannot be read from their data as is.
+   *
+   * @param cursorValueOf returns the cursor value of a record, null if it has none
+   */
+  public StateDecoratingIterator(final Iterator<AirbyteMessage> messageIterator,
+                                 final StateManager stateManager,
+                                 final AirbyteStreamNameNamespacePair pair,
+                                 final String cursorField,
+                                 final Function<AirbyteRecordMessage, JsonNode> cursorValueOf,
+                                 final String initialCursor,
+                                 final JsonSchemaPrimitive cursorType,
+                                 final int stateEmissionFrequency) {
     this.messageIterator = messageIterator;
     this.stateManager = stateManager;
     this.pair = pair;
     this.cursorField = cursorField;
+    this.cursorValueOf = cursorValueOf;
     this.cursorType = cursorType;
     this.initialCursor = initialCursor;
     this.currentMaxCursor = initialCursor;
     this.stateEmissionFrequency = stateEmissionFrequency;
   }
 
-  private String getCursorCandidate(final AirbyteMessage message) {
-    final String cursorCandidate = message.getRecord().getData().get(cursorField).asText();
+  private String getCursorCandidate(final JsonNode cursorValue) {
+    final String cursorCandidate = cursorValue.asText();
     return (cursorCandidate != null ? replaceNull(cursorCandidate) : null);
   }
 
@@ -135,8 +159,9 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
       // Use try-catch to catch Exception that could occur when connection to the database fails
       try {
         final AirbyteMessage message = messageIterator.next();
-        if (message.getRecord().getData().hasNonNull(cursorField)) {
-          final String cursorCandidate = getCursorCandidate(message);
+        final JsonNode cursorValue = cursorValueOf.apply(message.getRecord());
+        if (cursorValue != null && !cursorValue.isNull()) {
+          final String cursorCandidate = getCursorCandidate(cursorValue);
           final int cursorComparison = IncrementalUtils.compareCursors(currentMaxCursor, cursorCandidate, cursorType);
           if (cursorComparison < 0) {
             // Update the current max cursor only when current max cursor < cursor candidate from the message
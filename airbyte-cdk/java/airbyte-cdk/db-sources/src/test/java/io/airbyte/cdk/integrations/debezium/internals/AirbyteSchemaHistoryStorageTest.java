@@ -12,9 +12,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import io.airbyte.cdk.integrations.debezium.internals.AirbyteSchemaHistoryStorage.SchemaHistory;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.resources.MoreResources;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class AirbyteSchemaHistoryStorageTest {
 
@@ -76,4 +83,80 @@ public class AirbyteSchemaHistoryStorageTest {
     assertEquals(schemaHistoryFromUncompressedContent.schema(), schemaHistoryFromCompressedContent.schema());
   }
 
+  @Test
+  public void testAppendedLinesAreReadIncrementally(@TempDir final Path tempDir) throws IOException {
+    final Path path = tempDir.resolve("dbhistory.dat");
+    Files.writeString(path, historyLines(0, 10));
+    final AirbyteSchemaHistoryStorage schemaHistoryStorage = new AirbyteSchemaHistoryStorage(path, true);
+    assertEquals(schemaHistoryStorage.readUncompressed(), schemaHistoryStorage.read().schema());
+
+    // a line Debezium is still writing is only read once complete
+    final String appended = historyLines(10, 12);
+    Files.writeString(path, appended.substring(0, appended.length() - 10), StandardOpenOption.APPEND);
+    assertEquals(historyLines(0, 11), schemaHistoryStorage.read().schema());
+    Files.writeString(path, appended.substring(appended.length() - 10), StandardOpenOption.APPEND);
+    final SchemaHistory<String> schemaHistory = schemaHistoryStorage.read();
+
+    assertFalse(schemaHistory.isCompressed());
+    assertEquals(schemaHistoryStorage.readUncompressed(), schemaHistory.schema());
+  }
+
+  @Test
+  public void testCompressedHistoryOnlyCompressesAppendedLines(@TempDir final Path tempDir) throws Exception {
+    final Path path = tempDir.resolve("dbhistory.dat");
+    final int lineCount = 30_000;
+    Files.writeString(path, historyLines(0, lineCount));
+    final AirbyteSchemaHistoryStorage schemaHistoryStorage = new AirbyteSchemaHistoryStorage(path, true);
+    assertTrue(schemaHistoryStorage.read().isCompressed());
+    assertEquals(1, schemaHistoryStorage.getCompressedSegmentCount());
+
+    Files.writeString(path, historyLines(lineCount, lineCount + 1), StandardOpenOption.APPEND);
+    final SchemaHistory<String> schemaHistory = schemaHistoryStorage.read();
+    assertTrue(schemaHistory.isCompressed());
+    assertEquals(2, schemaHistoryStorage.getCompressedSegmentCount());
+    assertEquals(schemaHistoryStorage.readUncompressed(), decompress(schemaHistory.schema()));
+
+    // the saved history is the first segment of the next sync
+    final AirbyteSchemaHistoryStorage nextSchemaHistoryStorage = AirbyteSchemaHistoryStorage.initializeDBHistory(
+        new SchemaHistory<>(Optional.of(Jsons.jsonNode(schemaHistory.schema())), true), true);
+    assertEquals(schemaHistory.schema(), nextSchemaHistoryStorage.read().schema());
+    assertEquals(1, nextSchemaHistoryStorage.getCompressedSegmentCount());
+  }
+
+  @Test
+  public void testCompressedSegmentsAreCompacted(@TempDir final Path tempDir) throws Exception {
+    final Path path = tempDir.resolve("dbhistory.dat");
+    int lineCount = 30_000;
+    Files.writeString(path, historyLines(0, lineCount));
+    final AirbyteSchemaHistoryStorage schemaHistoryStorage = new AirbyteSchemaHistoryStorage(path, true);
+    for (int i = 0; i < AirbyteSchemaHistoryStorage.MAX_COMPRESSED_SEGMENTS; i++) {
+      Files.writeString(path, historyLines(lineCount, ++lineCount), StandardOpenOption.APPEND);
+      schemaHistoryStorage.read();
+    }
+
+    final long deadline = System.currentTimeMillis() + 10_000;
+    while (schemaHistoryStorage.getCompressedSegmentCount() > 1 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, schemaHistoryStorage.getCompressedSegmentCount());
+    assertEquals(schemaHistoryStorage.readUncompressed(), decompress(schemaHistoryStorage.read().schema()));
+  }
+
+  private static String historyLines(final int from, final int to) {
+    final StringBuilder lines = new StringBuilder();
+    for (int i = from; i < to; i++) {
+      lines.append("{\"source\":{\"server\":\"test\"},\"position\":{\"file\":\"binlog.000002\",\"pos\":").append(i)
+          .append("},\"databaseName\":\"test\",\"ddl\":\"CREATE TABLE table_").append(i)
+          .append(" (id INT NOT NULL, name VARCHAR(255), PRIMARY KEY (id))\"}")
+          .append(System.lineSeparator());
+    }
+    return lines.toString();
+  }
+
+  private static String decompress(final String schema) throws IOException {
+    try (final GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(Jsons.deserialize(schema, byte[].class)))) {
+      return new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
 }
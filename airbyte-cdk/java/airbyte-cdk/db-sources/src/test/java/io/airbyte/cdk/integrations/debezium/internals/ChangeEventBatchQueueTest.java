@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.debezium.internals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.debezium.engine.ChangeEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+
+class ChangeEventBatchQueueTest {
+
+  @Test
+  void testBatchesArePolledWhole() throws Exception {
+    final ChangeEventBatchQueue<String> queue = new ChangeEventBatchQueue<>(10, 100, String::length);
+    queue.put(List.of("a", "bb"));
+    queue.put(List.of());
+    queue.put(List.of("ccc"));
+    assertEquals(3, queue.size());
+    assertEquals(6, queue.sizeInBytes());
+
+    final ChangeEventBatchQueue.Batch<String> first = queue.poll(1, TimeUnit.SECONDS);
+    assertEquals(List.of("a", "bb"), first.events());
+    assertEquals(3, first.sizeInBytes());
+    assertEquals(List.of("ccc"), queue.poll(1, TimeUnit.SECONDS).events());
+    assertTrue(queue.isEmpty());
+    assertEquals(0, queue.sizeInBytes());
+    assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testPutWaitsForRoomInBytes() throws Exception {
+    final ChangeEventBatchQueue<String> queue = new ChangeEventBatchQueue<>(10, 10, String::length);
+    queue.put(List.of("aaaaaaaa"));
+    final CompletableFuture<Void> put = CompletableFuture.runAsync(() -> {
+      try {
+        queue.put(List.of("bbbbb"));
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(put.isDone());
+
+    queue.poll(1, TimeUnit.SECONDS);
+    put.get(10, TimeUnit.SECONDS);
+    assertEquals(List.of("bbbbb"), queue.poll(1, TimeUnit.SECONDS).events());
+  }
+
+  @Test
+  void testPutWaitsForRoomInEvents() throws Exception {
+    final ChangeEventBatchQueue<String> queue = new ChangeEventBatchQueue<>(2, 100, String::length);
+    queue.put(List.of("a"));
+    final CompletableFuture<Void> put = CompletableFuture.runAsync(() -> {
+      try {
+        queue.put(List.of("b", "c"));
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(put.isDone());
+
+    queue.poll(1, TimeUnit.SECONDS);
+    put.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testOversizedBatchIsAcceptedByAnEmptyQueue() throws Exception {
+    final ChangeEventBatchQueue<String> queue = new ChangeEventBatchQueue<>(1, 1, String::length);
+    queue.put(List.of("larger", "than", "the", "queue"));
+    assertEquals(4, queue.poll(1, TimeUnit.SECONDS).events().size());
+  }
+
+  @Test
+  void testEstimateSizeInBytes() {
+    final Schema schema = SchemaBuilder.struct()
+        .field("id", Schema.INT64_SCHEMA)
+        .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+        .build();
+    final SourceRecord narrow = new SourceRecord(null, null, "topic", null, null, null, schema,
+        new Struct(schema).put("id", 1L).put("name", "a"));
+    final SourceRecord wide = new SourceRecord(null, null, "topic", null, null, null, schema,
+        new Struct(schema).put("id", 1L).put("name", "a".repeat(1_000)));
+
+    assertEquals(2 * 999, ChangeEventBatchQueue.estimateSizeInBytes(changeEvent(wide))
+        - ChangeEventBatchQueue.estimateSizeInBytes(changeEvent(narrow)));
+    assertEquals(2 * 999, ChangeEventBatchQueue.estimateSizeInBytes(changeEvent("a".repeat(1_000)))
+        - ChangeEventBatchQueue.estimateSizeInBytes(changeEvent("a")));
+  }
+
+  private static <V> ChangeEvent<V, V> changeEvent(final V value) {
+    return new ChangeEvent<>() {
+
+      @Override
+      public V key() {
+        return null;
+      }
+
+      @Override
+      public V value() {
+        return value;
+      }
+
+      @Override
+      public String destination() {
+        return "topic";
+      }
+
+    };
+  }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.debezium.internals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.cdk.integrations.debezium.CdcMetadataInjector;
+import io.airbyte.commons.json.Jsons;
+import io.debezium.engine.ChangeEvent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectToJsonConverterTest {
+
+  private static final String TOPIC = "test.public.users";
+
+  private static final Schema ROW_SCHEMA = SchemaBuilder.struct().name("test.public.users.Value").optional()
+      .field("id", Schema.INT64_SCHEMA)
+      .field("small", Schema.OPTIONAL_INT16_SCHEMA)
+      .field("big", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ratio", Schema.OPTIONAL_FLOAT32_SCHEMA)
+      .field("price", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("not_a_number", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("active", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("nickname", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("status", SchemaBuilder.string().optional().defaultValue("new").build())
+      .field("payload", Schema.OPTIONAL_BYTES_SCHEMA)
+      .field("amount", Decimal.builder(2).optional().build())
+      .field("birthday", Date.builder().optional().build())
+      .field("created_at", Timestamp.builder().optional().build())
+      .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+      .field("attributes", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.OPTIONAL_INT32_SCHEMA).optional().build())
+      .field("scores", SchemaBuilder.map(Schema.INT32_SCHEMA, Schema.STRING_SCHEMA).optional().build())
+      .build();
+  private static final Schema SOURCE_SCHEMA = SchemaBuilder.struct().name("io.debezium.connector.postgresql.Source")
+      .field("db", Schema.STRING_SCHEMA)
+      .field("schema", Schema.STRING_SCHEMA)
+      .field("table", Schema.STRING_SCHEMA)
+      .field("snapshot", SchemaBuilder.string().optional().defaultValue("false").build())
+      .field("ts_ms", Schema.INT64_SCHEMA)
+      .field("lsn", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct().name("test.public.users.Envelope")
+      .field("before", ROW_SCHEMA)
+      .field("after", ROW_SCHEMA)
+      .field("source", SOURCE_SCHEMA)
+      .field("op", Schema.STRING_SCHEMA)
+      .field("ts_ms", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+  private static final Schema KEY_SCHEMA = SchemaBuilder.struct().name("test.public.users.Key")
+      .field("id", Schema.INT64_SCHEMA)
+      .build();
+
+  private static final CdcMetadataInjector<Object> METADATA_INJECTOR = new CdcMetadataInjector<>() {
+
+    @Override
+    public void addMetaData(final ObjectNode event, final JsonNode source) {
+      event.put("_ab_cdc_lsn", source.get("lsn").asLong());
+    }
+
+    @Override
+    public String namespace(final JsonNode source) {
+      return source.get("schema").asText();
+    }
+
+    @Override
+    public String name(final JsonNode source) {
+      return source.get("table").asText();
+    }
+
+  };
+
+  private JsonConverter jsonConverter;
+  private ConnectToJsonConverter connectToJsonConverter;
+
+  @BeforeEach
+  void setup() {
+    // as configured by Debezium's Json format with schemas.enable=false
+    jsonConverter = new JsonConverter();
+    jsonConverter.configure(Map.of("schemas.enable", "false"), false);
+    connectToJsonConverter = new ConnectToJsonConverter();
+  }
+
+  @Test
+  void testConversionMatchesJsonConverter() {
+    final SourceRecord sourceRecord = update();
+
+    assertEquals(toJsonThroughString(sourceRecord.valueSchema(), sourceRecord.value()),
+        connectToJsonConverter.toJson(sourceRecord.valueSchema(), sourceRecord.value()));
+    assertEquals(toJsonThroughString(sourceRecord.keySchema(), sourceRecord.key()),
+        connectToJsonConverter.toJson(sourceRecord.keySchema(), sourceRecord.key()));
+    // the compiled conversion of the schema is reused
+    assertEquals(toJsonThroughString(sourceRecord.valueSchema(), sourceRecord.value()),
+        connectToJsonConverter.toJson(sourceRecord.valueSchema(), sourceRecord.value()));
+  }
+
+  @Test
+  void testSchemalessConversionMatchesJsonConverter() {
+    final Map<String, Object> heartbeat = Map.of("ts_ms", 1667616934701L, "count", 3, "tags", List.of("a", "b"));
+    assertEquals(toJsonThroughString(null, heartbeat), connectToJsonConverter.toJson(null, heartbeat));
+  }
+
+  @Test
+  void testEventWithMetadataMatchesJsonEvent() {
+    final RelationalDbDebeziumEventConverter eventConverter = new RelationalDbDebeziumEventConverter(METADATA_INJECTOR, Instant.EPOCH);
+    for (final SourceRecord sourceRecord : List.of(update(), delete())) {
+      final ChangeEventWithMetadata jsonEvent = new ChangeEventWithMetadata(toJsonEvent(sourceRecord));
+      final ChangeEventWithMetadata connectEvent = new ChangeEventWithMetadata(sourceRecord, connectToJsonConverter);
+
+      assertEquals(jsonEvent.isSnapshotEvent(), connectEvent.isSnapshotEvent());
+      assertEquals(jsonEvent.eventSourceAsJson(), connectEvent.eventSourceAsJson());
+      assertEquals(jsonEvent.eventKeyAsJson(), connectEvent.eventKeyAsJson());
+      assertEquals(jsonEvent.eventValueAsJson(), new ChangeEventWithMetadata(sourceRecord, connectToJsonConverter).eventValueAsJson());
+      assertEquals(eventConverter.toAirbyteMessage(jsonEvent), eventConverter.toAirbyteMessage(connectEvent));
+    }
+  }
+
+  private static SourceRecord update() {
+    final Struct before = new Struct(ROW_SCHEMA)
+        .put("id", 1L)
+        .put("name", "before");
+    final Struct after = new Struct(ROW_SCHEMA)
+        .put("id", 1L)
+        .put("small", (short) 7)
+        .put("big", 1L << 40)
+        .put("ratio", 0.1f)
+        .put("price", 12.5)
+        .put("not_a_number", Double.NaN)
+        .put("active", true)
+        .put("name", "after")
+        .put("payload", "bytes".getBytes(StandardCharsets.UTF_8))
+        .put("amount", new BigDecimal("-1234.56"))
+        .put("birthday", java.util.Date.from(Instant.parse("1990-05-01T00:00:00Z")))
+        .put("created_at", java.util.Date.from(Instant.parse("2023-11-14T10:15:30.123Z")))
+        .put("tags", List.of("a", "b"))
+        .put("attributes", Map.of("height", 180))
+        .put("scores", Map.of(1, "one"));
+    return sourceRecord(before, after, "u");
+  }
+
+  private static SourceRecord delete() {
+    final Struct before = new Struct(ROW_SCHEMA)
+        .put("id", 2L)
+        .put("name", "deleted");
+    return sourceRecord(before, null, "d");
+  }
+
+  private static SourceRecord sourceRecord(final Struct before, final Struct after, final String op) {
+    final Struct source = new Struct(SOURCE_SCHEMA)
+        .put("db", "test")
+        .put("schema", "public")
+        .put("table", "users")
+        .put("ts_ms", 1700000000000L)
+        .put("lsn", 358824993496L);
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("before", before)
+        .put("after", after)
+        .put("source", source)
+        .put("op", op)
+        .put("ts_ms", 1700000000123L);
+    final Struct key = new Struct(KEY_SCHEMA).put("id", before.get("id"));
+    return new SourceRecord(Map.of(), Map.of("lsn", 358824993496L), TOPIC, null, KEY_SCHEMA, key, VALUE_SCHEMA, value);
+  }
+
+  private JsonNode toJsonThroughString(final Schema schema, final Object value) {
+    return Jsons.deserialize(new String(jsonConverter.fromConnectData(TOPIC, schema, value), StandardCharsets.UTF_8));
+  }
+
+  private ChangeEvent<String, String> toJsonEvent(final SourceRecord sourceRecord) {
+    final String key = new String(jsonConverter.fromConnectData(TOPIC, sourceRecord.keySchema(), sourceRecord.key()), StandardCharsets.UTF_8);
+    final String value = new String(jsonConverter.fromConnectData(TOPIC, sourceRecord.valueSchema(), sourceRecord.value()), StandardCharsets.UTF_8);
+    return new ChangeEvent<>() {
+
+      @Override
+      public String key() {
+        return key;
+      }
+
+      @Override
+      public String value() {
+        return value;
+      }
+
+      @Override
+      public String destination() {
+        return TOPIC;
+      }
+
+    };
+  }
+
+}
@@ -12,7 +12,6 @@ import io.debezium.engine.ChangeEvent;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.jupiter.api.Test;
 
@@ -20,7 +19,7 @@ public class DebeziumRecordIteratorTest {
 
   @Test
   public void getHeartbeatPositionTest() {
-    final DebeziumRecordIterator<Long> debeziumRecordIterator = new DebeziumRecordIterator<>(mock(LinkedBlockingQueue.class),
+    final DebeziumRecordIterator<Long> debeziumRecordIterator = new DebeziumRecordIterator<>(mock(ChangeEventBatchQueue.class),
         new CdcTargetPosition<>() {
 
           @Override
@@ -4,6 +4,7 @@
 
 package io.airbyte.cdk.integrations.debezium.internals;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -15,6 +16,36 @@ public class DebeziumShutdownProcedureTest {
 
   @Test
   public void test() throws InterruptedException {
+    final ChangeEventBatchQueue<Integer> sourceQueue = new ChangeEventBatchQueue<>(10, Long.MAX_VALUE, i -> 1);
+    final AtomicInteger recordsInserted = new AtomicInteger();
+    final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    final DebeziumShutdownProcedure<Integer> debeziumShutdownProcedure = new DebeziumShutdownProcedure<>(sourceQueue,
+        executorService::shutdown, () -> recordsInserted.get() >= 99);
+    executorService.execute(() -> {
+      for (int i = 0; i < 100; i++) {
+        try {
+          sourceQueue.put(List.of(i));
+          recordsInserted.set(i);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+
+    Thread.sleep(1000);
+    debeziumShutdownProcedure.initiateShutdownProcedure();
+
+    Assertions.assertEquals(99, recordsInserted.get());
+    Assertions.assertEquals(0, sourceQueue.size());
+    Assertions.assertEquals(100, debeziumShutdownProcedure.getRecordsRemainingAfterShutdown().size());
+
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertEquals(i, debeziumShutdownProcedure.getRecordsRemainingAfterShutdown().poll());
+    }
+  }
+
+  @Test
+  public void testEventQueue() throws InterruptedException {
     final LinkedBlockingQueue<Integer> sourceQueue = new LinkedBlockingQueue<>(10);
     final AtomicInteger recordsInserted = new AtomicInteger();
     final ExecutorService executorService = Executors.newSingleThreadExecutor();
@@ -28,7 +28,9 @@ import io.airbyte.protocol.models.v0.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -183,6 +185,33 @@ class StateDecoratingIteratorTest {
     assertFalse(iterator.hasNext());
   }
 
+  @Test
+  void testWithCursorValuesPassedExplicitly() {
+    final AirbyteMessage recordMessage1 = Jsons.clone(RECORD_MESSAGE_1);
+    ((ObjectNode) recordMessage1.getRecord().getData()).remove(UUID_FIELD_NAME);
+    final AirbyteMessage recordMessage2 = Jsons.clone(RECORD_MESSAGE_2);
+    ((ObjectNode) recordMessage2.getRecord().getData()).remove(UUID_FIELD_NAME);
+    final Map<AirbyteRecordMessage, String> cursorValues = new IdentityHashMap<>();
+    cursorValues.put(recordMessage1.getRecord(), RECORD_VALUE_1);
+    cursorValues.put(recordMessage2.getRecord(), RECORD_VALUE_2);
+
+    messageIterator = MoreIterators.of(recordMessage1, recordMessage2);
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        messageIterator,
+        stateManager,
+        NAME_NAMESPACE_PAIR,
+        UUID_FIELD_NAME,
+        record -> Jsons.jsonNode(cursorValues.get(record)),
+        null,
+        JsonSchemaPrimitive.STRING,
+        0);
+
+    assertEquals(recordMessage1, iterator.next());
+    assertEquals(recordMessage2, iterator.next());
+    assertEquals(createStateMessage(RECORD_VALUE_2, 1, 2.0), iterator.next());
+    assertFalse(iterator.hasNext());
+  }
+
   @Test
   void testCursorFieldIsEmpty() {
     final AirbyteMessage recordMessage = Jsons.clone(RECORD_MESSAGE_1);
@@ -36,6 +36,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
@@ -52,8 +53,6 @@ public class S3StorageOperations extends BlobStorageOperations {
 
   public static final int R2_UPLOAD_THREADS = 3;
 
-  private static final int DEFAULT_QUEUE_CAPACITY = DEFAULT_UPLOAD_THREADS;
-  private static final int DEFAULT_PART_SIZE = 10;
   private static final int UPLOAD_RETRY_LIMIT = 3;
 
   private static final String FORMAT_VARIABLE_NAMESPACE = "${NAMESPACE}";
@@ -73,11 +72,14 @@ public class S3StorageOperations extends BlobStorageOperations {
   private final NamingConventionTransformer nameTransformer;
   protected final S3DestinationConfig s3Config;
   protected AmazonS3 s3Client;
+  // the upload threads are shared by all the streams being flushed at once
+  private final S3UploadPlanner uploadPlanner;
 
   public S3StorageOperations(final NamingConventionTransformer nameTransformer, final AmazonS3 s3Client, final S3DestinationConfig s3Config) {
     this.nameTransformer = nameTransformer;
     this.s3Client = s3Client;
     this.s3Config = s3Config;
+    this.uploadPlanner = new S3UploadPlanner(s3Config.getUploadThreadsCount());
   }
 
   @Override
@@ -133,6 +135,10 @@ public class S3StorageOperations extends BlobStorageOperations {
         final String fileName = loadDataIntoBucket(objectPath, recordsData);
         LOGGER.info("Successfully loaded records to stage {} with {} re-attempt(s)", objectPath, exceptionsThrown.size());
         return fileName;
+      } catch (final InterruptedException e) {
+        // waiting for an upload thread was interrupted, which must stop the upload rather than retry it
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
       } catch (final Exception e) {
         LOGGER.error("Failed to upload records into storage {}", objectPath, e);
         exceptionsThrown.add(e);
@@ -156,8 +162,7 @@ public class S3StorageOperations extends BlobStorageOperations {
    *
    * @return the uploaded filename, which is different from the serialized buffer filename
    */
-  private String loadDataIntoBucket(final String objectPath, final SerializableBuffer recordsData) throws IOException {
-    final long partSize = DEFAULT_PART_SIZE;
+  private String loadDataIntoBucket(final String objectPath, final SerializableBuffer recordsData) throws IOException, InterruptedException {
     final String bucket = s3Config.getBucketName();
     final String partId = getPartId(objectPath);
     final String fileExtension = getExtension(recordsData.getFilename());
@@ -180,34 +185,41 @@ public class S3StorageOperations extends BlobStorageOperations {
     for (final BlobDecorator blobDecorator : blobDecorators) {
       blobDecorator.updateMetadata(metadata, getMetadataMapping());
     }
-    final StreamTransferManager uploadManager = StreamTransferManagerFactory.create(bucket, fullObjectKey, s3Client)
-        .setPartSize(partSize)
-        .setUserMetadata(metadata)
-        .get()
-        .checkIntegrity(s3Config.isCheckIntegrity())
-        .numUploadThreads(s3Config.getUploadThreadsCount())
-        .queueCapacity(DEFAULT_QUEUE_CAPACITY);
-    boolean succeeded = false;
-
-    // Wrap output stream in decorators
-    OutputStream rawOutputStream = uploadManager.getMultiPartOutputStreams().get(0);
-    for (final BlobDecorator blobDecorator : blobDecorators) {
-      rawOutputStream = blobDecorator.wrap(rawOutputStream);
-    }
+    final long byteCount = recordsData.getByteCount();
+    try (final S3UploadPlanner.UploadPlan uploadPlan = uploadPlanner.plan(byteCount)) {
+      LOGGER.info("Uploading {} to storage with parts of {} MB and {} upload thread(s)", FileUtils.byteCountToDisplaySize(byteCount),
+          uploadPlan.getPartSizeMb(), uploadPlan.getNumUploadThreads());
+      final StreamTransferManager uploadManager = StreamTransferManagerFactory.create(bucket, fullObjectKey, s3Client)
+          .setPartSize(uploadPlan.getPartSizeMb())
+          .setUserMetadata(metadata)
+          .get()
+          .checkIntegrity(s3Config.isCheckIntegrity())
+          .numUploadThreads(uploadPlan.getNumUploadThreads())
+          .queueCapacity(uploadPlan.getNumUploadThreads());
+      boolean succeeded = false;
+      final long startTime = System.nanoTime();
+
+      // Wrap output stream in decorators
+      OutputStream rawOutputStream = uploadManager.getMultiPartOutputStreams().get(0);
+      for (final BlobDecorator blobDecorator : blobDecorators) {
+        rawOutputStream = blobDecorator.wrap(rawOutputStream);
+      }
 
-    try (final OutputStream outputStream = rawOutputStream;
-        final InputStream dataStream = recordsData.getInputStream()) {
-      dataStream.transferTo(outputStream);
-      succeeded = true;
-    } catch (final Exception e) {
-      LOGGER.error("Failed to load data into storage {}", objectPath, e);
-      throw new RuntimeException(e);
-    } finally {
-      if (!succeeded) {
-        uploadManager.abort();
-      } else {
-        uploadManager.complete();
+      try (final OutputStream outputStream = rawOutputStream;
+          final InputStream dataStream = recordsData.getInputStream()) {
+        dataStream.transferTo(outputStream);
+        succeeded = true;
+      } catch (final Exception e) {
+        LOGGER.error("Failed to load data into storage {}", objectPath, e);
+        throw new RuntimeException(e);
+      } finally {
+        if (!succeeded) {
+          uploadManager.abort();
+        } else {
+          uploadManager.complete();
+        }
       }
+      uploadPlan.recordUpload(byteCount, System.nanoTime() - startTime);
     }
     if (!s3Client.doesObjectExist(bucket, fullObjectKey)) {
       LOGGER.error("Failed to upload data into storage, object {} not found", fullObjectKey);
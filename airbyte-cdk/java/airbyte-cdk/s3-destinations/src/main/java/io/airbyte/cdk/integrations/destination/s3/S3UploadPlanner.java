@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
+import io.airbyte.cdk.integrations.destination.s3.util.StreamTransferManagerFactory;
+import java.math.RoundingMode;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plans the multipart uploads of {@link S3StorageOperations}.
+ * <p>
+ * The part size of an upload is picked from the throughput observed on the previous uploads, so that
+ * a part takes about {@link #TARGET_PART_UPLOAD_SECONDS} to upload, without being so large that the
+ * buffer cannot be spread over the upload threads. An upload gets as many threads as it has parts,
+ * taken from a budget shared by all the uploads running at once, but no more than its fair share of
+ * the budget, i.e. the budget divided by the number of uploads running or waiting to run. Since the upload manager of an
+ * upload holds about {@code 2 * numUploadThreads * partSize} bytes, the budget also bounds the memory
+ * used when many streams are flushed at once.
+ * <p>
+ * Every upload gets at least one thread, waiting for one if the whole budget is in use, so an upload
+ * is never starved by larger ones.
+ */
+public class S3UploadPlanner {
+
+  static final long MIN_PART_SIZE_MB = StreamTransferManagerFactory.DEFAULT_PART_SIZE_MB;
+  static final long MAX_PART_SIZE_MB = StreamTransferManagerFactory.MAX_ALLOWED_PART_SIZE_MB;
+  static final long DEFAULT_PART_SIZE_MB = 10;
+  static final long TARGET_PART_UPLOAD_SECONDS = 5;
+  // S3 does not accept more parts in a multipart upload
+  static final long MAX_PARTS = 10_000;
+  private static final long BYTES_PER_MB = 1024 * 1024;
+  // weight of the latest upload in the moving average of the throughput
+  private static final double THROUGHPUT_SMOOTHING = 0.3;
+
+  private final int maxUploadThreads;
+  private final Semaphore uploadThreads;
+  // uploads planned and not closed yet, including the ones waiting for a thread
+  private final AtomicInteger activeUploads = new AtomicInteger(0);
+  // observed upload throughput of a single thread, NaN until an upload is recorded
+  private double bytesPerSecondPerThread = Double.NaN;
+
+  /**
+   * @param maxUploadThreads number of upload threads shared by all the uploads running at once
+   */
+  public S3UploadPlanner(final int maxUploadThreads) {
+    Preconditions.checkArgument(maxUploadThreads > 0, "The number of upload threads must be positive: %s", maxUploadThreads);
+    this.maxUploadThreads = maxUploadThreads;
+    this.uploadThreads = new Semaphore(maxUploadThreads, true);
+  }
+
+  /**
+   * Plans the upload of {@code byteCount} bytes, waiting for an upload thread if none is available.
+   * The plan must be closed once the upload is over, to give its threads back.
+   */
+  public UploadPlan plan(final long byteCount) throws InterruptedException {
+    final long partSizeMb = getPartSizeMb(byteCount);
+    final long partCount = Math.max(1, LongMath.divide(byteCount, partSizeMb * BYTES_PER_MB, RoundingMode.CEILING));
+    activeUploads.incrementAndGet();
+    try {
+      uploadThreads.acquire();
+    } catch (final InterruptedException e) {
+      activeUploads.decrementAndGet();
+      throw e;
+    }
+    final int fairShare = Math.max(1, maxUploadThreads / activeUploads.get());
+    final int wantedThreads = (int) Math.min(fairShare, partCount);
+    int numUploadThreads = 1;
+    while (numUploadThreads < wantedThreads && uploadThreads.tryAcquire()) {
+      numUploadThreads++;
+    }
+    return new UploadPlan(partSizeMb, numUploadThreads);
+  }
+
+  @VisibleForTesting
+  synchronized long getPartSizeMb(final long byteCount) {
+    long partSizeMb = Double.isNaN(bytesPerSecondPerThread)
+        ? DEFAULT_PART_SIZE_MB
+        : (long) (bytesPerSecondPerThread * TARGET_PART_UPLOAD_SECONDS / BYTES_PER_MB);
+    // small enough to spread the buffer over all the upload threads
+    partSizeMb = Math.min(partSizeMb, LongMath.divide(byteCount, maxUploadThreads * BYTES_PER_MB, RoundingMode.CEILING));
+    // large enough to fit the buffer in the parts of a single upload
+    partSizeMb = Math.max(partSizeMb, LongMath.divide(byteCount, MAX_PARTS * BYTES_PER_MB, RoundingMode.CEILING));
+    return Math.min(Math.max(partSizeMb, MIN_PART_SIZE_MB), MAX_PART_SIZE_MB);
+  }
+
+  @VisibleForTesting
+  synchronized void recordUpload(final long partSizeMb, final int numUploadThreads, final long byteCount, final long elapsedNanos) {
+    // smaller uploads mostly measure the latency of the requests
+    if (byteCount < MIN_PART_SIZE_MB * BYTES_PER_MB || elapsedNanos <= 0) {
+      return;
+    }
+    final long partCount = LongMath.divide(byteCount, partSizeMb * BYTES_PER_MB, RoundingMode.CEILING);
+    final double bytesPerSecond = byteCount / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    final double latestBytesPerSecondPerThread = bytesPerSecond / Math.min(numUploadThreads, partCount);
+    bytesPerSecondPerThread = Double.isNaN(bytesPerSecondPerThread)
+        ? latestBytesPerSecondPerThread
+        : THROUGHPUT_SMOOTHING * latestBytesPerSecondPerThread + (1 - THROUGHPUT_SMOOTHING) * bytesPerSecondPerThread;
+  }
+
+  @VisibleForTesting
+  int getAvailableUploadThreads() {
+    return uploadThreads.availablePermits();
+  }
+
+  /**
+   * The part size and number of upload threads of an upload, holding its threads until closed.
+   */
+  public class UploadPlan implements AutoCloseable {
+
+    private final long partSizeMb;
+    private final int numUploadThreads;
+    private boolean isClosed = false;
+
+    private UploadPlan(final long partSizeMb, final int numUploadThreads) {
+      this.partSizeMb = partSizeMb;
+      this.numUploadThreads = numUploadThreads;
+    }
+
+    public long getPartSizeMb() {
+      return partSizeMb;
+    }
+
+    public int getNumUploadThreads() {
+      return numUploadThreads;
+    }
+
+    /**
+     * Records how long uploading {@code byteCount} bytes took, to plan the next uploads.
+     */
+    public void recordUpload(final long byteCount, final long elapsedNanos) {
+      S3UploadPlanner.this.recordUpload(partSizeMb, numUploadThreads, byteCount, elapsedNanos);
+    }
+
+    @Override
+    public void close() {
+      if (!isClosed) {
+        isClosed = true;
+        uploadThreads.release(numUploadThreads);
+        activeUploads.decrementAndGet();
+      }
+    }
+
+  }
+
+}
@@ -62,9 +62,9 @@ public class SerializedBufferFactory {
         return JsonLSerializedBuffer.createBufferFunction((S3JsonlFormatConfig) formatConfig, createStorageFunctionWithExtension);
       }
       case PARQUET -> {
-        // we can't choose the type of buffer storage with parquet because of how the underlying hadoop
-        // library is imposing file usage.
-        return ParquetSerializedBuffer.createFunction(config);
+        final Callable<BufferStorage> createStorageFunctionWithExtension =
+            () -> createStorageFunctionWithoutExtension.apply(formatConfig.getFileExtension());
+        return ParquetSerializedBuffer.createFunction(config, createStorageFunctionWithExtension);
       }
       default -> {
         throw new RuntimeException("Unexpected output format: " + Jsons.serialize(config));
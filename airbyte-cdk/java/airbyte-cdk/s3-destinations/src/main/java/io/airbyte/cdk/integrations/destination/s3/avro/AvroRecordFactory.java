@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.cdk.integrations.base.JavaBaseConstants;
 import io.airbyte.commons.jackson.MoreMappers;
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
+import java.util.Optional;
 import java.util.UUID;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -24,13 +25,25 @@ public class AvroRecordFactory {
 
   private final Schema schema;
   private final JsonAvroConverter converter;
+  // null for custom converters, which the encoder does not mirror, and for schemas it cannot encode
+  private final JsonToAvroRecordEncoder encoder;
 
   public AvroRecordFactory(final Schema schema, final JsonAvroConverter converter) {
     this.schema = schema;
     this.converter = converter;
+    this.encoder = converter == AvroConstants.JSON_CONVERTER && JsonToAvroRecordEncoder.canEncode(schema)
+        ? new JsonToAvroRecordEncoder(schema)
+        : null;
   }
 
   public GenericData.Record getAvroRecord(final UUID id, final AirbyteRecordMessage recordMessage) throws JsonProcessingException {
+    if (encoder != null && recordMessage.getEmittedAt() != null) {
+      final Optional<GenericData.Record> record = encoder.encode(JavaBaseConstants.COLUMN_NAME_AB_ID, id,
+          JavaBaseConstants.COLUMN_NAME_EMITTED_AT, recordMessage.getEmittedAt(), recordMessage.getData());
+      if (record.isPresent()) {
+        return record.get();
+      }
+    }
     final ObjectNode jsonRecord = MAPPER.createObjectNode();
     jsonRecord.put(JavaBaseConstants.COLUMN_NAME_AB_ID, id.toString());
     jsonRecord.put(JavaBaseConstants.COLUMN_NAME_EMITTED_AT, recordMessage.getEmittedAt());
@@ -40,6 +53,12 @@ public class AvroRecordFactory {
   }
 
   public GenericData.Record getAvroRecord(final JsonNode formattedData) throws JsonProcessingException {
+    if (encoder != null) {
+      final Optional<GenericData.Record> record = encoder.encode(formattedData);
+      if (record.isPresent()) {
+        return record.get();
+      }
+    }
     final var bytes = WRITER.writeValueAsBytes(formattedData);
     return converter.convertToGenericDataRecord(bytes, schema);
   }
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3.avro;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.avro.JsonProperties;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+
+/**
+ * Converts Json records to Avro records of a schema from {@link JsonToAvroSchemaConverter} by
+ * walking the Json tree, instead of serializing it for {@link AvroConstants#JSON_CONVERTER} to parse
+ * it again. How each schema is converted is worked out once, the first time it is met, and how each
+ * Json field name maps to an Avro field is cached.
+ * <p>
+ * Only the values that {@link AvroConstants#JSON_CONVERTER} would convert as they are, e.g. a Json
+ * string to an Avro string, are converted here, along with the ISO-8601 strings of the date,
+ * time-micros and timestamp-micros logical types, which it parses the same way. A record holding any
+ * other value, e.g. a field that is not in the schema and goes to the additional properties, a value
+ * that has to be coerced into another type, a date in another format, or a value of a union of
+ * several types, is not converted, so that the caller falls back to
+ * {@link AvroConstants#JSON_CONVERTER}. Schemas with other logical types are not encoded at all, see
+ * {@link #canEncode(Schema)}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class JsonToAvroRecordEncoder {
+
+  private static final Function<String, String> NAME_TRANSFORMER = AvroConstants.NAME_TRANSFORMER::getIdentifier;
+
+  // The formats of the date and time strings that are parsed here. The Json converter accepts more,
+  // e.g. a space instead of the T, but parses these ones the same way. Its fractions of a second have
+  // 3 to 6 digits, and a date-time without an offset is in UTC.
+  private static final String TIME_REGEX = "\\d{2}:\\d{2}:\\d{2}(\\.\\d{3,6})?";
+  private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+  private static final Pattern TIME_PATTERN = Pattern.compile(TIME_REGEX);
+  private static final Pattern DATE_TIME_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T" + TIME_REGEX + "(?<offset>Z|[+-]\\d{2}:\\d{2})?");
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+  private static final long NANOS_PER_MICRO = 1_000L;
+
+  private final Schema schema;
+  private final Map<Schema, RecordEncoder> recordEncoders = new IdentityHashMap<>();
+  private final Map<Schema, ValueEncoder> valueEncoders = new IdentityHashMap<>();
+
+  public JsonToAvroRecordEncoder(final Schema schema) {
+    this.schema = schema;
+  }
+
+  /**
+   * @return the Avro record, or empty if the record has values that must be converted by
+   *         {@link AvroConstants#JSON_CONVERTER}
+   */
+  public Optional<GenericData.Record> encode(final JsonNode json) {
+    if (!json.isObject()) {
+      return Optional.empty();
+    }
+    try {
+      final RecordEncoder recordEncoder = getRecordEncoder(schema);
+      final GenericData.Record record = recordEncoder.newRecord();
+      recordEncoder.putFields(record, json);
+      return Optional.of(recordEncoder.complete(record));
+    } catch (final UnsupportedValueException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Same as {@link #encode(JsonNode)} for a record made of the Airbyte id and emission timestamp,
+   * followed by the fields of the data.
+   */
+  public Optional<GenericData.Record> encode(final String idFieldName,
+                                             final UUID id,
+                                             final String emittedAtFieldName,
+                                             final long emittedAt,
+                                             final JsonNode data) {
+    if (!data.isObject()) {
+      return Optional.empty();
+    }
+    try {
+      final RecordEncoder recordEncoder = getRecordEncoder(schema);
+      final GenericData.Record record = recordEncoder.newRecord();
+      recordEncoder.putField(record, idFieldName, TextNode.valueOf(id.toString()));
+      recordEncoder.putField(record, emittedAtFieldName, LongNode.valueOf(emittedAt));
+      recordEncoder.putFields(record, data);
+      return Optional.of(recordEncoder.complete(record));
+    } catch (final UnsupportedValueException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return false if the schema has a logical type that is neither stored as it is nor parsed here,
+   *         e.g. decimal. Records of such a schema usually have a value of that type, which stops the
+   *         encoding part way and leaves the whole record to the Json converter, so trying to encode
+   *         them first is only extra work.
+   */
+  public static boolean canEncode(final Schema schema) {
+    return canEncode(schema, Collections.newSetFromMap(new IdentityHashMap<>()));
+  }
+
+  private static boolean canEncode(final Schema schema, final Set<Schema> visited) {
+    if (!visited.add(schema)) {
+      return true;
+    }
+    final LogicalType logicalType = schema.getLogicalType();
+    if (logicalType != null && !isStoredAsIs(schema.getType(), logicalType) && !isParsed(schema.getType(), logicalType)) {
+      return false;
+    }
+    return switch (schema.getType()) {
+      case RECORD -> schema.getFields().stream().allMatch(field -> canEncode(field.schema(), visited));
+      case ARRAY -> canEncode(schema.getElementType(), visited);
+      case MAP -> canEncode(schema.getValueType(), visited);
+      case UNION -> schema.getTypes().stream().allMatch(type -> canEncode(type, visited));
+      default -> true;
+    };
+  }
+
+  private RecordEncoder getRecordEncoder(final Schema recordSchema) {
+    RecordEncoder recordEncoder = recordEncoders.get(recordSchema);
+    if (recordEncoder == null) {
+      recordEncoder = new RecordEncoder(recordSchema);
+      recordEncoders.put(recordSchema, recordEncoder);
+    }
+    return recordEncoder;
+  }
+
+  private ValueEncoder getValueEncoder(final Schema valueSchema) {
+    ValueEncoder valueEncoder = valueEncoders.get(valueSchema);
+    if (valueEncoder == null) {
+      valueEncoder = compile(valueSchema);
+      valueEncoders.put(valueSchema, valueEncoder);
+    }
+    return valueEncoder;
+  }
+
+  private ValueEncoder compile(final Schema valueSchema) {
+    final LogicalType logicalType = valueSchema.getLogicalType();
+    if (logicalType != null && isParsed(valueSchema.getType(), logicalType)) {
+      return compileParsed(logicalType);
+    }
+    if (logicalType != null && !isStoredAsIs(valueSchema.getType(), logicalType)) {
+      return value -> {
+        throw UnsupportedValueException.INSTANCE;
+      };
+    }
+    return switch (valueSchema.getType()) {
+      case NULL -> value -> {
+        if (!value.isNull()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return null;
+      };
+      case BOOLEAN -> value -> {
+        if (!value.isBoolean()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return value.booleanValue();
+      };
+      case INT -> value -> {
+        if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return value.intValue();
+      };
+      case LONG -> value -> {
+        if (!value.isIntegralNumber() || !value.canConvertToLong()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return value.longValue();
+      };
+      case FLOAT -> value -> {
+        if (!value.isNumber()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        // the Json converter parses the serialized number to a double first
+        return (float) value.doubleValue();
+      };
+      case DOUBLE -> value -> {
+        if (!value.isNumber()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return value.doubleValue();
+      };
+      case STRING -> value -> {
+        if (!value.isTextual()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        return value.textValue();
+      };
+      case RECORD -> value -> {
+        if (!value.isObject()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        final RecordEncoder recordEncoder = getRecordEncoder(valueSchema);
+        final GenericData.Record record = recordEncoder.newRecord();
+        recordEncoder.putFields(record, value);
+        return recordEncoder.complete(record);
+      };
+      case ARRAY -> value -> {
+        if (!value.isArray()) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+        final ValueEncoder elementEncoder = getValueEncoder(valueSchema.getElementType());
+        final GenericData.Array<Object> array = new GenericData.Array<>(value.size(), valueSchema);
+        for (final JsonNode element : value) {
+          array.add(elementEncoder.encode(element));
+        }
+        return array;
+      };
+      case UNION -> compileUnion(valueSchema.getTypes());
+      // maps only hold the additional properties, which are stringified by the Json converter
+      default -> value -> {
+        throw UnsupportedValueException.INSTANCE;
+      };
+    };
+  }
+
+  /**
+   * Parses the date and time strings the Json converter parses into the logical type. Other values,
+   * and strings it could not parse, which it stores as strings if the union allows it, are left to
+   * the Json converter.
+   */
+  private static ValueEncoder compileParsed(final LogicalType logicalType) {
+    final Pattern pattern;
+    final Function<Matcher, Object> parser;
+    if (logicalType instanceof LogicalTypes.Date) {
+      pattern = DATE_PATTERN;
+      parser = matcher -> (int) LocalDate.parse(matcher.group()).toEpochDay();
+    } else if (logicalType instanceof LogicalTypes.TimeMicros) {
+      pattern = TIME_PATTERN;
+      parser = matcher -> LocalTime.parse(matcher.group()).toNanoOfDay() / NANOS_PER_MICRO;
+    } else {
+      pattern = DATE_TIME_PATTERN;
+      parser = matcher -> {
+        final Instant instant = matcher.group("offset") != null
+            ? OffsetDateTime.parse(matcher.group()).toInstant()
+            : LocalDateTime.parse(matcher.group()).toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * MICROS_PER_SECOND + instant.getNano() / NANOS_PER_MICRO;
+      };
+    }
+    return value -> {
+      final Matcher matcher = value.isTextual() ? pattern.matcher(value.textValue()) : null;
+      if (matcher == null || !matcher.matches()) {
+        throw UnsupportedValueException.INSTANCE;
+      }
+      try {
+        return parser.apply(matcher);
+      } catch (final DateTimeParseException e) {
+        // e.g. a day out of range, which the Json converter may resolve differently
+        throw UnsupportedValueException.INSTANCE;
+      }
+    };
+  }
+
+  /**
+   * Only nullable unions of a single type are converted, or of a parsed logical type and the string
+   * it falls back to, see {@link JsonToAvroSchemaConverter}. The Json converter tries each type of
+   * other unions in turn, and may coerce a value into any of them.
+   */
+  private ValueEncoder compileUnion(final List<Schema> types) {
+    final boolean isNullable = types.stream().anyMatch(type -> type.getType() == Schema.Type.NULL);
+    final boolean hasParsedType = types.stream().anyMatch(JsonToAvroRecordEncoder::isParsed);
+    final List<Schema> nonNullTypes = types.stream()
+        .filter(type -> type.getType() != Schema.Type.NULL)
+        // strings the parsed type falls back to are left to the Json converter
+        .filter(type -> !(hasParsedType && type.getType() == Schema.Type.STRING && type.getLogicalType() == null))
+        .toList();
+    final Schema nonNullType = nonNullTypes.size() == 1 ? nonNullTypes.get(0) : null;
+    return value -> {
+      if (value.isNull() && isNullable) {
+        return null;
+      }
+      if (nonNullType == null) {
+        throw UnsupportedValueException.INSTANCE;
+      }
+      return getValueEncoder(nonNullType).encode(value);
+    };
+  }
+
+  /**
+   * @return whether values of the logical type are the same as the values of its underlying type,
+   *         i.e. the Json converter stores them as they are
+   */
+  private static boolean isStoredAsIs(final Schema.Type type, final LogicalType logicalType) {
+    return (type == Schema.Type.STRING && LogicalTypes.uuid().getName().equals(logicalType.getName()))
+        || (type == Schema.Type.LONG && logicalType instanceof LogicalTypes.TimestampMillis);
+  }
+
+  /**
+   * @return whether the Json converter parses date and time strings into values of the logical type
+   */
+  private static boolean isParsed(final Schema.Type type, final LogicalType logicalType) {
+    return (type == Schema.Type.INT && logicalType instanceof LogicalTypes.Date)
+        || (type == Schema.Type.LONG && (logicalType instanceof LogicalTypes.TimeMicros || logicalType instanceof LogicalTypes.TimestampMicros));
+  }
+
+  private static boolean isParsed(final Schema schema) {
+    return schema.getLogicalType() != null && isParsed(schema.getType(), schema.getLogicalType());
+  }
+
+  @FunctionalInterface
+  private interface ValueEncoder {
+
+    Object encode(JsonNode value);
+
+  }
+
+  private record FieldEncoder(Field field, ValueEncoder valueEncoder) {}
+
+  private final class RecordEncoder {
+
+    private final Schema recordSchema;
+    private final List<Field> fields;
+    // Json field names of the record, to the Avro field they go to
+    private final Map<String, FieldEncoder> fieldEncoders = new HashMap<>();
+
+    private RecordEncoder(final Schema recordSchema) {
+      this.recordSchema = recordSchema;
+      this.fields = recordSchema.getFields();
+    }
+
+    private GenericData.Record newRecord() {
+      return new GenericData.Record(recordSchema);
+    }
+
+    private void putFields(final GenericData.Record record, final JsonNode json) {
+      final Iterator<Entry<String, JsonNode>> jsonFields = json.fields();
+      while (jsonFields.hasNext()) {
+        final Entry<String, JsonNode> jsonField = jsonFields.next();
+        putField(record, jsonField.getKey(), jsonField.getValue());
+      }
+    }
+
+    private void putField(final GenericData.Record record, final String jsonFieldName, final JsonNode value) {
+      final FieldEncoder fieldEncoder = getFieldEncoder(jsonFieldName);
+      record.put(fieldEncoder.field().pos(), fieldEncoder.valueEncoder().encode(value));
+    }
+
+    private FieldEncoder getFieldEncoder(final String jsonFieldName) {
+      final FieldEncoder cachedFieldEncoder = fieldEncoders.get(jsonFieldName);
+      if (cachedFieldEncoder != null) {
+        return cachedFieldEncoder;
+      }
+      final Field field = recordSchema.getField(NAME_TRANSFORMER.apply(jsonFieldName));
+      if (field == null) {
+        // goes to the additional properties
+        throw UnsupportedValueException.INSTANCE;
+      }
+      final FieldEncoder fieldEncoder = new FieldEncoder(field, getValueEncoder(field.schema()));
+      fieldEncoders.put(jsonFieldName, fieldEncoder);
+      return fieldEncoder;
+    }
+
+    /**
+     * Fields that are missing from the Json record are null, which is the default of every field of
+     * the converted schemas, except the Airbyte fields.
+     */
+    private GenericData.Record complete(final GenericData.Record record) {
+      for (final Field field : fields) {
+        if (record.get(field.pos()) == null && !isNullDefault(field)) {
+          throw UnsupportedValueException.INSTANCE;
+        }
+      }
+      return record;
+    }
+
+  }
+
+  private static boolean isNullDefault(final Field field) {
+    return field.hasDefaultValue() && field.defaultVal() == JsonProperties.NULL_VALUE;
+  }
+
+  /**
+   * Thrown when a record has to be converted by the Json converter. It has no stack trace, since it
+   * is expected and not worth one.
+   */
+  private static final class UnsupportedValueException extends RuntimeException {
+
+    private static final UnsupportedValueException INSTANCE = new UnsupportedValueException();
+
+    private UnsupportedValueException() {
+      super(null, null, false, false);
+    }
+
+  }
+
+}
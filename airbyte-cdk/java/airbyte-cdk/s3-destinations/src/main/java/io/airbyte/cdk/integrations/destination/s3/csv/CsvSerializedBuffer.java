@@ -5,9 +5,9 @@
 package io.airbyte.cdk.integrations.destination.s3.csv;
 
 import io.airbyte.cdk.integrations.destination.record_buffer.BaseSerializedBuffer;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCompression;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferCreateFunction;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage;
-import io.airbyte.cdk.integrations.destination.s3.util.CompressionType;
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
@@ -38,6 +38,13 @@ public class CsvSerializedBuffer extends BaseSerializedBuffer {
                              final CsvSheetGenerator csvSheetGenerator,
                              final boolean compression)
       throws Exception {
+    this(bufferStorage, csvSheetGenerator, compression ? BufferCompression.GZIP : BufferCompression.NONE);
+  }
+
+  public CsvSerializedBuffer(final BufferStorage bufferStorage,
+                             final CsvSheetGenerator csvSheetGenerator,
+                             final BufferCompression compression)
+      throws Exception {
     super(bufferStorage);
     this.csvSheetGenerator = csvSheetGenerator;
     csvPrinter = null;
@@ -114,8 +121,8 @@ public class CsvSerializedBuffer extends BaseSerializedBuffer {
       final CSVFormat csvSettings = CSVFormat.DEFAULT
           .withQuoteMode(QuoteMode.NON_NUMERIC)
           .withHeader(csvSheetGenerator.getHeaderRow().toArray(new String[0]));
-      final boolean compression = config.getCompressionType() != CompressionType.NO_COMPRESSION;
-      return new CsvSerializedBuffer(createStorageFunction.call(), csvSheetGenerator, compression).withCsvFormat(csvSettings);
+      return new CsvSerializedBuffer(createStorageFunction.call(), csvSheetGenerator, config.getCompressionType().getBufferCompression())
+          .withCsvFormat(csvSettings);
     };
   }
 
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.cdk.integrations.base.JavaBaseConstants;
 import io.airbyte.cdk.integrations.destination.record_buffer.BaseSerializedBuffer;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCompression;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferCreateFunction;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage;
 import io.airbyte.cdk.integrations.destination.s3.S3DestinationConstants;
@@ -36,9 +37,14 @@ public class JsonLSerializedBuffer extends BaseSerializedBuffer {
   private final boolean flattenData;
 
   protected JsonLSerializedBuffer(final BufferStorage bufferStorage, final boolean gzipCompression, final boolean flattenData) throws Exception {
+    this(bufferStorage, gzipCompression ? BufferCompression.GZIP : BufferCompression.NONE, flattenData);
+  }
+
+  protected JsonLSerializedBuffer(final BufferStorage bufferStorage, final BufferCompression compression, final boolean flattenData)
+      throws Exception {
     super(bufferStorage);
     // we always want to compress jsonl files
-    withCompression(gzipCompression);
+    withCompression(compression);
     this.flattenData = flattenData;
   }
 
@@ -81,8 +87,7 @@ public class JsonLSerializedBuffer extends BaseSerializedBuffer {
       final Flattening flattening = config == null
           ? Flattening.NO
           : config.getFlatteningType();
-      return new JsonLSerializedBuffer(createStorageFunction.call(), compressionType != CompressionType.NO_COMPRESSION,
-          flattening != Flattening.NO);
+      return new JsonLSerializedBuffer(createStorageFunction.call(), compressionType.getBufferCompression(), flattening != Flattening.NO);
     };
 
   }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3.parquet;
+
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+/**
+ * A Parquet {@link OutputFile} that writes to a {@link BufferStorage}, so that Parquet data can be
+ * buffered in memory or in a local file like the other formats, instead of going through a Hadoop
+ * file system.
+ */
+public class BufferStorageOutputFile implements OutputFile {
+
+  private final BufferStorage bufferStorage;
+
+  public BufferStorageOutputFile(final BufferStorage bufferStorage) {
+    this.bufferStorage = bufferStorage;
+  }
+
+  @Override
+  public PositionOutputStream create(final long blockSizeHint) throws IOException {
+    return createOrOverwrite(blockSizeHint);
+  }
+
+  @Override
+  public PositionOutputStream createOrOverwrite(final long blockSizeHint) throws IOException {
+    return new CountingPositionOutputStream(bufferStorage.getOutputStream());
+  }
+
+  @Override
+  public boolean supportsBlockSize() {
+    return false;
+  }
+
+  @Override
+  public long defaultBlockSize() {
+    return 0;
+  }
+
+  /**
+   * The buffer storage streams cannot tell their position, so it is the number of bytes written so
+   * far.
+   */
+  private static class CountingPositionOutputStream extends PositionOutputStream {
+
+    private final OutputStream outputStream;
+    private long position = 0;
+
+    private CountingPositionOutputStream(final OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    public long getPos() {
+      return position;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      outputStream.write(b);
+      position++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      outputStream.write(b, off, len);
+      position += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      outputStream.close();
+    }
+
+  }
+
+}
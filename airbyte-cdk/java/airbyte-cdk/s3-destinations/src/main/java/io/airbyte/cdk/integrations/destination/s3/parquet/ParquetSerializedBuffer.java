@@ -6,7 +6,9 @@ package io.airbyte.cdk.integrations.destination.s3.parquet;
 
 import static org.apache.parquet.avro.AvroWriteSupport.WRITE_OLD_LIST_STRUCTURE;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferCreateFunction;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage;
 import io.airbyte.cdk.integrations.destination.record_buffer.FileBuffer;
 import io.airbyte.cdk.integrations.destination.record_buffer.SerializableBuffer;
 import io.airbyte.cdk.integrations.destination.s3.S3DestinationConfig;
@@ -17,12 +19,10 @@ import io.airbyte.protocol.models.v0.AirbyteRecordMessage;
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData.Record;
 import org.apache.commons.io.FileUtils;
@@ -30,7 +30,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.hadoop.ParquetWriter;
-import org.apache.parquet.hadoop.util.HadoopOutputFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,18 +38,24 @@ import org.slf4j.LoggerFactory;
  * abstracts the {@link io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage} from
  * the details of the format the data is going to be stored in.
  * <p>
- * Unfortunately, the Parquet library doesn't allow us to manipulate the output stream and forces us
- * to go through {@link HadoopOutputFile} instead. So we can't benefit from the abstraction
- * described above. Therefore, we re-implement the necessary methods to be used as
- * {@link SerializableBuffer}, while data will be buffered in such a hadoop file.
+ * The Parquet writer needs to close the file it writes for the file to be complete, so it writes to
+ * the {@link BufferStorage} through a {@link BufferStorageOutputFile} instead of going through a
+ * compressed output stream like the other formats. Therefore, we re-implement the necessary methods
+ * to be used as {@link SerializableBuffer}.
  */
 public class ParquetSerializedBuffer implements SerializableBuffer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ParquetSerializedBuffer.class);
+  // loading the default Hadoop configuration is costly, so it is only done once and then copied
+  private static final Configuration AVRO_CONFIG = new Configuration();
+
+  static {
+    AVRO_CONFIG.setBoolean(WRITE_OLD_LIST_STRUCTURE, false);
+  }
 
   private final AvroRecordFactory avroRecordFactory;
   private final ParquetWriter<Record> parquetWriter;
-  private final Path bufferFile;
+  private final BufferStorage bufferStorage;
   private InputStream inputStream;
   private Long lastByteCount;
   private boolean isClosed;
@@ -59,6 +64,14 @@ public class ParquetSerializedBuffer implements SerializableBuffer {
                                  final AirbyteStreamNameNamespacePair stream,
                                  final ConfiguredAirbyteCatalog catalog)
       throws IOException {
+    this(config, stream, catalog, new FileBuffer(S3ParquetFormatConfig.PARQUET_SUFFIX));
+  }
+
+  public ParquetSerializedBuffer(final S3DestinationConfig config,
+                                 final AirbyteStreamNameNamespacePair stream,
+                                 final ConfiguredAirbyteCatalog catalog,
+                                 final BufferStorage bufferStorage)
+      throws IOException {
     final JsonToAvroSchemaConverter schemaConverter = new JsonToAvroSchemaConverter();
     final Schema schema = schemaConverter.getAvroSchema(catalog.getStreams()
         .stream()
@@ -68,18 +81,14 @@ public class ParquetSerializedBuffer implements SerializableBuffer {
         .getStream()
         .getJsonSchema(),
         stream.getName(), stream.getNamespace());
-    bufferFile = Files.createTempFile(UUID.randomUUID().toString(), ".parquet");
-    Files.deleteIfExists(bufferFile);
+    this.bufferStorage = bufferStorage;
     avroRecordFactory = new AvroRecordFactory(schema, AvroConstants.JSON_CONVERTER);
     final S3ParquetFormatConfig formatConfig = (S3ParquetFormatConfig) config.getFormatConfig();
-    final Configuration avroConfig = new Configuration();
-    avroConfig.setBoolean(WRITE_OLD_LIST_STRUCTURE, false);
-    parquetWriter = AvroParquetWriter.<Record>builder(HadoopOutputFile
-        .fromPath(new org.apache.hadoop.fs.Path(bufferFile.toUri()), avroConfig))
-        .withConf(avroConfig) // yes, this should be here despite the fact we pass this config above in path
+    parquetWriter = AvroParquetWriter.<Record>builder(new BufferStorageOutputFile(bufferStorage))
+        .withConf(new Configuration(AVRO_CONFIG))
         .withSchema(schema)
         .withCompressionCodec(formatConfig.getCompressionCodec())
-        .withRowGroupSize(formatConfig.getBlockSize())
+        .withRowGroupSize(getRowGroupSize(formatConfig.getBlockSize(), bufferStorage.getMaxPerStreamBufferSizeInBytes()))
         .withMaxPaddingSize(formatConfig.getMaxPaddingSize())
         .withPageSize(formatConfig.getPageSize())
         .withDictionaryPageSize(formatConfig.getDictionaryPageSize())
@@ -111,7 +120,7 @@ public class ParquetSerializedBuffer implements SerializableBuffer {
     if (inputStream == null && !isClosed) {
       getByteCount();
       parquetWriter.close();
-      inputStream = new FileInputStream(bufferFile.toFile());
+      inputStream = bufferStorage.convertToInputStream();
       LOGGER.info("Finished writing data to {} ({})", getFilename(), FileUtils.byteCountToDisplaySize(getByteCount()));
     }
   }
@@ -129,12 +138,12 @@ public class ParquetSerializedBuffer implements SerializableBuffer {
 
   @Override
   public String getFilename() throws IOException {
-    return bufferFile.getFileName().toString();
+    return bufferStorage.getFilename();
   }
 
   @Override
   public File getFile() throws IOException {
-    return bufferFile.toFile();
+    return bufferStorage.getFile();
   }
 
   @Override
@@ -144,31 +153,48 @@ public class ParquetSerializedBuffer implements SerializableBuffer {
 
   @Override
   public long getMaxTotalBufferSizeInBytes() {
-    return FileBuffer.MAX_TOTAL_BUFFER_SIZE_BYTES;
+    return bufferStorage.getMaxTotalBufferSizeInBytes();
   }
 
   @Override
   public long getMaxPerStreamBufferSizeInBytes() {
-    return FileBuffer.MAX_PER_STREAM_BUFFER_SIZE_BYTES;
+    return bufferStorage.getMaxPerStreamBufferSizeInBytes();
   }
 
   @Override
   public int getMaxConcurrentStreamsInBuffer() {
-    return FileBuffer.DEFAULT_MAX_CONCURRENT_STREAM_IN_BUFFER;
+    return bufferStorage.getMaxConcurrentStreamsInBuffer();
   }
 
   @Override
   public void close() throws Exception {
     if (!isClosed) {
-      inputStream.close();
-      Files.deleteIfExists(bufferFile);
+      if (inputStream != null) {
+        inputStream.close();
+      }
+      bufferStorage.deleteFile();
       isClosed = true;
     }
   }
 
+  /**
+   * A row group is held in memory until it is complete, and the buffer is flushed once it holds
+   * {@code maxPerStreamBufferSize} bytes, so a row group never needs to be larger than that.
+   */
+  @VisibleForTesting
+  static long getRowGroupSize(final long blockSize, final long maxPerStreamBufferSize) {
+    return Math.min(blockSize, maxPerStreamBufferSize);
+  }
+
   public static BufferCreateFunction createFunction(final S3DestinationConfig s3DestinationConfig) {
     return (final AirbyteStreamNameNamespacePair stream, final ConfiguredAirbyteCatalog catalog) -> new ParquetSerializedBuffer(s3DestinationConfig,
         stream, catalog);
   }
 
+  public static BufferCreateFunction createFunction(final S3DestinationConfig s3DestinationConfig,
+                                                    final Callable<BufferStorage> createStorageFunction) {
+    return (final AirbyteStreamNameNamespacePair stream, final ConfiguredAirbyteCatalog catalog) -> new ParquetSerializedBuffer(s3DestinationConfig,
+        stream, catalog, createStorageFunction.call());
+  }
+
 }
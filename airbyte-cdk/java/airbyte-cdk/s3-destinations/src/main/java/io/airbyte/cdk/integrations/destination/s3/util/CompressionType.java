@@ -4,19 +4,27 @@
 
 package io.airbyte.cdk.integrations.destination.s3.util;
 
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCompression;
+
 public enum CompressionType {
 
-  NO_COMPRESSION(""),
-  GZIP(".gz");
+  NO_COMPRESSION("", BufferCompression.NONE),
+  GZIP(".gz", BufferCompression.GZIP);
 
   private final String fileExtension;
+  private final BufferCompression bufferCompression;
 
-  CompressionType(final String fileExtension) {
+  CompressionType(final String fileExtension, final BufferCompression bufferCompression) {
     this.fileExtension = fileExtension;
+    this.bufferCompression = bufferCompression;
   }
 
   public String getFileExtension() {
     return fileExtension;
   }
 
+  public BufferCompression getBufferCompression() {
+    return bufferCompression;
+  }
+
 }
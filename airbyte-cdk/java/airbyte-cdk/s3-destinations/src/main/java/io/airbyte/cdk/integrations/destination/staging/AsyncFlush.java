@@ -16,14 +16,20 @@ import io.airbyte.integrations.base.destination.typing_deduping.TypeAndDedupeOpe
 import io.airbyte.integrations.base.destination.typing_deduping.TyperDeduper;
 import io.airbyte.protocol.models.v0.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 
 /**
  * Async flushing logic. Flushing async prevents backpressure and is the superior flushing strategy.
+ * <p>
+ * A flush uploads its batch to the stage and hands the staged file over to a
+ * {@link StagedFileCommitter}, which copies it into the raw table along with the other files of the
+ * stream staged meanwhile. The flush workers can thus move on to the next batch while the COPY runs,
+ * and the states of the batch are acknowledged once the COPY is done.
  */
 @Slf4j
 class AsyncFlush implements DestinationFlushFunction {
@@ -36,6 +42,7 @@ class AsyncFlush implements DestinationFlushFunction {
   private final TyperDeduper typerDeduper;
   private final long optimalBatchSizeBytes;
   private final boolean useDestinationsV2Columns;
+  private final StagedFileCommitter stagedFileCommitter;
 
   public AsyncFlush(final Map<StreamDescriptor, WriteConfig> streamDescToWriteConfig,
                     final StagingOperations stagingOperations,
@@ -58,10 +65,20 @@ class AsyncFlush implements DestinationFlushFunction {
     this.typerDeduper = typerDeduper;
     this.optimalBatchSizeBytes = optimalBatchSizeBytes;
     this.useDestinationsV2Columns = useDestinationsV2Columns;
+    this.stagedFileCommitter = new StagedFileCommitter();
   }
 
   @Override
   public void flush(final StreamDescriptor decs, final Stream<PartialAirbyteMessage> stream) throws Exception {
+    try {
+      flushAsync(decs, stream).get();
+    } catch (final ExecutionException e) {
+      throw e.getCause() instanceof final Exception cause ? cause : e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> flushAsync(final StreamDescriptor decs, final Stream<PartialAirbyteMessage> stream) throws Exception {
     final CsvSerializedBuffer writer;
     try {
       writer = new CsvSerializedBuffer(
@@ -101,26 +118,30 @@ class AsyncFlush implements DestinationFlushFunction {
             writeConfig.getStreamName(),
             writeConfig.getOutputTableName(),
             writeConfig.getWriteDatetime());
+    final String stagedFile;
     try {
-      final String stagedFile = stagingOperations.uploadRecordsToStage(database, writer, schemaName, stageName, stagingPath);
-      GeneralStagingFunctions.copyIntoTableFromStage(
-          database,
-          stageName,
-          stagingPath,
-          List.of(stagedFile),
-          writeConfig.getOutputTableName(),
-          schemaName,
-          stagingOperations,
-          writeConfig.getNamespace(),
-          writeConfig.getStreamName(),
-          typerDeduperValve,
-          typerDeduper);
+      stagedFile = stagingOperations.uploadRecordsToStage(database, writer, schemaName, stageName, stagingPath);
     } catch (final Exception e) {
-      log.error("Failed to flush and commit buffer data into destination's raw table", e);
+      log.error("Failed to upload buffer data into destination's stage", e);
       throw new RuntimeException("Failed to upload buffer to stage and commit to destination", e);
     }
-
+    final long stagedBytes = writer.getByteCount();
+    // the staged file is all the commit needs, so the local buffer can go right away
     writer.close();
+
+    // the staging path of a stream is the same for every flush, so its files can share a COPY
+    return stagedFileCommitter.commit(decs, stagedFile, stagedBytes, stagedFiles -> GeneralStagingFunctions.copyIntoTableFromStage(
+        database,
+        stageName,
+        stagingPath,
+        stagedFiles,
+        writeConfig.getOutputTableName(),
+        schemaName,
+        stagingOperations,
+        writeConfig.getNamespace(),
+        writeConfig.getStreamName(),
+        typerDeduperValve,
+        typerDeduper));
   }
 
   @Override
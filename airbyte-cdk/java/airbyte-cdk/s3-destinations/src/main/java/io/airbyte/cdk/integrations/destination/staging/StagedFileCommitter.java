@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.staging;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Loads the files staged by {@link AsyncFlush} into their tables, so that uploading the next files
+ * does not wait for the COPY of the previous ones.
+ * <p>
+ * A stream has at most one COPY running at a time. The files of the stream staged meanwhile wait for
+ * it, and the next COPY loads all of them at once, up to {@link #maxFilesPerCopy} files or
+ * {@link #maxBytesPerCopy} bytes. A staged file thus waits for at most one COPY before its own
+ * starts, and the number of COPY statements drops when files are staged faster than they can be
+ * loaded. Files are loaded in the order they were staged.
+ * <p>
+ * Staging a file waits while {@link #maxFilesPerCopy} files of the stream are already waiting, so
+ * the uploads cannot run arbitrarily far ahead of the COPYs. Once a COPY of a stream fails, every
+ * later file of the stream fails too.
+ */
+@Slf4j
+class StagedFileCommitter {
+
+  static final int DEFAULT_MAX_FILES_PER_COPY = 10;
+  static final long DEFAULT_MAX_BYTES_PER_COPY = 1024L * 1024 * 1024;
+
+  /**
+   * Loads staged files of a stream into its table.
+   */
+  @FunctionalInterface
+  interface CopyFunction {
+
+    void copy(List<String> stagedFiles) throws Exception;
+
+  }
+
+  private final ExecutorService copyExecutor;
+  private final int maxFilesPerCopy;
+  private final long maxBytesPerCopy;
+  private final Map<StreamDescriptor, StreamCommitter> streamCommitters = new ConcurrentHashMap<>();
+
+  StagedFileCommitter() {
+    this(Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
+        .namingPattern("staging-copy-%d")
+        .daemon(true)
+        .build()), DEFAULT_MAX_FILES_PER_COPY, DEFAULT_MAX_BYTES_PER_COPY);
+  }
+
+  @VisibleForTesting
+  StagedFileCommitter(final ExecutorService copyExecutor, final int maxFilesPerCopy, final long maxBytesPerCopy) {
+    Preconditions.checkArgument(maxFilesPerCopy > 0, "The number of files per COPY must be positive: %s", maxFilesPerCopy);
+    this.copyExecutor = copyExecutor;
+    this.maxFilesPerCopy = maxFilesPerCopy;
+    this.maxBytesPerCopy = maxBytesPerCopy;
+  }
+
+  /**
+   * Schedules the COPY of a staged file.
+   *
+   * @param copyFunction loads files of the stream, only the function given with the first file of a
+   *        stream is used
+   * @return a future completed once the file is loaded into its table
+   */
+  CompletableFuture<Void> commit(final StreamDescriptor desc, final String stagedFile, final long sizeInBytes, final CopyFunction copyFunction)
+      throws InterruptedException {
+    return streamCommitters.computeIfAbsent(desc, ignored -> new StreamCommitter(desc, copyFunction)).add(stagedFile, sizeInBytes);
+  }
+
+  private record StagedFile(String name, long sizeInBytes, CompletableFuture<Void> committed) {}
+
+  private class StreamCommitter {
+
+    private final StreamDescriptor desc;
+    private final CopyFunction copyFunction;
+    private final ArrayDeque<StagedFile> stagedFiles = new ArrayDeque<>();
+    private boolean isCopying = false;
+    private Exception failure = null;
+
+    StreamCommitter(final StreamDescriptor desc, final CopyFunction copyFunction) {
+      this.desc = desc;
+      this.copyFunction = copyFunction;
+    }
+
+    synchronized CompletableFuture<Void> add(final String name, final long sizeInBytes) throws InterruptedException {
+      while (failure == null && stagedFiles.size() >= maxFilesPerCopy) {
+        wait();
+      }
+      final StagedFile stagedFile = new StagedFile(name, sizeInBytes, new CompletableFuture<>());
+      if (failure != null) {
+        stagedFile.committed().completeExceptionally(failure);
+        return stagedFile.committed();
+      }
+      stagedFiles.addLast(stagedFile);
+      if (!isCopying) {
+        isCopying = true;
+        copyExecutor.execute(this::copyStagedFiles);
+      }
+      return stagedFile.committed();
+    }
+
+    private void copyStagedFiles() {
+      List<StagedFile> group;
+      while (!(group = takeGroup()).isEmpty()) {
+        try {
+          log.info("Copying {} staged files into the table of stream {}", group.size(), desc.getName());
+          copyFunction.copy(group.stream().map(StagedFile::name).toList());
+        } catch (final Exception e) {
+          log.error("Failed to copy staged files into the table of stream {}", desc.getName(), e);
+          fail(group, e);
+          return;
+        }
+        group.forEach(stagedFile -> stagedFile.committed().complete(null));
+      }
+    }
+
+    private synchronized List<StagedFile> takeGroup() {
+      final List<StagedFile> group = new ArrayList<>();
+      long groupBytes = 0;
+      // a file larger than the byte limit still gets a COPY of its own
+      while (!stagedFiles.isEmpty()
+          && group.size() < maxFilesPerCopy
+          && (group.isEmpty() || groupBytes + stagedFiles.peekFirst().sizeInBytes() <= maxBytesPerCopy)) {
+        final StagedFile stagedFile = stagedFiles.pollFirst();
+        groupBytes += stagedFile.sizeInBytes();
+        group.add(stagedFile);
+      }
+      if (group.isEmpty()) {
+        isCopying = false;
+      }
+      notifyAll();
+      return group;
+    }
+
+    private synchronized void fail(final List<StagedFile> group, final Exception e) {
+      failure = e;
+      isCopying = false;
+      group.forEach(stagedFile -> stagedFile.committed().completeExceptionally(e));
+      stagedFiles.forEach(stagedFile -> stagedFile.committed().completeExceptionally(e));
+      stagedFiles.clear();
+      notifyAll();
+    }
+
+  }
+
+}
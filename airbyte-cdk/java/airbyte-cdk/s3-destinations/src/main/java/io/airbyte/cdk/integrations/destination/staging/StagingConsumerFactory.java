@@ -15,6 +15,9 @@ import io.airbyte.cdk.integrations.base.SerializedAirbyteMessageConsumer;
 import io.airbyte.cdk.integrations.destination.NamingConventionTransformer;
 import io.airbyte.cdk.integrations.destination.jdbc.WriteConfig;
 import io.airbyte.cdk.integrations.destination_async.AsyncStreamConsumer;
+import io.airbyte.cdk.integrations.destination_async.FlushSelectionPolicy;
+import io.airbyte.cdk.integrations.destination_async.FlushWorkerPool;
+import io.airbyte.cdk.integrations.destination_async.LargestQueueFirstFlushPolicy;
 import io.airbyte.cdk.integrations.destination_async.buffers.BufferManager;
 import io.airbyte.commons.exceptions.ConfigErrorException;
 import io.airbyte.integrations.base.destination.typing_deduping.ParsedCatalog;
@@ -65,6 +68,9 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
   // Optional fields
   private final Optional<Long> bufferMemoryLimit;
   private final long optimalBatchSizeBytes;
+  private final int minFlushWorkers;
+  private final int maxFlushWorkers;
+  private final FlushSelectionPolicy flushSelectionPolicy;
 
   private StagingConsumerFactory(
                                  final Consumer<AirbyteMessage> outputRecordCollector,
@@ -80,7 +86,10 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
                                  final String defaultNamespace,
                                  final boolean useDestinationsV2Columns,
                                  final Optional<Long> bufferMemoryLimit,
-                                 final long optimalBatchSizeBytes) {
+                                 final long optimalBatchSizeBytes,
+                                 final int minFlushWorkers,
+                                 final int maxFlushWorkers,
+                                 final FlushSelectionPolicy flushSelectionPolicy) {
     this.outputRecordCollector = outputRecordCollector;
     this.database = database;
     this.stagingOperations = stagingOperations;
@@ -95,6 +104,9 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
     this.useDestinationsV2Columns = useDestinationsV2Columns;
     this.bufferMemoryLimit = bufferMemoryLimit;
     this.optimalBatchSizeBytes = optimalBatchSizeBytes;
+    this.minFlushWorkers = minFlushWorkers;
+    this.maxFlushWorkers = maxFlushWorkers;
+    this.flushSelectionPolicy = flushSelectionPolicy;
   }
 
   public static class Builder {
@@ -118,6 +130,9 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
     // Optional fields
     private Optional<Long> bufferMemoryLimit = Optional.empty();
     private long optimalBatchSizeBytes = 50 * 1024 * 1024;
+    private int minFlushWorkers = FlushWorkerPool.DEFAULT_NUM_WORKERS;
+    private int maxFlushWorkers = FlushWorkerPool.DEFAULT_NUM_WORKERS;
+    private FlushSelectionPolicy flushSelectionPolicy = new LargestQueueFirstFlushPolicy();
 
     private Builder() {}
 
@@ -131,6 +146,21 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
       return this;
     }
 
+    /**
+     * Lets the number of concurrent uploads grow from minFlushWorkers up to maxFlushWorkers while the
+     * buffers fill up faster than they are flushed. See {@link FlushWorkerPool}.
+     */
+    public Builder setFlushWorkers(final int minFlushWorkers, final int maxFlushWorkers) {
+      this.minFlushWorkers = minFlushWorkers;
+      this.maxFlushWorkers = maxFlushWorkers;
+      return this;
+    }
+
+    public Builder setFlushSelectionPolicy(final FlushSelectionPolicy flushSelectionPolicy) {
+      this.flushSelectionPolicy = flushSelectionPolicy;
+      return this;
+    }
+
     public StagingConsumerFactory build() {
       return new StagingConsumerFactory(
           outputRecordCollector,
@@ -146,7 +176,10 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
           defaultNamespace,
           useDestinationsV2Columns,
           bufferMemoryLimit,
-          optimalBatchSizeBytes);
+          optimalBatchSizeBytes,
+          minFlushWorkers,
+          maxFlushWorkers,
+          flushSelectionPolicy);
     }
 
   }
@@ -192,7 +225,7 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
         typerDeduper,
         optimalBatchSizeBytes,
         useDestinationsV2Columns);
-    return new AsyncStreamConsumer(
+    return AsyncStreamConsumer.builder(
         outputRecordCollector,
         GeneralStagingFunctions.onStartFunction(database, stagingOperations, writeConfigs, typerDeduper),
         // todo (cgardens) - wrapping the old close function to avoid more code churn.
@@ -211,7 +244,10 @@ public class StagingConsumerFactory extends SerialStagingConsumerFactory {
         flusher,
         catalog,
         new BufferManager(getMemoryLimit(bufferMemoryLimit)),
-        defaultNamespace);
+        defaultNamespace)
+        .setFlushWorkerPool(new FlushWorkerPool(minFlushWorkers, maxFlushWorkers))
+        .setFlushSelectionPolicy(flushSelectionPolicy)
+        .build();
   }
 
   private static long getMemoryLimit(final Optional<Long> bufferMemoryLimit) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.cdk.integrations.destination.s3.S3UploadPlanner.UploadPlan;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class S3UploadPlannerTest {
+
+  private static final long MB = 1024 * 1024;
+
+  @Test
+  void testPartSizeWithoutObservedThroughput() {
+    final S3UploadPlanner planner = new S3UploadPlanner(10);
+
+    // spread over the threads, but never below the minimum part size
+    assertEquals(S3UploadPlanner.MIN_PART_SIZE_MB, planner.getPartSizeMb(0));
+    assertEquals(S3UploadPlanner.MIN_PART_SIZE_MB, planner.getPartSizeMb(20 * MB));
+    assertEquals(8, planner.getPartSizeMb(80 * MB));
+    assertEquals(S3UploadPlanner.DEFAULT_PART_SIZE_MB, planner.getPartSizeMb(1024 * MB));
+    // a buffer larger than the maximum number of default parts
+    assertEquals(20, planner.getPartSizeMb(200_000 * MB));
+  }
+
+  @Test
+  void testPartSizeFollowsObservedThroughput() {
+    final S3UploadPlanner planner = new S3UploadPlanner(10);
+
+    // 100 MB in 1 second over 10 threads, i.e. 10 MB/s per thread
+    planner.recordUpload(10, 10, 100 * MB, TimeUnit.SECONDS.toNanos(1));
+    assertEquals(10 * S3UploadPlanner.TARGET_PART_UPLOAD_SECONDS, planner.getPartSizeMb(10_240 * MB));
+
+    // a slower upload only moves the average part of the way
+    planner.recordUpload(10, 10, 100 * MB, TimeUnit.SECONDS.toNanos(10));
+    assertEquals(36, planner.getPartSizeMb(10_240 * MB));
+
+    // small uploads are ignored
+    planner.recordUpload(5, 1, MB, TimeUnit.SECONDS.toNanos(100));
+    assertEquals(36, planner.getPartSizeMb(10_240 * MB));
+  }
+
+  @Test
+  void testUploadThreadsAreShared() throws Exception {
+    final S3UploadPlanner planner = new S3UploadPlanner(4);
+
+    final UploadPlan smallUpload = planner.plan(MB);
+    assertEquals(1, smallUpload.getNumUploadThreads());
+
+    // at most half of the threads while two uploads are running
+    final UploadPlan largeUpload = planner.plan(1024 * MB);
+    assertEquals(2, largeUpload.getNumUploadThreads());
+    final UploadPlan otherLargeUpload = planner.plan(1024 * MB);
+    assertEquals(1, otherLargeUpload.getNumUploadThreads());
+    assertEquals(0, planner.getAvailableUploadThreads());
+
+    // waits for a thread to be given back
+    final CompletableFuture<UploadPlan> waitingUpload = CompletableFuture.supplyAsync(() -> {
+      try {
+        return planner.plan(1024 * MB);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(waitingUpload.isDone());
+
+    smallUpload.close();
+    final UploadPlan nextUpload = waitingUpload.get(10, TimeUnit.SECONDS);
+    assertTrue(nextUpload.getNumUploadThreads() >= 1);
+
+    largeUpload.close();
+    otherLargeUpload.close();
+    nextUpload.close();
+    // closing twice does not give the threads back twice
+    nextUpload.close();
+    assertEquals(4, planner.getAvailableUploadThreads());
+
+    // alone, an upload may use the whole budget
+    try (final UploadPlan loneUpload = planner.plan(1024 * MB)) {
+      assertEquals(4, loneUpload.getNumUploadThreads());
+    }
+  }
+
+}
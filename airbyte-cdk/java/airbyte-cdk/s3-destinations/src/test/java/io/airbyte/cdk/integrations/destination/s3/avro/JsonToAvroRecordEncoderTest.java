@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.s3.avro;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.cdk.integrations.base.JavaBaseConstants;
+import io.airbyte.commons.json.Jsons;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonToAvroRecordEncoderTest {
+
+  // test cases whose records only hold values that are converted as they are
+  private static final Set<String> ENCODED_TEST_CASES = Set.of(
+      "simple_schema",
+      "nested_record",
+      "array_with_same_type",
+      "record_with_airbyte_fields",
+      "name_with:spécial:characters",
+      "field_with_bad_first_char",
+      "schema_with_same_object_name",
+      "object_inside_array_inside_array",
+      "namespace_with_special_characters",
+      "nullable_value",
+      "any_of_with_same_name",
+      "all_of_with_same_name",
+      "one_of_with_same_name",
+      "logical_type_date_time_fields");
+
+  private static final Schema DATE_TIME_SCHEMA = new Schema.Parser().parse("""
+                                                                           {"type": "record", "name": "stream", "fields": [
+                                                                             {"name": "day", "type": ["null", {"type": "int", "logicalType": "date"}, "string"],
+                                                                              "default": null},
+                                                                             {"name": "at", "type": ["null", {"type": "long", "logicalType": "timestamp-micros"}, "string"],
+                                                                              "default": null},
+                                                                             {"name": "_airbyte_additional_properties",
+                                                                              "type": ["null", {"type": "map", "values": "string"}], "default": null}
+                                                                           ]}
+                                                                           """);
+
+  /**
+   * The records are either converted like the Json converter does, or not at all.
+   */
+  @ParameterizedTest
+  @ArgumentsSource(JsonToAvroConverterTest.GetAvroSchemaTestCaseProviderV0.class)
+  public void testJsonAvroConversionV0(final String schemaName,
+                                       final String namespace,
+                                       final boolean appendAirbyteFields,
+                                       final JsonNode jsonSchema,
+                                       final JsonNode jsonObject,
+                                       final JsonNode avroSchema,
+                                       final JsonNode avroObject) {
+    assertEncoded(schemaName, jsonObject, avroSchema, avroObject);
+  }
+
+  @ParameterizedTest
+  @ArgumentsSource(JsonToAvroConverterTest.GetAvroSchemaTestCaseProviderV1.class)
+  public void testJsonAvroConversionV1(final String schemaName,
+                                       final String namespace,
+                                       final boolean appendAirbyteFields,
+                                       final JsonNode jsonSchema,
+                                       final JsonNode jsonObject,
+                                       final JsonNode avroSchema,
+                                       final JsonNode avroObject) {
+    assertEncoded(schemaName, jsonObject, avroSchema, avroObject);
+  }
+
+  @Test
+  public void testEncodeWithAirbyteFields() {
+    final Schema schema = new Schema.Parser().parse("""
+                                                    {"type": "record", "name": "stream", "fields": [
+                                                      {"name": "_airbyte_ab_id", "type": {"type": "string", "logicalType": "uuid"}},
+                                                      {"name": "_airbyte_emitted_at", "type": {"type": "long", "logicalType": "timestamp-millis"}},
+                                                      {"name": "id", "type": ["null", "long"], "default": null},
+                                                      {"name": "amount", "type": ["null", "double"], "default": null},
+                                                      {"name": "_airbyte_additional_properties",
+                                                       "type": ["null", {"type": "map", "values": "string"}], "default": null}
+                                                    ]}
+                                                    """);
+    final JsonToAvroRecordEncoder encoder = new JsonToAvroRecordEncoder(schema);
+    final UUID id = UUID.randomUUID();
+
+    final Optional<GenericData.Record> record = encoder.encode(JavaBaseConstants.COLUMN_NAME_AB_ID, id,
+        JavaBaseConstants.COLUMN_NAME_EMITTED_AT, 1634982000L, Jsons.deserialize("{\"id\": 10, \"amount\": 3}"));
+
+    assertTrue(record.isPresent());
+    assertEquals(Jsons.deserialize("{\"_airbyte_ab_id\": \"" + id + "\", \"_airbyte_emitted_at\": 1634982000, \"id\": 10, \"amount\": 3.0, "
+        + "\"_airbyte_additional_properties\": null}"), Jsons.deserialize(record.get().toString()));
+    // not in the schema, goes to the additional properties
+    assertTrue(encoder.encode(JavaBaseConstants.COLUMN_NAME_AB_ID, id, JavaBaseConstants.COLUMN_NAME_EMITTED_AT, 1634982000L,
+        Jsons.deserialize("{\"id\": 10, \"name\": \"a\"}")).isEmpty());
+    // coerced by the Json converter
+    assertTrue(encoder.encode(JavaBaseConstants.COLUMN_NAME_AB_ID, id, JavaBaseConstants.COLUMN_NAME_EMITTED_AT, 1634982000L,
+        Jsons.deserialize("{\"id\": \"10\"}")).isEmpty());
+  }
+
+  /**
+   * Dates and date-times are parsed like the Json converter does, or left to it.
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "{\"day\": \"2021-01-01\", \"at\": \"2021-01-01T01:01:01+01:00\"}",
+    "{\"day\": \"1969-12-31\", \"at\": \"2021-01-01T01:01:01Z\"}",
+    "{\"day\": \"2024-02-29\", \"at\": \"2021-01-01T01:01:01.123456-05:30\"}",
+    "{\"day\": null, \"at\": \"2021-06-30T23:59:59.123\"}",
+    "{\"at\": \"1960-01-01T00:00:00.5Z\"}",
+    "{\"day\": \"2021-02-30\"}",
+    "{\"day\": \"January 1st\", \"at\": \"2021-01-01 01:01:01\"}",
+    "{\"day\": 18628}"
+  })
+  public void testEncodeDatesLikeTheJsonConverter(final String json) throws Exception {
+    final JsonToAvroRecordEncoder encoder = new JsonToAvroRecordEncoder(DATE_TIME_SCHEMA);
+    final JsonNode jsonNode = Jsons.deserialize(json);
+
+    final Optional<GenericData.Record> record = encoder.encode(jsonNode);
+
+    if (record.isPresent()) {
+      assertEquals(AvroConstants.JSON_CONVERTER.convertToGenericDataRecord(Jsons.serialize(jsonNode).getBytes(StandardCharsets.UTF_8),
+          DATE_TIME_SCHEMA), record.get());
+    }
+  }
+
+  @Test
+  public void testEncodeDates() {
+    final JsonToAvroRecordEncoder encoder = new JsonToAvroRecordEncoder(DATE_TIME_SCHEMA);
+
+    final Optional<GenericData.Record> record = encoder.encode(Jsons.deserialize("""
+                                                                                 {"day": "2021-01-01", "at": "2021-01-01T01:01:01.541+01:00"}
+                                                                                 """));
+
+    assertTrue(record.isPresent());
+    assertEquals(Jsons.deserialize("{\"day\": 18628, \"at\": 1609459261541000, \"_airbyte_additional_properties\": null}"),
+        Jsons.deserialize(record.get().toString()));
+    assertEquals(Optional.of(1609459261000000L), encoder.encode(Jsons.deserialize("{\"at\": \"2021-01-01T00:01:01\"}")).map(r -> r.get("at")));
+    // formats that are left to the Json converter
+    assertTrue(encoder.encode(Jsons.deserialize("{\"day\": \"2021/01/01\"}")).isEmpty());
+    assertTrue(encoder.encode(Jsons.deserialize("{\"at\": \"2021-01-01 00:01:01\"}")).isEmpty());
+    assertTrue(encoder.encode(Jsons.deserialize("{\"at\": \"2021-01-01T00:01:01.1Z\"}")).isEmpty());
+    assertTrue(encoder.encode(Jsons.deserialize("{\"day\": \"not a date\"}")).isEmpty());
+  }
+
+  @Test
+  public void testCanEncode() {
+    assertTrue(JsonToAvroRecordEncoder.canEncode(new Schema.Parser().parse("""
+                                                                           {"type": "record", "name": "stream", "fields": [
+                                                                             {"name": "_airbyte_ab_id", "type": {"type": "string", "logicalType": "uuid"}},
+                                                                             {"name": "_airbyte_emitted_at", "type": {"type": "long", "logicalType": "timestamp-millis"}},
+                                                                             {"name": "id", "type": ["null", "long"], "default": null}
+                                                                           ]}
+                                                                           """)));
+    // a date-time string with addStringToLogicalTypes, nested in an array of records
+    assertTrue(JsonToAvroRecordEncoder.canEncode(new Schema.Parser().parse("""
+                                                                           {"type": "record", "name": "stream", "fields": [
+                                                                             {"name": "events", "type": ["null", {"type": "array", "items":
+                                                                               {"type": "record", "name": "event", "fields": [
+                                                                                 {"name": "at", "type": ["null", {"type": "long", "logicalType": "timestamp-micros"}, "string"],
+                                                                                  "default": null}
+                                                                               ]}}], "default": null}
+                                                                           ]}
+                                                                           """)));
+    assertFalse(JsonToAvroRecordEncoder.canEncode(new Schema.Parser().parse("""
+                                                                            {"type": "record", "name": "stream", "fields": [
+                                                                              {"name": "amount", "type": ["null", {"type": "bytes", "logicalType": "decimal", "precision": 10}],
+                                                                               "default": null}
+                                                                            ]}
+                                                                            """)));
+  }
+
+  private static void assertEncoded(final String schemaName, final JsonNode jsonObject, final JsonNode avroSchema, final JsonNode avroObject) {
+    final JsonToAvroRecordEncoder encoder = new JsonToAvroRecordEncoder(new Schema.Parser().parse(Jsons.serialize(avroSchema)));
+
+    final Optional<GenericData.Record> record = encoder.encode(jsonObject);
+
+    assertEquals(ENCODED_TEST_CASES.contains(schemaName), record.isPresent(), String.format("Encoding for %s", schemaName));
+    record.ifPresent(r -> assertEquals(avroObject, Jsons.deserialize(r.toString()), String.format("Object conversion for %s failed", schemaName)));
+  }
+
+}
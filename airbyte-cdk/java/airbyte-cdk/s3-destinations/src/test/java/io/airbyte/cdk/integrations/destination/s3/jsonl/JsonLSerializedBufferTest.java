@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCompression;
 import io.airbyte.cdk.integrations.destination.record_buffer.BufferStorage;
 import io.airbyte.cdk.integrations.destination.record_buffer.FileBuffer;
 import io.airbyte.cdk.integrations.destination.record_buffer.InMemoryBuffer;
@@ -50,12 +51,12 @@ public class JsonLSerializedBufferTest {
 
   @Test
   public void testUncompressedJsonLFormatWriter() throws Exception {
-    runTest(new InMemoryBuffer(JSON_FILE_EXTENSION), false, 425L, 435L, getExpectedString());
+    runTest(new InMemoryBuffer(JSON_FILE_EXTENSION), BufferCompression.NONE, 425L, 435L, getExpectedString());
   }
 
   @Test
   public void testCompressedJsonLWriter() throws Exception {
-    runTest(new FileBuffer(JSON_FILE_EXTENSION), true, 205L, 215L, getExpectedString());
+    runTest(new FileBuffer(JSON_FILE_EXTENSION), BufferCompression.GZIP, 205L, 215L, getExpectedString());
   }
 
   private static String getExpectedString() {
@@ -63,7 +64,7 @@ public class JsonLSerializedBufferTest {
   }
 
   private static void runTest(final BufferStorage buffer,
-                              final boolean withCompression,
+                              final BufferCompression compression,
                               final Long minExpectedByte,
                               final Long maxExpectedByte,
                               final String expectedData)
@@ -72,7 +73,7 @@ public class JsonLSerializedBufferTest {
     try (final JsonLSerializedBuffer writer = (JsonLSerializedBuffer) JsonLSerializedBuffer
         .createBufferFunction(null, () -> buffer)
         .apply(streamPair, catalog)) {
-      writer.withCompression(withCompression);
+      writer.withCompression(compression);
       writer.accept(message);
       writer.accept(message);
       writer.flush();
@@ -81,12 +82,11 @@ public class JsonLSerializedBufferTest {
       assertTrue(minExpectedByte <= writer.getByteCount() && writer.getByteCount() <= maxExpectedByte,
           String.format("Expected size between %d and %d, but actual size was %d",
               minExpectedByte, maxExpectedByte, writer.getByteCount()));
-      final InputStream inputStream;
-      if (withCompression) {
-        inputStream = new GZIPInputStream(writer.getInputStream());
-      } else {
-        inputStream = writer.getInputStream();
-      }
+      final InputStream inputStream = switch (compression) {
+        case NONE -> writer.getInputStream();
+        case GZIP -> new GZIPInputStream(writer.getInputStream());
+      };
+      assertTrue(writer.getFilename().endsWith(compression.getFileExtension()));
       final JsonNode actualData = Jsons.deserialize(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
       assertEquals(expectedData, Jsons.serialize(actualData.get("_airbyte_data")));
     }
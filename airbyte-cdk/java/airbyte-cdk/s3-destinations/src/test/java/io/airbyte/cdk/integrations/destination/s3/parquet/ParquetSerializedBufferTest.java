@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.amazonaws.util.IOUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.cdk.integrations.base.DestinationConfig;
+import io.airbyte.cdk.integrations.destination.record_buffer.BufferCreateFunction;
+import io.airbyte.cdk.integrations.destination.record_buffer.InMemoryBuffer;
 import io.airbyte.cdk.integrations.destination.record_buffer.SerializableBuffer;
 import io.airbyte.cdk.integrations.destination.s3.S3DestinationConfig;
 import io.airbyte.commons.json.Jsons;
@@ -89,6 +91,23 @@ public class ParquetSerializedBufferTest {
     runTest(225L, 245L, config, getExpectedString());
   }
 
+  @Test
+  public void testInMemoryParquetWriter() throws Exception {
+    final S3DestinationConfig config = S3DestinationConfig.getS3DestinationConfig(Jsons.jsonNode(Map.of(
+        "format", Map.of(
+            "format_type", "parquet"),
+        "s3_bucket_name", "test",
+        "s3_bucket_region", "us-east-2")));
+    runTest(225L, 245L, ParquetSerializedBuffer.createFunction(config, () -> new InMemoryBuffer(S3ParquetFormatConfig.PARQUET_SUFFIX)),
+        getExpectedString());
+  }
+
+  @Test
+  public void testRowGroupSizeFitsInTheBuffer() {
+    assertEquals(128L * 1024 * 1024, ParquetSerializedBuffer.getRowGroupSize(128L * 1024 * 1024, 200L * 1024 * 1024));
+    assertEquals(50L * 1024 * 1024, ParquetSerializedBuffer.getRowGroupSize(128L * 1024 * 1024, 50L * 1024 * 1024));
+  }
+
   private static String resolveArchitecture() {
     return System.getProperty("os.name").replace(' ', '_') + "-" + System.getProperty("os.arch") + "-" + System.getProperty("sun.arch.data.model");
   }
@@ -149,8 +168,16 @@ public class ParquetSerializedBufferTest {
                               final S3DestinationConfig config,
                               final String expectedData)
       throws Exception {
+    runTest(minExpectedByte, maxExpectedByte, ParquetSerializedBuffer.createFunction(config), expectedData);
+  }
+
+  private static void runTest(final Long minExpectedByte,
+                              final Long maxExpectedByte,
+                              final BufferCreateFunction createFunction,
+                              final String expectedData)
+      throws Exception {
     final File tempFile = Files.createTempFile(UUID.randomUUID().toString(), ".parquet").toFile();
-    try (final SerializableBuffer writer = ParquetSerializedBuffer.createFunction(config).apply(streamPair, catalog)) {
+    try (final SerializableBuffer writer = createFunction.apply(streamPair, catalog)) {
       writer.accept(message);
       writer.accept(message);
       writer.flush();
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cdk.integrations.destination.staging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.cdk.integrations.destination.staging.StagedFileCommitter.CopyFunction;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StagedFileCommitterTest {
+
+  private static final StreamDescriptor STREAM = new StreamDescriptor().withName("stream");
+
+  private ExecutorService copyExecutor;
+  private List<List<String>> copies;
+  private CountDownLatch firstCopyStarted;
+  private CountDownLatch releaseFirstCopy;
+
+  @BeforeEach
+  void setup() {
+    copyExecutor = Executors.newCachedThreadPool();
+    copies = new CopyOnWriteArrayList<>();
+    firstCopyStarted = new CountDownLatch(1);
+    releaseFirstCopy = new CountDownLatch(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    copyExecutor.shutdownNow();
+  }
+
+  @Test
+  void testFilesStagedDuringACopyShareTheNextOne() throws Exception {
+    final StagedFileCommitter committer = new StagedFileCommitter(copyExecutor, 4, 100);
+    final CopyFunction copyFunction = blockFirstCopy(stagedFiles -> copies.add(stagedFiles));
+
+    final CompletableFuture<Void> first = committer.commit(STREAM, "file-1", 10, copyFunction);
+    assertTrue(firstCopyStarted.await(10, TimeUnit.SECONDS));
+    final List<CompletableFuture<Void>> next = List.of(
+        committer.commit(STREAM, "file-2", 10, copyFunction),
+        committer.commit(STREAM, "file-3", 10, copyFunction),
+        committer.commit(STREAM, "file-4", 10, copyFunction),
+        // over the byte limit of the group of the previous files
+        committer.commit(STREAM, "file-5", 90, copyFunction));
+    assertFalse(first.isDone());
+
+    releaseFirstCopy.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    CompletableFuture.allOf(next.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+    assertEquals(List.of(List.of("file-1"), List.of("file-2", "file-3", "file-4"), List.of("file-5")), copies);
+  }
+
+  @Test
+  void testFailedCopyFailsTheLaterFiles() throws Exception {
+    final StagedFileCommitter committer = new StagedFileCommitter(copyExecutor, 3, 100);
+    final CopyFunction copyFunction = blockFirstCopy(stagedFiles -> {
+      throw new SQLException("COPY failed");
+    });
+
+    final CompletableFuture<Void> first = committer.commit(STREAM, "file-1", 10, copyFunction);
+    assertTrue(firstCopyStarted.await(10, TimeUnit.SECONDS));
+    final CompletableFuture<Void> second = committer.commit(STREAM, "file-2", 10, copyFunction);
+    releaseFirstCopy.countDown();
+
+    assertEquals(SQLException.class, assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS)).getCause().getClass());
+    assertEquals(SQLException.class, assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS)).getCause().getClass());
+    final CompletableFuture<Void> third = committer.commit(STREAM, "file-3", 10, copyFunction);
+    assertEquals(SQLException.class, assertThrows(ExecutionException.class, () -> third.get(10, TimeUnit.SECONDS)).getCause().getClass());
+  }
+
+  @Test
+  void testStagingWaitsForTheCopiesToCatchUp() throws Exception {
+    final StagedFileCommitter committer = new StagedFileCommitter(copyExecutor, 1, 100);
+    final CopyFunction copyFunction = blockFirstCopy(stagedFiles -> copies.add(stagedFiles));
+
+    committer.commit(STREAM, "file-1", 10, copyFunction);
+    assertTrue(firstCopyStarted.await(10, TimeUnit.SECONDS));
+    committer.commit(STREAM, "file-2", 10, copyFunction);
+    final CompletableFuture<CompletableFuture<Void>> third = CompletableFuture.supplyAsync(() -> {
+      try {
+        return committer.commit(STREAM, "file-3", 10, copyFunction);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(third.isDone());
+
+    releaseFirstCopy.countDown();
+    third.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+    assertEquals(List.of(List.of("file-1"), List.of("file-2"), List.of("file-3")), copies);
+  }
+
+  private CopyFunction blockFirstCopy(final CopyFunction copyFunction) {
+    return stagedFiles -> {
+      if (firstCopyStarted.getCount() > 0) {
+        firstCopyStarted.countDown();
+        releaseFirstCopy.await();
+      }
+      copyFunction.copy(stagedFiles);
+    };
+  }
+
+}
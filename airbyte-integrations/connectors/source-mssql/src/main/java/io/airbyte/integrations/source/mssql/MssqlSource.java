@@ -372,7 +372,7 @@ public class MssqlSource extends AbstractJdbcSource<JDBCType> implements Source
       LOGGER.info(String.format("Checking that cdc is enabled on database '%s' using the query: '%s'",
           config.get(JdbcUtils.DATABASE_KEY).asText(), sql));
       return ps;
-    }, sourceOperations::rowToJson);
+    }, sourceOperations.rowToJsonMapper());
 
     if (queryResponse.size() < 1) {
       throw new RuntimeException(String.format(
@@ -405,7 +405,7 @@ public class MssqlSource extends AbstractJdbcSource<JDBCType> implements Source
           "Checking user '%s' can query the cdc schema and that we have at least 1 cdc enabled table using the query: '%s'",
           config.get(JdbcUtils.USERNAME_KEY).asText(), sql));
       return ps;
-    }, sourceOperations::rowToJson);
+    }, sourceOperations.rowToJsonMapper());
 
     // Ensure at least one available CDC table
     if (queryResponse.size() < 1) {
@@ -423,7 +423,7 @@ public class MssqlSource extends AbstractJdbcSource<JDBCType> implements Source
         final PreparedStatement ps = connection.prepareStatement(sql);
         LOGGER.info(String.format("Checking that the SQL Server Agent is running using the query: '%s'", sql));
         return ps;
-      }, sourceOperations::rowToJson);
+      }, sourceOperations.rowToJsonMapper());
 
       if (!(queryResponse.get(0).get("status_desc").toString().contains("Running"))) {
         throw new RuntimeException(String.format(
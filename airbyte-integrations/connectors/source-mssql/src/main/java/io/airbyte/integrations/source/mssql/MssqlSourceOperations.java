@@ -28,6 +28,7 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Base64;
+import java.util.List;
 import microsoft.sql.DateTimeOffset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,19 @@ public class MssqlSourceOperations extends JdbcSourceOperations {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MssqlSourceOperations.class);
 
+  /**
+   * Registers the MSSQL specific types, and the types read differently than the standard ones, on
+   * top of the standard extractors.
+   */
+  public MssqlSourceOperations() {
+    registerColumnExtractor("time", readerOf(this::putTime));
+    registerColumnExtractor("geometry", readerOf(this::putGeometry));
+    registerColumnExtractor("geography", readerOf(this::putGeography));
+    for (final JDBCType type : List.of(JDBCType.BLOB, JDBCType.BINARY, JDBCType.VARBINARY, JDBCType.LONGVARBINARY)) {
+      registerColumnExtractor(type, readerOf(this::putBinary));
+    }
+  }
+
   /**
    * The method is used to set json value by type. Need to be overridden as MSSQL has some its own
    * specific types (ex. Geometry, Geography, Hierarchyid, etc)
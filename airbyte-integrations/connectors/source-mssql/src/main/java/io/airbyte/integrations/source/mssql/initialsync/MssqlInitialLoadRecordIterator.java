@@ -83,7 +83,7 @@ public class MssqlInitialLoadRecordIterator extends AbstractIterator<JsonNode>
 
         LOGGER.info("Subquery number : {}", numSubqueries);
         final Stream<JsonNode> stream = database.unsafeQuery(
-            this::getOcPreparedStatement, sourceOperations::rowToJson);
+            this::getOcPreparedStatement, sourceOperations.rowToJsonMapper());
         currentIterator = AutoCloseableIterators.fromStream(stream, pair);
         numSubqueries++;
         // If the current subquery has no records associated with it, the entire stream has been read.
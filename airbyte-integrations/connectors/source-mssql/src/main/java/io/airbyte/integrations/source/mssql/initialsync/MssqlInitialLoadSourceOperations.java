@@ -6,14 +6,12 @@ package io.airbyte.integrations.source.mssql.initialsync;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.functional.CheckedFunction;
 import io.airbyte.integrations.source.mssql.MssqlCdcConnectorMetadataInjector;
 import io.airbyte.integrations.source.mssql.MssqlSourceOperations;
 import io.airbyte.integrations.source.mssql.cdc.MssqlDebeziumStateUtil.MssqlDebeziumStateAttributes;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.Collections;
 import java.util.Optional;
 
 public class MssqlInitialLoadSourceOperations extends MssqlSourceOperations {
@@ -26,30 +24,16 @@ public class MssqlInitialLoadSourceOperations extends MssqlSourceOperations {
   }
 
   @Override
-  public JsonNode rowToJson(final ResultSet queryContext) throws SQLException {
-    if (metadataInjector.isPresent()) {
-      // the first call communicates with the database. after that the result is cached.
-      final ResultSetMetaData metadata = queryContext.getMetaData();
-      final int columnCount = metadata.getColumnCount();
-      final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
-      for (int i = 1; i <= columnCount; i++) {
-        // attempt to access the column. this allows us to know if it is null before we do type-specific
-        // parsing. if it is null, we can move on. while awkward, this seems to be the agreed upon way of
-        // checking for null values with jdbc.
-        queryContext.getObject(i);
-        if (queryContext.wasNull()) {
-          continue;
-        }
-
-        // convert to java types that will convert into reasonable json.
-        copyToJsonField(queryContext, i, jsonNode);
-      }
-
-      metadataInjector.get().inject(jsonNode);
-      return jsonNode;
-    } else {
-      return super.rowToJson(queryContext);
+  public CheckedFunction<ResultSet, JsonNode, SQLException> rowToJsonMapper() {
+    final CheckedFunction<ResultSet, JsonNode, SQLException> rowToJson = super.rowToJsonMapper();
+    if (metadataInjector.isEmpty()) {
+      return rowToJson;
     }
+    return queryContext -> {
+      final JsonNode jsonNode = rowToJson.apply(queryContext);
+      metadataInjector.get().inject((ObjectNode) jsonNode);
+      return jsonNode;
+    };
   }
 
   public static class CdcMetadataInjector {
@@ -6,6 +6,7 @@ package io.airbyte.integrations.source.mysql;
 
 import static com.mysql.cj.MysqlType.BIGINT;
 import static com.mysql.cj.MysqlType.BIGINT_UNSIGNED;
+import static com.mysql.cj.MysqlType.CHAR;
 import static com.mysql.cj.MysqlType.DATE;
 import static com.mysql.cj.MysqlType.DATETIME;
 import static com.mysql.cj.MysqlType.DECIMAL;
@@ -46,6 +47,7 @@ import com.mysql.cj.jdbc.result.ResultSetMetaData;
 import com.mysql.cj.result.Field;
 import io.airbyte.cdk.db.SourceOperations;
 import io.airbyte.cdk.db.jdbc.AbstractJdbcCompatibleSourceOperations;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
 import io.airbyte.protocol.models.JsonSchemaType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -54,6 +56,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +69,51 @@ public class MySqlSourceOperations extends AbstractJdbcCompatibleSourceOperation
       FLOAT, FLOAT_UNSIGNED, DOUBLE, DOUBLE_UNSIGNED, DECIMAL, DECIMAL_UNSIGNED, DATE, DATETIME, TIMESTAMP,
       TIME, YEAR, VARCHAR, TINYTEXT, TEXT, MEDIUMTEXT, LONGTEXT);
 
+  /**
+   * The most common types are read with their typed getter, the other ones go through
+   * {@link #copyToJsonField(ResultSet, int, ObjectNode)}. Registered by type name, as reported by the
+   * driver, which tells unsigned types apart.
+   */
+  public MySqlSourceOperations() {
+    for (final MysqlType type : List.of(SMALLINT, SMALLINT_UNSIGNED, MEDIUMINT, MEDIUMINT_UNSIGNED, INT)) {
+      registerColumnExtractor(type.getName(), MySqlSourceOperations::integerReader);
+    }
+    registerColumnExtractor(BIGINT.getName(), MySqlSourceOperations::bigIntReader);
+    for (final MysqlType type : List.of(CHAR, VARCHAR, TINYTEXT, TEXT, MEDIUMTEXT, LONGTEXT)) {
+      registerColumnExtractor(type.getName(), MySqlSourceOperations::stringReader);
+    }
+  }
+
+  private static ColumnReader integerReader(final java.sql.ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final int value = resultSet.getInt(colIndex);
+      if (!resultSet.wasNull()) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader bigIntReader(final java.sql.ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final long value = resultSet.getLong(colIndex);
+      if (!resultSet.wasNull()) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader stringReader(final java.sql.ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final String value = resultSet.getString(colIndex);
+      if (value != null) {
+        json.put(columnName, value);
+      }
+    };
+  }
+
   /**
    * @param colIndex 1-based column index.
    */
@@ -97,7 +97,7 @@ public class MySqlInitialLoadRecordIterator extends AbstractIterator<JsonNode>
 
         LOGGER.info("Subquery number : {}", numSubqueries);
         final Stream<JsonNode> stream = database.unsafeQuery(
-            this::getPkPreparedStatement, sourceOperations::rowToJson);
+            this::getPkPreparedStatement, sourceOperations.rowToJsonMapper());
 
         currentIterator = AutoCloseableIterators.fromStream(stream, pair);
         numSubqueries++;
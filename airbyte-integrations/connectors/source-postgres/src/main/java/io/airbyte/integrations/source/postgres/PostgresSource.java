@@ -124,6 +124,8 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSource.class);
   private static final int INTERMEDIATE_STATE_EMISSION_FREQUENCY = 10_000;
+  // the default max pool size of DataSourceFactory
+  private static final int DEFAULT_MAX_POOL_SIZE = 10;
   public static final String PARAM_SSLMODE = "sslmode";
   public static final String SSL_MODE = "ssl_mode";
   public static final String SSL_ROOT_CERT = "sslrootcert";
@@ -144,6 +146,9 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
   private List<String> schemas;
 
   private Set<AirbyteStreamNameNamespacePair> publicizedTablesInCdc;
+  // the ctid chunks of a parallel initial load are read through this database, so that only they share
+  // the fetch buffer memory
+  private JdbcDatabase ctidChunkDatabase;
   private static final Set<String> INVALID_CDC_SSL_MODES = ImmutableSet.of("allow", "prefer");
   private int stateEmissionFrequency;
 
@@ -311,26 +316,37 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
   public JdbcDatabase createDatabase(final JsonNode sourceConfig) throws SQLException {
     final JsonNode jdbcConfig = toDatabaseConfig(sourceConfig);
     final Map<String, String> connectionProperties = getConnectionProperties(sourceConfig);
+    final int initialLoadParallelism = PostgresUtils.getInitialLoadParallelism(sourceConfig);
     // Create the data source
-    final DataSource dataSource = DataSourceFactory.create(
+    final DataSource dataSource = new DataSourceFactory.DataSourceBuilder(
         jdbcConfig.has(JdbcUtils.USERNAME_KEY) ? jdbcConfig.get(JdbcUtils.USERNAME_KEY).asText() : null,
         jdbcConfig.has(JdbcUtils.PASSWORD_KEY) ? jdbcConfig.get(JdbcUtils.PASSWORD_KEY).asText() : null,
         driverClassName,
-        jdbcConfig.get(JdbcUtils.JDBC_URL_KEY).asText(),
-        connectionProperties,
-        getConnectionTimeout(connectionProperties, driverClassName));
+        jdbcConfig.get(JdbcUtils.JDBC_URL_KEY).asText())
+            .withConnectionProperties(connectionProperties)
+            .withConnectionTimeout(getConnectionTimeout(connectionProperties, driverClassName))
+            // a parallel initial load holds one connection per chunk it reads, and needs a few more for
+            // its other queries
+            .withMaximumPoolSize(Math.max(DEFAULT_MAX_POOL_SIZE, initialLoadParallelism + 2))
+            .build();
     // Record the data source so that it can be closed.
     dataSources.add(dataSource);
 
-    final JdbcDatabase database = new StreamingJdbcDatabase(
-        dataSource,
-        sourceOperations,
-        streamingQueryConfigProvider);
+    final JdbcDatabase database = new StreamingJdbcDatabase(dataSource, sourceOperations, streamingQueryConfigProvider);
 
     quoteString = (quoteString == null ? database.getMetaData().getIdentifierQuoteString() : quoteString);
     database.setSourceConfig(sourceConfig);
     database.setDatabaseConfig(jdbcConfig);
 
+    if (initialLoadParallelism > 1) {
+      ctidChunkDatabase = new StreamingJdbcDatabase(dataSource, sourceOperations,
+          () -> new SharedBufferStreamingQueryConfig(initialLoadParallelism));
+      ctidChunkDatabase.setSourceConfig(sourceConfig);
+      ctidChunkDatabase.setDatabaseConfig(jdbcConfig);
+    } else {
+      ctidChunkDatabase = database;
+    }
+
     this.publicizedTablesInCdc = PostgresCatalogHelper.getPublicizedTables(database);
 
     return database;
@@ -403,7 +419,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
         LOGGER.info("Attempting to find the named replication slot using the query: {}", ps);
 
         return ps;
-      }, sourceOperations::rowToJson);
+      }, sourceOperations.rowToJsonMapper());
     } catch (final SQLException e) {
       throw new RuntimeException(e);
     }
@@ -434,7 +450,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
           ps.setString(1, config.get("replication_method").get("publication").asText());
           LOGGER.info("Attempting to find the publication using the query: " + ps);
           return ps;
-        }, sourceOperations::rowToJson);
+        }, sourceOperations.rowToJsonMapper());
 
         if (matchingPublications.size() != 1) {
           throw new ConfigErrorException(
@@ -473,7 +489,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
     final JsonNode sourceConfig = database.getSourceConfig();
     if (PostgresUtils.isCdc(sourceConfig) && isAnyStreamIncrementalSyncMode(catalog)) {
       LOGGER.info("Using ctid + CDC");
-      return cdcCtidIteratorsCombined(database, catalog, tableNameToTable, stateManager, emittedAt, getQuoteString(),
+      return cdcCtidIteratorsCombined(database, ctidChunkDatabase, catalog, tableNameToTable, stateManager, emittedAt, getQuoteString(),
           getReplicationSlot(database, sourceConfig).get(0));
     }
 
@@ -538,7 +554,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
       final PostgresXminHandler xminHandler = new PostgresXminHandler(database, sourceOperations, getQuoteString(), xminStatus, xminStateManager);
 
       final PostgresCtidHandler ctidHandler =
-          new PostgresCtidHandler(sourceConfig, database, new CtidPostgresSourceOperations(Optional.empty()), getQuoteString(),
+          new PostgresCtidHandler(sourceConfig, database, ctidChunkDatabase, new CtidPostgresSourceOperations(Optional.empty()), getQuoteString(),
               fileNodeHandler, tableBlockSizes, tablesMaxTuple, ctidStateManager,
               namespacePair -> Jsons.jsonNode(xminStatus));
 
@@ -610,6 +626,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
       final PostgresCtidHandler cursorBasedCtidHandler =
           new PostgresCtidHandler(sourceConfig,
               database,
+              ctidChunkDatabase,
               new CtidPostgresSourceOperations(Optional.empty()),
               getQuoteString(),
               fileNodeHandler,
@@ -660,7 +677,7 @@ public class PostgresSource extends AbstractJdbcSource<PostgresType> implements
       return ps;
     };
 
-    return database.queryJsons(statementCreator, sourceOperations::rowToJson)
+    return database.queryJsons(statementCreator, sourceOperations.rowToJsonMapper())
         .stream()
         .map(e -> JdbcPrivilegeDto.builder()
             .schemaName(e.get("table_schema").asText())
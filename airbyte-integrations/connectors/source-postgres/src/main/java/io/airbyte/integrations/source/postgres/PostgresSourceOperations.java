@@ -25,6 +25,7 @@ import io.airbyte.cdk.db.DataTypeUtils;
 import io.airbyte.cdk.db.SourceOperations;
 import io.airbyte.cdk.db.jdbc.AbstractJdbcCompatibleSourceOperations;
 import io.airbyte.cdk.db.jdbc.DateTimeConverter;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
 import io.airbyte.commons.jackson.MoreMappers;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.JsonSchemaPrimitiveUtil.JsonSchemaPrimitive;
@@ -39,7 +40,6 @@ import java.sql.Timestamp;
 import java.time.*;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.postgresql.PGStatement;
@@ -78,19 +78,66 @@ public class PostgresSourceOperations extends AbstractJdbcCompatibleSourceOperat
     Arrays.stream(PostgresType.class.getEnumConstants()).forEach(c -> POSTGRES_TYPE_DICT.put(c.type, c));
   }
 
+  /**
+   * The most common types are read with their typed getter, the other ones go through
+   * {@link #copyToJsonField(ResultSet, int, ObjectNode)}.
+   */
+  public PostgresSourceOperations() {
+    registerColumnExtractor("int2", PostgresSourceOperations::shortReader);
+    registerColumnExtractor("int4", PostgresSourceOperations::integerReader);
+    registerColumnExtractor("int8", PostgresSourceOperations::bigIntReader);
+    registerColumnExtractor("text", PostgresSourceOperations::stringReader);
+    registerColumnExtractor("varchar", PostgresSourceOperations::stringReader);
+    registerColumnExtractor("bpchar", PostgresSourceOperations::stringReader);
+  }
+
+  /**
+   * Null values are kept as null fields, see {@link #copyToJsonField(ResultSet, int, ObjectNode)}.
+   */
   @Override
-  public JsonNode rowToJson(final ResultSet queryContext) throws SQLException {
-    // the first call communicates with the database, after that the result is cached.
-    final ResultSetMetaData metadata = queryContext.getMetaData();
-    final int columnCount = metadata.getColumnCount();
-    final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
-
-    for (int i = 1; i <= columnCount; i++) {
-      // convert to java types that will convert into reasonable json.
-      copyToJsonField(queryContext, i, jsonNode);
-    }
+  protected ColumnReader compileUnregisteredColumnReader(final ResultSetMetaData metaData, final int colIndex) {
+    return (resultSet, json) -> copyToJsonField(resultSet, colIndex, json);
+  }
+
+  private static ColumnReader shortReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final short value = resultSet.getShort(colIndex);
+      if (resultSet.wasNull()) {
+        json.putNull(columnName);
+      } else {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader integerReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final int value = resultSet.getInt(colIndex);
+      if (resultSet.wasNull()) {
+        json.putNull(columnName);
+      } else {
+        json.put(columnName, value);
+      }
+    };
+  }
+
+  private static ColumnReader bigIntReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> {
+      final long value = resultSet.getLong(colIndex);
+      if (resultSet.wasNull()) {
+        json.putNull(columnName);
+      } else {
+        json.put(columnName, value);
+      }
+    };
+  }
 
-    return jsonNode;
+  private static ColumnReader stringReader(final ResultSetMetaData metaData, final int colIndex) throws SQLException {
+    final String columnName = metaData.getColumnName(colIndex);
+    return (resultSet, json) -> json.put(columnName, resultSet.getString(colIndex));
   }
 
   @Override
@@ -51,6 +51,9 @@ public class PostgresUtils {
   private static final int MIN_QUEUE_SIZE = 1000;
   private static final int MAX_QUEUE_SIZE = 10000;
 
+  public static final String INITIAL_LOAD_PARALLELISM_KEY = "initial_load_parallelism";
+  public static final int MAX_INITIAL_LOAD_PARALLELISM = 16;
+
   private static final String DROP_AGGREGATE_IF_EXISTS_STATEMENT = "DROP aggregate IF EXISTS EPHEMERAL_HEARTBEAT(float4)";
   private static final String CREATE_AGGREGATE_STATEMENT = "CREATE AGGREGATE EPHEMERAL_HEARTBEAT(float4) (SFUNC = float4pl, STYPE = float4)";
   private static final String DROP_AGGREGATE_STATEMENT = "DROP aggregate EPHEMERAL_HEARTBEAT(float4)";
@@ -83,6 +86,22 @@ public class PostgresUtils {
     return config.hasNonNull("debug_mode");
   }
 
+  /**
+   * @return the number of chunks of a table read at once during its initial load, 1 to read them one
+   *         after another
+   */
+  public static int getInitialLoadParallelism(final JsonNode config) {
+    if (!config.hasNonNull(INITIAL_LOAD_PARALLELISM_KEY)) {
+      return 1;
+    }
+    final int parallelism = config.get(INITIAL_LOAD_PARALLELISM_KEY).asInt();
+    if (parallelism > MAX_INITIAL_LOAD_PARALLELISM) {
+      LOGGER.warn("Initial load parallelism is overridden to {}, which is the max allowed for safety.", MAX_INITIAL_LOAD_PARALLELISM);
+      return MAX_INITIAL_LOAD_PARALLELISM;
+    }
+    return Math.max(1, parallelism);
+  }
+
   public static Optional<Integer> getFirstRecordWaitSeconds(final JsonNode config) {
     final JsonNode replicationMethod = config.get("replication_method");
     if (replicationMethod != null && replicationMethod.has("initial_waiting_seconds")) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.cdk.db.jdbc.streaming.AdaptiveStreamingQueryConfig;
+import io.airbyte.cdk.db.jdbc.streaming.FetchSizeConstants;
+import io.airbyte.cdk.db.jdbc.streaming.FetchSizeEstimator;
+import io.airbyte.cdk.db.jdbc.streaming.InitialSizeEstimator;
+import io.airbyte.cdk.db.jdbc.streaming.JdbcStreamingQueryConfig;
+import io.airbyte.cdk.db.jdbc.streaming.SamplingSizeEstimator;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adapts the fetch size to the size of the rows like {@link AdaptiveStreamingQueryConfig}, but lets
+ * each query only fill its share of the fetch buffer memory, for when several queries stream rows
+ * at once, e.g. during a parallel initial load.
+ * <p>
+ * The fetch buffer memory is split into one share per query plus one share for the rows that were
+ * already fetched and wait for the consumer, see {@link #getReadAheadByteSize(int)}.
+ */
+public class SharedBufferStreamingQueryConfig implements JdbcStreamingQueryConfig {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedBufferStreamingQueryConfig.class);
+
+  private final long bufferByteSize;
+  private FetchSizeEstimator fetchSizeEstimator;
+  private boolean isSampling;
+  private int currentFetchSize;
+
+  /**
+   * @param concurrentQueries number of queries that share the fetch buffer memory
+   */
+  public SharedBufferStreamingQueryConfig(final int concurrentQueries) {
+    this.bufferByteSize = getBufferByteSize(Runtime.getRuntime().maxMemory(), concurrentQueries + 1);
+  }
+
+  /**
+   * @param concurrentQueries number of queries that share the fetch buffer memory
+   * @return the memory left for the rows the queries have fetched ahead of the consumer
+   */
+  public static long getReadAheadByteSize(final int concurrentQueries) {
+    return getBufferByteSize(Runtime.getRuntime().maxMemory(), concurrentQueries + 1);
+  }
+
+  @Override
+  public void initialize(final Connection connection, final Statement preparedStatement) throws SQLException {
+    connection.setAutoCommit(false);
+    preparedStatement.setFetchSize(FetchSizeConstants.INITIAL_SAMPLE_SIZE);
+    currentFetchSize = FetchSizeConstants.INITIAL_SAMPLE_SIZE;
+    fetchSizeEstimator = new InitialSizeEstimator(
+        bufferByteSize,
+        FetchSizeConstants.INITIAL_SAMPLE_SIZE,
+        FetchSizeConstants.MIN_FETCH_SIZE,
+        FetchSizeConstants.DEFAULT_FETCH_SIZE,
+        FetchSizeConstants.MAX_FETCH_SIZE);
+    isSampling = false;
+    LOGGER.info("Set initial fetch size: {} rows, for a buffer of {} bytes", preparedStatement.getFetchSize(), bufferByteSize);
+  }
+
+  @Override
+  public void accept(final ResultSet resultSet, final Object rowData) throws SQLException {
+    fetchSizeEstimator.accept(rowData);
+    final Optional<Integer> newFetchSize = fetchSizeEstimator.getFetchSize();
+    if (newFetchSize.isEmpty()) {
+      return;
+    }
+    if (!isSampling) {
+      // the first rows are measured, keep adjusting from their size by sampling the next ones
+      fetchSizeEstimator = new SamplingSizeEstimator(
+          bufferByteSize,
+          FetchSizeConstants.SAMPLE_FREQUENCY,
+          (double) bufferByteSize / newFetchSize.get(),
+          FetchSizeConstants.MIN_FETCH_SIZE,
+          FetchSizeConstants.DEFAULT_FETCH_SIZE,
+          FetchSizeConstants.MAX_FETCH_SIZE);
+      isSampling = true;
+    }
+    if (currentFetchSize != newFetchSize.get()) {
+      LOGGER.info("Set new fetch size: {} rows", newFetchSize.get());
+      resultSet.setFetchSize(newFetchSize.get());
+      currentFetchSize = newFetchSize.get();
+    }
+  }
+
+  @VisibleForTesting
+  static long getBufferByteSize(final long maxMemory, final int concurrentQueries) {
+    final long totalBufferByteSize = maxMemory == Long.MAX_VALUE ? FetchSizeConstants.MIN_BUFFER_BYTE_SIZE
+        : Math.max(FetchSizeConstants.MIN_BUFFER_BYTE_SIZE, Math.round(maxMemory * FetchSizeConstants.TARGET_BUFFER_SIZE_RATIO));
+    return totalBufferByteSize / Math.max(1, concurrentQueries);
+  }
+
+}
@@ -61,6 +61,7 @@ public class PostgresCdcCtidInitializer {
   private static final Logger LOGGER = LoggerFactory.getLogger(PostgresCdcCtidInitializer.class);
 
   public static List<AutoCloseableIterator<AirbyteMessage>> cdcCtidIteratorsCombined(final JdbcDatabase database,
+                                                                                     final JdbcDatabase ctidChunkDatabase,
                                                                                      final ConfiguredAirbyteCatalog catalog,
                                                                                      final Map<String, TableInfo<CommonField<PostgresType>>> tableNameToTable,
                                                                                      final StateManager stateManager,
@@ -156,7 +157,7 @@ public class PostgresCdcCtidInitializer {
             CtidUtils.isTidRangeScanCapableDBServer(database) ? null
                 : PostgresQueryUtils.getTableMaxTupleForStreams(database, finalListOfStreamsToBeSyncedViaCtid, quoteString);
 
-        final PostgresCtidHandler ctidHandler = new PostgresCtidHandler(sourceConfig, database,
+        final PostgresCtidHandler ctidHandler = new PostgresCtidHandler(sourceConfig, database, ctidChunkDatabase,
             ctidPostgresSourceOperations,
             quoteString,
             fileNodeHandler,
@@ -6,13 +6,16 @@ package io.airbyte.integrations.source.postgres.ctid;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.airbyte.commons.json.Jsons;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader;
+import io.airbyte.cdk.db.jdbc.JdbcRowReader.ColumnReader;
+import io.airbyte.commons.functional.CheckedFunction;
 import io.airbyte.integrations.source.postgres.PostgresSourceOperations;
 import io.airbyte.integrations.source.postgres.cdc.PostgresCdcConnectorMetadataInjector;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -27,29 +30,48 @@ public class CtidPostgresSourceOperations extends PostgresSourceOperations {
 
   private static final String CTID = "ctid";
 
-  public RowDataWithCtid recordWithCtid(final ResultSet queryContext) throws SQLException {
-    // the first call communicates with the database. after that the result is cached.
-    final ResultSetMetaData metadata = queryContext.getMetaData();
-    final int columnCount = metadata.getColumnCount();
-    final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
-    String ctid = null;
-    for (int i = 1; i <= columnCount; i++) {
-      final String columnName = metadata.getColumnName(i);
-      if (columnName.equalsIgnoreCase(CTID)) {
-        ctid = queryContext.getString(i);
-        continue;
+  /**
+   * Returns the function converting the rows of a ctid query. The ctid column is kept out of the
+   * record data, and the reader of the other columns is compiled on the first row of the query.
+   */
+  public CheckedFunction<ResultSet, RowDataWithCtid, SQLException> recordWithCtidMapper() {
+    return new CheckedFunction<>() {
+
+      private JdbcRowReader rowReader;
+      private int ctidIndex;
+
+      @Override
+      public RowDataWithCtid apply(final ResultSet queryContext) throws SQLException {
+        if (rowReader == null || !rowReader.isFor(queryContext)) {
+          compile(queryContext);
+        }
+        final ObjectNode jsonNode = (ObjectNode) rowReader.read(queryContext);
+        final String ctid = queryContext.getString(ctidIndex);
+
+        if (Objects.nonNull(cdcMetadataInjector) && cdcMetadataInjector.isPresent()) {
+          cdcMetadataInjector.get().inject(jsonNode);
+        }
+
+        assert Objects.nonNull(ctid);
+        return new RowDataWithCtid(jsonNode, ctid);
       }
 
-      // convert to java types that will convert into reasonable json.
-      copyToJsonField(queryContext, i, jsonNode);
-    }
-
-    if (Objects.nonNull(cdcMetadataInjector) && cdcMetadataInjector.isPresent()) {
-      cdcMetadataInjector.get().inject(jsonNode);
-    }
+      private void compile(final ResultSet queryContext) throws SQLException {
+        // the first call communicates with the database. after that the result is cached.
+        final ResultSetMetaData metadata = queryContext.getMetaData();
+        final int columnCount = metadata.getColumnCount();
+        final List<ColumnReader> columnReaders = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+          if (metadata.getColumnName(i).equalsIgnoreCase(CTID)) {
+            ctidIndex = i;
+          } else {
+            columnReaders.add(compileColumnReader(metadata, i));
+          }
+        }
+        rowReader = new JdbcRowReader(queryContext, columnReaders.toArray(new ColumnReader[0]));
+      }
 
-    assert Objects.nonNull(ctid);
-    return new RowDataWithCtid(jsonNode, ctid);
+    };
   }
 
   public record RowDataWithCtid(JsonNode data, String ctid) {
@@ -108,24 +108,10 @@ public class InitialSyncCtidIterator extends AbstractIterator<RowDataWithCtid> i
 
       if (currentIterator == null || !currentIterator.hasNext()) {
         do {
-          final Optional<Long> mayBeLatestFileNode = PostgresQueryUtils.fileNodeForIndividualStream(database, airbyteStream, quoteString);
-          if (mayBeLatestFileNode.isPresent()) {
-            final Long latestFileNode = mayBeLatestFileNode.get();
-            if (lastKnownFileNode != null) {
-              if (!latestFileNode.equals(lastKnownFileNode)) {
-                resetSubQueries(latestFileNode);
-              } else {
-                LOGGER.info("The latest file node {} for stream {} is equal to the last file node {} known to Airbyte.",
-                    latestFileNode,
-                    airbyteStream,
-                    lastKnownFileNode);
-              }
-            }
-            lastKnownFileNode = latestFileNode;
-            fileNodeHandler.updateFileNode(airbyteStream, latestFileNode);
-          } else {
-            LOGGER.warn("Airbyte could not query the latest file node for stream {}. Continuing sync as usual.", airbyteStream);
-          }
+          checkFileNode().ifPresent(resyncQueryPlan -> {
+            subQueriesPlan.clear();
+            subQueriesPlan.addAll(resyncQueryPlan);
+          });
 
           if (currentIterator != null) {
             currentIterator.close();
@@ -146,26 +132,61 @@ public class InitialSyncCtidIterator extends AbstractIterator<RowDataWithCtid> i
     }
   }
 
-  private Stream<RowDataWithCtid> getStream(final Pair<Ctid, Ctid> p) throws SQLException {
+  /**
+   * Checks whether the table was rewritten, e.g. by a VACUUM FULL, since its file node was last
+   * checked, in which case the ctids read so far no longer mean anything.
+   *
+   * @return the query plan to read the table again from the start with, if it was rewritten
+   */
+  protected Optional<List<Pair<Ctid, Ctid>>> checkFileNode() throws SQLException {
+    final Optional<Long> mayBeLatestFileNode = PostgresQueryUtils.fileNodeForIndividualStream(database, airbyteStream, quoteString);
+    Optional<List<Pair<Ctid, Ctid>>> resyncQueryPlan = Optional.empty();
+    if (mayBeLatestFileNode.isPresent()) {
+      final Long latestFileNode = mayBeLatestFileNode.get();
+      if (lastKnownFileNode != null) {
+        if (!latestFileNode.equals(lastKnownFileNode)) {
+          resyncQueryPlan = Optional.of(getResyncQueryPlan(latestFileNode));
+        } else {
+          LOGGER.info("The latest file node {} for stream {} is equal to the last file node {} known to Airbyte.",
+              latestFileNode,
+              airbyteStream,
+              lastKnownFileNode);
+        }
+      }
+      lastKnownFileNode = latestFileNode;
+      fileNodeHandler.updateFileNode(airbyteStream, latestFileNode);
+    } else {
+      LOGGER.warn("Airbyte could not query the latest file node for stream {}. Continuing sync as usual.", airbyteStream);
+    }
+    return resyncQueryPlan;
+  }
+
+  protected Stream<RowDataWithCtid> getStream(final Pair<Ctid, Ctid> p) throws SQLException {
     return database.unsafeQuery(
         connection -> getCtidStatement(connection, p.getLeft(), p.getRight()),
-        sourceOperations::recordWithCtid);
+        sourceOperations.recordWithCtidMapper());
   }
 
   private void initSubQueries() {
+    subQueriesPlan.clear();
+    subQueriesPlan.addAll(getInitialQueryPlan());
+  }
+
+  /**
+   * @return the query plan to read the table with, starting from the ctid of the saved state if any
+   */
+  protected List<Pair<Ctid, Ctid>> getInitialQueryPlan() {
     if (useTestPageSize) {
       LOGGER.warn("Using test page size");
     }
     final CtidStatus currentCtidStatus = ctidStateManager.getCtidStatus(airbyteStream);
-    subQueriesPlan.clear();
-
-    subQueriesPlan.addAll(getQueryPlan(currentCtidStatus));
     lastKnownFileNode = currentCtidStatus != null ? currentCtidStatus.getRelationFilenode() : null;
+    return getQueryPlan(currentCtidStatus);
   }
 
-  private PreparedStatement getCtidStatement(final Connection connection,
-                                             final Ctid lowerBound,
-                                             final Ctid upperBound) {
+  protected PreparedStatement getCtidStatement(final Connection connection,
+                                               final Ctid lowerBound,
+                                               final Ctid upperBound) {
     final PreparedStatement ctidStatement = tidRangeScanCapableDBServer ? createCtidQueryStatement(connection, lowerBound, upperBound)
         : createCtidLegacyQueryStatement(connection, lowerBound, upperBound);
     return ctidStatement;
@@ -180,7 +201,7 @@ public class InitialSyncCtidIterator extends AbstractIterator<RowDataWithCtid> i
     return queryPlan;
   }
 
-  private void resetSubQueries(final Long latestFileNode) {
+  private List<Pair<Ctid, Ctid>> getResyncQueryPlan(final Long latestFileNode) {
     LOGGER.warn(
         "The latest file node {} for stream {} is not equal to the last file node {} known to Airbyte. Airbyte will sync this table from scratch again",
         latestFileNode,
@@ -190,9 +211,8 @@ public class InitialSyncCtidIterator extends AbstractIterator<RowDataWithCtid> i
       throw new RuntimeException("Airbyte has tried re-syncing stream " + airbyteStream + " more than " + MAX_ALLOWED_RESYNCS
           + " times but VACUUM is still happening in between the sync, Please reach out to the customer to understand their VACUUM frequency.");
     }
-    subQueriesPlan.clear();
-    subQueriesPlan.addAll(getQueryPlan(null));
     numberOfTimesReSynced++;
+    return getQueryPlan(null);
   }
 
   /**
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.integrations.source.postgres.ctid;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.cdk.db.jdbc.JdbcDatabase;
+import io.airbyte.cdk.db.jdbc.streaming.BaseSizeEstimator;
+import io.airbyte.commons.stream.AirbyteStreamUtils;
+import io.airbyte.integrations.source.postgres.SharedBufferStreamingQueryConfig;
+import io.airbyte.integrations.source.postgres.ctid.CtidPostgresSourceOperations.RowDataWithCtid;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the ctid chunks of a table {@code parallelism} at a time, each over its own connection, and
+ * merges their rows in the order they are read.
+ * <p>
+ * Since rows of later chunks come out before the earlier chunks are complete, a row only keeps its
+ * ctid, which becomes the checkpoint of the stream, see {@link CtidStateIterator}, once all the
+ * chunks before its own are complete. Resuming from such a checkpoint reads again the rows of later
+ * chunks that were already emitted, but never skips any. The file node of the table is checked each
+ * time a chunk is complete, and all chunks are read again if the table was rewritten.
+ * <p>
+ * The rows read ahead of the consumer take one share of the fetch buffer memory, next to the shares
+ * of the chunk queries, see {@link SharedBufferStreamingQueryConfig#getReadAheadByteSize(int)}.
+ */
+public class ParallelInitialSyncCtidIterator extends InitialSyncCtidIterator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelInitialSyncCtidIterator.class);
+  // the memory of the rows read ahead is counted in units of this many bytes
+  private static final int PERMIT_BYTE_SIZE = 1024;
+
+  private final JdbcDatabase chunkDatabase;
+  private final CtidPostgresSourceOperations sourceOperations;
+  private final AirbyteStreamNameNamespacePair airbyteStream;
+  private final int parallelism;
+  private final BlockingQueue<ChunkRow> rows = new LinkedBlockingQueue<>();
+  private final int maxPermits;
+  // estimated memory left for the rows read ahead of the consumer, across all the chunks being read
+  private final Semaphore permits;
+
+  private ExecutorService executor;
+  // incremented whenever the chunks are read again from the start, so that rows still coming from
+  // the previous reads are dropped
+  private int generation = 0;
+  private boolean[] completedChunks;
+  private int firstIncompleteChunk;
+
+  /**
+   * A row read from a chunk. A chunk ends with an entry without a row, and with the failure if the
+   * chunk could not be read entirely. A row holds the permits of its estimated memory until it is
+   * taken.
+   */
+  private record ChunkRow(int generation, int chunk, RowDataWithCtid row, int permits, Throwable failure) {}
+
+  public ParallelInitialSyncCtidIterator(final CtidStateManager ctidStateManager,
+                                         final JdbcDatabase database,
+                                         final JdbcDatabase chunkDatabase,
+                                         final CtidPostgresSourceOperations sourceOperations,
+                                         final String quoteString,
+                                         final List<String> columnNames,
+                                         final String schemaName,
+                                         final String tableName,
+                                         final long tableSize,
+                                         final long blockSize,
+                                         final int maxTuple,
+                                         final FileNodeHandler fileNodeHandler,
+                                         final boolean tidRangeScanCapableDBServer,
+                                         final boolean useTestPageSize,
+                                         final int parallelism) {
+    this(ctidStateManager, database, chunkDatabase, sourceOperations, quoteString, columnNames, schemaName, tableName, tableSize, blockSize,
+        maxTuple, fileNodeHandler, tidRangeScanCapableDBServer, useTestPageSize, parallelism,
+        SharedBufferStreamingQueryConfig.getReadAheadByteSize(parallelism));
+  }
+
+  @VisibleForTesting
+  ParallelInitialSyncCtidIterator(final CtidStateManager ctidStateManager,
+                                  final JdbcDatabase database,
+                                  final JdbcDatabase chunkDatabase,
+                                  final CtidPostgresSourceOperations sourceOperations,
+                                  final String quoteString,
+                                  final List<String> columnNames,
+                                  final String schemaName,
+                                  final String tableName,
+                                  final long tableSize,
+                                  final long blockSize,
+                                  final int maxTuple,
+                                  final FileNodeHandler fileNodeHandler,
+                                  final boolean tidRangeScanCapableDBServer,
+                                  final boolean useTestPageSize,
+                                  final int parallelism,
+                                  final long readAheadByteSize) {
+    super(ctidStateManager, database, sourceOperations, quoteString, columnNames, schemaName, tableName, tableSize, blockSize, maxTuple,
+        fileNodeHandler, tidRangeScanCapableDBServer, useTestPageSize);
+    this.chunkDatabase = chunkDatabase;
+    this.sourceOperations = sourceOperations;
+    this.airbyteStream = AirbyteStreamUtils.convertFromNameAndNamespace(tableName, schemaName);
+    this.parallelism = parallelism;
+    this.maxPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, readAheadByteSize / PERMIT_BYTE_SIZE));
+    this.permits = new Semaphore(maxPermits);
+  }
+
+  @CheckForNull
+  @Override
+  protected RowDataWithCtid computeNext() {
+    try {
+      if (executor == null) {
+        final List<Pair<Ctid, Ctid>> initialQueryPlan = getInitialQueryPlan();
+        readChunks(checkFileNode().orElse(initialQueryPlan));
+      }
+
+      while (firstIncompleteChunk < completedChunks.length) {
+        final ChunkRow chunkRow = rows.take();
+        permits.release(chunkRow.permits());
+        if (chunkRow.generation() != generation) {
+          continue;
+        }
+        if (chunkRow.failure() instanceof final Error error) {
+          throw error;
+        }
+        if (chunkRow.failure() != null) {
+          throw (Exception) chunkRow.failure();
+        }
+        if (chunkRow.row() == null) {
+          completedChunks[chunkRow.chunk()] = true;
+          while (firstIncompleteChunk < completedChunks.length && completedChunks[firstIncompleteChunk]) {
+            firstIncompleteChunk++;
+          }
+          checkFileNode().ifPresent(this::readChunks);
+          continue;
+        }
+        return chunkRow.chunk() == firstIncompleteChunk ? chunkRow.row() : new RowDataWithCtid(chunkRow.row().data(), null);
+      }
+      return endOfData();
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Starts reading the chunks of the query plan, dropping whatever was being read before.
+   */
+  private void readChunks(final List<Pair<Ctid, Ctid>> queryPlan) {
+    stopReading();
+    generation++;
+    final List<ChunkRow> dropped = new ArrayList<>();
+    rows.drainTo(dropped);
+    dropped.forEach(chunkRow -> permits.release(chunkRow.permits()));
+    completedChunks = new boolean[queryPlan.size()];
+    firstIncompleteChunk = 0;
+    LOGGER.info("Reading {} chunks of stream {}, {} at a time", queryPlan.size(), airbyteStream, parallelism);
+    executor = Executors.newFixedThreadPool(parallelism, new BasicThreadFactory.Builder()
+        .namingPattern("ctid-chunk-reader-%d")
+        .daemon(true)
+        .build());
+    final int readGeneration = generation;
+    for (int chunk = 0; chunk < queryPlan.size(); chunk++) {
+      final int chunkToRead = chunk;
+      final Pair<Ctid, Ctid> bounds = queryPlan.get(chunk);
+      executor.execute(() -> readChunk(readGeneration, chunkToRead, bounds));
+    }
+  }
+
+  private void readChunk(final int generation, final int chunk, final Pair<Ctid, Ctid> bounds) {
+    try {
+      try (final Stream<RowDataWithCtid> stream = getStream(bounds)) {
+        final Iterator<RowDataWithCtid> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+          final RowDataWithCtid row = iterator.next();
+          final int rowPermits = getPermits(row);
+          permits.acquire(rowPermits);
+          rows.put(new ChunkRow(generation, chunk, row, rowPermits, null));
+        }
+      }
+      rows.put(new ChunkRow(generation, chunk, null, 0, null));
+    } catch (final InterruptedException e) {
+      // the chunks are read again, or the iterator was closed
+      Thread.currentThread().interrupt();
+    } catch (final Throwable e) {
+      // an Error too, otherwise the consumer would wait for the end of the chunk forever
+      LOGGER.error("Failed to read chunk {} of stream {} between ctids {} and {}", chunk, airbyteStream, bounds.getLeft(), bounds.getRight(), e);
+      rows.add(new ChunkRow(generation, chunk, null, 0, e));
+    }
+  }
+
+  /**
+   * A row wider than the whole read ahead memory still takes all of it rather than blocking forever.
+   */
+  private int getPermits(final RowDataWithCtid row) {
+    final long byteSize = BaseSizeEstimator.getEstimatedByteSize(row.data());
+    return (int) Math.min(maxPermits, Math.max(1, (byteSize + PERMIT_BYTE_SIZE - 1) / PERMIT_BYTE_SIZE));
+  }
+
+  /**
+   * Reads a chunk through the chunk database, whose queries share the fetch buffer memory.
+   */
+  @Override
+  protected Stream<RowDataWithCtid> getStream(final Pair<Ctid, Ctid> p) throws SQLException {
+    return chunkDatabase.unsafeQuery(
+        connection -> getCtidStatement(connection, p.getLeft(), p.getRight()),
+        sourceOperations.recordWithCtidMapper());
+  }
+
+  private void stopReading() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    stopReading();
+    super.close();
+  }
+
+}
@@ -17,6 +17,7 @@ import io.airbyte.commons.util.AutoCloseableIterator;
 import io.airbyte.commons.util.AutoCloseableIterators;
 import io.airbyte.integrations.source.postgres.PostgresQueryUtils.TableBlockSize;
 import io.airbyte.integrations.source.postgres.PostgresType;
+import io.airbyte.integrations.source.postgres.PostgresUtils;
 import io.airbyte.integrations.source.postgres.ctid.CtidPostgresSourceOperations.RowDataWithCtid;
 import io.airbyte.integrations.source.postgres.internal.models.CtidStatus;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
@@ -46,6 +47,7 @@ public class PostgresCtidHandler {
 
   private final JsonNode config;
   private final JdbcDatabase database;
+  private final JdbcDatabase ctidChunkDatabase;
   private final CtidPostgresSourceOperations sourceOperations;
   private final String quoteString;
   private final CtidStateManager ctidStateManager;
@@ -57,6 +59,7 @@ public class PostgresCtidHandler {
 
   public PostgresCtidHandler(final JsonNode config,
                              final JdbcDatabase database,
+                             final JdbcDatabase ctidChunkDatabase,
                              final CtidPostgresSourceOperations sourceOperations,
                              final String quoteString,
                              final FileNodeHandler fileNodeHandler,
@@ -66,6 +69,7 @@ public class PostgresCtidHandler {
                              final Function<AirbyteStreamNameNamespacePair, JsonNode> streamStateForIncrementalRunSupplier) {
     this.config = config;
     this.database = database;
+    this.ctidChunkDatabase = ctidChunkDatabase;
     this.sourceOperations = sourceOperations;
     this.quoteString = quoteString;
     this.fileNodeHandler = fileNodeHandler;
@@ -127,9 +131,14 @@ public class PostgresCtidHandler {
                                                                 final int maxTuple) {
 
     LOGGER.info("Queueing query for table: {}", tableName);
+    final boolean useTestPageSize = config.has(USE_TEST_CHUNK_SIZE) && config.get(USE_TEST_CHUNK_SIZE).asBoolean();
+    final int parallelism = PostgresUtils.getInitialLoadParallelism(config);
+    if (parallelism > 1) {
+      return new ParallelInitialSyncCtidIterator(ctidStateManager, database, ctidChunkDatabase, sourceOperations, quoteString, columnNames,
+          schemaName, tableName, tableSize, blockSize, maxTuple, fileNodeHandler, tidRangeScanCapableDBServer, useTestPageSize, parallelism);
+    }
     return new InitialSyncCtidIterator(ctidStateManager, database, sourceOperations, quoteString, columnNames, schemaName, tableName, tableSize,
-        blockSize, maxTuple, fileNodeHandler, tidRangeScanCapableDBServer,
-        config.has(USE_TEST_CHUNK_SIZE) && config.get(USE_TEST_CHUNK_SIZE).asBoolean());
+        blockSize, maxTuple, fileNodeHandler, tidRangeScanCapableDBServer, useTestPageSize);
   }
 
   // Transforms the given iterator to create an {@link AirbyteRecordMessage}
@@ -119,7 +119,7 @@ public class PostgresXminHandler {
       try {
         final Stream<JsonNode> stream = database.unsafeQuery(
             connection -> createXminQueryStatement(connection, columnNames, schemaName, tableName, airbyteStream),
-            sourceOperations::rowToJson);
+            sourceOperations.rowToJsonMapper());
         return AutoCloseableIterators.fromStream(stream, airbyteStream);
       } catch (final SQLException e) {
         throw new RuntimeException(e);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.integrations.source.postgres.ctid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.cdk.db.jdbc.JdbcDatabase;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.source.postgres.ctid.CtidPostgresSourceOperations.RowDataWithCtid;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelInitialSyncCtidIteratorTest {
+
+  private static final long BLOCK_SIZE = 8192L;
+  private static final int PAGES = 10;
+  private static final int TUPLES_PER_PAGE = 50;
+
+  private JdbcDatabase database;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    database = mock(JdbcDatabase.class);
+    when(database.bufferedResultSetQuery(any(), any())).thenReturn(List.of(Jsons.jsonNode(Map.of("pg_relation_filenode", 1L))));
+  }
+
+  @Test
+  void testReadsEveryRowAndOnlyCheckpointsReadChunks() throws Exception {
+    final List<RowDataWithCtid> emitted = new ArrayList<>();
+    try (final ParallelInitialSyncCtidIterator iterator = new TestIterator(database, 4, page -> false)) {
+      iterator.forEachRemaining(emitted::add);
+    }
+
+    final Set<String> emittedCtids = new HashSet<>();
+    for (final RowDataWithCtid row : emitted) {
+      final Ctid ctid = Ctid.of(row.data().get("ctid").asText());
+      assertTrue(emittedCtids.add(ctid.toString()), "emitted twice: " + ctid);
+      if (row.ctid() != null) {
+        // every row up to a checkpoint has been emitted already
+        for (long page = 0; page <= ctid.page; page++) {
+          for (long tuple = 1; tuple <= (page == ctid.page ? ctid.tuple : TUPLES_PER_PAGE); tuple++) {
+            assertTrue(emittedCtids.contains(Ctid.of(page, tuple).toString()), Ctid.of(page, tuple) + " is not emitted before " + ctid);
+          }
+        }
+      }
+    }
+    assertEquals(PAGES * TUPLES_PER_PAGE, emittedCtids.size());
+  }
+
+  @Test
+  void testFailsWhenAChunkFails() {
+    final ParallelInitialSyncCtidIterator iterator = new TestIterator(database, 4, page -> page == 3);
+
+    assertThrows(RuntimeException.class, () -> iterator.forEachRemaining(row -> {}));
+  }
+
+  @Test
+  void testFailsWhenAChunkThrowsAnError() {
+    final ParallelInitialSyncCtidIterator iterator = new TestIterator(database, 4, page -> {
+      if (page == 3) {
+        throw new AssertionError("failed to read page " + page);
+      }
+      return false;
+    });
+
+    assertThrows(AssertionError.class, () -> iterator.forEachRemaining(row -> {}));
+  }
+
+  @Test
+  void testReadsTheTableAgainWhenItIsRewritten() throws Exception {
+    when(database.bufferedResultSetQuery(any(), any()))
+        .thenReturn(List.of(Jsons.jsonNode(Map.of("pg_relation_filenode", 1L))))
+        .thenReturn(List.of(Jsons.jsonNode(Map.of("pg_relation_filenode", 2L))));
+    final AtomicInteger firstChunkReads = new AtomicInteger();
+    final Set<String> emittedCtids = new HashSet<>();
+    try (final ParallelInitialSyncCtidIterator iterator = new TestIterator(database, 4, page -> {
+      if (page == 0) {
+        firstChunkReads.incrementAndGet();
+      }
+      return false;
+    })) {
+      iterator.forEachRemaining(row -> emittedCtids.add(row.data().get("ctid").asText()));
+    }
+
+    assertEquals(2, firstChunkReads.get());
+    assertEquals(PAGES * TUPLES_PER_PAGE, emittedCtids.size());
+  }
+
+  @FunctionalInterface
+  private interface PageReadListener {
+
+    /**
+     * @return true to fail the read of the page
+     */
+    boolean onRead(long page);
+
+  }
+
+  /**
+   * Reads a table of {@link #PAGES} full pages, one chunk per page with the test page size, at varying
+   * speeds. Only a few rows fit in the memory for the rows read ahead.
+   */
+  private static class TestIterator extends ParallelInitialSyncCtidIterator {
+
+    private final PageReadListener pageReadListener;
+
+    TestIterator(final JdbcDatabase database, final int parallelism, final PageReadListener pageReadListener) {
+      super(mock(CtidStateManager.class), database, database, null, "\"", List.of("id"), "public", "table", PAGES * BLOCK_SIZE, BLOCK_SIZE, -1,
+          new FileNodeHandler(), true, true, parallelism, 8 * 1024);
+      this.pageReadListener = pageReadListener;
+    }
+
+    @Override
+    protected Stream<RowDataWithCtid> getStream(final Pair<Ctid, Ctid> bounds) {
+      // chunks go from (page, 0) to (page + 1, 0), i.e. hold the tuples of the page
+      final long page = bounds.getLeft().page;
+      if (pageReadListener.onRead(page)) {
+        throw new RuntimeException("failed to read page " + page);
+      }
+      return IntStream.rangeClosed(1, TUPLES_PER_PAGE)
+          .mapToObj(tuple -> {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+              try {
+                Thread.sleep(1);
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+            final String ctid = Ctid.of(page, tuple).toString();
+            return new RowDataWithCtid(Jsons.jsonNode(Map.of("ctid", ctid)), ctid);
+          });
+    }
+
+  }
+
+}